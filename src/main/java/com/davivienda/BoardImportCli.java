@@ -0,0 +1,66 @@
+package com.davivienda;
+
+import com.davivienda.dto.BoardImportResultDTO;
+import com.davivienda.service.BoardImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Importación de tableros desde línea de comandos, sin levantar el servidor web:
+ * <pre>
+ * java -cp sample-1.0.0.jar -Dloader.main=com.davivienda.BoardImportCli \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher --project=1 --file=tablero.json
+ * </pre>
+ * El formato se deduce de la extensión (.csv o .json) salvo que se indique {@code --format=csv|json}. Con
+ * {@code --resume=<importId>} continúa una importación fallida con el mismo archivo. El avance va al log; el código de
+ * salida es 0 si termina, 1 si falla y 2 si faltan argumentos.
+ */
+@Slf4j
+public class BoardImportCli {
+
+    public static void main(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+        int code = run(context);
+        // SpringApplication.exit cierra el contexto antes de terminar el proceso
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    private static int run(ConfigurableApplicationContext context) {
+        Environment env = context.getEnvironment();
+        String project = env.getProperty("project");
+        String file = env.getProperty("file");
+        if (project == null || file == null) {
+            log.error("Uso: BoardImportCli --project=<id> --file=<ruta> [--format=json|csv] [--resume=<importId>]");
+            return 2;
+        }
+        String format = env.getProperty("format", file.toLowerCase().endsWith(".csv") ? "csv" : "json");
+        String resume = env.getProperty("resume");
+        BoardImportService importService = context.getBean(BoardImportService.class);
+        BoardImportService.ProgressListener progress = (lists, cards) -> log.info("... {} listas, {} tarjetas", lists, cards);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(Path.of(file)))) {
+            BoardImportService.Format f = BoardImportService.Format.valueOf(format.toUpperCase());
+            BoardImportResultDTO result = resume != null
+                    ? importService.resumeImport(Long.valueOf(project), Long.valueOf(resume), null, in, f, progress)
+                    : importService.importBoard(Long.valueOf(project), null, in, f, progress);
+            log.info("Importación {}: {} listas y {} tarjetas en {} ms ({} asignados desconocidos)",
+                    result.getImportId(), result.getLists(), result.getCards(), result.getElapsedMs(),
+                    result.getUnknownAssignees());
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            log.error("No se pudo importar {} en el proyecto {}: {}", file, project, e.getMessage());
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.davivienda.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Envuelve cada pool Hikari en un {@link BulkheadDataSource} cuando {@code app.datasource.bulkhead.enabled} está activo
+ * (por defecto, junto con los hilos virtuales): miles de peticiones concurrentes no deben competir todas dentro de Hikari.
+ * Con réplica de lectura cada pool tiene su propio bulkhead, del tamaño de ese pool.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.bulkhead.enabled", havingValue = "true")
+public class DataSourceBulkheadConfig {
+
+    @Bean
+    static BulkheadPostProcessor dataSourceBulkhead(Environment environment) {
+        return new BulkheadPostProcessor(environment);
+    }
+
+    /**
+     * Se aplica antes que cualquier otro post-procesador: el bulkhead queda pegado al pool.
+     */
+    static class BulkheadPostProcessor implements BeanPostProcessor, PriorityOrdered {
+
+        private final Environment environment;
+
+        BulkheadPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource hikari)) {
+                return bean;
+            }
+            // sin valor explícito, tantos permisos como conexiones tiene el pool (Hikari usa 10 si no se configura)
+            int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : 10;
+            int maxConcurrent = environment.getProperty("app.datasource.bulkhead.max-concurrent", Integer.class, poolSize);
+            long acquireTimeoutMs = environment.getProperty("app.datasource.bulkhead.acquire-timeout-ms", Long.class, 30000L);
+            log.info("Bulkhead del DataSource {}: {} conexiones concurrentes, espera máxima {} ms",
+                    beanName, maxConcurrent, acquireTimeoutMs);
+            return new BulkheadDataSource(hikari, maxConcurrent, acquireTimeoutMs);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.davivienda.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+
+/**
+ * Caché de segundo nivel de Hibernate: JCache local con Caffeine. Las regiones (tamaño y expiración) se leen de
+ * {@code app.hibernate-cache.config}; el CacheManager se crea aquí porque Hibernate, al resolver la URI, la convierte
+ * en una URL dentro del jar que Caffeine no sabe leer.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    CacheManager hibernateCacheManager(@Value("${app.hibernate-cache.config:classpath:hibernate-cache.conf}") String config) {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create(config), getClass().getClassLoader());
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
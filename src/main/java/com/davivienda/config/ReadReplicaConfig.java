@@ -0,0 +1,76 @@
+package com.davivienda.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Réplica de lectura (opcional, {@code app.datasource.replica.enabled=true}): dos pools Hikari con su propia
+ * configuración ({@code spring.datasource.hikari.*} para el primario, {@code app.datasource.replica.hikari.*} para la
+ * réplica) detrás de un {@link ReadWriteRoutingDataSource}. Las transacciones {@code readOnly} de los servicios leen de
+ * la réplica. Requiere {@code app.datasource.replica.lag-query}: sin ella no arranca.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    HikariDataSource replicaDataSource(DataSourceProperties primary,
+                                       @Value("${app.datasource.replica.url}") String url,
+                                       @Value("${app.datasource.replica.username:}") String username,
+                                       @Value("${app.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(primary.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                        @Value("${app.datasource.replica.lag-query:}") String lagQuery,
+                                        @Value("${app.datasource.replica.max-lag-ms:5000}") long maxLagMs) {
+        // sin medición no se sabe cuánto va atrasada la réplica: mejor no arrancar que leer datos viejos sin avisar
+        if (lagQuery == null || lagQuery.isBlank()) {
+            throw new IllegalStateException("app.datasource.replica.lag-query es obligatorio con la réplica activada");
+        }
+        return new ReplicaLagMonitor(replica, lagQuery, Duration.ofMillis(maxLagMs));
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                          @Qualifier("replicaDataSource") DataSource replica,
+                          ReplicaLagMonitor replicaLagMonitor,
+                          @Value("${app.datasource.replica.max-lag-ms:5000}") long maxLagMs) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica,
+                Duration.ofMillis(maxLagMs), replicaLagMonitor::isUsable);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,59 @@
+package com.davivienda.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Mide periódicamente el retraso de la réplica con {@code app.datasource.replica.lag-query} (segundos de retraso;
+ * en Oracle Active Data Guard, por ejemplo, el "apply lag" de V$DATAGUARD_STATS). Si supera la tolerancia, o la
+ * réplica no responde, las lecturas vuelven al primario hasta la siguiente medición correcta. Hasta la primera
+ * medición (al arrancar) la réplica no se usa.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag) {
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout(5);
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    @PostConstruct
+    void init() {
+        check();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-ms:5000}")
+    public void check() {
+        boolean now;
+        try {
+            Number lagSeconds = replica.queryForObject(lagQuery, Number.class);
+            now = lagSeconds != null && lagSeconds.doubleValue() * 1000 <= maxLag.toMillis();
+            if (!now) {
+                log.warn("Réplica con {} s de retraso (tolerancia {} ms): lecturas al primario", lagSeconds, maxLag.toMillis());
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudo medir el retraso de la réplica: lecturas al primario ({})", e.getMessage());
+            now = false;
+        }
+        if (now && !usable) {
+            log.info("Réplica al día: las lecturas vuelven a la réplica");
+        }
+        usable = now;
+    }
+}
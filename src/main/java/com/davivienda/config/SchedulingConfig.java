@@ -0,0 +1,12 @@
+package com.davivienda.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas en segundo plano (rebalanceo de claves de orden, etc.).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,47 @@
+package com.davivienda.config;
+
+import com.davivienda.security.CurrentUserArgumentResolver;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * Respuestas que siguen abiertas tras el handler (SSE, exportación en streaming). Sin EntityManager de la petición:
+     * con él cada conexión retendría una conexión del pool hasta cerrarse.
+     */
+    private static final String[] LONG_LIVED_RESPONSES = {
+            "/api/v1/projects/*/events",
+            "/api/v1/projects/*/export"
+    };
+
+    @Autowired
+    private CurrentUserArgumentResolver currentUserArgumentResolver;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(currentUserArgumentResolver);
+    }
+
+    /**
+     * Open EntityManager in View (spring.jpa.open-in-view=false desactiva el de Spring Boot): las referencias de
+     * {@code @CurrentUser} se resuelven con el EntityManager de la petición, salvo en las respuestas de larga duración.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns(LONG_LIVED_RESPONSES);
+    }
+}
@@ -0,0 +1,54 @@
+package com.davivienda.controller;
+
+import com.davivienda.dto.CacheStatsDTO;
+import com.davivienda.dto.ProjectPurgeDTO;
+import com.davivienda.service.CacheStatsService;
+import com.davivienda.service.ProjectService;
+import com.davivienda.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@Tag(name = "Administración", description = "Operación de la instancia (solo rol ADMIN)")
+public class AdminController {
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+    @Autowired
+    private SearchService searchService;
+    @Autowired
+    private ProjectService projectService;
+
+    @GetMapping("/cache-stats")
+    @Operation(summary = "Estadísticas de cachés",
+            description = "Aciertos, fallos, tamaño y expulsiones de las cachés en memoria de esta instancia.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<CacheStatsDTO>> cacheStats() {
+        return ResponseEntity.ok(cacheStatsService.getStats());
+    }
+
+    @PostMapping("/search/rebuild")
+    @Operation(summary = "Reconstruir el índice de búsqueda",
+            description = "Lo reconstruye en segundo plano desde la base de datos; mientras tanto se sigue buscando en el actual. 409 si ya hay una reconstrucción en curso.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Void> rebuildSearchIndex() {
+        return ResponseEntity.status(searchService.rebuildIndex() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT).build();
+    }
+
+    @GetMapping("/project-purges")
+    @Operation(summary = "Borrados de proyectos en segundo plano",
+            description = "Proyectos grandes que esta instancia está borrando o borró hace poco, con las tarjetas borradas y el error de la última pasada si falló.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<ProjectPurgeDTO>> projectPurges() {
+        return ResponseEntity.ok(projectService.findPurges());
+    }
+}
@@ -0,0 +1,36 @@
+package com.davivienda.controller;
+
+import com.davivienda.dto.BoardChangesDTO;
+import com.davivienda.model.User;
+import com.davivienda.security.CurrentUser;
+import com.davivienda.service.BoardChangeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/projects/{projectId}/changes")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@Tag(name = "Proyectos", description = "Tableros tipo Trello - colaboración en proyectos")
+public class BoardChangeController {
+
+    @Autowired
+    private BoardChangeService boardChangeService;
+
+    @GetMapping
+    @Operation(summary = "Cambios del tablero",
+            description = "Listas y tarjetas creadas, modificadas, movidas o eliminadas después de la versión since "
+                    + "(boardVersion de GET /projects/{id} o version de la consulta anterior). "
+                    + "Si el hueco es demasiado grande devuelve el tablero completo con full=true.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BoardChangesDTO> changes(
+            @CurrentUser User user,
+            @PathVariable Long projectId,
+            @Parameter(description = "Última versión que tiene el cliente") @RequestParam long since) {
+        return ResponseEntity.ok(boardChangeService.getChanges(projectId, user, since));
+    }
+}
@@ -0,0 +1,50 @@
+package com.davivienda.controller;
+
+import com.davivienda.model.User;
+import com.davivienda.security.CurrentUser;
+import com.davivienda.service.BoardEventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/projects/{projectId}/events")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@Tag(name = "Proyectos", description = "Tableros tipo Trello - colaboración en proyectos")
+public class BoardEventController {
+
+    @Autowired
+    private BoardEventService boardEventService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Eventos del tablero (SSE)",
+            description = "Flujo text/event-stream con un evento board-change por cada versión confirmada del tablero "
+                    + "(id = versión). Al reconectar con Last-Event-ID se reenvían los cambios perdidos o, si ya no están "
+                    + "en el registro, un evento reset.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public SseEmitter events(
+            @CurrentUser User user,
+            @PathVariable Long projectId,
+            @Parameter(description = "Última versión recibida") @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return boardEventService.subscribe(projectId, user, parseVersion(lastEventId));
+    }
+
+    /**
+     * Un Last-Event-ID que no es una versión se ignora: el flujo empieza en la versión actual.
+     */
+    private static Long parseVersion(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
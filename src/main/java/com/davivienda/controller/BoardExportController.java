@@ -0,0 +1,73 @@
+package com.davivienda.controller;
+
+import com.davivienda.model.User;
+import com.davivienda.security.CurrentUser;
+import com.davivienda.service.BoardExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/projects/{projectId}/export")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@Tag(name = "Proyectos", description = "Tableros tipo Trello - colaboración en proyectos")
+public class BoardExportController {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private BoardExportService boardExportService;
+
+    @GetMapping
+    @Operation(summary = "Exportar tablero",
+            description = "Devuelve el proyecto como NDJSON (una línea por proyecto, lista y tarjeta) escrito en streaming "
+                    + "desde la base de datos. Con gzip=true la respuesta va comprimida (Content-Encoding: gzip).",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<StreamingResponseBody> export(
+            @CurrentUser User user,
+            @PathVariable Long projectId,
+            @Parameter(description = "Comprimir la respuesta con gzip")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        // los errores de acceso se resuelven aquí, antes de que la respuesta quede comprometida
+        boardExportService.ensureExportable(projectId, user);
+        StreamingResponseBody body = out -> {
+            try {
+                if (gzip) {
+                    GZIPOutputStream zipped = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                    boardExportService.export(projectId, zipped);
+                    zipped.finish();
+                } else {
+                    boardExportService.export(projectId, out);
+                }
+            } catch (IOException | RuntimeException e) {
+                // la respuesta ya está en curso: solo queda cortarla y dejar constancia
+                log.warn("Exportación del proyecto {} interrumpida: {}", projectId, e.toString());
+                throw e;
+            }
+        };
+        // con Content-Encoding el cliente descomprime al recibir: el archivo es .ndjson en ambos casos
+        String filename = "project-" + projectId + ".ndjson";
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
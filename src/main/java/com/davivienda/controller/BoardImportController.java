@@ -0,0 +1,51 @@
+package com.davivienda.controller;
+
+import com.davivienda.dto.BoardImportResultDTO;
+import com.davivienda.model.User;
+import com.davivienda.security.CurrentUser;
+import com.davivienda.service.BoardImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/projects/{projectId}/import")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@Tag(name = "Proyectos", description = "Tableros tipo Trello - colaboración en proyectos")
+public class BoardImportController {
+
+    @Autowired
+    private BoardImportService boardImportService;
+
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    @Operation(summary = "Importar tablero",
+            description = "Añade al proyecto las listas y tarjetas del archivo (JSON o CSV según Content-Type), leído en streaming. "
+                    + "JSON: {\"lists\": [{\"title\", \"cards\": [{\"title\", \"description\", \"assigneeEmail\", \"dueDate\"}]}]}. "
+                    + "CSV: cabecera list,title,description,assigneeEmail,dueDate. "
+                    + "Se confirma por bloques: si falla, lo importado se queda y resume=<importId> con el mismo archivo "
+                    + "continúa donde se quedó.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<BoardImportResultDTO> importBoard(
+            @CurrentUser User user,
+            @PathVariable Long projectId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @Parameter(description = "Importación fallida que se reanuda con el mismo archivo") @RequestParam(required = false) Long resume,
+            InputStream body) {
+        BoardImportService.Format format = contentType.startsWith("text/csv")
+                ? BoardImportService.Format.CSV
+                : BoardImportService.Format.JSON;
+        BoardImportResultDTO result = resume != null
+                ? boardImportService.resumeImport(projectId, resume, user, body, format, null)
+                : boardImportService.importBoard(projectId, user, body, format, null);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+}
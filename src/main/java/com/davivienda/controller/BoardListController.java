@@ -3,17 +3,18 @@ package com.davivienda.controller;
 import com.davivienda.dto.BoardListDTO;
 import com.davivienda.dto.CreateBoardListRequest;
 import com.davivienda.model.User;
-import com.davivienda.security.UserPrincipal;
-import com.davivienda.service.AuthService;
+import com.davivienda.security.CurrentUser;
 import com.davivienda.service.BoardListService;
+import com.davivienda.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -24,49 +25,56 @@ import java.util.List;
 @Tag(name = "Listas", description = "Columnas del tablero")
 public class BoardListController {
 
+    /** El cliente puede guardar el tablero pero debe revalidarlo (If-None-Match) en cada uso. */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private BoardListService boardListService;
-    @Autowired
-    private AuthService authService;
 
     @PostMapping
     @Operation(summary = "Crear lista", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<BoardListDTO> create(
-            @AuthenticationPrincipal UserPrincipal principal,
+            @CurrentUser User user,
             @PathVariable Long projectId,
             @Valid @RequestBody CreateBoardListRequest request) {
-        User user = authService.getCurrentUser(principal.getEmail());
         BoardListDTO created = boardListService.create(projectId, user, request.getTitle(), request.getPosition());
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
     @GetMapping
-    @Operation(summary = "Listar listas", security = @SecurityRequirement(name = "bearerAuth"))
+    @Operation(summary = "Listar listas",
+            description = "Responde con ETag (versión del tablero). Con If-None-Match igual a la versión actual devuelve 304 sin cargar el tablero.",
+            security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<List<BoardListDTO>> list(
-            @AuthenticationPrincipal UserPrincipal principal,
-            @PathVariable Long projectId) {
-        User user = authService.getCurrentUser(principal.getEmail());
-        return ResponseEntity.ok(boardListService.findByProjectId(projectId, user));
+            @CurrentUser User user,
+            @PathVariable Long projectId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.forBoard(projectId, boardListService.getBoardVersion(projectId, user));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .body(boardListService.findByProjectId(projectId, user));
     }
 
     @PutMapping("/{listId}")
     @Operation(summary = "Actualizar lista", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<BoardListDTO> update(
-            @AuthenticationPrincipal UserPrincipal principal,
+            @CurrentUser User user,
             @PathVariable Long projectId,
             @PathVariable Long listId,
             @Valid @RequestBody CreateBoardListRequest request) {
-        User user = authService.getCurrentUser(principal.getEmail());
         return ResponseEntity.ok(boardListService.update(listId, user, request.getTitle(), request.getPosition()));
     }
 
     @DeleteMapping("/{listId}")
     @Operation(summary = "Eliminar lista", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<Void> delete(
-            @AuthenticationPrincipal UserPrincipal principal,
+            @CurrentUser User user,
             @PathVariable Long projectId,
             @PathVariable Long listId) {
-        User user = authService.getCurrentUser(principal.getEmail());
         boardListService.delete(listId, user);
         return ResponseEntity.noContent().build();
     }
@@ -0,0 +1,36 @@
+package com.davivienda.controller;
+
+import com.davivienda.dto.CardBatchRequest;
+import com.davivienda.dto.CardBatchResponse;
+import com.davivienda.model.User;
+import com.davivienda.security.CurrentUser;
+import com.davivienda.service.CardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/projects/{projectId}")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@Tag(name = "Tarjetas", description = "Tareas dentro de una lista")
+public class CardBatchController {
+
+    @Autowired
+    private CardService cardService;
+
+    @PostMapping("/cards:batch")
+    @Operation(summary = "Lote de operaciones sobre tarjetas",
+            description = "Aplica en orden y en una sola transacción operaciones CREATE, UPDATE, MOVE y DELETE sobre tarjetas del proyecto. "
+                    + "Devuelve el resultado de cada operación; las inválidas se descartan sin afectar al resto.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<CardBatchResponse> batch(
+            @CurrentUser User user,
+            @PathVariable Long projectId,
+            @Valid @RequestBody CardBatchRequest request) {
+        return ResponseEntity.ok(cardService.applyBatch(projectId, user, request.getOperations()));
+    }
+}
@@ -1,11 +1,12 @@
 package com.davivienda.controller;
 
 import com.davivienda.dto.CardDTO;
+import com.davivienda.dto.CardPageDTO;
+import com.davivienda.dto.CardSummaryDTO;
 import com.davivienda.dto.CreateCardRequest;
 import com.davivienda.dto.MoveCardRequest;
 import com.davivienda.model.User;
-import com.davivienda.security.UserPrincipal;
-import com.davivienda.service.AuthService;
+import com.davivienda.security.CurrentUser;
 import com.davivienda.service.CardService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -14,7 +15,6 @@ import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -27,16 +27,13 @@ public class CardController {
 
     @Autowired
     private CardService cardService;
-    @Autowired
-    private AuthService authService;
 
     @PostMapping
     @Operation(summary = "Crear tarjeta", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<CardDTO> create(
-            @AuthenticationPrincipal UserPrincipal principal,
+            @CurrentUser User user,
             @PathVariable Long listId,
             @Valid @RequestBody CreateCardRequest request) {
-        User user = authService.getCurrentUser(principal.getEmail());
         CardDTO created = cardService.create(
                 listId, user,
                 request.getTitle(), request.getDescription(), request.getPosition(),
@@ -45,22 +42,44 @@ public class CardController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar tarjetas", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<List<CardDTO>> list(
-            @AuthenticationPrincipal UserPrincipal principal,
+    @Operation(summary = "Listar tarjetas",
+            description = "Resumen de cada tarjeta, sin descripción; el detalle está en GET /lists/{listId}/cards/{cardId}.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<CardSummaryDTO>> list(
+            @CurrentUser User user,
             @PathVariable Long listId) {
-        User user = authService.getCurrentUser(principal.getEmail());
         return ResponseEntity.ok(cardService.findByListId(listId, user));
     }
 
+    @GetMapping(params = "limit")
+    @Operation(summary = "Listar tarjetas por páginas",
+            description = "Paginación por cursor sobre (clave de orden, id). Usa nextCursor como parámetro after para la siguiente página.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<CardPageDTO> listPage(
+            @CurrentUser User user,
+            @PathVariable Long listId,
+            @RequestParam int limit,
+            @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(cardService.findPageByListId(listId, user, limit, after));
+    }
+
+    @GetMapping("/{cardId}")
+    @Operation(summary = "Ver tarjeta", description = "Tarjeta completa, con la descripción y sus etiquetas.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<CardDTO> get(
+            @CurrentUser User user,
+            @PathVariable Long listId,
+            @PathVariable Long cardId) {
+        return ResponseEntity.ok(cardService.findById(listId, cardId, user));
+    }
+
     @PutMapping("/{cardId}")
     @Operation(summary = "Actualizar tarjeta", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<CardDTO> update(
-            @AuthenticationPrincipal UserPrincipal principal,
+            @CurrentUser User user,
             @PathVariable Long listId,
             @PathVariable Long cardId,
             @Valid @RequestBody CreateCardRequest request) {
-        User user = authService.getCurrentUser(principal.getEmail());
         return ResponseEntity.ok(cardService.update(
                 cardId, user,
                 request.getTitle(), request.getDescription(), request.getPosition(),
@@ -70,21 +89,19 @@ public class CardController {
     @PostMapping("/{cardId}/move")
     @Operation(summary = "Mover tarjeta", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<CardDTO> move(
-            @AuthenticationPrincipal UserPrincipal principal,
+            @CurrentUser User user,
             @PathVariable Long listId,
             @PathVariable Long cardId,
             @Valid @RequestBody MoveCardRequest request) {
-        User user = authService.getCurrentUser(principal.getEmail());
         return ResponseEntity.ok(cardService.move(cardId, request.getTargetListId(), request.getNewPosition(), user));
     }
 
     @DeleteMapping("/{cardId}")
     @Operation(summary = "Eliminar tarjeta", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<Void> delete(
-            @AuthenticationPrincipal UserPrincipal principal,
+            @CurrentUser User user,
             @PathVariable Long listId,
             @PathVariable Long cardId) {
-        User user = authService.getCurrentUser(principal.getEmail());
         cardService.delete(cardId, user);
         return ResponseEntity.noContent().build();
     }
@@ -0,0 +1,90 @@
+package com.davivienda.controller;
+
+import com.davivienda.dto.CreateLabelRequest;
+import com.davivienda.dto.LabelDTO;
+import com.davivienda.model.User;
+import com.davivienda.security.CurrentUser;
+import com.davivienda.service.LabelService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/projects/{projectId}/labels")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@Tag(name = "Etiquetas", description = "Etiquetas del proyecto y de sus tarjetas")
+public class LabelController {
+
+    @Autowired
+    private LabelService labelService;
+
+    @GetMapping
+    @Operation(summary = "Listar etiquetas", description = "Etiquetas del proyecto por nombre, con el número de tarjetas de cada una",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<LabelDTO>> list(
+            @CurrentUser User user,
+            @PathVariable Long projectId) {
+        return ResponseEntity.ok(labelService.findByProjectId(projectId, user));
+    }
+
+    @PostMapping
+    @Operation(summary = "Crear etiqueta", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<LabelDTO> create(
+            @CurrentUser User user,
+            @PathVariable Long projectId,
+            @Valid @RequestBody CreateLabelRequest request) {
+        LabelDTO created = labelService.create(projectId, user, request.getName(), request.getColor());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @PutMapping("/{labelId}")
+    @Operation(summary = "Actualizar etiqueta", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<LabelDTO> update(
+            @CurrentUser User user,
+            @PathVariable Long projectId,
+            @PathVariable Long labelId,
+            @Valid @RequestBody CreateLabelRequest request) {
+        return ResponseEntity.ok(labelService.update(projectId, labelId, user, request.getName(), request.getColor()));
+    }
+
+    @DeleteMapping("/{labelId}")
+    @Operation(summary = "Eliminar etiqueta", description = "La quita también de todas sus tarjetas",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Void> delete(
+            @CurrentUser User user,
+            @PathVariable Long projectId,
+            @PathVariable Long labelId) {
+        labelService.delete(projectId, labelId, user);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/{labelId}/cards/{cardId}")
+    @Operation(summary = "Poner la etiqueta a una tarjeta", description = "Idempotente: si la tarjeta ya la tiene no cambia nada",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Void> addToCard(
+            @CurrentUser User user,
+            @PathVariable Long projectId,
+            @PathVariable Long labelId,
+            @PathVariable Long cardId) {
+        labelService.addToCard(projectId, labelId, cardId, user);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{labelId}/cards/{cardId}")
+    @Operation(summary = "Quitar la etiqueta de una tarjeta", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Void> removeFromCard(
+            @CurrentUser User user,
+            @PathVariable Long projectId,
+            @PathVariable Long labelId,
+            @PathVariable Long cardId) {
+        labelService.removeFromCard(projectId, labelId, cardId, user);
+        return ResponseEntity.noContent().build();
+    }
+}
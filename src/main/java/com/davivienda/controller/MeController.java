@@ -0,0 +1,38 @@
+package com.davivienda.controller;
+
+import com.davivienda.dto.AssignedCardPageDTO;
+import com.davivienda.model.User;
+import com.davivienda.security.CurrentUser;
+import com.davivienda.service.CardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/me")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@Tag(name = "Mi trabajo", description = "Vistas del usuario a través de todos sus proyectos")
+public class MeController {
+
+    @Autowired
+    private CardService cardService;
+
+    @GetMapping("/cards")
+    @Operation(summary = "Mis tarjetas",
+            description = "Tarjetas asignadas a ti en tus proyectos, por fecha límite (las que no tienen van al final). "
+                    + "Filtros: overdue (vencidas), dueWithinDays (vencen entre hoy y dentro de N días; con overdue, también las vencidas) "
+                    + "y projectId. Paginación por cursor: usa nextCursor como parámetro after para la siguiente página.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<AssignedCardPageDTO> myCards(
+            @CurrentUser User user,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(defaultValue = "false") boolean overdue,
+            @RequestParam(required = false) Integer dueWithinDays,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(cardService.findAssignedTo(user, projectId, overdue, dueWithinDays, limit, after));
+    }
+}
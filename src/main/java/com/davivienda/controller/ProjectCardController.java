@@ -0,0 +1,39 @@
+package com.davivienda.controller;
+
+import com.davivienda.dto.CardFilter;
+import com.davivienda.dto.CardPageDTO;
+import com.davivienda.model.User;
+import com.davivienda.security.CurrentUser;
+import com.davivienda.service.CardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/projects/{projectId}/cards")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@Tag(name = "Tarjetas", description = "Tareas dentro de una lista")
+public class ProjectCardController {
+
+    @Autowired
+    private CardService cardService;
+
+    @GetMapping
+    @Operation(summary = "Filtrar tarjetas del proyecto",
+            description = "Tarjetas del tablero que cumplen todos los filtros indicados: assigneeId o unassigned, rango de fecha límite "
+                    + "(dueFrom, dueTo), listId y titlePrefix (sin distinguir mayúsculas ni tildes). Ordenadas por lista y posición; "
+                    + "paginación por cursor: usa nextCursor como parámetro after para la siguiente página.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<CardPageDTO> filter(
+            @CurrentUser User user,
+            @PathVariable Long projectId,
+            @ParameterObject CardFilter filter,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(cardService.filter(projectId, user, filter, limit, after));
+    }
+}
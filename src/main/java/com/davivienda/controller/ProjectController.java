@@ -3,18 +3,21 @@ package com.davivienda.controller;
 import com.davivienda.dto.AddMemberRequest;
 import com.davivienda.dto.CreateProjectRequest;
 import com.davivienda.dto.ProjectDTO;
+import com.davivienda.dto.ProjectPageDTO;
+import com.davivienda.dto.ProjectPurgeDTO;
 import com.davivienda.model.User;
-import com.davivienda.security.UserPrincipal;
-import com.davivienda.service.AuthService;
+import com.davivienda.security.CurrentUser;
 import com.davivienda.service.ProjectService;
+import com.davivienda.util.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -25,64 +28,87 @@ import java.util.List;
 @Tag(name = "Proyectos", description = "Tableros tipo Trello - colaboración en proyectos")
 public class ProjectController {
 
+    /** El cliente puede guardar el tablero pero debe revalidarlo (If-None-Match) en cada uso. */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private ProjectService projectService;
-    @Autowired
-    private AuthService authService;
 
     @PostMapping
     @Operation(summary = "Crear proyecto", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<ProjectDTO> create(
-            @AuthenticationPrincipal UserPrincipal principal,
+            @CurrentUser User user,
             @Valid @RequestBody CreateProjectRequest request) {
-        User user = authService.getCurrentUser(principal.getEmail());
         ProjectDTO created = projectService.create(user, request.getName(), request.getDescription());
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
     @GetMapping
-    @Operation(summary = "Mis proyectos", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<List<ProjectDTO>> list(@AuthenticationPrincipal UserPrincipal principal) {
-        User user = authService.getCurrentUser(principal.getEmail());
+    @Operation(summary = "Mis proyectos",
+            description = "Cada proyecto con el nombre del creador y el número de listas, tarjetas y tarjetas vencidas.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<ProjectDTO>> list(@CurrentUser User user) {
         return ResponseEntity.ok(projectService.findByUser(user));
     }
 
+    @GetMapping(params = "limit")
+    @Operation(summary = "Mis proyectos por páginas",
+            description = "Paginación por cursor sobre (updatedAt, id), los actualizados más recientemente primero. Usa nextCursor como parámetro after para la siguiente página.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ProjectPageDTO> listPage(
+            @CurrentUser User user,
+            @RequestParam int limit,
+            @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(projectService.findPageByUser(user, limit, after));
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Ver proyecto", security = @SecurityRequirement(name = "bearerAuth"))
+    @Operation(summary = "Ver proyecto",
+            description = "Responde con ETag (versión del tablero). Con If-None-Match igual a la versión actual devuelve 304 sin cargar el tablero.",
+            security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<ProjectDTO> getById(
-            @AuthenticationPrincipal UserPrincipal principal,
-            @PathVariable Long id) {
-        User user = authService.getCurrentUser(principal.getEmail());
-        return ResponseEntity.ok(projectService.getById(id, user));
+            @CurrentUser User user,
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.forBoard(id, projectService.getBoardVersion(id, user));
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .body(projectService.getById(id, user));
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Actualizar proyecto", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<ProjectDTO> update(
-            @AuthenticationPrincipal UserPrincipal principal,
+            @CurrentUser User user,
             @PathVariable Long id,
             @Valid @RequestBody CreateProjectRequest request) {
-        User user = authService.getCurrentUser(principal.getEmail());
         return ResponseEntity.ok(projectService.update(id, user, request.getName(), request.getDescription()));
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Eliminar proyecto", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<Void> delete(
-            @AuthenticationPrincipal UserPrincipal principal,
+    @Operation(summary = "Eliminar proyecto",
+            description = "Deja de verse al momento. Con pocas tarjetas (app.projects.purge.sync-max-cards) se borra en la petición (204); si no, se borra en segundo plano y responde 202 con el progreso inicial.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ProjectPurgeDTO> delete(
+            @CurrentUser User user,
             @PathVariable Long id) {
-        User user = authService.getCurrentUser(principal.getEmail());
-        projectService.delete(id, user);
-        return ResponseEntity.noContent().build();
+        ProjectPurgeDTO purge = projectService.delete(id, user);
+        if (purge.getStatus() == ProjectPurgeDTO.Status.DONE) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.accepted().body(purge);
     }
 
     @PostMapping("/{id}/members")
     @Operation(summary = "Añadir miembro", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<Void> addMember(
-            @AuthenticationPrincipal UserPrincipal principal,
+            @CurrentUser User user,
             @PathVariable Long id,
             @Valid @RequestBody AddMemberRequest request) {
-        User user = authService.getCurrentUser(principal.getEmail());
         projectService.addMember(id, user, request.getEmail());
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
@@ -90,10 +116,9 @@ public class ProjectController {
     @DeleteMapping("/{projectId}/members/{userId}")
     @Operation(summary = "Eliminar miembro", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<Void> removeMember(
-            @AuthenticationPrincipal UserPrincipal principal,
+            @CurrentUser User user,
             @PathVariable Long projectId,
             @PathVariable Long userId) {
-        User user = authService.getCurrentUser(principal.getEmail());
         projectService.removeMember(projectId, userId, user);
         return ResponseEntity.noContent().build();
     }
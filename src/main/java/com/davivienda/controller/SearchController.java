@@ -0,0 +1,35 @@
+package com.davivienda.controller;
+
+import com.davivienda.dto.CardSearchPageDTO;
+import com.davivienda.model.User;
+import com.davivienda.security.CurrentUser;
+import com.davivienda.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@Tag(name = "Búsqueda", description = "Búsqueda de texto en las tarjetas de tus proyectos")
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    @GetMapping
+    @Operation(summary = "Buscar tarjetas",
+            description = "Tarjetas de tus proyectos con todos los términos de q en el título o la descripción, las más relevantes primero. "
+                    + "Paginación por cursor: usa nextCursor como parámetro after para la siguiente página.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<CardSearchPageDTO> search(
+            @CurrentUser User user,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(searchService.searchCards(user, q, limit, after));
+    }
+}
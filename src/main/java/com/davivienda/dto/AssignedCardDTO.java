@@ -0,0 +1,42 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Tarjeta asignada al usuario, con su lista y su proyecto (Mis tarjetas). Se lee con una proyección JPQL.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Tarjeta asignada al usuario, con la lista y el proyecto a los que pertenece")
+public class AssignedCardDTO {
+
+    @Schema(description = "ID de la tarjeta")
+    private Long id;
+
+    @Schema(description = "Título de la tarea")
+    private String title;
+
+    @Schema(description = "Fecha límite")
+    private LocalDate dueDate;
+
+    @Schema(description = "ID de la lista")
+    private Long listId;
+
+    @Schema(description = "Título de la lista")
+    private String listTitle;
+
+    @Schema(description = "ID del proyecto")
+    private Long projectId;
+
+    @Schema(description = "Nombre del proyecto")
+    private String projectName;
+
+    @Schema(description = "Fecha de última actualización")
+    private LocalDateTime updatedAt;
+}
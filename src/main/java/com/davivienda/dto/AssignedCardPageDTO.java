@@ -0,0 +1,20 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de tarjetas asignadas al usuario (paginación por cursor)")
+public class AssignedCardPageDTO {
+
+    @Schema(description = "Tarjetas de la página por fecha límite (las que no tienen van al final) y luego por id")
+    private List<AssignedCardDTO> items;
+
+    @Schema(description = "Cursor para pedir la siguiente página (parámetro after); null si no hay más")
+    private String nextCursor;
+}
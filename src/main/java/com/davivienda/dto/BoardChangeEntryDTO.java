@@ -0,0 +1,22 @@
+package com.davivienda.dto;
+
+import com.davivienda.event.BoardChangedEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Cambio sobre una lista o tarjeta")
+public class BoardChangeEntryDTO {
+
+    @Schema(description = "Tipo de cambio", example = "CARD_MOVED")
+    private BoardChangedEvent.Type type;
+
+    @Schema(description = "Tipo de elemento", example = "CARD")
+    private BoardChangedEvent.Entity entityType;
+
+    @Schema(description = "ID del elemento (vacío en cambios de todo el tablero)")
+    private Long id;
+}
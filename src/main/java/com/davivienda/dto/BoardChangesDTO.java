@@ -0,0 +1,38 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Cambios de un tablero desde una versión. Si full es true, project trae el tablero completo y sustituye al que tenga el cliente")
+public class BoardChangesDTO {
+
+    @Schema(description = "ID del proyecto")
+    private Long projectId;
+
+    @Schema(description = "Versión desde la que se piden los cambios")
+    private Long since;
+
+    @Schema(description = "Versión a la que lleva esta respuesta; es el since de la siguiente consulta")
+    private Long version;
+
+    @Schema(description = "true si no se pudo responder con cambios (hueco demasiado grande, registro compactado o cambio masivo)")
+    private boolean full;
+
+    @Schema(description = "Tablero completo si full; si no, solo los datos del proyecto cuando han cambiado (sin listas)")
+    private ProjectDTO project;
+
+    @Schema(description = "Listas creadas, modificadas o movidas, en su estado actual y sin tarjetas")
+    private List<BoardListDTO> lists;
+
+    @Schema(description = "Tarjetas creadas, modificadas o movidas, en su estado actual y sin descripción (el orden lo da rank)")
+    private List<CardSummaryDTO> cards;
+
+    @Schema(description = "Listas y tarjetas eliminadas. Al eliminar una lista desaparecen también sus tarjetas")
+    private List<BoardTombstoneDTO> deleted;
+}
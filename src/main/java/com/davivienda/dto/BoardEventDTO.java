@@ -0,0 +1,23 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Evento del flujo SSE de un tablero: los cambios confirmados en una versión")
+public class BoardEventDTO {
+
+    @Schema(description = "ID del proyecto")
+    private Long projectId;
+
+    @Schema(description = "Versión del tablero tras estos cambios (también es el id del evento)")
+    private Long version;
+
+    @Schema(description = "Listas y tarjetas cambiadas; el estado actual se obtiene con GET /projects/{id}/changes")
+    private List<BoardChangeEntryDTO> changes;
+}
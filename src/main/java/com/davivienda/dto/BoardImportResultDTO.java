@@ -0,0 +1,30 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resumen de una importación de tablero")
+public class BoardImportResultDTO {
+
+    @Schema(description = "ID de la importación (para reanudarla si falla)")
+    private Long importId;
+
+    @Schema(description = "ID del proyecto destino")
+    private Long projectId;
+
+    @Schema(description = "Listas creadas (también las de pasadas anteriores si se reanudó)")
+    private int lists;
+
+    @Schema(description = "Tarjetas creadas (también las de pasadas anteriores si se reanudó)")
+    private long cards;
+
+    @Schema(description = "Tarjetas cuyo email de asignado no corresponde a ningún usuario (quedan sin asignar)")
+    private long unknownAssignees;
+
+    @Schema(description = "Duración de esta pasada en milisegundos")
+    private long elapsedMs;
+}
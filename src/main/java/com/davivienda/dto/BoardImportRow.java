@@ -0,0 +1,31 @@
+package com.davivienda.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Schema(description = "Tarjeta de un archivo de importación (objeto de cards en JSON o fila en CSV)")
+public class BoardImportRow {
+
+    @Schema(description = "Título de la lista (solo CSV: columna list)")
+    private String list;
+
+    @Schema(description = "Título de la tarjeta")
+    private String title;
+
+    @Schema(description = "Descripción")
+    private String description;
+
+    @Schema(description = "Email del usuario asignado (se ignora si no existe)")
+    private String assigneeEmail;
+
+    @Schema(description = "Fecha límite (yyyy-MM-dd)")
+    private LocalDate dueDate;
+}
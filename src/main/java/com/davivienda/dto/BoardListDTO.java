@@ -2,13 +2,12 @@ package com.davivienda.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(description = "Lista/columna del tablero (ej: Por hacer, En progreso, Hecho)")
@@ -21,13 +20,22 @@ public class BoardListDTO {
     @Schema(description = "Título de la lista", requiredMode = Schema.RequiredMode.REQUIRED)
     private String title;
 
-    @NotNull(message = "La posición es requerida")
-    @Schema(description = "Orden de la lista en el tablero", requiredMode = Schema.RequiredMode.REQUIRED)
+    @Schema(description = "Índice de la lista en el tablero; en escrituras, la posición solicitada")
     private Integer position;
 
+    @Schema(description = "Clave de orden (lexicográfica); ordenar por ella da el orden del tablero")
+    private String rank;
+
     @Schema(description = "ID del proyecto")
     private Long projectId;
 
-    @Schema(description = "Tarjetas (tareas) de la lista")
-    private List<CardDTO> cards;
+    @Schema(description = "Tarjetas (tareas) de la lista, sin descripción")
+    private List<CardSummaryDTO> cards;
+
+    /**
+     * Proyección JPQL ({@code SELECT new BoardListDTO(...)}). La posición y las tarjetas las asigna el servicio.
+     */
+    public BoardListDTO(Long id, String title, String rank, Long projectId) {
+        this(id, title, null, rank, projectId, null);
+    }
 }
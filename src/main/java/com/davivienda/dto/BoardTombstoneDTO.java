@@ -0,0 +1,22 @@
+package com.davivienda.dto;
+
+import com.davivienda.event.BoardChangedEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Lista o tarjeta eliminada desde la versión pedida")
+public class BoardTombstoneDTO {
+
+    @Schema(description = "Tipo de elemento eliminado", example = "CARD")
+    private BoardChangedEvent.Entity entityType;
+
+    @Schema(description = "ID del elemento eliminado")
+    private Long id;
+
+    @Schema(description = "Versión del tablero en la que se eliminó")
+    private Long version;
+}
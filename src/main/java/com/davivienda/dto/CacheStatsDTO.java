@@ -0,0 +1,39 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estadísticas de una caché en memoria")
+public class CacheStatsDTO {
+
+    @Schema(description = "Nombre de la caché", example = "board-snapshots")
+    private String name;
+
+    @Schema(description = "Entradas actuales")
+    private long size;
+
+    @Schema(description = "Peso actual (listas + tarjetas en los tableros cacheados); null si la caché no usa peso")
+    private Long weight;
+
+    @Schema(description = "Peso máximo configurado; null si la caché no usa peso")
+    private Long maxWeight;
+
+    @Schema(description = "Lecturas servidas desde la caché")
+    private long hits;
+
+    @Schema(description = "Lecturas que tuvieron que cargar el valor")
+    private long misses;
+
+    @Schema(description = "hits / (hits + misses)")
+    private double hitRate;
+
+    @Schema(description = "Entradas expulsadas por tamaño o expiración")
+    private Long evictions;
+
+    @Schema(description = "Tiempo medio de carga en milisegundos")
+    private Double averageLoadMs;
+}
@@ -0,0 +1,21 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Lote de operaciones sobre tarjetas de un proyecto, aplicadas en orden")
+public class CardBatchRequest {
+
+    @Valid
+    @NotEmpty(message = "El lote debe contener al menos una operación")
+    @Schema(description = "Operaciones en el orden en que se aplican", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<CardOperation> operations;
+}
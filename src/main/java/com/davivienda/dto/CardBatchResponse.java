@@ -0,0 +1,23 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultados de un lote de operaciones sobre tarjetas")
+public class CardBatchResponse {
+
+    @Schema(description = "Resultado de cada operación, en el mismo orden del lote")
+    private List<CardOperationResult> results;
+
+    @Schema(description = "Operaciones aplicadas")
+    private int succeeded;
+
+    @Schema(description = "Operaciones descartadas por error")
+    private int failed;
+}
@@ -2,17 +2,17 @@ package com.davivienda.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Schema(description = "Tarjeta (tarea) en una lista")
+@Schema(description = "Tarjeta (tarea) en una lista, con su descripción")
 public class CardDTO {
 
     @Schema(description = "ID de la tarjeta")
@@ -25,10 +25,12 @@ public class CardDTO {
     @Schema(description = "Descripción detallada")
     private String description;
 
-    @NotNull(message = "La posición es requerida")
-    @Schema(description = "Orden dentro de la lista", requiredMode = Schema.RequiredMode.REQUIRED)
+    @Schema(description = "Índice dentro de la lista en las lecturas del tablero; en escrituras, la posición solicitada")
     private Integer position;
 
+    @Schema(description = "Clave de orden (lexicográfica); ordenar por ella da el orden del tablero")
+    private String rank;
+
     @Schema(description = "ID de la lista")
     private Long listId;
 
@@ -46,4 +48,16 @@ public class CardDTO {
 
     @Schema(description = "Fecha de última actualización")
     private LocalDateTime updatedAt;
+
+    @Schema(description = "IDs de las etiquetas de la tarjeta, en el detalle")
+    private List<Long> labelIds;
+
+    /**
+     * Proyección JPQL ({@code SELECT new CardDTO(...)}): columnas de la tarjeta y del asignado, sin cargar entidades.
+     * La posición la asigna el servicio.
+     */
+    public CardDTO(Long id, String title, String description, String rank, Long listId, Long assigneeId,
+                   String assigneeName, LocalDate dueDate, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, title, description, null, rank, listId, assigneeId, assigneeName, dueDate, createdAt, updatedAt, null);
+    }
 }
@@ -0,0 +1,50 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Filtro de tarjetas de un tablero (parámetros de consulta). Los criterios presentes se combinan con AND.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Filtro de tarjetas de un proyecto; los criterios indicados se combinan con AND")
+public class CardFilter {
+
+    @Schema(description = "Solo las asignadas a este usuario")
+    private Long assigneeId;
+
+    @Schema(description = "Solo las que no tienen asignado (incompatible con assigneeId)")
+    private Boolean unassigned;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(description = "Fecha límite igual o posterior (yyyy-MM-dd)")
+    private LocalDate dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(description = "Fecha límite igual o anterior (yyyy-MM-dd)")
+    private LocalDate dueTo;
+
+    @Schema(description = "Solo las de esta lista")
+    private Long listId;
+
+    @Schema(description = "El título empieza por este texto, sin distinguir mayúsculas ni tildes")
+    private String titlePrefix;
+
+    @Schema(description = "Con estas etiquetas (IDs): alguna de ellas o todas, según labelMatch")
+    private List<Long> labelIds;
+
+    @Schema(description = "ANY (por defecto): al menos una de labelIds; ALL: todas")
+    private LabelMatch labelMatch;
+
+    public enum LabelMatch {
+        ANY,
+        ALL
+    }
+}
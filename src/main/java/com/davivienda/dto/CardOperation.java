@@ -0,0 +1,44 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Operación sobre una tarjeta dentro de un lote")
+public class CardOperation {
+
+    public enum Type {
+        CREATE, UPDATE, MOVE, DELETE
+    }
+
+    @NotNull(message = "El tipo de operación es requerido")
+    @Schema(description = "Tipo de operación", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Type type;
+
+    @Schema(description = "ID de la tarjeta (UPDATE, MOVE, DELETE)")
+    private Long cardId;
+
+    @Schema(description = "ID de la lista (CREATE: lista donde crear; MOVE: lista destino)")
+    private Long listId;
+
+    @Schema(description = "Título (CREATE requerido; UPDATE opcional)")
+    private String title;
+
+    @Schema(description = "Descripción")
+    private String description;
+
+    @Schema(description = "Índice en la lista donde colocar la tarjeta (opcional; en CREATE y MOVE por defecto al final)")
+    private Integer position;
+
+    @Schema(description = "ID del usuario asignado (0 = quitar asignación)")
+    private Long assigneeId;
+
+    @Schema(description = "Fecha límite")
+    private LocalDate dueDate;
+}
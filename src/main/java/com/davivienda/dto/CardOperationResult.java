@@ -0,0 +1,31 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de una operación del lote")
+public class CardOperationResult {
+
+    public enum Status {
+        OK, ERROR
+    }
+
+    @Schema(description = "Índice de la operación en el lote")
+    private int index;
+
+    @Schema(description = "Tipo de operación")
+    private CardOperation.Type type;
+
+    @Schema(description = "OK si se aplicó; ERROR si se descartó")
+    private Status status;
+
+    @Schema(description = "Tarjeta resultante (null en DELETE y en errores)")
+    private CardDTO card;
+
+    @Schema(description = "Motivo del error")
+    private String error;
+}
@@ -0,0 +1,20 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de tarjetas de una lista (paginación por cursor)")
+public class CardPageDTO {
+
+    @Schema(description = "Tarjetas de la página, en orden")
+    private List<CardSummaryDTO> items;
+
+    @Schema(description = "Cursor para pedir la siguiente página (parámetro after); null si no hay más")
+    private String nextCursor;
+}
@@ -0,0 +1,20 @@
+package com.davivienda.dto;
+
+import lombok.*;
+
+/**
+ * Lo que el índice de búsqueda guarda de una tarjeta: texto a indexar y los ids para filtrar y borrar.
+ * Proyección JPQL de {@code CardRepository}; no se expone en la API.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardSearchDocument {
+
+    private Long id;
+    private Long projectId;
+    private Long listId;
+    private String title;
+    private String description;
+}
@@ -0,0 +1,21 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de búsqueda: la tarjeta con su proyecto y su relevancia")
+public class CardSearchHitDTO {
+
+    @Schema(description = "ID del proyecto de la tarjeta")
+    private Long projectId;
+
+    @Schema(description = "Relevancia (BM25); mayor es mejor")
+    private Float score;
+
+    @Schema(description = "Tarjeta encontrada")
+    private CardDTO card;
+}
@@ -0,0 +1,20 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de resultados de búsqueda de tarjetas (paginación por cursor)")
+public class CardSearchPageDTO {
+
+    @Schema(description = "Resultados de la página, los más relevantes primero")
+    private List<CardSearchHitDTO> items;
+
+    @Schema(description = "Cursor para pedir la siguiente página (parámetro after); null si no hay más")
+    private String nextCursor;
+}
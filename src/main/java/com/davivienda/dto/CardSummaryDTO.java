@@ -0,0 +1,62 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Tarjeta tal como la muestra el tablero: sin la descripción (hasta 4000 caracteres), que se pide aparte con
+ * {@code GET /lists/{listId}/cards/{cardId}}.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resumen de una tarjeta en el tablero (sin descripción)")
+public class CardSummaryDTO {
+
+    @Schema(description = "ID de la tarjeta")
+    private Long id;
+
+    @Schema(description = "Título de la tarea")
+    private String title;
+
+    @Schema(description = "Índice dentro de la lista en las lecturas del tablero")
+    private Integer position;
+
+    @Schema(description = "Clave de orden (lexicográfica); ordenar por ella da el orden del tablero")
+    private String rank;
+
+    @Schema(description = "ID de la lista")
+    private Long listId;
+
+    @Schema(description = "ID del usuario asignado (opcional)")
+    private Long assigneeId;
+
+    @Schema(description = "Nombre del usuario asignado")
+    private String assigneeName;
+
+    @Schema(description = "Fecha límite")
+    private LocalDate dueDate;
+
+    @Schema(description = "Fecha de creación")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Fecha de última actualización")
+    private LocalDateTime updatedAt;
+
+    @Schema(description = "IDs de las etiquetas de la tarjeta, en el filtro de tarjetas del proyecto")
+    private List<Long> labelIds;
+
+    /**
+     * Proyección JPQL ({@code SELECT new CardSummaryDTO(...)}): no selecciona la columna description.
+     * La posición la asigna el servicio.
+     */
+    public CardSummaryDTO(Long id, String title, String rank, Long listId, Long assigneeId, String assigneeName,
+                          LocalDate dueDate, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, title, null, rank, listId, assigneeId, assigneeName, dueDate, createdAt, updatedAt, null);
+    }
+}
@@ -2,7 +2,6 @@ package com.davivienda.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
 @Data
@@ -16,7 +15,6 @@ public class CreateBoardListRequest {
     @Schema(description = "Título de la lista", requiredMode = Schema.RequiredMode.REQUIRED)
     private String title;
 
-    @NotNull(message = "La posición es requerida")
-    @Schema(description = "Posición en el tablero", requiredMode = Schema.RequiredMode.REQUIRED)
+    @Schema(description = "Índice en el tablero donde insertar la lista (opcional; por defecto al final)")
     private Integer position;
 }
@@ -2,7 +2,6 @@ package com.davivienda.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
 import java.time.LocalDate;
@@ -21,8 +20,7 @@ public class CreateCardRequest {
     @Schema(description = "Descripción")
     private String description;
 
-    @NotNull(message = "La posición es requerida")
-    @Schema(description = "Posición en la lista", requiredMode = Schema.RequiredMode.REQUIRED)
+    @Schema(description = "Índice en la lista donde insertar la tarjeta (opcional; por defecto al final)")
     private Integer position;
 
     @Schema(description = "ID del usuario asignado (opcional)")
@@ -0,0 +1,24 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request para crear o editar una etiqueta de un proyecto")
+public class CreateLabelRequest {
+
+    @NotBlank(message = "El nombre de la etiqueta es requerido")
+    @Size(max = 50, message = "El nombre de la etiqueta no puede superar 50 caracteres")
+    @Schema(description = "Nombre de la etiqueta", requiredMode = Schema.RequiredMode.REQUIRED)
+    private String name;
+
+    @Pattern(regexp = "#[0-9a-fA-F]{6}", message = "El color debe tener el formato #RRGGBB")
+    @Schema(description = "Color (#RRGGBB, opcional)", example = "#61bd4f")
+    private String color;
+}
@@ -0,0 +1,12 @@
+package com.davivienda.dto;
+
+/**
+ * Una etiqueta puesta a una tarjeta, tal como la carga el índice de etiquetas.
+ * Proyección de la consulta nativa de {@code LabelRepository} (columnas label_id y card_id); no se expone en la API.
+ */
+public interface LabelAssignment {
+
+    Long getLabelId();
+
+    Long getCardId();
+}
@@ -0,0 +1,27 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Etiqueta de un proyecto")
+public class LabelDTO {
+
+    @Schema(description = "ID de la etiqueta")
+    private Long id;
+
+    @Schema(description = "ID del proyecto")
+    private Long projectId;
+
+    @Schema(description = "Nombre, único en el proyecto sin distinguir mayúsculas")
+    private String name;
+
+    @Schema(description = "Color (#RRGGBB)")
+    private String color;
+
+    @Schema(description = "Tarjetas con esta etiqueta")
+    private Integer cardCount;
+}
@@ -8,7 +8,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Schema(description = "Proyecto (tablero) tipo Trello")
@@ -36,6 +36,36 @@ public class ProjectDTO {
     @Schema(description = "Fecha de última actualización")
     private LocalDateTime updatedAt;
 
+    @Schema(description = "Versión del tablero; es también el ETag de GET /projects/{id} y GET /projects/{id}/lists")
+    private Long boardVersion;
+
+    @Schema(description = "Número de listas del tablero (solo en Mis proyectos)")
+    private Long listCount;
+
+    @Schema(description = "Número de tarjetas del tablero (solo en Mis proyectos)")
+    private Long cardCount;
+
+    @Schema(description = "Tarjetas con fecha límite anterior a hoy (solo en Mis proyectos)")
+    private Long overdueCardCount;
+
     @Schema(description = "Listas del tablero (columnas)")
     private List<BoardListDTO> lists;
+
+    /**
+     * Proyección JPQL ({@code SELECT new ProjectDTO(...)}): columnas del proyecto y de su creador, sin listas.
+     */
+    public ProjectDTO(Long id, String name, String description, Long createdById, String createdByName,
+                      LocalDateTime createdAt, LocalDateTime updatedAt, Long boardVersion) {
+        this(id, name, description, createdById, createdByName, createdAt, updatedAt, boardVersion, null, null, null, null);
+    }
+
+    /**
+     * Proyección JPQL de Mis proyectos: columnas del proyecto y de su creador con los totales del tablero, sin listas.
+     */
+    public ProjectDTO(Long id, String name, String description, Long createdById, String createdByName,
+                      LocalDateTime createdAt, LocalDateTime updatedAt, Long boardVersion,
+                      Long listCount, Long cardCount, Long overdueCardCount) {
+        this(id, name, description, createdById, createdByName, createdAt, updatedAt, boardVersion,
+                listCount, cardCount, overdueCardCount, null);
+    }
 }
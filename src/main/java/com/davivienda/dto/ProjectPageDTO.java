@@ -0,0 +1,20 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de proyectos del usuario (paginación por cursor)")
+public class ProjectPageDTO {
+
+    @Schema(description = "Proyectos de la página, los actualizados más recientemente primero")
+    private List<ProjectDTO> items;
+
+    @Schema(description = "Cursor para pedir la siguiente página (parámetro after); null si no hay más")
+    private String nextCursor;
+}
@@ -0,0 +1,44 @@
+package com.davivienda.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Borrado de un proyecto y su progreso")
+public class ProjectPurgeDTO {
+
+    public enum Status {
+        /** Marcado como borrado; lo recogerá la tarea de borrado en segundo plano. */
+        PENDING,
+        RUNNING,
+        DONE,
+        /** La última pasada falló; la siguiente continúa donde se quedó. */
+        FAILED
+    }
+
+    @Schema(description = "ID del proyecto")
+    private Long projectId;
+
+    @Schema(description = "Estado del borrado")
+    private Status status;
+
+    @Schema(description = "Tarjetas que tenía el proyecto al empezar")
+    private long cardsTotal;
+
+    @Schema(description = "Tarjetas ya borradas")
+    private long cardsDeleted;
+
+    @Schema(description = "Inicio del borrado en esta instancia")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Fin del borrado (o de la pasada fallida)")
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "Error de la última pasada, si falló")
+    private String error;
+}
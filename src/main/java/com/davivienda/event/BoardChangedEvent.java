@@ -0,0 +1,62 @@
+package com.davivienda.event;
+
+/**
+ * Cambio en el contenido de un tablero (proyecto, listas o tarjetas). Se publica desde los servicios dentro de la
+ * transacción que hace el cambio y se consume tras el commit; si la transacción se revierte no llega a publicarse.
+ *
+ * @param entityId id de la lista o tarjeta afectada; null en los cambios de proyecto o de todo el tablero
+ */
+public record BoardChangedEvent(Long projectId, Type type, Long entityId) {
+
+    public enum Type {
+        PROJECT_UPDATED(Entity.PROJECT),
+        PROJECT_DELETED(Entity.PROJECT),
+        LIST_CREATED(Entity.LIST),
+        LIST_UPDATED(Entity.LIST),
+        LIST_MOVED(Entity.LIST),
+        LIST_DELETED(Entity.LIST),
+        CARD_CREATED(Entity.CARD),
+        CARD_UPDATED(Entity.CARD),
+        CARD_MOVED(Entity.CARD),
+        CARD_DELETED(Entity.CARD),
+        /** Cambios masivos (importación, rebalanceo de claves de orden): hay que recargar el tablero entero. */
+        BOARD_RELOADED(Entity.BOARD);
+
+        private final Entity entity;
+
+        Type(Entity entity) {
+            this.entity = entity;
+        }
+
+        public Entity entity() {
+            return entity;
+        }
+
+        public boolean isDelete() {
+            return this == PROJECT_DELETED || this == LIST_DELETED || this == CARD_DELETED;
+        }
+    }
+
+    public enum Entity {
+        PROJECT,
+        LIST,
+        CARD,
+        BOARD
+    }
+
+    public static BoardChangedEvent project(Long projectId, Type type) {
+        return new BoardChangedEvent(projectId, type, null);
+    }
+
+    public static BoardChangedEvent list(Long projectId, Type type, Long listId) {
+        return new BoardChangedEvent(projectId, type, listId);
+    }
+
+    public static BoardChangedEvent card(Long projectId, Type type, Long cardId) {
+        return new BoardChangedEvent(projectId, type, cardId);
+    }
+
+    public static BoardChangedEvent reloaded(Long projectId) {
+        return new BoardChangedEvent(projectId, Type.BOARD_RELOADED, null);
+    }
+}
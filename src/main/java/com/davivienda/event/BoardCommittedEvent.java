@@ -0,0 +1,9 @@
+package com.davivienda.event;
+
+import java.util.List;
+
+/**
+ * Cambios de un tablero ya confirmados, con la versión que los incluye. Lo publica BoardVersionTracker tras el commit.
+ */
+public record BoardCommittedEvent(Long projectId, long version, List<BoardChangedEvent> changes) {
+}
@@ -0,0 +1,33 @@
+package com.davivienda.event;
+
+/**
+ * Cambio en las etiquetas de un proyecto o en las de una tarjeta. Se publica desde LabelService y se consume tras el
+ * commit para mantener el índice de etiquetas en memoria.
+ *
+ * @param cardId tarjeta afectada; null en los cambios de la propia etiqueta
+ */
+public record LabelEvent(Type type, Long projectId, Long labelId, Long cardId) {
+
+    public enum Type {
+        LABEL_CREATED,
+        LABEL_DELETED,
+        CARD_LABELED,
+        CARD_UNLABELED
+    }
+
+    public static LabelEvent labelCreated(Long projectId, Long labelId) {
+        return new LabelEvent(Type.LABEL_CREATED, projectId, labelId, null);
+    }
+
+    public static LabelEvent labelDeleted(Long projectId, Long labelId) {
+        return new LabelEvent(Type.LABEL_DELETED, projectId, labelId, null);
+    }
+
+    public static LabelEvent cardLabeled(Long projectId, Long labelId, Long cardId) {
+        return new LabelEvent(Type.CARD_LABELED, projectId, labelId, cardId);
+    }
+
+    public static LabelEvent cardUnlabeled(Long projectId, Long labelId, Long cardId) {
+        return new LabelEvent(Type.CARD_UNLABELED, projectId, labelId, cardId);
+    }
+}
@@ -0,0 +1,27 @@
+package com.davivienda.event;
+
+import com.davivienda.model.ProjectMember;
+
+/**
+ * Cambio en la membresía de un proyecto. Se publica desde ProjectService y se consume tras el commit.
+ */
+public record ProjectMembershipEvent(Type type, Long projectId, Long userId, ProjectMember.Role role) {
+
+    public enum Type {
+        MEMBER_ADDED,
+        MEMBER_REMOVED,
+        PROJECT_DELETED
+    }
+
+    public static ProjectMembershipEvent memberAdded(Long projectId, Long userId, ProjectMember.Role role) {
+        return new ProjectMembershipEvent(Type.MEMBER_ADDED, projectId, userId, role);
+    }
+
+    public static ProjectMembershipEvent memberRemoved(Long projectId, Long userId) {
+        return new ProjectMembershipEvent(Type.MEMBER_REMOVED, projectId, userId, null);
+    }
+
+    public static ProjectMembershipEvent projectDeleted(Long projectId) {
+        return new ProjectMembershipEvent(Type.PROJECT_DELETED, projectId, null, null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.davivienda.event;
+
+/**
+ * Un usuario se modificó o se eliminó. Se publica desde el listener JPA de User y se consume tras el commit.
+ */
+public record UserChangedEvent(Long userId) {
+}
@@ -1,7 +1,12 @@
 package com.davivienda.exception;
 
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.validation.BindException;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -88,6 +93,37 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * Maneja errores al enlazar parámetros a un objeto (400 Bad Request)
+     * Ejemplo: un filtro con fecha "x" en dueFrom
+     * 
+     * @param ex La excepción capturada
+     * @return Respuesta JSON con el mensaje de error personalizado
+     */
+    @ExceptionHandler(BindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<Map<String, Object>> handleBindException(BindException ex) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.BAD_REQUEST.value());
+        errorResponse.put("error", "Bad Request");
+        
+        FieldError fieldError = ex.getFieldError();
+        if (fieldError == null) {
+            errorResponse.put("message", "La solicitud contiene valores inválidos.");
+        } else if (fieldError.isBindingFailure()) {
+            errorResponse.put("message", String.format("El parámetro '%s' tiene un valor inválido: '%s'.",
+                    fieldError.getField(), fieldError.getRejectedValue()));
+            errorResponse.put("parameter", fieldError.getField());
+            errorResponse.put("invalidValue", String.valueOf(fieldError.getRejectedValue()));
+        } else {
+            errorResponse.put("message", fieldError.getDefaultMessage());
+            errorResponse.put("parameter", fieldError.getField());
+        }
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Maneja errores cuando faltan parámetros requeridos (400 Bad Request)
      * 
@@ -111,8 +147,25 @@ public class GlobalExceptionHandler {
         
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
-}
-
-
-
 
+    /**
+     * Maneja la falta de conexiones a la base de datos (503 Service Unavailable)
+     * Ejemplo: el bulkhead del DataSource o el pool no entregan una conexión a tiempo
+     * 
+     * @param ex La excepción capturada
+     * @return Respuesta JSON con el mensaje de error personalizado
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<Map<String, Object>> handleDatabaseUnavailable(RuntimeException ex) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        errorResponse.put("error", "Service Unavailable");
+        errorResponse.put("message", "El servicio está saturado, inténtalo de nuevo en unos segundos");
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+}
@@ -0,0 +1,52 @@
+package com.davivienda.model;
+
+import com.davivienda.event.BoardChangedEvent;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entrada del registro de cambios de un tablero: qué lista o tarjeta cambió y en qué versión del proyecto.
+ * Cada versión tiene al menos una entrada, así que las versiones registradas de un proyecto son consecutivas
+ * desde la más antigua que aún no se ha compactado. Sin clave ajena: sobrevive al borrado de lo que describe.
+ */
+@Entity
+@Table(name = "board_change", indexes = {
+        @Index(name = "idx_board_change_project_version", columnList = "project_id, version"),
+        @Index(name = "idx_board_change_created", columnList = "created_at")
+})
+@SequenceGenerator(name = "board_change_seq_gen", sequenceName = "BOARD_CHANGE_SEQ", allocationSize = BoardChange.ID_BLOCK_SIZE)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardChange implements Serializable {
+
+    /** IDs que reserva cada NEXTVAL de BOARD_CHANGE_SEQ; debe coincidir con su INCREMENT BY. */
+    public static final int ID_BLOCK_SIZE = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "board_change_seq_gen")
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    /** Versión del tablero que introdujo el cambio ({@link Project#getBoardVersion()}). */
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private BoardChangedEvent.Type type;
+
+    /** Lista o tarjeta afectada; null en cambios del proyecto o de todo el tablero. */
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,65 @@
+package com.davivienda.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Importación de un tablero y hasta dónde está confirmada. Cada bloque de tarjetas se confirma en su propia
+ * transacción junto con estos contadores, así que {@code lists} y {@code cards} son siempre lo que ya está en la base
+ * de datos: una importación fallida se reanuda con el mismo archivo saltándose esa parte. Las listas que crea llevan
+ * su ID en {@link BoardList#getImportId()}.
+ */
+@Entity
+@Table(name = "board_import")
+@SequenceGenerator(name = "board_import_seq_gen", sequenceName = "BOARD_IMPORT_SEQ", allocationSize = BoardImport.ID_BLOCK_SIZE)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoardImport implements Serializable {
+
+    /** IDs que reserva cada NEXTVAL de BOARD_IMPORT_SEQ; debe coincidir con su INCREMENT BY. */
+    public static final int ID_BLOCK_SIZE = 1;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "board_import_seq_gen")
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    /** Listas confirmadas, en el orden del archivo. */
+    @Column(name = "lists", nullable = false)
+    private int lists;
+
+    /** Tarjetas confirmadas, en el orden del archivo. */
+    @Column(name = "cards", nullable = false)
+    private long cards;
+
+    @Column(name = "unknown_assignees", nullable = false)
+    private long unknownAssignees;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        RUNNING,
+        DONE,
+        /** Se quedó a medias: lo confirmado sigue en el tablero y se puede reanudar. */
+        FAILED
+    }
+}
@@ -1,13 +1,20 @@
 package com.davivienda.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 
 import java.io.Serializable;
 
 @Entity
-@Table(name = "board_list")
-@SequenceGenerator(name = "board_list_seq_gen", sequenceName = "BOARD_LIST_SEQ", allocationSize = 1)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.BOARD)
+@Table(name = "board_list", indexes = {
+        @Index(name = "idx_board_list_project_rank", columnList = "project_id, rank_key"),
+        @Index(name = "idx_board_list_import", columnList = "import_id")
+})
+@SequenceGenerator(name = "board_list_seq_gen", sequenceName = "BOARD_LIST_SEQ", allocationSize = BoardList.ID_BLOCK_SIZE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,6 +22,9 @@ import java.io.Serializable;
 @Builder
 public class BoardList implements Serializable {
 
+    /** IDs que reserva cada NEXTVAL de BOARD_LIST_SEQ; debe coincidir con su INCREMENT BY. */
+    public static final int ID_BLOCK_SIZE = 20;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "board_list_seq_gen")
     private Long id;
@@ -22,10 +32,15 @@ public class BoardList implements Serializable {
     @Column(name = "title", nullable = false, length = 200)
     private String title;
 
-    @Column(name = "position", nullable = false)
-    private Integer position;
+    /** Clave de orden dentro del tablero (ver {@link com.davivienda.util.LexoRank}). */
+    @Column(name = "rank_key", nullable = false, length = 64)
+    private String rank;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
+
+    /** Importación que creó la lista ({@link BoardImport}); null en las creadas a mano. */
+    @Column(name = "import_id")
+    private Long importId;
 }
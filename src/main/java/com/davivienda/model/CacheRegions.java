@@ -0,0 +1,16 @@
+package com.davivienda.model;
+
+/**
+ * Regiones de la caché de segundo nivel de Hibernate. Tamaño y expiración de cada una en {@code hibernate-cache.conf}.
+ */
+public final class CacheRegions {
+
+    /** Datos de referencia que cambian poco: usuarios, proyectos y membresías. */
+    public static final String REFERENCE = "reference";
+
+    /** Listas y tarjetas: muchas más entradas y cambios frecuentes, con expiración más corta. */
+    public static final String BOARD = "board";
+
+    private CacheRegions() {
+    }
+}
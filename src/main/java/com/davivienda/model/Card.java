@@ -1,15 +1,27 @@
 package com.davivienda.model;
 
+import com.davivienda.util.TitleKeys;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "card")
-@SequenceGenerator(name = "card_seq_gen", sequenceName = "CARD_SEQ", allocationSize = 1)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.BOARD)
+@Table(name = "card", indexes = {
+        @Index(name = "idx_card_list_rank", columnList = "list_id, rank_key, id"),
+        @Index(name = "idx_card_assignee_due", columnList = "assignee_id, due_date, id"),
+        @Index(name = "idx_card_list_title", columnList = "list_id, title_key"),
+        @Index(name = "idx_card_list_due", columnList = "list_id, due_date")
+})
+@SequenceGenerator(name = "card_seq_gen", sequenceName = "CARD_SEQ", allocationSize = Card.ID_BLOCK_SIZE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,6 +29,9 @@ import java.time.LocalDateTime;
 @Builder
 public class Card implements Serializable {
 
+    /** IDs que reserva cada NEXTVAL de CARD_SEQ; debe coincidir con su INCREMENT BY. */
+    public static final int ID_BLOCK_SIZE = 50;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "card_seq_gen")
     private Long id;
@@ -24,11 +39,16 @@ public class Card implements Serializable {
     @Column(name = "title", nullable = false, length = 500)
     private String title;
 
+    /** Título en minúsculas y sin tildes, para el filtro por prefijo (ver {@link TitleKeys}). */
+    @Column(name = "title_key", nullable = false, length = 500)
+    private String titleKey;
+
     @Column(name = "description", length = 4000)
     private String description;
 
-    @Column(name = "position", nullable = false)
-    private Integer position;
+    /** Clave de orden dentro de la lista (ver {@link com.davivienda.util.LexoRank}). */
+    @Column(name = "rank_key", nullable = false, length = 64)
+    private String rank;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "list_id", nullable = false)
@@ -46,4 +66,22 @@ public class Card implements Serializable {
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    /**
+     * Etiquetas del proyecto puestas a la tarjeta. El filtro por etiquetas no consulta esta tabla: se sirve desde el
+     * índice en memoria {@code CardLabelIndex}.
+     */
+    @Builder.Default
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(name = "card_label",
+            joinColumns = @JoinColumn(name = "card_id"),
+            inverseJoinColumns = @JoinColumn(name = "label_id"),
+            indexes = @Index(name = "idx_card_label_label", columnList = "label_id, card_id"))
+    private Set<Label> labels = new HashSet<>();
+
+    @PrePersist
+    @PreUpdate
+    void updateTitleKey() {
+        titleKey = TitleKeys.of(title);
+    }
 }
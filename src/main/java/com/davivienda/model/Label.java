@@ -0,0 +1,44 @@
+package com.davivienda.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Etiqueta de un proyecto; se pone a las tarjetas de sus listas ({@link Card#getLabels()}).
+ */
+@Entity
+@Table(name = "label", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_label_project_name", columnNames = {"project_id", "name"})
+})
+@SequenceGenerator(name = "label_seq_gen", sequenceName = "LABEL_SEQ", allocationSize = Label.ID_BLOCK_SIZE)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Label implements Serializable {
+
+    /** IDs que reserva cada NEXTVAL de LABEL_SEQ; debe coincidir con su INCREMENT BY. */
+    public static final int ID_BLOCK_SIZE = 20;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "label_seq_gen")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    private Project project;
+
+    @Column(name = "name", nullable = false, length = 50)
+    private String name;
+
+    /** Color en hexadecimal (#RRGGBB). */
+    @Column(name = "color", length = 7)
+    private String color;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
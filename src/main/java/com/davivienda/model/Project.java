@@ -1,14 +1,20 @@
 package com.davivienda.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "project")
-@SequenceGenerator(name = "project_seq_gen", sequenceName = "PROJECT_SEQ", allocationSize = 1)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.REFERENCE)
+@Table(name = "project", indexes = {
+        @Index(name = "idx_project_deleted", columnList = "deleted_at")
+})
+@SequenceGenerator(name = "project_seq_gen", sequenceName = "PROJECT_SEQ", allocationSize = Project.ID_BLOCK_SIZE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,6 +22,9 @@ import java.time.LocalDateTime;
 @Builder
 public class Project implements Serializable {
 
+    /** IDs que reserva cada NEXTVAL de PROJECT_SEQ; debe coincidir con su INCREMENT BY. */
+    public static final int ID_BLOCK_SIZE = 20;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_seq_gen")
     private Long id;
@@ -35,4 +44,19 @@ public class Project implements Serializable {
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    /**
+     * Versión del tablero: sube en uno al confirmar cada transacción que cambia listas o tarjetas del proyecto.
+     * Solo se escribe con {@code ProjectRepository.incrementBoardVersion}, nunca desde la entidad, y no se lee de una
+     * entidad cargada por id: la copia de la caché de segundo nivel puede ir atrasada.
+     */
+    @Builder.Default
+    @Column(name = "board_version", nullable = false, updatable = false)
+    private Long boardVersion = 0L;
+
+    /**
+     * Marca de borrado: el proyecto ya no tiene miembros y {@code ProjectPurger} está borrando sus listas y tarjetas.
+     */
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
 }
@@ -1,15 +1,21 @@
 package com.davivienda.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 
 import java.io.Serializable;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.REFERENCE)
 @Table(name = "project_member", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"project_id", "user_id"})
+}, indexes = {
+        @Index(name = "idx_project_member_user", columnList = "user_id, project_id")
 })
-@SequenceGenerator(name = "project_member_seq_gen", sequenceName = "PROJECT_MEMBER_SEQ", allocationSize = 1)
+@SequenceGenerator(name = "project_member_seq_gen", sequenceName = "PROJECT_MEMBER_SEQ", allocationSize = ProjectMember.ID_BLOCK_SIZE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,6 +23,9 @@ import java.io.Serializable;
 @Builder
 public class ProjectMember implements Serializable {
 
+    /** IDs que reserva cada NEXTVAL de PROJECT_MEMBER_SEQ; debe coincidir con su INCREMENT BY. */
+    public static final int ID_BLOCK_SIZE = 20;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_member_seq_gen")
     private Long id;
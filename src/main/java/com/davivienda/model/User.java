@@ -1,7 +1,10 @@
 package com.davivienda.model;
 
+import com.davivienda.security.UserIdentityListener;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -9,6 +12,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -18,8 +23,11 @@ import lombok.Setter;
 import java.io.Serializable;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.REFERENCE)
 @Table(name = "app_user")
-@SequenceGenerator(name = "user_seq_gen", sequenceName = "USER_SEQ", allocationSize = 1)
+@EntityListeners(UserIdentityListener.class)
+@SequenceGenerator(name = "user_seq_gen", sequenceName = "USER_SEQ", allocationSize = User.ID_BLOCK_SIZE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -27,6 +35,9 @@ import java.io.Serializable;
 @Builder
 public class User implements Serializable {
 
+    /** IDs que reserva cada NEXTVAL de USER_SEQ; debe coincidir con su INCREMENT BY. */
+    public static final int ID_BLOCK_SIZE = 20;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq_gen")
     private Long id;
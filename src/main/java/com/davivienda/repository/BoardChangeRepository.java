@@ -0,0 +1,39 @@
+package com.davivienda.repository;
+
+import com.davivienda.model.BoardChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BoardChangeRepository extends JpaRepository<BoardChange, Long> {
+
+    /**
+     * Cambios con versión en (since, until], en orden (lectura sobre el índice project_id, version).
+     */
+    @Query("SELECT c FROM BoardChange c WHERE c.projectId = :projectId AND c.version > :since AND c.version <= :until "
+            + "ORDER BY c.version, c.id")
+    List<BoardChange> findBetweenVersions(@Param("projectId") Long projectId,
+                                          @Param("since") long since,
+                                          @Param("until") long until,
+                                          Pageable pageable);
+
+    /** Lote de entradas del registro de un proyecto borrado (sin orden: las primeras que encuentre el índice). */
+    @Query("SELECT c.id FROM BoardChange c WHERE c.projectId = :projectId")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM BoardChange c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /** Lote de entradas anteriores a {@code cutoff} para compactar (rango del índice created_at). */
+    @Query("SELECT c.id FROM BoardChange c WHERE c.createdAt < :cutoff")
+    List<Long> findIdsOlderThan(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+}
@@ -0,0 +1,23 @@
+package com.davivienda.repository;
+
+import com.davivienda.model.BoardImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface BoardImportRepository extends JpaRepository<BoardImport, Long> {
+
+    /**
+     * Cambia el estado solo si sigue siendo {@code expected}; devuelve 0 si otra pasada se adelantó.
+     */
+    @Modifying
+    @Query("UPDATE BoardImport bi SET bi.status = :status, bi.error = NULL, bi.updatedAt = :now "
+            + "WHERE bi.id = :id AND bi.status = :expected")
+    int updateStatus(@Param("id") Long id, @Param("expected") BoardImport.Status expected,
+                     @Param("status") BoardImport.Status status, @Param("now") LocalDateTime now);
+}
@@ -1,19 +1,61 @@
 package com.davivienda.repository;
 
+import com.davivienda.dto.BoardListDTO;
 import com.davivienda.model.BoardList;
-import com.davivienda.model.Project;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
 @Repository
 public interface BoardListRepository extends JpaRepository<BoardList, Long> {
 
-    List<BoardList> findByProjectOrderByPositionAsc(Project project);
+    @Query("SELECT bl FROM BoardList bl WHERE bl.project.id = :projectId ORDER BY bl.rank, bl.id")
+    List<BoardList> findByProjectIdOrderByRank(@Param("projectId") Long projectId);
+
+    /**
+     * Proyección a {@link BoardListDTO}, sin tarjetas ni entidades en el contexto de persistencia.
+     */
+    String SELECT_LIST_DTO = "SELECT new com.davivienda.dto.BoardListDTO(bl.id, bl.title, bl.rank, bl.project.id) FROM BoardList bl ";
+
+    @Query(SELECT_LIST_DTO + "WHERE bl.project.id = :projectId ORDER BY bl.rank, bl.id")
+    List<BoardListDTO> findDTOsByProjectId(@Param("projectId") Long projectId);
+
+    @Query(SELECT_LIST_DTO + "WHERE bl.id IN :ids AND bl.project.id = :projectId")
+    List<BoardListDTO> findDTOsByIdInAndProjectId(@Param("ids") Collection<Long> ids, @Param("projectId") Long projectId);
+
+    @Query("SELECT MAX(bl.rank) FROM BoardList bl WHERE bl.project.id = :projectId")
+    String findMaxRank(@Param("projectId") Long projectId);
+
+    /** Listas de una importación en el orden del archivo. */
+    @Query("SELECT bl.id FROM BoardList bl WHERE bl.importId = :importId ORDER BY bl.rank, bl.id")
+    List<Long> findIdsByImportId(@Param("importId") Long importId);
+
+    /**
+     * Claves de las listas en las posiciones [offset, offset + limit) del tablero, sin contar excludeId.
+     */
+    @Query("SELECT bl.rank FROM BoardList bl WHERE bl.project.id = :projectId AND (:excludeId IS NULL OR bl.id <> :excludeId) "
+            + "ORDER BY bl.rank, bl.id OFFSET :offset ROWS FETCH FIRST :limit ROWS ONLY")
+    List<String> findRanksAt(@Param("projectId") Long projectId,
+                             @Param("excludeId") Long excludeId,
+                             @Param("offset") int offset,
+                             @Param("limit") int limit);
+
+    /** Listas de un proyecto borrado, para sacarlas de la caché de segundo nivel al borrarlas. */
+    @Query("SELECT bl.id FROM BoardList bl WHERE bl.project.id = :projectId")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId);
 
-    @Query("SELECT bl FROM BoardList bl LEFT JOIN FETCH bl.project WHERE bl.project = :project ORDER BY bl.position")
-    List<BoardList> findByProjectOrderByPositionAscWithProject(@Param("project") Project project);
+    /** Listas de un proyecto borrado, cuando ya no tienen tarjetas (ver {@link ProjectRepository#PURGE_SPACE}). */
+    @Modifying
+    @Query(value = "DELETE FROM board_list WHERE project_id = :projectId", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = ProjectRepository.PURGE_SPACE))
+    int deleteByProjectId(@Param("projectId") Long projectId);
 }
@@ -0,0 +1,19 @@
+package com.davivienda.repository;
+
+import com.davivienda.dto.CardSummaryDTO;
+import com.davivienda.model.Card;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Consultas de tarjetas con filtros compuestos en tiempo de ejecución (ver {@link CardSpecifications}).
+ */
+public interface CardFilterRepository {
+
+    /**
+     * Proyección a {@link CardSummaryDTO} de las tarjetas que cumplen el filtro, en orden (list_id, rank_key, id), como mucho
+     * {@code limit}.
+     */
+    List<CardSummaryDTO> findSummaries(Specification<Card> filter, int limit);
+}
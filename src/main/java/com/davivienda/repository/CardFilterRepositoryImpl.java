@@ -0,0 +1,41 @@
+package com.davivienda.repository;
+
+import com.davivienda.dto.CardSummaryDTO;
+import com.davivienda.model.Card;
+import com.davivienda.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Compila el filtro en una sola consulta Criteria con la misma proyección que {@link CardRepository#SELECT_CARD_SUMMARY}.
+ */
+public class CardFilterRepositoryImpl implements CardFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CardSummaryDTO> findSummaries(Specification<Card> filter, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CardSummaryDTO> query = cb.createQuery(CardSummaryDTO.class);
+        Root<Card> card = query.from(Card.class);
+        Join<Card, User> assignee = card.join("assignee", JoinType.LEFT);
+        query.select(cb.construct(CardSummaryDTO.class,
+                        card.get("id"), card.get("title"), card.get("rank"),
+                        card.get("list").get("id"), assignee.get("id"), assignee.get("nombre"), card.get("dueDate"),
+                        card.get("createdAt"), card.get("updatedAt")))
+                .where(filter.toPredicate(card, query, cb))
+                .orderBy(cb.asc(card.get("list").get("id")), cb.asc(card.get("rank")), cb.asc(card.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
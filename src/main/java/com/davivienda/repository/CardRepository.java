@@ -1,19 +1,176 @@
 package com.davivienda.repository;
 
-import com.davivienda.model.BoardList;
+import com.davivienda.dto.AssignedCardDTO;
+import com.davivienda.dto.CardDTO;
+import com.davivienda.dto.CardSearchDocument;
+import com.davivienda.dto.CardSummaryDTO;
 import com.davivienda.model.Card;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface CardRepository extends JpaRepository<Card, Long> {
+public interface CardRepository extends JpaRepository<Card, Long>, CardFilterRepository {
+
+    /**
+     * Proyección a {@link CardSummaryDTO} para las lecturas del tablero: sin la columna description, que puede ocupar
+     * hasta 4000 caracteres por tarjeta.
+     */
+    String SELECT_CARD_SUMMARY = "SELECT new com.davivienda.dto.CardSummaryDTO(c.id, c.title, c.rank, c.list.id, "
+            + "a.id, a.nombre, c.dueDate, c.createdAt, c.updatedAt) FROM Card c LEFT JOIN c.assignee a ";
+
+    @Query(SELECT_CARD_SUMMARY + "WHERE c.list.id = :listId ORDER BY c.rank, c.id")
+    List<CardSummaryDTO> findSummariesByListId(@Param("listId") Long listId);
+
+    @Query(SELECT_CARD_SUMMARY + "WHERE c.list.id = :listId ORDER BY c.rank, c.id")
+    List<CardSummaryDTO> findSummaryPageByListId(@Param("listId") Long listId, Pageable pageable);
+
+    @Query(SELECT_CARD_SUMMARY + "WHERE c.list.id = :listId "
+            + "AND (c.rank > :rank OR (c.rank = :rank AND c.id > :id)) ORDER BY c.rank, c.id")
+    List<CardSummaryDTO> findSummaryPageByListIdAfter(@Param("listId") Long listId,
+                                                      @Param("rank") String rank,
+                                                      @Param("id") Long id,
+                                                      Pageable pageable);
+
+    @Query(SELECT_CARD_SUMMARY + "WHERE c.list.project.id = :projectId ORDER BY c.rank, c.id")
+    List<CardSummaryDTO> findSummariesByProjectId(@Param("projectId") Long projectId);
+
+    @Query(SELECT_CARD_SUMMARY + "WHERE c.id IN :ids AND c.list.project.id = :projectId")
+    List<CardSummaryDTO> findSummariesByIdInAndProjectId(@Param("ids") Collection<Long> ids,
+                                                         @Param("projectId") Long projectId);
+
+    /**
+     * Proyección a {@link CardDTO}: la tarjeta completa, con la descripción (detalle, resultados de búsqueda).
+     */
+    String SELECT_CARD_DTO = "SELECT new com.davivienda.dto.CardDTO(c.id, c.title, c.description, c.rank, c.list.id, "
+            + "a.id, a.nombre, c.dueDate, c.createdAt, c.updatedAt) FROM Card c LEFT JOIN c.assignee a ";
+
+    @Query(SELECT_CARD_DTO + "WHERE c.id = :id AND c.list.id = :listId")
+    Optional<CardDTO> findDTOByIdAndListId(@Param("id") Long id, @Param("listId") Long listId);
+
+    @Query(SELECT_CARD_DTO + "WHERE c.id IN :ids")
+    List<CardDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Mis tarjetas: las asignadas al usuario en proyectos de los que sigue siendo miembro. Primero las que tienen fecha
+     * límite, por (due_date, id), y después las que no, por id: cada tramo es un rango del índice
+     * (assignee_id, due_date, id) que se lee en orden y se corta al llenar la página. El proyecto es un filtro opcional.
+     */
+    String SELECT_ASSIGNED_CARD = "SELECT new com.davivienda.dto.AssignedCardDTO(c.id, c.title, c.dueDate, l.id, l.title, "
+            + "p.id, p.name, c.updatedAt) FROM Card c JOIN c.list l JOIN l.project p "
+            + "JOIN ProjectMember pm ON pm.project = p AND pm.user.id = :userId "
+            + "WHERE c.assignee.id = :userId AND (:projectId IS NULL OR p.id = :projectId) ";
+
+    String DUE_DATE_ORDER = "ORDER BY c.dueDate, c.id";
+
+    /**
+     * Posición del cursor como límite inferior del rango: (due_date, id) mayor que (:from, :afterId).
+     * Con afterId 0 incluye todas las de fecha :from.
+     */
+    String DUE_DATE_AFTER = "AND c.dueDate >= :from AND (c.dueDate > :from OR c.id > :afterId) ";
+
+    @Query(SELECT_ASSIGNED_CARD + "AND c.dueDate IS NOT NULL " + DUE_DATE_ORDER)
+    List<AssignedCardDTO> findAssignedPage(@Param("userId") Long userId, @Param("projectId") Long projectId,
+                                           Pageable pageable);
+
+    @Query(SELECT_ASSIGNED_CARD + DUE_DATE_AFTER + DUE_DATE_ORDER)
+    List<AssignedCardDTO> findAssignedPageFrom(@Param("userId") Long userId, @Param("projectId") Long projectId,
+                                               @Param("from") LocalDate from, @Param("afterId") Long afterId,
+                                               Pageable pageable);
+
+    @Query(SELECT_ASSIGNED_CARD + "AND c.dueDate <= :to " + DUE_DATE_ORDER)
+    List<AssignedCardDTO> findAssignedPageDueBy(@Param("userId") Long userId, @Param("projectId") Long projectId,
+                                                @Param("to") LocalDate to, Pageable pageable);
+
+    @Query(SELECT_ASSIGNED_CARD + DUE_DATE_AFTER + "AND c.dueDate <= :to " + DUE_DATE_ORDER)
+    List<AssignedCardDTO> findAssignedPageDueBetween(@Param("userId") Long userId, @Param("projectId") Long projectId,
+                                                     @Param("from") LocalDate from, @Param("afterId") Long afterId,
+                                                     @Param("to") LocalDate to, Pageable pageable);
+
+    /** Tramo final de Mis tarjetas: las que no tienen fecha límite, por id. */
+    @Query(SELECT_ASSIGNED_CARD + "AND c.dueDate IS NULL AND c.id > :afterId ORDER BY c.id")
+    List<AssignedCardDTO> findUndatedAssignedPage(@Param("userId") Long userId, @Param("projectId") Long projectId,
+                                                  @Param("afterId") Long afterId, Pageable pageable);
+
+    /** Documentos del índice de búsqueda: texto de la tarjeta con su lista y su proyecto. */
+    String SELECT_SEARCH_DOCUMENT = "SELECT new com.davivienda.dto.CardSearchDocument(c.id, l.project.id, l.id, c.title, "
+            + "c.description) FROM Card c JOIN c.list l ";
+
+    @Query(SELECT_SEARCH_DOCUMENT + "WHERE c.id IN :ids")
+    List<CardSearchDocument> findSearchDocumentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Recorrido por id para reconstruir el índice: páginas cortas en lugar de un cursor abierto durante toda la carga.
+     */
+    @Query(SELECT_SEARCH_DOCUMENT + "WHERE c.id > :afterId ORDER BY c.id")
+    List<CardSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SELECT_SEARCH_DOCUMENT + "WHERE l.project.id = :projectId AND c.id > :afterId ORDER BY c.id")
+    List<CardSearchDocument> findSearchDocumentsByProjectIdAfter(@Param("projectId") Long projectId,
+                                                                 @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Mayor clave de la lista (lectura sobre el índice list_id, rank_key); null si la lista está vacía.
+     */
+    @Query("SELECT MAX(c.rank) FROM Card c WHERE c.list.id = :listId")
+    String findMaxRank(@Param("listId") Long listId);
+
+    /**
+     * Claves de las tarjetas en las posiciones [offset, offset + limit) de la lista, sin contar excludeId.
+     */
+    @Query("SELECT c.rank FROM Card c WHERE c.list.id = :listId AND (:excludeId IS NULL OR c.id <> :excludeId) "
+            + "ORDER BY c.rank, c.id OFFSET :offset ROWS FETCH FIRST :limit ROWS ONLY")
+    List<String> findRanksAt(@Param("listId") Long listId,
+                             @Param("excludeId") Long excludeId,
+                             @Param("offset") int offset,
+                             @Param("limit") int limit);
+
+    @Query("SELECT c FROM Card c WHERE c.list.id = :listId ORDER BY c.rank, c.id")
+    List<Card> findByListIdOrderByRank(@Param("listId") Long listId);
+
+    @Query("SELECT c FROM Card c WHERE c.list.id IN :listIds ORDER BY c.list.id, c.rank, c.id")
+    List<Card> findByListIdInOrderByRank(@Param("listIds") Collection<Long> listIds);
+
+    @Query("SELECT c FROM Card c JOIN FETCH c.list l LEFT JOIN FETCH c.assignee WHERE c.id IN :ids AND l.project.id = :projectId")
+    List<Card> findByIdInAndProjectId(@Param("ids") Collection<Long> ids, @Param("projectId") Long projectId);
+
+    /**
+     * Todas las tarjetas del proyecto en orden de tablero (lista y luego tarjeta), leídas con un cursor de solo avance.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Card c JOIN c.list l LEFT JOIN FETCH c.assignee WHERE l.project.id = :projectId "
+            + "ORDER BY l.rank, l.id, c.rank, c.id")
+    Stream<Card> streamByProjectIdInBoardOrder(@Param("projectId") Long projectId);
+
+    @Query("SELECT COUNT(c) FROM Card c WHERE c.list.project.id = :projectId")
+    long countByProjectId(@Param("projectId") Long projectId);
 
-    List<Card> findByListOrderByPositionAsc(BoardList list);
+    /** Lote de IDs de tarjetas de un proyecto borrado (sin orden: las primeras que encuentre el índice de list_id). */
+    @Query("SELECT c.id FROM Card c WHERE c.list.project.id = :projectId")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
 
-    @Query("SELECT c FROM Card c LEFT JOIN FETCH c.assignee LEFT JOIN FETCH c.list WHERE c.list = :list ORDER BY c.position")
-    List<Card> findByListOrderByPositionAscWithDetails(@Param("list") BoardList list);
+    /** Un lote de tarjetas (como mucho 1000 IDs) del borrado de proyectos (ver {@link ProjectRepository#PURGE_SPACE}). */
+    @Modifying
+    @Query(value = "DELETE FROM card WHERE id IN (:ids)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = ProjectRepository.PURGE_SPACE))
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
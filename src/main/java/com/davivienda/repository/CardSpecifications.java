@@ -0,0 +1,62 @@
+package com.davivienda.repository;
+
+import com.davivienda.model.Card;
+import com.davivienda.util.TitleKeys;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Filtros de tarjetas combinables con {@link Specification#and}. Cada uno es un predicado sobre columnas de card sin
+ * funciones, para que la consulta compuesta sobre una lista pueda resolverse con un rango de índice: (list_id, rank_key, id),
+ * (list_id, title_key), (list_id, due_date) o (assignee_id, due_date, id).
+ */
+public final class CardSpecifications {
+
+    private CardSpecifications() {
+    }
+
+    public static Specification<Card> inList(Long listId) {
+        return (card, query, cb) -> cb.equal(card.get("list").get("id"), listId);
+    }
+
+    /** Lista de IDs enlazados (por clave primaria); no más de 1000 por la restricción de Oracle en IN. */
+    public static Specification<Card> idIn(Collection<Long> ids) {
+        return (card, query, cb) -> card.get("id").in(ids);
+    }
+
+    public static Specification<Card> assignedTo(Long userId) {
+        return (card, query, cb) -> cb.equal(card.get("assignee").get("id"), userId);
+    }
+
+    public static Specification<Card> unassigned() {
+        return (card, query, cb) -> cb.isNull(card.get("assignee"));
+    }
+
+    public static Specification<Card> dueOnOrAfter(LocalDate from) {
+        return (card, query, cb) -> cb.greaterThanOrEqualTo(card.get("dueDate"), from);
+    }
+
+    public static Specification<Card> dueOnOrBefore(LocalDate to) {
+        return (card, query, cb) -> cb.lessThanOrEqualTo(card.get("dueDate"), to);
+    }
+
+    /** Prefijo del título sin distinguir mayúsculas ni tildes, sobre la columna normalizada title_key. */
+    public static Specification<Card> titleStartsWith(String prefix) {
+        return (card, query, cb) -> cb.like(card.get("titleKey"), TitleKeys.prefixPattern(prefix), '\\');
+    }
+
+    /**
+     * Posición del cursor dentro de una lista, en el orden (rank_key, id). El límite inferior sobre rank_key va aparte
+     * para que sea un rango del índice y no solo parte de la disyunción.
+     */
+    public static Specification<Card> after(String rank, Long id) {
+        return (card, query, cb) -> {
+            var cardRank = card.<String>get("rank");
+            return cb.and(
+                    cb.greaterThanOrEqualTo(cardRank, rank),
+                    cb.or(cb.greaterThan(cardRank, rank), cb.greaterThan(card.get("id"), id)));
+        };
+    }
+}
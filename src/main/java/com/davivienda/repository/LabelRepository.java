@@ -0,0 +1,69 @@
+package com.davivienda.repository;
+
+import com.davivienda.dto.LabelAssignment;
+import com.davivienda.model.Label;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface LabelRepository extends JpaRepository<Label, Long> {
+
+    @Query("SELECT l FROM Label l WHERE l.project.id = :projectId ORDER BY l.name, l.id")
+    List<Label> findByProjectIdOrderByName(@Param("projectId") Long projectId);
+
+    @Query("SELECT l FROM Label l WHERE l.id = :id AND l.project.id = :projectId")
+    Optional<Label> findByIdAndProjectId(@Param("id") Long id, @Param("projectId") Long projectId);
+
+    @Query("SELECT COUNT(l) > 0 FROM Label l WHERE l.project.id = :projectId AND LOWER(l.name) = LOWER(:name) "
+            + "AND (:excludeId IS NULL OR l.id <> :excludeId)")
+    boolean existsByName(@Param("projectId") Long projectId, @Param("name") String name,
+                         @Param("excludeId") Long excludeId);
+
+    @Query("SELECT COUNT(l) FROM Label l WHERE l.project.id = :projectId")
+    long countByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT l.id FROM Label l WHERE l.project.id = :projectId")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Pares (etiqueta, tarjeta) del proyecto para cargar el índice de etiquetas, leídos con un cursor de solo avance.
+     * SQL nativo: solo label y el índice (label_id, card_id) de card_label, sin la tabla card que añadiría el JPQL.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "SELECT cl.label_id AS labelId, cl.card_id AS cardId FROM label l "
+            + "JOIN card_label cl ON cl.label_id = l.id WHERE l.project_id = :projectId", nativeQuery = true)
+    Stream<LabelAssignment> streamAssignmentsByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Quita la etiqueta de todas sus tarjetas (antes de borrarla). SQL nativo sobre la tabla de unión, con su propio
+     * espacio de consulta para no vaciar la caché de segundo nivel; las colecciones de etiquetas no se cachean.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM card_label WHERE label_id = :labelId", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "card_label"))
+    int deleteAssignmentsByLabelId(@Param("labelId") Long labelId);
+
+    /** Asignaciones de un lote de tarjetas, antes de borrarlas (borrado de proyectos, como mucho 1000 IDs). */
+    @Modifying
+    @Query(value = "DELETE FROM card_label WHERE card_id IN (:cardIds)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = ProjectRepository.PURGE_SPACE))
+    int deleteAssignmentsByCardIdIn(@Param("cardIds") Collection<Long> cardIds);
+
+    @Modifying
+    @Query("DELETE FROM Label l WHERE l.project.id = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
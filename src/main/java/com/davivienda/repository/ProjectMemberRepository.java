@@ -1,13 +1,18 @@
 package com.davivienda.repository;
 
+import com.davivienda.dto.ProjectDTO;
 import com.davivienda.model.Project;
 import com.davivienda.model.ProjectMember;
 import com.davivienda.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,12 +21,48 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Lo
 
     List<ProjectMember> findByUserOrderByProjectId(User user);
 
-    @Query("SELECT pm FROM ProjectMember pm JOIN FETCH pm.project WHERE pm.user = :user ORDER BY pm.project.id")
-    List<ProjectMember> findByUserWithProject(@Param("user") User user);
+    /**
+     * Proyectos del usuario con el nombre del creador y los totales del tablero (listas, tarjetas y tarjetas vencidas)
+     * en una sola consulta. Los totales son subconsultas escalares: en las páginas solo se calculan para las filas devueltas.
+     */
+    String SELECT_PROJECT_SUMMARY = "SELECT new com.davivienda.dto.ProjectDTO(p.id, p.name, p.description, cb.id, cb.nombre, "
+            + "p.createdAt, p.updatedAt, p.boardVersion, "
+            + "(SELECT COUNT(l) FROM BoardList l WHERE l.project = p), "
+            + "(SELECT COUNT(c) FROM Card c WHERE c.list.project = p), "
+            + "(SELECT COUNT(c) FROM Card c WHERE c.list.project = p AND c.dueDate < :today)) "
+            + "FROM ProjectMember pm JOIN pm.project p LEFT JOIN p.createdBy cb WHERE pm.user.id = :userId ";
 
+    /** Orden de Mis proyectos: los actualizados más recientemente primero; el id desempata. */
+    String PROJECT_SUMMARY_ORDER = "ORDER BY p.updatedAt DESC, p.id DESC";
+
+    @Query(SELECT_PROJECT_SUMMARY + PROJECT_SUMMARY_ORDER)
+    List<ProjectDTO> findProjectSummariesByUserId(@Param("userId") Long userId, @Param("today") LocalDate today);
+
+    @Query(SELECT_PROJECT_SUMMARY + PROJECT_SUMMARY_ORDER)
+    List<ProjectDTO> findProjectSummaryPageByUserId(@Param("userId") Long userId, @Param("today") LocalDate today,
+                                                    Pageable pageable);
+
+    @Query(SELECT_PROJECT_SUMMARY
+            + "AND (p.updatedAt < :updatedAt OR (p.updatedAt = :updatedAt AND p.id < :id)) " + PROJECT_SUMMARY_ORDER)
+    List<ProjectDTO> findProjectSummaryPageByUserIdAfter(@Param("userId") Long userId, @Param("today") LocalDate today,
+                                                         @Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id,
+                                                         Pageable pageable);
+
+    List<ProjectMember> findByUserId(Long userId);
+
+    /**
+     * Fuera de la caché de consultas, como findByProjectAndUser: es local a cada instancia, y otra instancia seguiría
+     * viendo al miembro eliminado hasta que expirara el resultado.
+     */
     boolean existsByProjectAndUser(Project project, User user);
 
     Optional<ProjectMember> findByProjectAndUser(Project project, User user);
 
-    List<ProjectMember> findByProjectOrderByRole(Project project);
+    /**
+     * Todas las membresías del proyecto en una sentencia. En JPQL para que Hibernate invalide la región de
+     * ProjectMember y las consultas cacheadas de project_member.
+     */
+    @Modifying
+    @Query("DELETE FROM ProjectMember pm WHERE pm.project.id = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
 }
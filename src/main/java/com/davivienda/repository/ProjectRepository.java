@@ -1,9 +1,67 @@
 package com.davivienda.repository;
 
+import com.davivienda.dto.ProjectDTO;
 import com.davivienda.model.Project;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+
+    /**
+     * Proyecto con el nombre de su creador y la versión del tablero, proyectado a {@link ProjectDTO} (sin listas).
+     */
+    @Query("SELECT new com.davivienda.dto.ProjectDTO(p.id, p.name, p.description, cb.id, cb.nombre, p.createdAt, "
+            + "p.updatedAt, p.boardVersion) FROM Project p LEFT JOIN p.createdBy cb WHERE p.id = :id")
+    Optional<ProjectDTO> findDTOById(@Param("id") Long id);
+
+    /**
+     * Espacio de consulta de los DELETE nativos del borrado de proyectos. No coincide con ninguna tabla, así que no
+     * vacía regiones enteras de la caché de segundo nivel: {@code ProjectPurger} saca de ella solo las filas que borra.
+     */
+    String PURGE_SPACE = "project_purge";
+
+    /**
+     * Proyectos marcados como borrados, los más antiguos primero (índice sobre deleted_at, que no guarda los nulos).
+     */
+    @Query("SELECT p.id FROM Project p WHERE p.deletedAt IS NOT NULL ORDER BY p.deletedAt, p.id")
+    List<Long> findDeletedIds();
+
+    /**
+     * Solo la versión del tablero (lectura por clave primaria), para responder 304 sin cargar el tablero.
+     */
+    @Query("SELECT p.boardVersion FROM Project p WHERE p.id = :id")
+    Optional<Long> findBoardVersionById(@Param("id") Long id);
+
+    /**
+     * Bloquea la fila del proyecto (SELECT ... FOR UPDATE) hasta el fin de la transacción. Lo toman las escrituras que
+     * calculan claves de orden (de listas o de tarjetas) a partir de las vecinas, para que dos no lean las mismas. Es la
+     * fila que {@link #incrementBoardVersion} bloquea en el commit, así que el orden de bloqueo es siempre el mismo.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Project p WHERE p.id = :id")
+    Optional<Long> lockById(@Param("id") Long id);
+
+    /**
+     * SQL nativo con su propio espacio de consulta: un UPDATE en JPQL vaciaría la región de Project de la caché de
+     * segundo nivel con cada cambio de cualquier tablero. La entidad cacheada puede quedar con boardVersion atrasado;
+     * la versión se lee siempre con {@link #findBoardVersionById} o en una consulta.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE project SET board_version = board_version + 1 WHERE id = :id", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project_board_version"))
+    int incrementBoardVersion(@Param("id") Long id);
 }
@@ -0,0 +1,189 @@
+package com.davivienda.security;
+
+import com.davivienda.event.ProjectMembershipEvent;
+import com.davivienda.exception.BadResourceRequestException;
+import com.davivienda.model.ProjectMember;
+import com.davivienda.model.User;
+import com.davivienda.repository.ProjectMemberRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Comprobación de acceso a proyectos compartida por todos los servicios.
+ * Cada usuario tiene en memoria sus proyectos (ids ordenados en un long[]) con su rol; se carga
+ * con una sola consulta la primera vez y se actualiza con los {@link ProjectMembershipEvent} tras el commit.
+ */
+@Component
+public class AccessChecker {
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Value("${app.acl-cache.max-users:50000}")
+    private int maxUsers = 50000;
+
+    @Value("${app.datasource.replica.enabled:false}")
+    private boolean replicaReads;
+
+    private final ConcurrentMap<Long, ProjectRoles> aclByUser = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public void ensureMember(Long projectId, User user) {
+        if (roleOf(projectId, user) == null) {
+            throw new BadResourceRequestException("No tienes acceso a este proyecto");
+        }
+    }
+
+    public void ensureOwner(Long projectId, User user) {
+        ProjectMember.Role role = roleOf(projectId, user);
+        if (role == null) {
+            throw new BadResourceRequestException("No tienes acceso a este proyecto");
+        }
+        if (role != ProjectMember.Role.OWNER) {
+            throw new BadResourceRequestException("Solo el propietario puede realizar esta acción");
+        }
+    }
+
+    public boolean isMember(Long projectId, User user) {
+        return roleOf(projectId, user) != null;
+    }
+
+    /**
+     * Ids (ordenados) de los proyectos de los que el usuario es miembro.
+     */
+    public long[] projectIdsOf(User user) {
+        if (user == null || user.getId() == null) {
+            return new long[0];
+        }
+        return rolesOf(user.getId()).projectIds.clone();
+    }
+
+    public ProjectMember.Role roleOf(Long projectId, User user) {
+        if (projectId == null || user == null || user.getId() == null) {
+            return null;
+        }
+        return rolesOf(user.getId()).get(projectId);
+    }
+
+    @TransactionalEventListener
+    public void onMembershipChanged(ProjectMembershipEvent event) {
+        generation.incrementAndGet();
+        switch (event.type()) {
+            case MEMBER_ADDED -> aclByUser.computeIfPresent(event.userId(),
+                    (id, roles) -> roles.with(event.projectId(), event.role()));
+            case MEMBER_REMOVED -> aclByUser.computeIfPresent(event.userId(),
+                    (id, roles) -> roles.without(event.projectId()));
+            case PROJECT_DELETED -> aclByUser.replaceAll((id, roles) -> roles.without(event.projectId()));
+        }
+    }
+
+    private ProjectRoles rolesOf(Long userId) {
+        ProjectRoles roles = aclByUser.get(userId);
+        if (roles != null) {
+            return roles;
+        }
+        long gen = generation.get();
+        roles = ProjectRoles.of(projectMemberRepository.findByUserId(userId));
+        // Con réplica, una carga dentro de una transacción readOnly puede venir retrasada: vale para esta petición,
+        // pero no se guarda (no la corregiría ningún evento)
+        if (replicaReads && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return roles;
+        }
+        if (generation.get() == gen) {
+            makeRoom();
+            aclByUser.put(userId, roles);
+            // Un evento llegado durante la carga puede haber dejado la entrada obsoleta
+            if (generation.get() != gen) {
+                aclByUser.remove(userId, roles);
+            }
+        }
+        return roles;
+    }
+
+    private void makeRoom() {
+        if (aclByUser.size() < maxUsers) {
+            return;
+        }
+        Iterator<Long> it = aclByUser.keySet().iterator();
+        for (int i = 0; i < Math.max(1, maxUsers / 10) && it.hasNext(); i++) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    /**
+     * Proyectos de un usuario: ids ordenados con su rol en paralelo. Inmutable (copy-on-write).
+     */
+    static final class ProjectRoles {
+
+        private final long[] projectIds;
+        private final ProjectMember.Role[] roles;
+
+        private ProjectRoles(long[] projectIds, ProjectMember.Role[] roles) {
+            this.projectIds = projectIds;
+            this.roles = roles;
+        }
+
+        static ProjectRoles of(List<ProjectMember> memberships) {
+            List<ProjectMember> sorted = memberships.stream()
+                    .sorted(Comparator.comparing(pm -> pm.getProject().getId()))
+                    .toList();
+            long[] ids = new long[sorted.size()];
+            ProjectMember.Role[] roles = new ProjectMember.Role[sorted.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = sorted.get(i).getProject().getId();
+                roles[i] = sorted.get(i).getRole();
+            }
+            return new ProjectRoles(ids, roles);
+        }
+
+        ProjectMember.Role get(long projectId) {
+            int idx = Arrays.binarySearch(projectIds, projectId);
+            return idx >= 0 ? roles[idx] : null;
+        }
+
+        ProjectRoles with(long projectId, ProjectMember.Role role) {
+            int idx = Arrays.binarySearch(projectIds, projectId);
+            if (idx >= 0) {
+                ProjectMember.Role[] newRoles = roles.clone();
+                newRoles[idx] = role;
+                return new ProjectRoles(projectIds, newRoles);
+            }
+            int at = -idx - 1;
+            long[] newIds = new long[projectIds.length + 1];
+            ProjectMember.Role[] newRoles = new ProjectMember.Role[roles.length + 1];
+            System.arraycopy(projectIds, 0, newIds, 0, at);
+            System.arraycopy(roles, 0, newRoles, 0, at);
+            newIds[at] = projectId;
+            newRoles[at] = role;
+            System.arraycopy(projectIds, at, newIds, at + 1, projectIds.length - at);
+            System.arraycopy(roles, at, newRoles, at + 1, roles.length - at);
+            return new ProjectRoles(newIds, newRoles);
+        }
+
+        ProjectRoles without(long projectId) {
+            int idx = Arrays.binarySearch(projectIds, projectId);
+            if (idx < 0) {
+                return this;
+            }
+            long[] newIds = new long[projectIds.length - 1];
+            ProjectMember.Role[] newRoles = new ProjectMember.Role[roles.length - 1];
+            System.arraycopy(projectIds, 0, newIds, 0, idx);
+            System.arraycopy(roles, 0, newRoles, 0, idx);
+            System.arraycopy(projectIds, idx + 1, newIds, idx, projectIds.length - idx - 1);
+            System.arraycopy(roles, idx + 1, newRoles, idx, roles.length - idx - 1);
+            return new ProjectRoles(newIds, newRoles);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.davivienda.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Inyecta en un parámetro de controlador el {@link com.davivienda.model.User} autenticado.
+ * Se resuelve con {@link CurrentUserArgumentResolver} a partir del {@link UserPrincipal} del JWT,
+ * como referencia perezosa (sin consulta a base de datos).
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
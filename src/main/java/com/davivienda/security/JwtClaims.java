@@ -0,0 +1,13 @@
+package com.davivienda.security;
+
+import java.time.Instant;
+
+/**
+ * Claims de un token JWT ya verificado (firma y expiración).
+ */
+public record JwtClaims(String email, Long userId, String role, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
@@ -1,13 +1,17 @@
 package com.davivienda.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Date;
 
 @Component
@@ -19,8 +23,18 @@ public class JwtUtil {
     @Value("${jwt.expiration-ms:3600000}")
     private long expirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    @Value("${jwt.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private VerifiedTokenCache cache;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        cache = new VerifiedTokenCache(cacheMaxEntries);
     }
 
     public String generateToken(String email, Long userId, String role) {
@@ -32,46 +46,79 @@ public class JwtUtil {
                 .claim("role", role)
                 .issuedAt(now)
                 .expiration(expiry)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verifica firma y expiración del token una sola vez y devuelve sus claims.
+     * Los tokens ya verificados se sirven desde caché hasta que expiran.
+     *
+     * @throws JwtException si el token no es válido o ha expirado
+     */
+    public JwtClaims verify(String token) {
+        Instant now = Instant.now();
+        JwtClaims claims = cache.get(token, now);
+        if (claims != null) {
+            return claims;
+        }
+        claims = toClaims(parser.parseSignedClaims(token).getPayload());
+        if (claims.email() == null) {
+            throw new JwtException("El token no contiene subject");
+        }
+        if (claims.isExpired(now)) {
+            throw new JwtException("El token ha expirado");
+        }
+        cache.put(token, claims);
+        return claims;
+    }
+
     public String extractEmail(String token) {
-        return getPayload(token).getSubject();
+        return verify(token).email();
     }
 
     public Long extractUserId(String token) {
-        Object userId = getPayload(token).get("userId");
-        if (userId instanceof Integer) {
-            return ((Integer) userId).longValue();
-        }
-        return userId != null ? Long.valueOf(userId.toString()) : null;
+        return verify(token).userId();
     }
 
     public boolean isTokenValid(String token, String email) {
         try {
-            Claims claims = getPayload(token);
-            return claims.getSubject().equals(email) && !isTokenExpired(token);
+            return verify(token).email().equals(email);
         } catch (Exception e) {
             return false;
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return getPayload(token).getExpiration().before(new Date());
+    public String extractRole(String token) {
+        return verify(token).role();
     }
 
-    private Claims getPayload(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public long getCacheHits() {
+        return cache.getHits();
     }
 
-    public String extractRole(String token) {
-        Object role = getPayload(token).get("role");
-        return role != null ? role.toString() : "USER";
+    public long getCacheMisses() {
+        return cache.getMisses();
+    }
+
+    public int getCacheSize() {
+        return cache.size();
     }
-}
 
+    private JwtClaims toClaims(Claims payload) {
+        Object userId = payload.get("userId");
+        Long id = null;
+        if (userId instanceof Number) {
+            id = ((Number) userId).longValue();
+        } else if (userId != null) {
+            id = Long.valueOf(userId.toString());
+        }
+        Object role = payload.get("role");
+        Date expiration = payload.getExpiration();
+        return new JwtClaims(
+                payload.getSubject(),
+                id,
+                role != null ? role.toString() : "USER",
+                expiration != null ? expiration.toInstant() : null);
+    }
+}
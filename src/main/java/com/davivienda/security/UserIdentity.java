@@ -0,0 +1,13 @@
+package com.davivienda.security;
+
+import com.davivienda.model.User;
+
+/**
+ * Lo que {@link UserIdentityCache} guarda de un usuario: inmutable, se comparte entre hilos sin copiarlo.
+ */
+public record UserIdentity(Long id, String email, User.Role role) {
+
+    public static UserIdentity of(User user) {
+        return new UserIdentity(user.getId(), user.getEmail(), user.getRole());
+    }
+}
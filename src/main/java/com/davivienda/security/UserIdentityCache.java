@@ -0,0 +1,67 @@
+package com.davivienda.security;
+
+import com.davivienda.event.UserChangedEvent;
+import com.davivienda.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Caché pequeña (LRU) de la identidad de los usuarios (ID, email y rol) por email. Guarda {@link UserIdentity}, no
+ * la entidad: una entidad JPA es mutable y pertenece a un contexto de persistencia, así que no se comparte entre
+ * hilos. Se invalida tras el commit de cada cambio de usuario ({@link UserIdentityListener}); invalidar antes dejaría
+ * que otra petición volviera a cargar la fila sin el cambio.
+ */
+@Component
+public class UserIdentityCache {
+
+    private final int maxEntries;
+    private final Map<String, UserIdentity> byEmail;
+
+    public UserIdentityCache(@Value("${app.user-cache.max-entries:1000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.byEmail = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserIdentity> eldest) {
+                return size() > UserIdentityCache.this.maxEntries;
+            }
+        };
+    }
+
+    public UserIdentity get(String email, Supplier<Optional<User>> loader) {
+        synchronized (byEmail) {
+            UserIdentity cached = byEmail.get(email);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Optional<UserIdentity> loaded = loader.get().map(UserIdentity::of);
+        loaded.ifPresent(identity -> {
+            if (maxEntries > 0) {
+                synchronized (byEmail) {
+                    byEmail.put(email, identity);
+                }
+            }
+        });
+        return loaded.orElse(null);
+    }
+
+    /**
+     * Por ID: si cambió el email, la entrada sigue guardada con el anterior.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.userId() == null) {
+            return;
+        }
+        synchronized (byEmail) {
+            byEmail.values().removeIf(identity -> event.userId().equals(identity.id()));
+        }
+    }
+}
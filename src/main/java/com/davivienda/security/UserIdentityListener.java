@@ -0,0 +1,26 @@
+package com.davivienda.security;
+
+import com.davivienda.event.UserChangedEvent;
+import com.davivienda.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de {@link User}: al modificar o eliminar un usuario publica un {@link UserChangedEvent}. Corre en el
+ * flush, antes del commit; la {@link UserIdentityCache} lo aplica tras el commit.
+ */
+@Component
+public class UserIdentityListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+    }
+}
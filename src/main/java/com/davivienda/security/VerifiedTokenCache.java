@@ -0,0 +1,87 @@
+package com.davivienda.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché LRU acotada de tokens ya verificados.
+ * La clave es el SHA-256 del token (no se guarda el token en claro) y las entradas expiradas se descartan al leerlas.
+ */
+class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final Map<ByteBuffer, JwtClaims> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, JwtClaims> eldest) {
+                return size() > VerifiedTokenCache.this.maxEntries;
+            }
+        };
+    }
+
+    JwtClaims get(String token, Instant now) {
+        if (maxEntries <= 0) {
+            misses.increment();
+            return null;
+        }
+        ByteBuffer key = digest(token);
+        JwtClaims claims;
+        synchronized (entries) {
+            claims = entries.get(key);
+            if (claims != null && claims.isExpired(now)) {
+                entries.remove(key);
+                claims = null;
+            }
+        }
+        if (claims == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return claims;
+    }
+
+    void put(String token, JwtClaims claims) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        ByteBuffer key = digest(token);
+        synchronized (entries) {
+            entries.put(key, claims);
+        }
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.davivienda.service;
+
+import com.davivienda.dto.BoardChangesDTO;
+import com.davivienda.model.User;
+
+public interface BoardChangeService {
+
+    /**
+     * Listas y tarjetas que cambiaron después de la versión {@code since}, con lápidas para las eliminadas.
+     * Si el registro no cubre todo el intervalo, o hay demasiados cambios, devuelve el tablero completo.
+     */
+    BoardChangesDTO getChanges(Long projectId, User user, long since);
+
+    /**
+     * Borra las entradas del registro más antiguas que el periodo de retención.
+     */
+    int compact();
+}
@@ -0,0 +1,19 @@
+package com.davivienda.service;
+
+import com.davivienda.model.User;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Flujo de eventos (SSE) con los cambios confirmados de un tablero.
+ */
+public interface BoardEventService {
+
+    /**
+     * Suscribe al usuario a los cambios del proyecto, tras comprobar que es miembro.
+     * Con {@code lastEventId} (versión ya recibida) reenvía antes los cambios posteriores desde el registro;
+     * si el registro no los cubre envía un evento {@code reset} para que el cliente recargue el tablero.
+     */
+    SseEmitter subscribe(Long projectId, User user, Long lastEventId);
+
+    int getSubscriberCount();
+}
@@ -0,0 +1,23 @@
+package com.davivienda.service;
+
+import com.davivienda.model.User;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BoardExportService {
+
+    /**
+     * Comprueba que el proyecto existe y que el usuario es miembro. Se llama antes de empezar a escribir la respuesta,
+     * cuando todavía se puede devolver un error.
+     */
+    void ensureExportable(Long projectId, User user);
+
+    /**
+     * Escribe el proyecto como NDJSON (un objeto JSON por línea): primero el proyecto y después cada lista seguida de sus
+     * tarjetas, en orden de tablero. Las tarjetas se leen con un cursor, así que la memoria no depende del tamaño del tablero.
+     *
+     * @return número de tarjetas escritas
+     */
+    long export(Long projectId, OutputStream out) throws IOException;
+}
@@ -0,0 +1,38 @@
+package com.davivienda.service;
+
+import com.davivienda.dto.BoardImportResultDTO;
+import com.davivienda.model.User;
+
+import java.io.InputStream;
+
+public interface BoardImportService {
+
+    enum Format {
+        JSON, CSV
+    }
+
+    /**
+     * Avance de una importación: se notifica cada {@code app.import.progress-every} tarjetas.
+     */
+    @FunctionalInterface
+    interface ProgressListener {
+        void onProgress(int lists, long cards);
+    }
+
+    /**
+     * Importa listas y tarjetas leyendo el archivo en streaming y las añade al final del tablero.
+     * Cada bloque de {@code app.import.chunk-size} tarjetas se confirma en su propia transacción: si hay un error,
+     * lo confirmado se queda en el tablero y la importación (su ID va en el mensaje) se puede reanudar con
+     * {@link #resumeImport}.
+     *
+     * @param user usuario que importa (debe ser miembro); null desde la línea de comandos
+     * @param listener avance de la importación; puede ser null
+     */
+    BoardImportResultDTO importBoard(Long projectId, User user, InputStream in, Format format, ProgressListener listener);
+
+    /**
+     * Reanuda una importación fallida con el mismo archivo: se salta las listas y tarjetas ya confirmadas y sigue
+     * desde ahí.
+     */
+    BoardImportResultDTO resumeImport(Long projectId, Long importId, User user, InputStream in, Format format, ProgressListener listener);
+}
@@ -12,6 +12,11 @@ public interface BoardListService {
 
     List<BoardListDTO> findByProjectId(Long projectId, User user);
 
+    /**
+     * Versión del tablero para validar el ETag de un cliente sin cargar el tablero.
+     */
+    long getBoardVersion(Long projectId, User user);
+
     BoardListDTO update(Long listId, User user, String title, Integer position);
 
     void delete(Long listId, User user);
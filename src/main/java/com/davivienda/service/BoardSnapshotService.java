@@ -0,0 +1,24 @@
+package com.davivienda.service;
+
+import com.davivienda.dto.BoardListDTO;
+import com.davivienda.dto.ProjectDTO;
+import com.davivienda.model.User;
+
+import java.util.List;
+
+/**
+ * Carga del tablero completo (proyecto, listas ordenadas, tarjetas ordenadas y asignados)
+ * con un número fijo de consultas, independiente del número de listas.
+ */
+public interface BoardSnapshotService {
+
+    ProjectDTO getSnapshot(Long projectId, User user);
+
+    /**
+     * Versión actual del tablero con una lectura por clave primaria, tras comprobar el acceso.
+     * Un {@link #getSnapshot} posterior devuelve como mínimo esta versión.
+     */
+    long getVersion(Long projectId, User user);
+
+    List<BoardListDTO> getLists(Long projectId, User user);
+}
@@ -0,0 +1,13 @@
+package com.davivienda.service;
+
+import com.davivienda.dto.CacheStatsDTO;
+
+import java.util.List;
+
+public interface CacheStatsService {
+
+    /**
+     * Estadísticas de las cachés en memoria de esta instancia.
+     */
+    List<CacheStatsDTO> getStats();
+}
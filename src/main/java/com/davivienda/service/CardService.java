@@ -1,6 +1,12 @@
 package com.davivienda.service;
 
+import com.davivienda.dto.AssignedCardPageDTO;
+import com.davivienda.dto.CardBatchResponse;
 import com.davivienda.dto.CardDTO;
+import com.davivienda.dto.CardFilter;
+import com.davivienda.dto.CardOperation;
+import com.davivienda.dto.CardPageDTO;
+import com.davivienda.dto.CardSummaryDTO;
 import com.davivienda.model.Card;
 import com.davivienda.model.User;
 
@@ -11,11 +17,43 @@ public interface CardService {
 
     CardDTO create(Long listId, User user, String title, String description, Integer position, Long assigneeId, LocalDate dueDate);
 
-    List<CardDTO> findByListId(Long listId, User user);
+    /**
+     * Tarjetas de la lista en orden, sin descripción (la lectura del tablero).
+     */
+    List<CardSummaryDTO> findByListId(Long listId, User user);
+
+    CardPageDTO findPageByListId(Long listId, User user, int limit, String after);
+
+    /**
+     * Detalle de una tarjeta de la lista: con la descripción y sus etiquetas.
+     */
+    CardDTO findById(Long listId, Long cardId, User user);
+
+    /**
+     * Mis tarjetas: las asignadas al usuario en todos sus proyectos, por fecha límite. Cursor keyset sobre (dueDate, id).
+     *
+     * @param projectId     solo las de ese proyecto; null para todos
+     * @param overdue       solo las vencidas (fecha límite anterior a hoy)
+     * @param dueWithinDays solo las que vencen entre hoy y dentro de N días; junto con overdue, también las vencidas
+     */
+    AssignedCardPageDTO findAssignedTo(User user, Long projectId, boolean overdue, Integer dueWithinDays, int limit,
+                                       String after);
+
+    /**
+     * Tarjetas del proyecto que cumplen el filtro, en el orden del tablero: una consulta por lista hasta llenar la página.
+     * Cursor keyset sobre (rank de la lista, listId, rank, id).
+     */
+    CardPageDTO filter(Long projectId, User user, CardFilter filter, int limit, String after);
 
     CardDTO update(Long cardId, User user, String title, String description, Integer position, Long assigneeId, LocalDate dueDate);
 
     CardDTO move(Long cardId, Long targetListId, Integer newPosition, User user);
 
     void delete(Long cardId, User user);
+
+    /**
+     * Aplica en orden un lote de operaciones sobre tarjetas del proyecto, en una sola transacción.
+     * Las operaciones inválidas se descartan y se informan en su resultado; el resto se aplica.
+     */
+    CardBatchResponse applyBatch(Long projectId, User user, List<CardOperation> operations);
 }
@@ -0,0 +1,33 @@
+package com.davivienda.service;
+
+import com.davivienda.dto.LabelDTO;
+import com.davivienda.model.User;
+
+import java.util.List;
+
+public interface LabelService {
+
+    /**
+     * Etiquetas del proyecto por nombre, con el número de tarjetas de cada una (del índice de etiquetas).
+     */
+    List<LabelDTO> findByProjectId(Long projectId, User user);
+
+    LabelDTO create(Long projectId, User user, String name, String color);
+
+    LabelDTO update(Long projectId, Long labelId, User user, String name, String color);
+
+    /**
+     * Borra la etiqueta y la quita de todas sus tarjetas.
+     */
+    void delete(Long projectId, Long labelId, User user);
+
+    /**
+     * Pone la etiqueta a la tarjeta; si ya la tenía no hace nada.
+     */
+    void addToCard(Long projectId, Long labelId, Long cardId, User user);
+
+    /**
+     * Quita la etiqueta de la tarjeta; si no la tenía no hace nada.
+     */
+    void removeFromCard(Long projectId, Long labelId, Long cardId, User user);
+}
@@ -1,6 +1,8 @@
 package com.davivienda.service;
 
 import com.davivienda.dto.ProjectDTO;
+import com.davivienda.dto.ProjectPageDTO;
+import com.davivienda.dto.ProjectPurgeDTO;
 import com.davivienda.model.Project;
 import com.davivienda.model.User;
 
@@ -10,13 +12,35 @@ public interface ProjectService {
 
     ProjectDTO create(User user, String name, String description);
 
+    /**
+     * Proyectos del usuario con sus totales, los actualizados más recientemente primero.
+     */
     List<ProjectDTO> findByUser(User user);
 
+    /**
+     * Página de {@link #findByUser}: cursor keyset sobre (updatedAt, id).
+     */
+    ProjectPageDTO findPageByUser(User user, int limit, String after);
+
     ProjectDTO getById(Long id, User user);
 
+    /**
+     * Versión del tablero para validar el ETag de un cliente sin cargar el tablero.
+     */
+    long getBoardVersion(Long id, User user);
+
     ProjectDTO update(Long id, User user, String name, String description);
 
-    void delete(Long id, User user);
+    /**
+     * Marca el proyecto como borrado y le quita los miembros. Con pocas tarjetas lo borra en la misma transacción
+     * (estado DONE); si no, lo borra {@code ProjectPurger} en segundo plano (estado PENDING).
+     */
+    ProjectPurgeDTO delete(Long id, User user);
+
+    /**
+     * Borrados de proyectos en segundo plano de esta instancia, en curso y recientes.
+     */
+    List<ProjectPurgeDTO> findPurges();
 
     void addMember(Long projectId, User currentUser, String memberEmail);
 
@@ -0,0 +1,20 @@
+package com.davivienda.service;
+
+import com.davivienda.dto.CardSearchPageDTO;
+import com.davivienda.model.User;
+
+public interface SearchService {
+
+    /**
+     * Tarjetas de los proyectos del usuario cuyo título o descripción contienen todos los términos de la consulta,
+     * por relevancia. Cursor keyset sobre (relevancia, id).
+     */
+    CardSearchPageDTO searchCards(User user, String query, int limit, String after);
+
+    /**
+     * Lanza en segundo plano la reconstrucción del índice desde la base de datos.
+     *
+     * @return false si ya había una en curso
+     */
+    boolean rebuildIndex();
+}
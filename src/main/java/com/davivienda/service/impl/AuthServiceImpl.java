@@ -7,6 +7,8 @@ import com.davivienda.exception.BadResourceRequestException;
 import com.davivienda.model.User;
 import com.davivienda.repository.UserRepository;
 import com.davivienda.security.JwtUtil;
+import com.davivienda.security.UserIdentity;
+import com.davivienda.security.UserIdentityCache;
 import com.davivienda.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -22,6 +24,8 @@ public class AuthServiceImpl implements AuthService {
     private PasswordEncoder passwordEncoder;
     @Autowired
     private JwtUtil jwtUtil;
+    @Autowired
+    private UserIdentityCache userIdentityCache;
 
     @Override
     @Transactional
@@ -65,8 +69,13 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public User getCurrentUser(String email) {
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new BadResourceRequestException("Usuario no encontrado"));
+        UserIdentity identity = userIdentityCache.get(email, () -> userRepository.findByEmail(email));
+        if (identity == null) {
+            throw new BadResourceRequestException("Usuario no encontrado");
+        }
+        // referencia del contexto de persistencia de quien llama: sus campos se cargan (de la caché de segundo nivel)
+        // solo si se leen
+        return userRepository.getReferenceById(identity.id());
     }
 }
 
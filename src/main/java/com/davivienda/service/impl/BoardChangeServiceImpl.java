@@ -0,0 +1,252 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.BoardChangesDTO;
+import com.davivienda.dto.BoardListDTO;
+import com.davivienda.dto.BoardTombstoneDTO;
+import com.davivienda.dto.CardSummaryDTO;
+import com.davivienda.dto.ProjectDTO;
+import com.davivienda.event.BoardChangedEvent;
+import com.davivienda.model.BoardChange;
+import com.davivienda.model.User;
+import com.davivienda.repository.BoardChangeRepository;
+import com.davivienda.repository.BoardListRepository;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.repository.ProjectRepository;
+import com.davivienda.service.BoardChangeService;
+import com.davivienda.service.BoardSnapshotService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+public class BoardChangeServiceImpl implements BoardChangeService {
+
+    /** Oracle no admite más de 1000 elementos en un IN. */
+    private static final int MAX_IN_LIST = 1000;
+
+    @Autowired
+    private BoardChangeRepository boardChangeRepository;
+    @Autowired
+    private BoardSnapshotService boardSnapshotService;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private BoardListRepository boardListRepository;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.changes.max-entries:1000}")
+    private int maxEntries = 1000;
+    @Value("${app.changes.retention-hours:168}")
+    private long retentionHours = 168;
+    @Value("${app.changes.compaction-chunk-size:1000}")
+    private int compactionChunkSize = 1000;
+
+    private TransactionTemplate readOnly;
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Sin transacción propia: la versión y el tablero completo se leen del primario ({@link BoardSnapshotService}, cada
+     * uno en su transacción) y el registro de cambios en otra de solo lectura, una detrás de otra. Anidarlas retendría
+     * dos conexiones del pool por petición.
+     */
+    @PostConstruct
+    void init() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public BoardChangesDTO getChanges(Long projectId, User user, long since) {
+        long version = boardSnapshotService.getVersion(projectId, user);
+        if (since == version) {
+            return BoardChangesDTO.builder()
+                    .projectId(projectId)
+                    .since(since)
+                    .version(version)
+                    .lists(List.of())
+                    .cards(List.of())
+                    .deleted(List.of())
+                    .build();
+        }
+        if (since < 0 || since > version) {
+            return full(projectId, user, since);
+        }
+        BoardChangesDTO changes = readOnly.execute(status -> changesBetween(projectId, since, version));
+        return changes != null ? changes : full(projectId, user, since);
+    }
+
+    /**
+     * Lo cambiado en (since, version] según el registro; null si el registro no lo cubre y hay que enviar el tablero
+     * completo.
+     */
+    private BoardChangesDTO changesBetween(Long projectId, long since, long version) {
+        List<BoardChange> log = boardChangeRepository.findBetweenVersions(projectId, since, version, PageRequest.of(0, maxEntries + 1));
+        if (log.size() > maxEntries || !coversRange(log, since, version)) {
+            return null;
+        }
+
+        // de cada lista o tarjeta basta su último cambio
+        Map<String, BoardChange> latest = new LinkedHashMap<>();
+        for (BoardChange change : log) {
+            if (change.getType() == BoardChangedEvent.Type.BOARD_RELOADED) {
+                return null;
+            }
+            String key = change.getType().entity() + ":" + change.getEntityId();
+            latest.remove(key);
+            latest.put(key, change);
+        }
+        ProjectDTO project = null;
+        Map<Long, Long> listVersions = new LinkedHashMap<>();
+        Map<Long, Long> cardVersions = new LinkedHashMap<>();
+        List<BoardTombstoneDTO> deleted = new ArrayList<>();
+        for (BoardChange change : latest.values()) {
+            BoardChangedEvent.Type type = change.getType();
+            if (type.isDelete()) {
+                deleted.add(tombstone(type.entity(), change.getEntityId(), change.getVersion()));
+            } else if (type.entity() == BoardChangedEvent.Entity.PROJECT) {
+                project = projectRepository.findDTOById(projectId).orElse(null);
+            } else if (type.entity() == BoardChangedEvent.Entity.LIST) {
+                listVersions.put(change.getEntityId(), change.getVersion());
+            } else {
+                cardVersions.put(change.getEntityId(), change.getVersion());
+            }
+        }
+        List<BoardListDTO> lists = loadLists(projectId, listVersions, deleted);
+        List<CardSummaryDTO> cards = loadCards(projectId, cardVersions, deleted);
+        return BoardChangesDTO.builder()
+                .projectId(projectId)
+                .since(since)
+                .version(version)
+                .project(project)
+                .lists(lists)
+                .cards(cards)
+                .deleted(deleted)
+                .build();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.changes.compaction-interval-ms:3600000}")
+    public int compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        PageRequest chunk = PageRequest.of(0, Math.min(compactionChunkSize, MAX_IN_LIST));
+        int removed = 0;
+        // por lotes, cada uno en su transacción: un solo DELETE de todo lo antiguo bloquearía el registro y llenaría
+        // el undo
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = boardChangeRepository.findIdsOlderThan(cutoff, chunk);
+                return ids.isEmpty() ? 0 : boardChangeRepository.deleteByIdIn(ids);
+            });
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            removed += deleted;
+        }
+        if (removed > 0) {
+            log.info("Registro de cambios compactado: {} entradas de más de {} h", removed, retentionHours);
+        }
+        return removed;
+    }
+
+    /**
+     * El registro cubre (since, version] si las versiones van de since + 1 a version sin saltos.
+     */
+    static boolean coversRange(List<BoardChange> log, long since, long version) {
+        long expected = since + 1;
+        for (BoardChange change : log) {
+            if (change.getVersion() == expected) {
+                expected++;
+            } else if (change.getVersion() != expected - 1) {
+                return false;
+            }
+        }
+        return expected == version + 1;
+    }
+
+    private BoardChangesDTO full(Long projectId, User user, long since) {
+        ProjectDTO snapshot = boardSnapshotService.getSnapshot(projectId, user);
+        return BoardChangesDTO.builder()
+                .projectId(projectId)
+                .since(since)
+                .version(snapshot.getBoardVersion())
+                .full(true)
+                .project(snapshot)
+                .lists(List.of())
+                .cards(List.of())
+                .deleted(List.of())
+                .build();
+    }
+
+    /**
+     * Estado actual de las listas cambiadas; las que ya no existen (o no son del proyecto) pasan a lápidas.
+     */
+    private List<BoardListDTO> loadLists(Long projectId, Map<Long, Long> versions, List<BoardTombstoneDTO> deleted) {
+        List<BoardListDTO> result = new ArrayList<>();
+        Set<Long> found = new HashSet<>();
+        for (List<Long> slice : slices(versions.keySet())) {
+            for (BoardListDTO l : boardListRepository.findDTOsByIdInAndProjectId(slice, projectId)) {
+                found.add(l.getId());
+                result.add(l);
+            }
+        }
+        versions.forEach((id, version) -> {
+            if (!found.contains(id)) {
+                deleted.add(tombstone(BoardChangedEvent.Entity.LIST, id, version));
+            }
+        });
+        result.sort(Comparator.comparing(BoardListDTO::getRank).thenComparing(BoardListDTO::getId));
+        return result;
+    }
+
+    private List<CardSummaryDTO> loadCards(Long projectId, Map<Long, Long> versions, List<BoardTombstoneDTO> deleted) {
+        List<CardSummaryDTO> result = new ArrayList<>();
+        Set<Long> found = new HashSet<>();
+        for (List<Long> slice : slices(versions.keySet())) {
+            for (CardSummaryDTO c : cardRepository.findSummariesByIdInAndProjectId(slice, projectId)) {
+                found.add(c.getId());
+                result.add(c);
+            }
+        }
+        versions.forEach((id, version) -> {
+            if (!found.contains(id)) {
+                deleted.add(tombstone(BoardChangedEvent.Entity.CARD, id, version));
+            }
+        });
+        result.sort(Comparator.comparing(CardSummaryDTO::getListId).thenComparing(CardSummaryDTO::getRank)
+                .thenComparing(CardSummaryDTO::getId));
+        return result;
+    }
+
+    private static List<List<Long>> slices(Set<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> slices = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += MAX_IN_LIST) {
+            slices.add(all.subList(from, Math.min(from + MAX_IN_LIST, all.size())));
+        }
+        return slices;
+    }
+
+    private static BoardTombstoneDTO tombstone(BoardChangedEvent.Entity entity, Long id, Long version) {
+        return BoardTombstoneDTO.builder().entityType(entity).id(id).version(version).build();
+    }
+}
@@ -0,0 +1,299 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.BoardChangeEntryDTO;
+import com.davivienda.dto.BoardEventDTO;
+import com.davivienda.event.BoardChangedEvent;
+import com.davivienda.event.BoardCommittedEvent;
+import com.davivienda.event.ProjectMembershipEvent;
+import com.davivienda.model.BoardChange;
+import com.davivienda.model.User;
+import com.davivienda.repository.BoardChangeRepository;
+import com.davivienda.service.BoardEventService;
+import com.davivienda.service.BoardSnapshotService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reparto de los cambios confirmados a los suscriptores SSE de cada proyecto.
+ * Los suscriptores de un proyecto están en una lista copy-on-write: publicar solo la recorre, sin bloqueos.
+ * Cada evento se serializa una vez y se encola en el buffer acotado de cada suscriptor; un hilo virtual lo vacía
+ * hacia la conexión. Si el buffer se llena el cliente es lento: se cierra su conexión y al reconectar con
+ * {@code Last-Event-ID} recupera lo perdido desde el registro de cambios. Una conexión inactiva no ocupa hilo.
+ */
+@Slf4j
+@Service
+public class BoardEventServiceImpl implements BoardEventService {
+
+    static final String CHANGE_EVENT = "board-change";
+    static final String RESET_EVENT = "reset";
+
+    @Autowired
+    private BoardSnapshotService boardSnapshotService;
+    @Autowired
+    private BoardChangeRepository boardChangeRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.events.buffer-size:256}")
+    private int bufferSize = 256;
+    @Value("${app.events.timeout-ms:1800000}")
+    private long timeoutMs = 1800000;
+    @Value("${app.changes.max-entries:1000}")
+    private int maxReplayEntries = 1000;
+
+    private final ConcurrentMap<Long, List<Subscriber>> subscribersByProject = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Override
+    public SseEmitter subscribe(Long projectId, User user, Long lastEventId) {
+        Subscriber subscriber = new Subscriber(projectId, user.getId(), new SseEmitter(timeoutMs));
+        // se registra antes de leer la versión y el registro: lo que se confirme mientras tanto queda en su buffer, y
+        // lo que ya cubra el reenvío se descarta por versión al vaciarlo
+        register(subscriber);
+        boolean started = false;
+        try {
+            long current = boardSnapshotService.getVersion(projectId, user);
+            if (lastEventId != null && lastEventId < current) {
+                replay(subscriber, lastEventId, current);
+            }
+            subscriber.replayedUpTo = current;
+            started = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el flujo de eventos del proyecto " + projectId, e);
+        } finally {
+            if (!started) {
+                subscriber.close();
+            }
+        }
+        subscriber.release();
+        return subscriber.emitter;
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @EventListener
+    public void onBoardCommitted(BoardCommittedEvent event) {
+        List<Subscriber> subscribers = subscribersByProject.get(event.projectId());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        Outgoing outgoing = change(event.projectId(), event.version(), event.changes());
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(outgoing);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onMembershipChanged(ProjectMembershipEvent event) {
+        List<Subscriber> subscribers = subscribersByProject.get(event.projectId());
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (event.type() == ProjectMembershipEvent.Type.PROJECT_DELETED
+                    || (event.type() == ProjectMembershipEvent.Type.MEMBER_REMOVED && subscriber.userId.equals(event.userId()))) {
+                subscriber.close();
+            }
+        }
+    }
+
+    /**
+     * Comentario periódico: mantiene viva la conexión a través de proxies y detecta clientes desconectados.
+     */
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        Outgoing ping = new Outgoing(0, SseEmitter.event().comment("ping").build());
+        subscribersByProject.values().forEach(subscribers -> subscribers.forEach(s -> s.offer(ping)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribersByProject.values().forEach(subscribers -> subscribers.forEach(Subscriber::close));
+        senders.shutdown();
+    }
+
+    /**
+     * Reenvía los cambios de (since, current] agrupados por versión; si el registro no los cubre, un evento reset.
+     */
+    private void replay(Subscriber subscriber, long since, long current) throws IOException {
+        List<BoardChange> entries = boardChangeRepository.findBetweenVersions(subscriber.projectId, since, current,
+                PageRequest.of(0, maxReplayEntries + 1));
+        boolean covered = entries.size() <= maxReplayEntries && BoardChangeServiceImpl.coversRange(entries, since, current);
+        if (!covered) {
+            subscriber.emitter.send(SseEmitter.event()
+                    .name(RESET_EVENT)
+                    .id(Long.toString(current))
+                    .data(json(BoardEventDTO.builder().projectId(subscriber.projectId).version(current).build()),
+                            MediaType.APPLICATION_JSON)
+                    .build());
+            return;
+        }
+        int from = 0;
+        while (from < entries.size()) {
+            long version = entries.get(from).getVersion();
+            List<BoardChangedEvent> changes = new ArrayList<>();
+            int to = from;
+            while (to < entries.size() && entries.get(to).getVersion() == version) {
+                BoardChange c = entries.get(to++);
+                changes.add(new BoardChangedEvent(c.getProjectId(), c.getType(), c.getEntityId()));
+            }
+            subscriber.emitter.send(change(subscriber.projectId, version, changes).data());
+            from = to;
+        }
+    }
+
+    private Outgoing change(Long projectId, long version, List<BoardChangedEvent> changes) {
+        List<BoardChangeEntryDTO> entries = new ArrayList<>(changes.size());
+        for (BoardChangedEvent change : changes) {
+            entries.add(BoardChangeEntryDTO.builder()
+                    .type(change.type())
+                    .entityType(change.type().entity())
+                    .id(change.entityId())
+                    .build());
+        }
+        String data = json(BoardEventDTO.builder().projectId(projectId).version(version).changes(entries).build());
+        return new Outgoing(version, SseEmitter.event()
+                .name(CHANGE_EVENT)
+                .id(Long.toString(version))
+                .data(data, MediaType.APPLICATION_JSON)
+                .build());
+    }
+
+    private String json(BoardEventDTO event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento del tablero " + event.getProjectId(), e);
+        }
+    }
+
+    private void register(Subscriber subscriber) {
+        subscribersByProject.compute(subscriber.projectId, (id, subscribers) -> {
+            List<Subscriber> list = subscribers != null ? subscribers : new CopyOnWriteArrayList<>();
+            list.add(subscriber);
+            return list;
+        });
+        subscriberCount.incrementAndGet();
+        subscriber.emitter.onCompletion(subscriber::unregister);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(e -> subscriber.close());
+    }
+
+    /**
+     * Evento ya serializado; {@code version} 0 para los que no son cambios (heartbeat).
+     */
+    private record Outgoing(long version, Set<ResponseBodyEmitter.DataWithMediaType> data) {
+    }
+
+    private final class Subscriber {
+
+        private final Long projectId;
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Outgoing> buffer = new ArrayBlockingQueue<>(bufferSize);
+        /** Mientras está activo (reenvío inicial en curso) los eventos se acumulan sin enviarse. */
+        private final AtomicBoolean sending = new AtomicBoolean(true);
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean registered = new AtomicBoolean(true);
+        /** Versiones hasta aquí ya se enviaron en el reenvío inicial; sus copias en el buffer no se envían. */
+        private volatile long replayedUpTo;
+
+        Subscriber(Long projectId, Long userId, SseEmitter emitter) {
+            this.projectId = projectId;
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(Outgoing outgoing) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(outgoing)) {
+                log.info("Suscriptor lento del proyecto {} (usuario {}): se cierra su conexión", projectId, userId);
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        void release() {
+            sending.set(false);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!buffer.isEmpty() && sending.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Outgoing next;
+                while (!closed.get() && (next = buffer.poll()) != null) {
+                    if (next.version() == 0 || next.version() > replayedUpTo) {
+                        emitter.send(next.data());
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // el cliente se desconectó o la respuesta ya terminó
+                close();
+            } finally {
+                sending.set(false);
+            }
+            if (!closed.get()) {
+                schedule();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                buffer.clear();
+                unregister();
+                emitter.complete();
+            }
+        }
+
+        void unregister() {
+            if (registered.compareAndSet(true, false)) {
+                closed.set(true);
+                subscribersByProject.computeIfPresent(projectId, (id, subscribers) -> {
+                    subscribers.remove(this);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
+                subscriberCount.decrementAndGet();
+            }
+        }
+    }
+}
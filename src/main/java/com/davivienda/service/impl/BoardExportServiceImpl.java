@@ -0,0 +1,165 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.exception.NoSuchResourceFoundException;
+import com.davivienda.model.BoardList;
+import com.davivienda.model.Card;
+import com.davivienda.model.Project;
+import com.davivienda.model.User;
+import com.davivienda.repository.BoardListRepository;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.repository.ProjectRepository;
+import com.davivienda.security.AccessChecker;
+import com.davivienda.service.BoardExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class BoardExportServiceImpl implements BoardExportService {
+
+    /** Cada cuántas tarjetas se vacía el contexto de persistencia mientras se recorre el cursor. */
+    private static final int CLEAR_EVERY = 1000;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private BoardListRepository boardListRepository;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private AccessChecker accessChecker;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void ensureExportable(Long projectId, User user) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new NoSuchResourceFoundException("No se encontró el proyecto con ID: " + projectId);
+        }
+        accessChecker.ensureMember(projectId, user);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long export(Long projectId, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró el proyecto con ID: " + projectId));
+        List<BoardList> lists = boardListRepository.findByProjectIdOrderByRank(projectId);
+        long cards = 0;
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out);
+             Stream<Card> stream = cardRepository.streamByProjectIdInBoardOrder(projectId)) {
+            // el flujo de salida lo cierra quien lo abrió (el contenedor o el GZIPOutputStream del controlador)
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // sin separador entre valores raíz: cada línea la termina endLine
+            gen.setPrettyPrinter(new MinimalPrettyPrinter(""));
+            writeProject(gen, project);
+
+            // ambas consultas ordenan por (rank, id) de la lista: basta un recorrido en paralelo
+            Iterator<BoardList> pendingLists = lists.iterator();
+            Set<Long> listIds = new HashSet<>();
+            for (BoardList list : lists) {
+                listIds.add(list.getId());
+            }
+            Long currentListId = null;
+            Iterator<Card> it = stream.iterator();
+            while (it.hasNext()) {
+                Card card = it.next();
+                Long listId = card.getList().getId();
+                if (!listId.equals(currentListId)) {
+                    if (listIds.contains(listId)) {
+                        while (pendingLists.hasNext()) {
+                            BoardList list = pendingLists.next();
+                            writeList(gen, list);
+                            if (list.getId().equals(listId)) {
+                                break;
+                            }
+                        }
+                    } else {
+                        // lista creada entre las dos consultas: se escribe desde la propia tarjeta
+                        writeList(gen, card.getList());
+                    }
+                    currentListId = listId;
+                }
+                writeCard(gen, card, listId);
+                if (++cards % CLEAR_EVERY == 0) {
+                    entityManager.clear();
+                }
+            }
+            while (pendingLists.hasNext()) {
+                writeList(gen, pendingLists.next());
+            }
+        }
+        log.info("Exportación del proyecto {}: {} listas, {} tarjetas en {} ms",
+                projectId, lists.size(), cards, (System.nanoTime() - start) / 1_000_000);
+        return cards;
+    }
+
+    private void writeProject(JsonGenerator gen, Project project) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("type", "project");
+        gen.writeNumberField("id", project.getId());
+        gen.writeStringField("name", project.getName());
+        writeOptional(gen, "description", project.getDescription());
+        gen.writeStringField("exportedAt", LocalDateTime.now().toString());
+        endLine(gen);
+    }
+
+    private void writeList(JsonGenerator gen, BoardList list) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("type", "list");
+        gen.writeNumberField("id", list.getId());
+        gen.writeStringField("title", list.getTitle());
+        gen.writeStringField("rank", list.getRank());
+        endLine(gen);
+    }
+
+    private void writeCard(JsonGenerator gen, Card card, Long listId) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("type", "card");
+        gen.writeNumberField("id", card.getId());
+        gen.writeNumberField("listId", listId);
+        gen.writeStringField("title", card.getTitle());
+        writeOptional(gen, "description", card.getDescription());
+        gen.writeStringField("rank", card.getRank());
+        User assignee = card.getAssignee();
+        if (assignee != null) {
+            gen.writeNumberField("assigneeId", assignee.getId());
+            gen.writeStringField("assigneeEmail", assignee.getEmail());
+        }
+        writeOptional(gen, "dueDate", card.getDueDate());
+        writeOptional(gen, "createdAt", card.getCreatedAt());
+        writeOptional(gen, "updatedAt", card.getUpdatedAt());
+        endLine(gen);
+    }
+
+    private static void writeOptional(JsonGenerator gen, String field, Object value) throws IOException {
+        if (value != null) {
+            gen.writeStringField(field, value.toString());
+        }
+    }
+
+    private static void endLine(JsonGenerator gen) throws IOException {
+        gen.writeEndObject();
+        gen.writeRaw('\n');
+    }
+}
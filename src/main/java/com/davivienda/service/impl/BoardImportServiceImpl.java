@@ -0,0 +1,493 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.BoardImportResultDTO;
+import com.davivienda.dto.BoardImportRow;
+import com.davivienda.event.BoardChangedEvent;
+import com.davivienda.exception.BadResourceRequestException;
+import com.davivienda.exception.NoSuchResourceFoundException;
+import com.davivienda.model.BoardImport;
+import com.davivienda.model.BoardList;
+import com.davivienda.model.Card;
+import com.davivienda.model.Project;
+import com.davivienda.model.User;
+import com.davivienda.repository.BoardImportRepository;
+import com.davivienda.repository.BoardListRepository;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.repository.ProjectRepository;
+import com.davivienda.repository.UserRepository;
+import com.davivienda.security.AccessChecker;
+import com.davivienda.service.BoardImportService;
+import com.davivienda.util.LexoRank;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
+@Service
+public class BoardImportServiceImpl implements BoardImportService {
+
+    /** Oracle no admite más de 1000 elementos en un IN. */
+    private static final int MAX_IN_LIST = 1000;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private BoardListRepository boardListRepository;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private BoardImportRepository boardImportRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AccessChecker accessChecker;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize = 1000;
+    @Value("${app.import.progress-every:50000}")
+    private long progressEvery = 50000;
+
+    private final ObjectReader csvReader = new CsvMapper()
+            .registerModule(new JavaTimeModule())
+            .readerFor(BoardImportRow.class)
+            .with(CsvSchema.emptySchema().withHeader());
+
+    /** Cada bloque en su transacción, aunque quien llama tenga una abierta: lo confirmado no depende del resto. */
+    private TransactionTemplate chunkTransaction;
+
+    @PostConstruct
+    void init() {
+        chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public BoardImportResultDTO importBoard(Long projectId, User user, InputStream in, Format format, ProgressListener listener) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new NoSuchResourceFoundException("No se encontró el proyecto con ID: " + projectId);
+        }
+        if (user != null) {
+            accessChecker.ensureMember(projectId, user);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        BoardImport record = chunkTransaction.execute(status -> boardImportRepository.save(BoardImport.builder()
+                .projectId(projectId)
+                .status(BoardImport.Status.RUNNING)
+                .startedAt(now)
+                .updatedAt(now)
+                .build()));
+        ImportSession session = new ImportSession(record, List.of(), listener);
+        return run(session, in, format);
+    }
+
+    @Override
+    public BoardImportResultDTO resumeImport(Long projectId, Long importId, User user, InputStream in, Format format,
+                                             ProgressListener listener) {
+        BoardImport record = boardImportRepository.findById(importId)
+                .filter(i -> i.getProjectId().equals(projectId))
+                .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró la importación con ID: " + importId));
+        if (user != null) {
+            accessChecker.ensureMember(projectId, user);
+        }
+        List<Long> listIds = boardListRepository.findIdsByImportId(importId);
+        if (listIds.size() != record.getLists()) {
+            throw new BadResourceRequestException("No se puede reanudar la importación " + importId
+                    + ": se han borrado listas que ya había creado");
+        }
+        // solo una pasada a la vez: el cambio de estado es condicional
+        Integer resumed = chunkTransaction.execute(status -> boardImportRepository.updateStatus(importId,
+                BoardImport.Status.FAILED, BoardImport.Status.RUNNING, LocalDateTime.now()));
+        if (resumed == null || resumed == 0) {
+            throw new BadResourceRequestException("Solo se puede reanudar una importación fallida (la importación "
+                    + importId + " está " + record.getStatus() + ")");
+        }
+        record.setStatus(BoardImport.Status.RUNNING);
+        log.info("Reanudando la importación {} en el proyecto {} tras {} listas y {} tarjetas",
+                importId, projectId, record.getLists(), record.getCards());
+        ImportSession session = new ImportSession(record, listIds, listener);
+        return run(session, in, format);
+    }
+
+    private BoardImportResultDTO run(ImportSession session, InputStream in, Format format) {
+        try {
+            if (format == Format.CSV) {
+                readCsv(in, session);
+            } else {
+                readJson(in, session);
+            }
+            session.flushChunk();
+        } catch (JsonProcessingException e) {
+            String line = e.getLocation() != null ? " (línea " + e.getLocation().getLineNr() + ")" : "";
+            throw session.fail(new BadResourceRequestException("El archivo de importación no es válido: "
+                    + e.getOriginalMessage() + line));
+        } catch (IOException e) {
+            throw session.fail(new BadResourceRequestException("No se pudo leer el archivo de importación: " + e.getMessage()));
+        } catch (RuntimeException e) {
+            throw session.fail(e);
+        }
+        session.finish();
+        BoardImportResultDTO result = session.result();
+        log.info("Importación {} en el proyecto {} terminada: {} listas, {} tarjetas en {} ms",
+                result.getImportId(), result.getProjectId(), result.getLists(), result.getCards(), result.getElapsedMs());
+        return result;
+    }
+
+    /**
+     * Formato: {@code {"lists": [{"title": "...", "cards": [{"title": "...", ...}]}]}}.
+     * Se recorre token a token; solo cada tarjeta se materializa como objeto. El título de la lista debe ir antes de sus tarjetas.
+     */
+    private void readJson(InputStream in, ImportSession session) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new BadResourceRequestException("El archivo de importación debe ser un objeto JSON con el campo lists");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("lists".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readJsonList(parser, session);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private void readJsonList(JsonParser parser, ImportSession session) throws IOException {
+        String title = null;
+        Integer list = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("title".equals(field)) {
+                title = parser.getValueAsString();
+            } else if ("cards".equals(field) && value == JsonToken.START_ARRAY) {
+                if (list == null) {
+                    list = session.openList(title);
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    session.addCard(list, objectMapper.readValue(parser, BoardImportRow.class));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (list == null) {
+            session.openList(title);
+        }
+    }
+
+    /**
+     * Formato: cabecera {@code list,title,description,assigneeEmail,dueDate} y una tarjeta por fila.
+     * Las listas se crean en el orden en que aparecen; una fila sin título solo crea la lista.
+     */
+    private void readCsv(InputStream in, ImportSession session) throws IOException {
+        Map<String, Integer> listsByTitle = new HashMap<>();
+        try (MappingIterator<BoardImportRow> rows = csvReader.readValues(in)) {
+            while (rows.hasNextValue()) {
+                BoardImportRow row = rows.nextValue();
+                if (row.getList() == null || row.getList().isBlank()) {
+                    throw new BadResourceRequestException("Cada fila del CSV necesita la columna list");
+                }
+                String listTitle = row.getList().trim();
+                Integer list = listsByTitle.get(listTitle);
+                if (list == null) {
+                    list = session.openList(listTitle);
+                    listsByTitle.put(listTitle, list);
+                }
+                if (row.getTitle() != null && !row.getTitle().isBlank()) {
+                    session.addCard(list, row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Estado de una importación. Las tarjetas se acumulan en bloques de {@code chunkSize}; cada bloque, con las
+     * listas abiertas desde el anterior y los contadores de {@link BoardImport}, se escribe y confirma en su propia
+     * transacción: por bloque se resuelven los asignados con una consulta y se hace flush + clear, así ni la memoria
+     * ni la transacción crecen con el tamaño del archivo. Las claves de orden se calculan al escribir, con el proyecto
+     * bloqueado y desde las últimas del tablero, como las escrituras a mano: entre bloques otros usuarios pueden añadir
+     * listas o tarjetas. Al reanudar, las primeras listas del archivo son las ya creadas y las primeras
+     * {@code skipCards} tarjetas se saltan.
+     */
+    private final class ImportSession {
+
+        private final BoardImport record;
+        private final Long projectId;
+        private final ProgressListener listener;
+        private final long startNanos = System.nanoTime();
+        /** ID de cada lista por su posición en el archivo; null mientras no se ha escrito. */
+        private final List<Long> listIds;
+        private final List<BoardList> pendingLists = new ArrayList<>();
+        private final Map<Long, String> tailRankByList = new HashMap<>();
+        private final Map<String, Long> assigneeIdsByEmail = new HashMap<>();
+        private final List<PendingCard> pending = new ArrayList<>();
+        private final long skipCards;
+        private String lastListRank;
+        private int openedLists;
+        private long seenCards;
+        /** Contadores confirmados, incluidos los de pasadas anteriores. */
+        private int lists;
+        private long cards;
+        private long unknownAssignees;
+        /** Esta pasada ya confirmó algún bloque. */
+        private boolean committed;
+
+        ImportSession(BoardImport record, List<Long> resumedListIds, ProgressListener listener) {
+            this.record = record;
+            this.projectId = record.getProjectId();
+            this.listIds = new ArrayList<>(resumedListIds);
+            this.skipCards = record.getCards();
+            this.lists = record.getLists();
+            this.cards = record.getCards();
+            this.unknownAssignees = record.getUnknownAssignees();
+            this.listener = listener;
+        }
+
+        int openList(String title) {
+            if (title == null || title.trim().isEmpty()) {
+                throw new BadResourceRequestException("Cada lista necesita un título (antes de sus tarjetas)");
+            }
+            int position = openedLists++;
+            if (position < listIds.size()) {
+                // creada en una pasada anterior
+                return position;
+            }
+            pendingLists.add(BoardList.builder()
+                    .title(title.trim())
+                    .project(entityManager.getReference(Project.class, projectId))
+                    .importId(record.getId())
+                    .build());
+            listIds.add(null);
+            return position;
+        }
+
+        void addCard(int list, BoardImportRow row) {
+            if (row.getTitle() == null || row.getTitle().trim().isEmpty()) {
+                throw new BadResourceRequestException("Hay una tarjeta sin título (tarjeta " + (seenCards + 1) + ")");
+            }
+            if (++seenCards <= skipCards) {
+                return;
+            }
+            pending.add(new PendingCard(list, row));
+            if (pending.size() >= chunkSize) {
+                flushChunk();
+            }
+        }
+
+        void flushChunk() {
+            if (pending.isEmpty() && pendingLists.isEmpty()) {
+                return;
+            }
+            long unknown = chunkTransaction.execute(status -> writeChunk());
+            long before = cards;
+            lists += pendingLists.size();
+            cards += pending.size();
+            unknownAssignees += unknown;
+            committed = true;
+            pendingLists.clear();
+            pending.clear();
+            if (cards / progressEvery > before / progressEvery) {
+                reportProgress();
+            }
+        }
+
+        /**
+         * Escribe las listas y tarjetas pendientes y los contadores; devuelve los asignados desconocidos del bloque.
+         */
+        private long writeChunk() {
+            projectRepository.lockById(projectId);
+            Set<Long> existingLists = new HashSet<>();
+            for (PendingCard p : pending) {
+                Long listId = listIds.get(p.list());
+                if (listId != null) {
+                    existingLists.add(listId);
+                }
+            }
+            for (Long listId : existingLists) {
+                tailRankByList.put(listId, maxRank(tailRankByList.get(listId), cardRepository.findMaxRank(listId)));
+            }
+            if (!pendingLists.isEmpty()) {
+                lastListRank = maxRank(lastListRank, boardListRepository.findMaxRank(projectId));
+            }
+            int first = listIds.size() - pendingLists.size();
+            for (int i = 0; i < pendingLists.size(); i++) {
+                BoardList list = pendingLists.get(i);
+                lastListRank = LexoRank.after(lastListRank);
+                list.setRank(lastListRank);
+                entityManager.persist(list);
+                listIds.set(first + i, list.getId());
+                tailRankByList.put(list.getId(), null);
+            }
+            resolveAssignees();
+            LocalDateTime now = LocalDateTime.now();
+            long unknown = 0;
+            for (PendingCard p : pending) {
+                BoardImportRow row = p.row();
+                Long listId = listIds.get(p.list());
+                String rank = LexoRank.after(tailRankByList.get(listId));
+                tailRankByList.put(listId, rank);
+                Long assigneeId = null;
+                if (row.getAssigneeEmail() != null && !row.getAssigneeEmail().isBlank()) {
+                    assigneeId = assigneeIdsByEmail.get(row.getAssigneeEmail().trim());
+                    if (assigneeId == null) {
+                        unknown++;
+                    }
+                }
+                entityManager.persist(Card.builder()
+                        .title(row.getTitle().trim())
+                        .description(row.getDescription() != null ? row.getDescription().trim() : null)
+                        .rank(rank)
+                        .list(entityManager.getReference(BoardList.class, listId))
+                        .assignee(assigneeId != null ? entityManager.getReference(User.class, assigneeId) : null)
+                        .dueDate(row.getDueDate())
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build());
+            }
+            record.setLists(lists + pendingLists.size());
+            record.setCards(cards + pending.size());
+            record.setUnknownAssignees(unknownAssignees + unknown);
+            record.setUpdatedAt(now);
+            boardImportRepository.save(record);
+            entityManager.flush();
+            entityManager.clear();
+            return unknown;
+        }
+
+        /**
+         * Una consulta por bloque para los emails aún no vistos; los que no existen se recuerdan como desconocidos.
+         */
+        private void resolveAssignees() {
+            Set<String> unseen = new HashSet<>();
+            for (PendingCard p : pending) {
+                String email = p.row().getAssigneeEmail();
+                if (email != null && !email.isBlank() && !assigneeIdsByEmail.containsKey(email.trim())) {
+                    unseen.add(email.trim());
+                }
+            }
+            List<String> emails = new ArrayList<>(unseen);
+            for (int from = 0; from < emails.size(); from += MAX_IN_LIST) {
+                List<String> slice = emails.subList(from, Math.min(from + MAX_IN_LIST, emails.size()));
+                for (String email : slice) {
+                    assigneeIdsByEmail.put(email, null);
+                }
+                for (User u : userRepository.findByEmailIn(slice)) {
+                    assigneeIdsByEmail.put(u.getEmail(), u.getId());
+                }
+            }
+        }
+
+        private void reportProgress() {
+            long elapsedMs = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+            log.info("Importación {} en el proyecto {}: {} listas, {} tarjetas ({} tarjetas/s)",
+                    record.getId(), projectId, lists, cards, (cards - skipCards) * 1000 / elapsedMs);
+            if (listener != null) {
+                listener.onProgress(lists, cards);
+            }
+        }
+
+        /**
+         * Marca la importación como terminada; el tablero cambia de versión una vez para toda la importación.
+         */
+        void finish() {
+            chunkTransaction.executeWithoutResult(status -> {
+                record.setStatus(BoardImport.Status.DONE);
+                record.setUpdatedAt(LocalDateTime.now());
+                boardImportRepository.save(record);
+                eventPublisher.publishEvent(BoardChangedEvent.reloaded(projectId));
+            });
+        }
+
+        /**
+         * Marca la importación como fallida con lo ya confirmado y devuelve el error para quien llama; si el archivo
+         * no era válido, el mensaje indica cómo reanudarla.
+         */
+        RuntimeException fail(RuntimeException error) {
+            try {
+                chunkTransaction.executeWithoutResult(status -> {
+                    // los contadores en la base de datos son los del último bloque confirmado
+                    BoardImport stored = boardImportRepository.findById(record.getId()).orElseThrow();
+                    stored.setStatus(BoardImport.Status.FAILED);
+                    stored.setError(error.getMessage() != null && error.getMessage().length() > MAX_ERROR_LENGTH
+                            ? error.getMessage().substring(0, MAX_ERROR_LENGTH)
+                            : error.getMessage());
+                    stored.setUpdatedAt(LocalDateTime.now());
+                    if (committed) {
+                        eventPublisher.publishEvent(BoardChangedEvent.reloaded(projectId));
+                    }
+                });
+            } catch (RuntimeException e) {
+                error.addSuppressed(e);
+            }
+            log.warn("Importación {} en el proyecto {} fallida tras {} listas y {} tarjetas confirmadas: {}",
+                    record.getId(), projectId, lists, cards, error.getMessage());
+            if (error instanceof BadResourceRequestException) {
+                return new BadResourceRequestException(error.getMessage() + " (importación " + record.getId()
+                        + ": " + cards + " tarjetas confirmadas; se puede reanudar con el archivo corregido)");
+            }
+            return error;
+        }
+
+        BoardImportResultDTO result() {
+            return BoardImportResultDTO.builder()
+                    .importId(record.getId())
+                    .projectId(projectId)
+                    .lists(lists)
+                    .cards(cards)
+                    .unknownAssignees(unknownAssignees)
+                    .elapsedMs((System.nanoTime() - startNanos) / 1_000_000)
+                    .build();
+        }
+    }
+
+    private static String maxRank(String a, String b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.compareTo(b) >= 0 ? a : b;
+    }
+
+    /** Tarjeta por escribir; {@code list} es la posición de su lista en el archivo. */
+    private record PendingCard(int list, BoardImportRow row) {
+    }
+}
@@ -1,23 +1,24 @@
 package com.davivienda.service.impl;
 
 import com.davivienda.dto.BoardListDTO;
-import com.davivienda.dto.CardDTO;
+import com.davivienda.event.BoardChangedEvent;
 import com.davivienda.exception.BadResourceRequestException;
 import com.davivienda.exception.NoSuchResourceFoundException;
 import com.davivienda.model.BoardList;
 import com.davivienda.model.Project;
 import com.davivienda.model.User;
 import com.davivienda.repository.BoardListRepository;
-import com.davivienda.repository.ProjectMemberRepository;
 import com.davivienda.repository.ProjectRepository;
+import com.davivienda.security.AccessChecker;
 import com.davivienda.service.BoardListService;
-import com.davivienda.service.CardService;
+import com.davivienda.service.BoardSnapshotService;
+import com.davivienda.util.LexoRank;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class BoardListServiceImpl implements BoardListService {
@@ -27,39 +28,41 @@ public class BoardListServiceImpl implements BoardListService {
     @Autowired
     private ProjectRepository projectRepository;
     @Autowired
-    private ProjectMemberRepository projectMemberRepository;
+    private AccessChecker accessChecker;
     @Autowired
-    private CardService cardService;
+    private BoardSnapshotService boardSnapshotService;
+    @Autowired
+    private RankRebalancer rankRebalancer;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public BoardListDTO create(Long projectId, User user, String title, Integer position) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró el proyecto con ID: " + projectId));
-        ensureMember(project, user);
+        accessChecker.ensureMember(project.getId(), user);
         if (title == null || title.trim().isEmpty()) {
             throw new BadResourceRequestException("El título de la lista es requerido");
         }
-        if (position == null) {
-            position = (int) boardListRepository.findByProjectOrderByPositionAsc(project).stream().count();
-        }
         BoardList list = BoardList.builder()
                 .title(title.trim())
-                .position(position)
+                .rank(rankAt(projectId, position, null))
                 .project(project)
                 .build();
         list = boardListRepository.save(list);
-        return toDTO(list, false, user);
+        eventPublisher.publishEvent(BoardChangedEvent.list(projectId, BoardChangedEvent.Type.LIST_CREATED, list.getId()));
+        return toDTO(list, position);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<BoardListDTO> findByProjectId(Long projectId, User user) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró el proyecto con ID: " + projectId));
-        ensureMember(project, user);
-        List<BoardList> lists = boardListRepository.findByProjectOrderByPositionAsc(project);
-        return lists.stream().map(l -> toDTO(l, true, user)).collect(Collectors.toList());
+        return boardSnapshotService.getLists(projectId, user);
+    }
+
+    @Override
+    public long getBoardVersion(Long projectId, User user) {
+        return boardSnapshotService.getVersion(projectId, user);
     }
 
     @Override
@@ -67,15 +70,17 @@ public class BoardListServiceImpl implements BoardListService {
     public BoardListDTO update(Long listId, User user, String title, Integer position) {
         BoardList list = boardListRepository.findById(listId)
                 .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró la lista con ID: " + listId));
-        ensureMember(list.getProject(), user);
+        accessChecker.ensureMember(list.getProject().getId(), user);
         if (title != null && !title.trim().isEmpty()) {
             list.setTitle(title.trim());
         }
         if (position != null) {
-            list.setPosition(position);
+            list.setRank(rankAt(list.getProject().getId(), position, list.getId()));
         }
         list = boardListRepository.save(list);
-        return toDTO(list, false, user);
+        eventPublisher.publishEvent(BoardChangedEvent.list(list.getProject().getId(),
+                position != null ? BoardChangedEvent.Type.LIST_MOVED : BoardChangedEvent.Type.LIST_UPDATED, list.getId()));
+        return toDTO(list, position);
     }
 
     @Override
@@ -83,8 +88,10 @@ public class BoardListServiceImpl implements BoardListService {
     public void delete(Long listId, User user) {
         BoardList list = boardListRepository.findById(listId)
                 .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró la lista con ID: " + listId));
-        ensureMember(list.getProject(), user);
+        Long projectId = list.getProject().getId();
+        accessChecker.ensureMember(projectId, user);
         boardListRepository.delete(list);
+        eventPublisher.publishEvent(BoardChangedEvent.list(projectId, BoardChangedEvent.Type.LIST_DELETED, listId));
     }
 
     @Override
@@ -94,23 +101,47 @@ public class BoardListServiceImpl implements BoardListService {
                 .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró la lista con ID: " + id));
     }
 
-    private void ensureMember(Project project, User user) {
-        if (!projectMemberRepository.existsByProjectAndUser(project, user)) {
-            throw new BadResourceRequestException("No tienes acceso a este proyecto");
+    /**
+     * Clave para colocar una lista en el índice indicado del tablero (null = al final). Con el proyecto bloqueado, dos
+     * escrituras concurrentes no leen las mismas vecinas; si aun así hay dos empatadas (claves anteriores al bloqueo),
+     * las listas se rebalancean en esta misma transacción.
+     */
+    private String rankAt(Long projectId, Integer index, Long excludeListId) {
+        projectRepository.lockById(projectId);
+        String rank;
+        try {
+            rank = neighbourRank(projectId, index, excludeListId);
+        } catch (IllegalArgumentException e) {
+            rankRebalancer.rebalanceLists(projectId);
+            rank = neighbourRank(projectId, index, excludeListId);
         }
+        rankRebalancer.checkListRank(projectId, rank);
+        return rank;
     }
 
-    private BoardListDTO toDTO(BoardList l, boolean includeCards, User user) {
-        List<CardDTO> cards = null;
-        if (includeCards && user != null) {
-            cards = cardService.findByListId(l.getId(), user);
+    private String neighbourRank(Long projectId, Integer index, Long excludeListId) {
+        String rank;
+        if (index == null) {
+            rank = LexoRank.after(boardListRepository.findMaxRank(projectId));
+        } else if (index <= 0) {
+            List<String> first = boardListRepository.findRanksAt(projectId, excludeListId, 0, 1);
+            rank = first.isEmpty() ? LexoRank.initial() : LexoRank.inGap(null, first.get(0));
+        } else {
+            List<String> around = boardListRepository.findRanksAt(projectId, excludeListId, index - 1, 2);
+            rank = around.isEmpty()
+                    ? LexoRank.after(boardListRepository.findMaxRank(projectId))
+                    : LexoRank.inGap(around.get(0), around.size() > 1 ? around.get(1) : null);
         }
+        return rank;
+    }
+
+    private BoardListDTO toDTO(BoardList l, Integer position) {
         return BoardListDTO.builder()
                 .id(l.getId())
                 .title(l.getTitle())
-                .position(l.getPosition())
+                .position(position)
+                .rank(l.getRank())
                 .projectId(l.getProject() != null ? l.getProject().getId() : null)
-                .cards(cards)
                 .build();
     }
 }
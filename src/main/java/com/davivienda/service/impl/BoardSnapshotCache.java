@@ -0,0 +1,121 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.BoardListDTO;
+import com.davivienda.dto.CacheStatsDTO;
+import com.davivienda.dto.CardSummaryDTO;
+import com.davivienda.dto.ProjectDTO;
+import com.davivienda.event.BoardChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Tableros ya montados (proyecto con listas y tarjetas) por id de proyecto, compartidos entre todos los miembros.
+ * El acceso se comprueba en cada lectura antes de llegar aquí. Acotada por peso (listas + tarjetas) con expulsión
+ * W-TinyLFU y expiración; cualquier {@link BoardChangedEvent} invalida el tablero tras el commit.
+ * Cada lectura devuelve una copia: el tablero cacheado no sale de aquí, y quien lo recibe puede modificarlo.
+ */
+@Component
+public class BoardSnapshotCache {
+
+    public static final String NAME = "board-snapshots";
+
+    private final long maxWeight;
+    private final Cache<Long, ProjectDTO> cache;
+
+    public BoardSnapshotCache(@Value("${app.board-cache.max-weight:200000}") long maxWeight,
+                              @Value("${app.board-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.maxWeight = maxWeight;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Long projectId, ProjectDTO snapshot) -> weigh(snapshot))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Devuelve el tablero cacheado o lo carga. Las cargas concurrentes del mismo proyecto se hacen una sola vez, y una
+     * invalidación que llega durante la carga espera a que termine y la descarta. Devuelve una copia profunda
+     * (proyecto, listas y tarjetas).
+     */
+    public ProjectDTO get(Long projectId, Function<Long, ProjectDTO> loader) {
+        return copyOf(cache.get(projectId, loader));
+    }
+
+    public void invalidate(Long projectId) {
+        cache.invalidate(projectId);
+    }
+
+    /**
+     * Descarta el tablero cacheado si es anterior a {@code version}. Cubre el intervalo entre el commit de un cambio
+     * y su invalidación: quien ya ha visto la versión nueva no recibe el tablero anterior.
+     */
+    public void invalidateIfOlder(Long projectId, long version) {
+        ProjectDTO cached = cache.asMap().get(projectId);
+        if (cached != null && cached.getBoardVersion() != null && cached.getBoardVersion() < version) {
+            cache.asMap().remove(projectId, cached);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBoardChanged(BoardChangedEvent event) {
+        invalidate(event.projectId());
+    }
+
+    public CacheStatsDTO stats() {
+        CacheStats stats = cache.stats();
+        long weight = cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+        return CacheStatsDTO.builder()
+                .name(NAME)
+                .size(cache.estimatedSize())
+                .weight(weight)
+                .maxWeight(maxWeight)
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictions(stats.evictionCount())
+                .averageLoadMs(stats.averageLoadPenalty() / 1_000_000.0)
+                .build();
+    }
+
+    private static int weigh(ProjectDTO snapshot) {
+        int weight = 1;
+        if (snapshot.getLists() != null) {
+            for (BoardListDTO list : snapshot.getLists()) {
+                weight += 1 + (list.getCards() != null ? list.getCards().size() : 0);
+            }
+        }
+        return weight;
+    }
+
+    private static ProjectDTO copyOf(ProjectDTO snapshot) {
+        ProjectDTO copy = snapshot.toBuilder().build();
+        if (snapshot.getLists() != null) {
+            List<BoardListDTO> lists = new ArrayList<>(snapshot.getLists().size());
+            for (BoardListDTO list : snapshot.getLists()) {
+                BoardListDTO listCopy = list.toBuilder().build();
+                if (list.getCards() != null) {
+                    List<CardSummaryDTO> cards = new ArrayList<>(list.getCards().size());
+                    for (CardSummaryDTO card : list.getCards()) {
+                        cards.add(card.toBuilder()
+                                .labelIds(card.getLabelIds() != null ? new ArrayList<>(card.getLabelIds()) : null)
+                                .build());
+                    }
+                    listCopy.setCards(cards);
+                }
+                lists.add(listCopy);
+            }
+            copy.setLists(lists);
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,130 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.BoardListDTO;
+import com.davivienda.dto.CardSummaryDTO;
+import com.davivienda.dto.ProjectDTO;
+import com.davivienda.exception.NoSuchResourceFoundException;
+import com.davivienda.model.User;
+import com.davivienda.repository.BoardListRepository;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.repository.ProjectRepository;
+import com.davivienda.security.AccessChecker;
+import com.davivienda.service.BoardSnapshotService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class BoardSnapshotServiceImpl implements BoardSnapshotService {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private BoardListRepository boardListRepository;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private AccessChecker accessChecker;
+    @Autowired
+    private BoardSnapshotCache boardSnapshotCache;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate primary;
+
+    /**
+     * La carga y la versión van al primario en una transacción de escritura (no readOnly). Se llaman fuera de
+     * transacción: dentro de una de solo lectura leerían de la réplica y un tablero retrasado quedaría en la caché
+     * compartida, y suspenderla (REQUIRES_NEW) retendría dos conexiones del pool por petición.
+     */
+    @PostConstruct
+    void init() {
+        primary = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public ProjectDTO getSnapshot(Long projectId, User user) {
+        ensureOutsideTransaction();
+        ensureReadable(projectId, user);
+        return boardSnapshotCache.get(projectId, this::load);
+    }
+
+    @Override
+    public long getVersion(Long projectId, User user) {
+        ensureOutsideTransaction();
+        ensureReadable(projectId, user);
+        long version = primary.execute(status -> projectRepository.findBoardVersionById(projectId))
+                .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró el proyecto con ID: " + projectId));
+        boardSnapshotCache.invalidateIfOlder(projectId, version);
+        return version;
+    }
+
+    @Override
+    public List<BoardListDTO> getLists(Long projectId, User user) {
+        ensureOutsideTransaction();
+        ensureReadable(projectId, user);
+        return boardSnapshotCache.get(projectId, this::load).getLists();
+    }
+
+    private static void ensureOutsideTransaction() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("El tablero se lee fuera de transacción (se carga en una propia del primario)");
+        }
+    }
+
+    /**
+     * El acceso se comprueba por usuario antes de tocar la caché, que es compartida por todos los miembros.
+     */
+    private void ensureReadable(Long projectId, User user) {
+        if (!accessChecker.isMember(projectId, user)) {
+            if (!projectRepository.existsById(projectId)) {
+                throw new NoSuchResourceFoundException("No se encontró el proyecto con ID: " + projectId);
+            }
+            accessChecker.ensureMember(projectId, user);
+        }
+    }
+
+    /**
+     * Tres consultas en una transacción; solo se ejecuta cuando el tablero no está en caché.
+     * La versión se lee con el proyecto, antes que listas y tarjetas: nunca es más nueva que el contenido.
+     */
+    private ProjectDTO load(Long projectId) {
+        return primary.execute(status -> {
+            ProjectDTO dto = projectRepository.findDTOById(projectId)
+                    .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró el proyecto con ID: " + projectId));
+            dto.setLists(loadLists(projectId));
+            return dto;
+        });
+    }
+
+    /**
+     * Dos consultas: listas del proyecto y todas sus tarjetas (con asignado, sin descripción), proyectadas a DTO y
+     * agrupadas en memoria.
+     */
+    private List<BoardListDTO> loadLists(Long projectId) {
+        List<BoardListDTO> lists = boardListRepository.findDTOsByProjectId(projectId);
+        Map<Long, List<CardSummaryDTO>> cardsByList = new HashMap<>();
+        for (int i = 0; i < lists.size(); i++) {
+            BoardListDTO l = lists.get(i);
+            l.setPosition(i);
+            l.setCards(new ArrayList<>());
+            cardsByList.put(l.getId(), l.getCards());
+        }
+        for (CardSummaryDTO c : cardRepository.findSummariesByProjectId(projectId)) {
+            List<CardSummaryDTO> cards = cardsByList.get(c.getListId());
+            if (cards != null) {
+                c.setPosition(cards.size());
+                cards.add(c);
+            }
+        }
+        return lists;
+    }
+}
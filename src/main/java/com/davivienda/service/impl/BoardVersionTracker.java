@@ -0,0 +1,115 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.event.BoardChangedEvent;
+import com.davivienda.event.BoardCommittedEvent;
+import com.davivienda.model.BoardChange;
+import com.davivienda.repository.BoardChangeRepository;
+import com.davivienda.repository.ProjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sube la versión de los tableros que cambian y anota los cambios en el registro ({@link BoardChange}).
+ * Escucha los {@link BoardChangedEvent} dentro de la transacción que los publica y, justo antes del commit, hace un
+ * único UPDATE por proyecto afectado y guarda sus cambios con la versión resultante: un lote de 500 operaciones
+ * cuenta como un cambio de versión y una transacción revertida no deja rastro. Tras el commit publica un
+ * {@link BoardCommittedEvent} por proyecto.
+ */
+@Component
+public class BoardVersionTracker {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private BoardChangeRepository boardChangeRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @EventListener
+    public void onBoardChanged(BoardChangedEvent event) {
+        if (event.type() == BoardChangedEvent.Type.PROJECT_DELETED) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            BoardCommittedEvent committed = record(event.projectId(), List.of(event));
+            if (committed != null) {
+                eventPublisher.publishEvent(committed);
+            }
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(event);
+    }
+
+    private BoardCommittedEvent record(Long projectId, List<BoardChangedEvent> events) {
+        if (projectRepository.incrementBoardVersion(projectId) == 0) {
+            return null;
+        }
+        // la fila del proyecto queda bloqueada por el UPDATE hasta el commit: nadie más puede tomar esta versión
+        Long version = projectRepository.findBoardVersionById(projectId).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+        List<BoardChange> changes = new ArrayList<>(events.size());
+        for (BoardChangedEvent event : events) {
+            changes.add(BoardChange.builder()
+                    .projectId(projectId)
+                    .version(version)
+                    .type(event.type())
+                    .entityId(event.entityId())
+                    .createdAt(now)
+                    .build());
+        }
+        boardChangeRepository.saveAll(changes);
+        return new BoardCommittedEvent(projectId, version, events);
+    }
+
+    /**
+     * Cambios de la transacción en curso por proyecto; de varios cambios sobre la misma lista o tarjeta queda el último.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final Map<Long, Map<String, BoardChangedEvent>> byProject = new LinkedHashMap<>();
+        private final List<BoardCommittedEvent> committed = new ArrayList<>();
+
+        void add(BoardChangedEvent event) {
+            String key = event.type().entity().name() + ":" + event.entityId();
+            Map<String, BoardChangedEvent> events = byProject.computeIfAbsent(event.projectId(), id -> new LinkedHashMap<>());
+            events.remove(key);
+            events.put(key, event);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            byProject.forEach((projectId, events) -> {
+                BoardCommittedEvent event = record(projectId, new ArrayList<>(events.values()));
+                if (event != null) {
+                    committed.add(event);
+                }
+            });
+        }
+
+        @Override
+        public void afterCommit() {
+            committed.forEach(eventPublisher::publishEvent);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(BoardVersionTracker.this);
+        }
+    }
+}
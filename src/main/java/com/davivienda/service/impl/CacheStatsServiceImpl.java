@@ -0,0 +1,34 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.CacheStatsDTO;
+import com.davivienda.security.JwtUtil;
+import com.davivienda.service.CacheStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class CacheStatsServiceImpl implements CacheStatsService {
+
+    @Autowired
+    private BoardSnapshotCache boardSnapshotCache;
+    @Autowired
+    private CardLabelIndex cardLabelIndex;
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Override
+    public List<CacheStatsDTO> getStats() {
+        long hits = jwtUtil.getCacheHits();
+        long misses = jwtUtil.getCacheMisses();
+        CacheStatsDTO tokens = CacheStatsDTO.builder()
+                .name("jwt-tokens")
+                .size(jwtUtil.getCacheSize())
+                .hits(hits)
+                .misses(misses)
+                .hitRate(hits + misses == 0 ? 1.0 : (double) hits / (hits + misses))
+                .build();
+        return List.of(boardSnapshotCache.stats(), cardLabelIndex.stats(), tokens);
+    }
+}
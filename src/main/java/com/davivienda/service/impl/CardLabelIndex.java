@@ -0,0 +1,266 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.CacheStatsDTO;
+import com.davivienda.dto.LabelAssignment;
+import com.davivienda.event.BoardChangedEvent;
+import com.davivienda.event.LabelEvent;
+import com.davivienda.exception.NoSuchResourceFoundException;
+import com.davivienda.repository.LabelRepository;
+import com.davivienda.util.IdBitmap;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice en memoria de las etiquetas de las tarjetas: por proyecto, un {@link IdBitmap} de IDs de tarjeta por etiqueta.
+ * Los filtros por varias etiquetas son uniones o intersecciones de bitmaps, sin consultar card_label.
+ * <p>
+ * Cada proyecto se carga de la base de datos la primera vez que se usa (una consulta) y desde entonces se mantiene con
+ * los {@link LabelEvent} y {@link BoardChangedEvent} tras el commit. Los cambios que no se pueden aplicar sin releer
+ * (lista o proyecto borrados, tablero recargado) descartan el proyecto y la siguiente lectura lo vuelve a cargar.
+ * Se consulta fuera de transacción: la carga va al primario en una propia.
+ * Acotado por peso (etiquetas + tarjetas etiquetadas); los proyectos sin uso salen a los
+ * {@code app.labels.index.idle-seconds}.
+ */
+@Component
+public class CardLabelIndex {
+
+    public static final String NAME = "card-labels";
+
+    private final LabelRepository labelRepository;
+    private final TransactionTemplate primary;
+    private final long maxWeight;
+    private final Cache<Long, ProjectLabels> cache;
+
+    public CardLabelIndex(LabelRepository labelRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.labels.index.max-weight:5000000}") long maxWeight,
+                          @Value("${app.labels.index.idle-seconds:3600}") long idleSeconds) {
+        this.labelRepository = labelRepository;
+        // La carga va al primario en una transacción de escritura: desde la réplica, un proyecto cargado con retraso se
+        // quedaría sin los cambios cuyo evento ya pasó
+        this.primary = new TransactionTemplate(transactionManager);
+        this.maxWeight = maxWeight;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Long projectId, ProjectLabels labels) -> labels.weight())
+                .expireAfterAccess(Duration.ofSeconds(idleSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Tarjetas del proyecto con alguna de las etiquetas ({@code all} = false) o con todas ({@code all} = true),
+     * en un bitmap nuevo que quien llama puede modificar.
+     *
+     * @throws NoSuchResourceFoundException si alguna etiqueta no es del proyecto
+     */
+    public IdBitmap match(Long projectId, Collection<Long> labelIds, boolean all) {
+        ProjectLabels labels = labels(projectId);
+        labels.lock.readLock().lock();
+        try {
+            List<IdBitmap> bitmaps = new ArrayList<>(labelIds.size());
+            for (Long labelId : labelIds) {
+                IdBitmap cards = labels.byLabel.get(labelId);
+                if (cards == null) {
+                    throw new NoSuchResourceFoundException("No se encontró la etiqueta con ID: " + labelId);
+                }
+                bitmaps.add(cards);
+            }
+            if (bitmaps.isEmpty()) {
+                return new IdBitmap();
+            }
+            if (all) {
+                // de la más pequeña a la más grande: cada intersección recorre como mucho la anterior
+                bitmaps.sort(Comparator.comparingInt(IdBitmap::cardinality));
+            }
+            if (bitmaps.size() == 1) {
+                return bitmaps.get(0).copy();
+            }
+            // and / or devuelven un bitmap nuevo: el primero no hace falta copiarlo
+            IdBitmap result = all ? bitmaps.get(0).and(bitmaps.get(1)) : bitmaps.get(0).or(bitmaps.get(1));
+            for (int i = 2; i < bitmaps.size() && !(all && result.isEmpty()); i++) {
+                result = all ? result.and(bitmaps.get(i)) : result.or(bitmaps.get(i));
+            }
+            return result;
+        } finally {
+            labels.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Etiquetas de cada tarjeta dada (por ID de etiqueta); las tarjetas sin etiquetas tienen una lista vacía.
+     */
+    public Map<Long, List<Long>> labelIdsOf(Long projectId, Collection<Long> cardIds) {
+        Map<Long, List<Long>> result = new LinkedHashMap<>();
+        for (Long cardId : cardIds) {
+            result.put(cardId, new ArrayList<>());
+        }
+        ProjectLabels labels = labels(projectId);
+        labels.lock.readLock().lock();
+        try {
+            for (Map.Entry<Long, IdBitmap> label : new TreeMap<>(labels.byLabel).entrySet()) {
+                for (Long cardId : cardIds) {
+                    if (label.getValue().contains(cardId)) {
+                        result.get(cardId).add(label.getKey());
+                    }
+                }
+            }
+        } finally {
+            labels.lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /** Número de tarjetas de cada etiqueta del proyecto. */
+    public Map<Long, Integer> cardCounts(Long projectId) {
+        ProjectLabels labels = labels(projectId);
+        labels.lock.readLock().lock();
+        try {
+            Map<Long, Integer> counts = new HashMap<>();
+            labels.byLabel.forEach((labelId, cards) -> counts.put(labelId, cards.cardinality()));
+            return counts;
+        } finally {
+            labels.lock.readLock().unlock();
+        }
+    }
+
+    public void invalidate(Long projectId) {
+        cache.invalidate(projectId);
+    }
+
+    /**
+     * Los cambios se aplican solo si el proyecto está cargado; si se está cargando, esperan a que termine la carga
+     * (que puede haberlos leído ya o no: añadir y quitar son idempotentes).
+     */
+    @TransactionalEventListener
+    public void onLabelChanged(LabelEvent event) {
+        cache.asMap().computeIfPresent(event.projectId(), (projectId, labels) -> {
+            labels.lock.writeLock().lock();
+            try {
+                switch (event.type()) {
+                    case LABEL_CREATED -> labels.byLabel.putIfAbsent(event.labelId(), new IdBitmap());
+                    case LABEL_DELETED -> {
+                        IdBitmap cards = labels.byLabel.remove(event.labelId());
+                        if (cards != null) {
+                            labels.assignments -= cards.cardinality();
+                        }
+                    }
+                    case CARD_LABELED -> labels.add(event.labelId(), event.cardId());
+                    case CARD_UNLABELED -> labels.remove(event.labelId(), event.cardId());
+                }
+            } finally {
+                labels.lock.writeLock().unlock();
+            }
+            return labels;
+        });
+    }
+
+    @TransactionalEventListener
+    public void onBoardChanged(BoardChangedEvent event) {
+        switch (event.type()) {
+            case CARD_DELETED -> cache.asMap().computeIfPresent(event.projectId(), (projectId, labels) -> {
+                labels.lock.writeLock().lock();
+                try {
+                    for (Long labelId : List.copyOf(labels.byLabel.keySet())) {
+                        labels.remove(labelId, event.entityId());
+                    }
+                } finally {
+                    labels.lock.writeLock().unlock();
+                }
+                return labels;
+            });
+            case LIST_DELETED, PROJECT_DELETED, BOARD_RELOADED -> invalidate(event.projectId());
+            default -> {
+                // crear, editar o mover tarjetas no cambia sus etiquetas
+            }
+        }
+    }
+
+    public CacheStatsDTO stats() {
+        CacheStats stats = cache.stats();
+        long weight = cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+        return CacheStatsDTO.builder()
+                .name(NAME)
+                .size(cache.estimatedSize())
+                .weight(weight)
+                .maxWeight(maxWeight)
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictions(stats.evictionCount())
+                .averageLoadMs(stats.averageLoadPenalty() / 1_000_000.0)
+                .build();
+    }
+
+    private ProjectLabels labels(Long projectId) {
+        return cache.get(projectId, this::load);
+    }
+
+    /**
+     * Dentro de la transacción de quien llama, la carga leería de la réplica (si es de solo lectura) o lo aún no
+     * confirmado; suspenderla (REQUIRES_NEW) retendría dos conexiones del pool por petición.
+     */
+    private ProjectLabels load(Long projectId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("El índice de etiquetas se carga fuera de transacción (proyecto " + projectId + ")");
+        }
+        return primary.execute(status -> {
+            ProjectLabels labels = new ProjectLabels();
+            for (Long labelId : labelRepository.findIdsByProjectId(projectId)) {
+                labels.byLabel.put(labelId, new IdBitmap());
+            }
+            try (Stream<LabelAssignment> assignments = labelRepository.streamAssignmentsByProjectId(projectId)) {
+                assignments.forEach(a -> labels.add(a.getLabelId(), a.getCardId()));
+            }
+            return labels;
+        });
+    }
+
+    /**
+     * Etiquetas de un proyecto. Los bitmaps no son seguros para hilos: se leen con el cerrojo de lectura y se
+     * modifican con el de escritura.
+     */
+    private static final class ProjectLabels {
+
+        private final Map<Long, IdBitmap> byLabel = new HashMap<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        /** Tarjetas etiquetadas, contando una vez por etiqueta. Protegido por el cerrojo de escritura. */
+        private int assignments;
+
+        void add(Long labelId, Long cardId) {
+            if (byLabel.computeIfAbsent(labelId, id -> new IdBitmap()).add(cardId)) {
+                assignments++;
+            }
+        }
+
+        void remove(Long labelId, Long cardId) {
+            IdBitmap cards = byLabel.get(labelId);
+            if (cards != null && cards.remove(cardId)) {
+                assignments--;
+            }
+        }
+
+        int weight() {
+            return 1 + byLabel.size() + assignments;
+        }
+    }
+}
@@ -0,0 +1,602 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.CardSearchDocument;
+import com.davivienda.event.BoardChangedEvent;
+import com.davivienda.repository.CardRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.es.SpanishAnalyzer;
+import org.apache.lucene.analysis.es.SpanishLightStemFilter;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.QueryTimeoutImpl;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.SortedNumericSelector;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldCollectorManager;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.IOUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido (Lucene) del título y la descripción de las tarjetas, con relevancia BM25.
+ * <p>
+ * Se mantiene de forma incremental: cada {@link BoardChangedEvent} de tarjeta, lista borrada, proyecto borrado o tablero
+ * recargado se encola tras el commit, y un único hilo aplica la cola por lotes releyendo de la base de datos el estado
+ * actual de lo que cambió (así el orden de los eventos da igual) y publica un lector nuevo. La reconstrucción completa
+ * ({@link #rebuild()}) carga un índice nuevo en paralelo, le aplica lo que cambió mientras tanto y lo sustituye.
+ * <p>
+ * Con {@code app.search.index-dir} vacío el índice vive en memoria y se reconstruye al arrancar; con un directorio se
+ * guarda en disco (un subdirectorio por reconstrucción) y se confirma cada {@code app.search.commit-interval-ms}.
+ */
+@Slf4j
+@Component
+public class CardSearchIndex {
+
+    static final String ID = "id";
+    static final String PROJECT_ID = "projectId";
+    static final String LIST_ID = "listId";
+    /** Título y descripción en un solo campo: cada término es una única lista de posiciones y la poda por bloques funciona. */
+    static final String TEXT = "text";
+
+    /** El título se indexa dos veces, lo que en BM25 equivale a darle más peso que a la descripción. */
+    private static final int TITLE_REPEAT = 2;
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final int MAX_BATCH = 10_000;
+    /** Oracle no admite más de 1000 elementos en un IN. */
+    private static final int MAX_IN_LIST = 1000;
+    private static final Sort RELEVANCE = new Sort(SortField.FIELD_SCORE,
+            LongField.newSortField(ID, false, SortedNumericSelector.Type.MIN));
+
+    /**
+     * Resultado del índice; la tarjeta se lee después de la base de datos.
+     */
+    public record Hit(long cardId, long projectId, float score) {
+    }
+
+    private enum Kind {
+        CARD,
+        LIST_DELETED,
+        PROJECT_DELETED,
+        PROJECT
+    }
+
+    private record Change(Kind kind, long id) {
+    }
+
+    private final CardRepository cardRepository;
+    private final TransactionTemplate primary;
+    private final Path indexDir;
+    private final int batchSize;
+    private final double ramBufferMb;
+    private final boolean rebuildOnStartup;
+    private final long timeoutMs;
+    private final Analyzer analyzer = new CardAnalyzer();
+    private final BlockingQueue<Change> queue = new LinkedBlockingQueue<>();
+    private final Object writeLock = new Object();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    /** Cambios aplicados durante una reconstrucción, para repetirlos sobre el índice nuevo. Protegido por writeLock. */
+    private List<Change> changedDuringRebuild;
+    private volatile Generation current;
+    private volatile boolean running = true;
+    private Thread indexer;
+
+    public CardSearchIndex(CardRepository cardRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.search.index-dir:}") String indexDir,
+                           @Value("${app.search.rebuild-batch-size:5000}") int batchSize,
+                           @Value("${app.search.ram-buffer-mb:64}") double ramBufferMb,
+                           @Value("${app.search.rebuild-on-startup:false}") boolean rebuildOnStartup,
+                           @Value("${app.search.timeout-ms:40}") long timeoutMs) throws IOException {
+        this.cardRepository = cardRepository;
+        // Las lecturas del indexador van al primario aunque haya réplica: tienen que ver lo que se acaba de confirmar
+        this.primary = new TransactionTemplate(transactionManager);
+        this.indexDir = indexDir == null || indexDir.isBlank() ? null : Path.of(indexDir);
+        this.batchSize = batchSize;
+        this.ramBufferMb = ramBufferMb;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.timeoutMs = timeoutMs;
+        this.current = openLatest();
+    }
+
+    @PostConstruct
+    void start() {
+        indexer = Thread.ofPlatform().daemon().name("card-search-indexer").start(this::drainQueue);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (rebuildOnStartup || size() == 0) {
+            Thread.ofVirtual().name("card-search-rebuild").start(this::rebuild);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChanged(BoardChangedEvent event) {
+        switch (event.type()) {
+            case CARD_CREATED, CARD_UPDATED, CARD_MOVED, CARD_DELETED -> queue.add(new Change(Kind.CARD, event.entityId()));
+            case LIST_DELETED -> queue.add(new Change(Kind.LIST_DELETED, event.entityId()));
+            case PROJECT_DELETED -> queue.add(new Change(Kind.PROJECT_DELETED, event.projectId()));
+            case BOARD_RELOADED -> queue.add(new Change(Kind.PROJECT, event.projectId()));
+            default -> {
+                // los títulos de proyecto y lista no se indexan
+            }
+        }
+    }
+
+    /**
+     * Tarjetas de los proyectos dados que contienen todos los términos de la consulta, por relevancia y luego por id.
+     *
+     * @param after último resultado de la página anterior; null para la primera
+     */
+    public List<Hit> search(String text, long[] projectIds, int limit, Hit after) {
+        Query query = buildQuery(text, projectIds);
+        if (query == null) {
+            return List.of();
+        }
+        try {
+            return search(query, limit, after);
+        } catch (AlreadyClosedException e) {
+            // una reconstrucción acaba de sustituir el índice: se repite sobre el nuevo
+            return search(query, limit, after);
+        }
+    }
+
+    private List<Hit> search(Query query, int limit, Hit after) {
+        SearcherManager searchers = current.searchers;
+        IndexSearcher searcher;
+        try {
+            searcher = searchers.acquire();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el índice de búsqueda", e);
+        }
+        try {
+            int maxDoc = searcher.getIndexReader().maxDoc();
+            if (maxDoc == 0) {
+                return List.of();
+            }
+            // El id de la tarjeta desempata; con el último doc como posición, la propia tarjeta "after" queda fuera
+            FieldDoc from = after == null
+                    ? null
+                    : new FieldDoc(maxDoc - 1, after.score(), new Object[]{after.score(), after.cardId()});
+            // Sin total exacto de coincidencias: en cuanto hay una página llena se saltan los bloques que no pueden superarla
+            IndexSearcher limited = withTimeout(searcher);
+            TopFieldDocs top = limited.search(query, new TopFieldCollectorManager(RELEVANCE, limit, from, limit));
+            if (limited.timedOut()) {
+                log.debug("Búsqueda cortada a los {} ms con {} resultados: {}", timeoutMs, top.scoreDocs.length, query);
+                if (top.scoreDocs.length < limit) {
+                    // sin una página completa (p. ej. en frío) se prefiere tardar a devolver de menos
+                    top = searcher.search(query, new TopFieldCollectorManager(RELEVANCE, limit, from, limit));
+                }
+            }
+            StoredFields stored = searcher.storedFields();
+            List<Hit> hits = new ArrayList<>(top.scoreDocs.length);
+            for (ScoreDoc doc : top.scoreDocs) {
+                FieldDoc fieldDoc = (FieldDoc) doc;
+                long projectId = stored.document(doc.doc, Set.of(PROJECT_ID)).getField(PROJECT_ID).numericValue().longValue();
+                hits.add(new Hit((Long) fieldDoc.fields[1], projectId, (Float) fieldDoc.fields[0]));
+            }
+            return hits;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo consultar el índice de búsqueda", e);
+        } finally {
+            release(searchers, searcher);
+        }
+    }
+
+    /**
+     * Buscador de un solo uso con el tiempo máximo de la consulta: los términos muy frecuentes sobre muchos proyectos
+     * recorren cientos de miles de tarjetas, y pasado {@code app.search.timeout-ms} se devuelve la mejor página hasta ahí.
+     */
+    private IndexSearcher withTimeout(IndexSearcher searcher) {
+        if (timeoutMs <= 0) {
+            return searcher;
+        }
+        IndexSearcher limited = new IndexSearcher(searcher.getIndexReader());
+        limited.setSimilarity(searcher.getSimilarity());
+        limited.setTimeout(new QueryTimeoutImpl(timeoutMs));
+        return limited;
+    }
+
+    /**
+     * Consulta con todos los términos (en título, con más peso, o en descripción) filtrada por proyecto;
+     * null si el texto no tiene ningún término indexable.
+     */
+    Query buildQuery(String text, long[] projectIds) {
+        Set<String> terms = analyze(text);
+        if (terms.isEmpty() || projectIds.length == 0) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            query.add(new TermQuery(new Term(TEXT, term)), BooleanClause.Occur.MUST);
+        }
+        query.add(LongField.newSetQuery(PROJECT_ID, projectIds), BooleanClause.Occur.FILTER);
+        return query.build();
+    }
+
+    private Set<String> analyze(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream tokens = analyzer.tokenStream(TEXT, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    /**
+     * Reconstruye el índice completo desde {@link CardRepository} sin dejar de servir el actual.
+     *
+     * @return false si ya había una reconstrucción en curso
+     */
+    public boolean rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        Generation next = null;
+        try {
+            synchronized (writeLock) {
+                changedDuringRebuild = new ArrayList<>();
+            }
+            long start = System.nanoTime();
+            next = open(indexDir == null ? null : indexDir.resolve(Long.toString(System.currentTimeMillis())));
+            long count = 0;
+            long afterId = 0;
+            List<CardSearchDocument> page;
+            do {
+                long from = afterId;
+                page = primary.execute(status -> cardRepository.findSearchDocumentsAfter(from, PageRequest.of(0, batchSize)));
+                for (CardSearchDocument card : page) {
+                    next.writer.addDocument(toDocument(card));
+                }
+                count += page.size();
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == batchSize);
+
+            Generation previous;
+            synchronized (writeLock) {
+                apply(next, changedDuringRebuild);
+                changedDuringRebuild = null;
+                next.writer.commit();
+                next.searchers.maybeRefresh();
+                previous = current;
+                current = next;
+            }
+            next = null;
+            previous.discard();
+            log.info("Índice de búsqueda reconstruido: {} tarjetas en {} ms", count, (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("No se pudo reconstruir el índice de búsqueda; se sigue usando el anterior", e);
+            return false;
+        } finally {
+            synchronized (writeLock) {
+                changedDuringRebuild = null;
+            }
+            if (next != null) {
+                next.discard();
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    @Scheduled(cron = "${app.search.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Confirma en disco lo indexado (solo con {@code app.search.index-dir}); tras una caída se pierde como mucho este
+     * intervalo, que recupera la siguiente reconstrucción.
+     */
+    @Scheduled(fixedDelayString = "${app.search.commit-interval-ms:60000}")
+    public void commit() {
+        if (indexDir == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            try {
+                if (current.writer.hasUncommittedChanges()) {
+                    current.writer.commit();
+                }
+            } catch (IOException e) {
+                log.warn("No se pudo confirmar el índice de búsqueda: {}", e.getMessage());
+            }
+        }
+    }
+
+    /** Tarjetas en el índice visible. */
+    public int size() {
+        SearcherManager searchers = current.searchers;
+        IndexSearcher searcher = null;
+        try {
+            searcher = searchers.acquire();
+            return searcher.getIndexReader().numDocs();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searchers, searcher);
+        }
+    }
+
+    /** Cambios encolados pendientes de aplicar. */
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Aplica ya lo encolado en el hilo que llama (pruebas y benchmarks).
+     */
+    void flush() throws IOException {
+        List<Change> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        apply(batch);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        // sin interrupt: interrumpir a Lucene mientras escribe en disco cierra sus canales
+        running = false;
+        if (indexer != null) {
+            indexer.join(5000);
+        }
+        synchronized (writeLock) {
+            if (indexDir != null) {
+                commit();
+            }
+            current.close();
+        }
+    }
+
+    private void drainQueue() {
+        List<Change> batch = new ArrayList<>();
+        while (running) {
+            try {
+                Change first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            try {
+                apply(batch);
+            } catch (IOException | RuntimeException e) {
+                log.error("No se pudieron indexar {} cambios; los recuperará la próxima reconstrucción", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    private void apply(List<Change> changes) throws IOException {
+        synchronized (writeLock) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.addAll(changes);
+            }
+            apply(current, changes);
+        }
+    }
+
+    /**
+     * Aplica los cambios en orden; las tarjetas se releen al final con su estado actual (si ya no existen, se borran).
+     */
+    private void apply(Generation generation, List<Change> changes) throws IOException {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Set<Long> cardIds = new LinkedHashSet<>();
+        for (Change change : changes) {
+            switch (change.kind()) {
+                case CARD -> cardIds.add(change.id());
+                case LIST_DELETED -> generation.writer.deleteDocuments(LongField.newExactQuery(LIST_ID, change.id()));
+                case PROJECT_DELETED -> generation.writer.deleteDocuments(LongField.newExactQuery(PROJECT_ID, change.id()));
+                case PROJECT -> reindexProject(generation, change.id());
+            }
+        }
+        List<Long> ids = new ArrayList<>(cardIds);
+        for (int from = 0; from < ids.size(); from += MAX_IN_LIST) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_IN_LIST));
+            List<CardSearchDocument> cards = primary.execute(status -> cardRepository.findSearchDocumentsByIdIn(chunk));
+            generation.writer.deleteDocuments(LongField.newSetQuery(ID, chunk.stream().mapToLong(Long::longValue).toArray()));
+            for (CardSearchDocument card : cards) {
+                generation.writer.addDocument(toDocument(card));
+            }
+        }
+        generation.searchers.maybeRefresh();
+    }
+
+    private void reindexProject(Generation generation, long projectId) throws IOException {
+        generation.writer.deleteDocuments(LongField.newExactQuery(PROJECT_ID, projectId));
+        long afterId = 0;
+        List<CardSearchDocument> page;
+        do {
+            long from = afterId;
+            page = primary.execute(status -> cardRepository.findSearchDocumentsByProjectIdAfter(projectId, from,
+                    PageRequest.of(0, batchSize)));
+            for (CardSearchDocument card : page) {
+                generation.writer.addDocument(toDocument(card));
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == batchSize);
+    }
+
+    private static Document toDocument(CardSearchDocument card) {
+        Document doc = new Document();
+        doc.add(new LongField(ID, card.getId(), Field.Store.NO));
+        doc.add(new LongField(PROJECT_ID, card.getProjectId(), Field.Store.YES));
+        doc.add(new LongField(LIST_ID, card.getListId(), Field.Store.NO));
+        if (card.getTitle() != null) {
+            for (int i = 0; i < TITLE_REPEAT; i++) {
+                doc.add(new TextField(TEXT, card.getTitle(), Field.Store.NO));
+            }
+        }
+        if (card.getDescription() != null) {
+            doc.add(new TextField(TEXT, card.getDescription(), Field.Store.NO));
+        }
+        return doc;
+    }
+
+    /**
+     * Abre el índice más reciente de {@code app.search.index-dir} (y borra los de reconstrucciones anteriores),
+     * o uno vacío en memoria.
+     */
+    private Generation openLatest() throws IOException {
+        if (indexDir == null) {
+            return open(null);
+        }
+        Files.createDirectories(indexDir);
+        List<Path> generations;
+        try (Stream<Path> dirs = Files.list(indexDir)) {
+            generations = dirs.filter(Files::isDirectory).sorted().toList();
+        }
+        Path latest = null;
+        for (int i = generations.size() - 1; i >= 0 && latest == null; i--) {
+            try (Directory dir = FSDirectory.open(generations.get(i))) {
+                if (DirectoryReader.indexExists(dir)) {
+                    latest = generations.get(i);
+                }
+            }
+        }
+        for (Path dir : generations) {
+            if (!dir.equals(latest)) {
+                IOUtils.rm(dir);
+            }
+        }
+        return open(latest != null ? latest : indexDir.resolve(Long.toString(System.currentTimeMillis())));
+    }
+
+    private Generation open(Path path) throws IOException {
+        Directory directory = path == null ? new ByteBuffersDirectory() : FSDirectory.open(path);
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                .setRAMBufferSizeMB(ramBufferMb);
+        IndexWriter writer = new IndexWriter(directory, config);
+        return new Generation(path, directory, writer, new SearcherManager(writer, null));
+    }
+
+    private static void release(SearcherManager searchers, IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searchers.release(searcher);
+        } catch (IOException e) {
+            log.warn("No se pudo liberar el lector del índice de búsqueda: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Un índice completo: su directorio, el escritor y los lectores que se publican tras cada lote.
+     */
+    private record Generation(Path path, Directory directory, IndexWriter writer, SearcherManager searchers) {
+
+        void close() {
+            try {
+                IOUtils.close(searchers, writer, directory);
+            } catch (IOException e) {
+                log.warn("No se pudo cerrar el índice de búsqueda: {}", e.getMessage());
+            }
+        }
+
+        /** Cierra el índice y borra sus archivos (índice sustituido o reconstrucción fallida). */
+        void discard() {
+            close();
+            if (path != null) {
+                try {
+                    IOUtils.rm(path);
+                } catch (IOException e) {
+                    log.warn("No se pudo borrar el índice de búsqueda {}: {}", path, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Minúsculas, sin palabras vacías, raíz ligera en español y sin tildes: "Diseños" encuentra "diseño" y "diseno".
+     * Las palabras vacías ("de", "la"...) no se indexan: sus listas de apariciones serían casi todo el índice.
+     */
+    private static final class CardAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new LowerCaseFilter(tokenizer);
+            stream = new StopFilter(stream, SpanishAnalyzer.getDefaultStopSet());
+            stream = new SpanishLightStemFilter(stream);
+            stream = new ASCIIFoldingFilter(stream);
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
@@ -1,6 +1,16 @@
 package com.davivienda.service.impl;
 
+import com.davivienda.dto.AssignedCardDTO;
+import com.davivienda.dto.AssignedCardPageDTO;
+import com.davivienda.dto.BoardListDTO;
+import com.davivienda.dto.CardBatchResponse;
 import com.davivienda.dto.CardDTO;
+import com.davivienda.dto.CardFilter;
+import com.davivienda.dto.CardOperation;
+import com.davivienda.dto.CardOperationResult;
+import com.davivienda.dto.CardPageDTO;
+import com.davivienda.dto.CardSummaryDTO;
+import com.davivienda.event.BoardChangedEvent;
 import com.davivienda.exception.BadResourceRequestException;
 import com.davivienda.exception.NoSuchResourceFoundException;
 import com.davivienda.model.BoardList;
@@ -8,43 +18,95 @@ import com.davivienda.model.Card;
 import com.davivienda.model.User;
 import com.davivienda.repository.BoardListRepository;
 import com.davivienda.repository.CardRepository;
-import com.davivienda.repository.ProjectMemberRepository;
+import com.davivienda.repository.CardSpecifications;
+import com.davivienda.repository.ProjectRepository;
 import com.davivienda.repository.UserRepository;
+import com.davivienda.security.AccessChecker;
 import com.davivienda.service.CardService;
+import com.davivienda.util.Cursors;
+import com.davivienda.util.IdBitmap;
+import com.davivienda.util.LexoRank;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class CardServiceImpl implements CardService {
 
+    /** Oracle no admite más de 1000 elementos en un IN. */
+    private static final int MAX_IN_LIST = 1000;
+    private static final int MAX_FILTER_LABELS = 20;
+    /** Tarjetas que se leen de cada vez al recorrer una lista descartando las que no tienen las etiquetas. */
+    private static final int LABEL_SCAN_BATCH = 500;
+
     @Autowired
     private CardRepository cardRepository;
     @Autowired
     private BoardListRepository boardListRepository;
     @Autowired
-    private ProjectMemberRepository projectMemberRepository;
+    private ProjectRepository projectRepository;
+    @Autowired
+    private AccessChecker accessChecker;
+    @Autowired
+    private RankRebalancer rankRebalancer;
+
+    @Value("${app.cards.page.max-limit:500}")
+    private int maxPageLimit = 500;
+    @Value("${app.cards.batch.max-operations:500}")
+    private int maxBatchOperations = 500;
+    @Value("${app.cards.filter.max-label-lookup:2000}")
+    private int maxLabelLookup = 2000;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private CardLabelIndex cardLabelIndex;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+
+    /**
+     * Las lecturas que usan el índice de etiquetas no tienen transacción propia: el índice se consulta antes o después
+     * de la de solo lectura, porque si tiene que cargar el proyecto lo hace en otra del primario y anidarlas retendría
+     * dos conexiones del pool por petición.
+     */
+    @PostConstruct
+    void init() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
 
     @Override
     @Transactional
     public CardDTO create(Long listId, User user, String title, String description, Integer position, Long assigneeId, LocalDate dueDate) {
         BoardList list = boardListRepository.findById(listId)
                 .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró la lista con ID: " + listId));
-        ensureMember(list.getProject(), user);
+        ensureMember(list.getProject().getId(), user);
         if (title == null || title.trim().isEmpty()) {
             throw new BadResourceRequestException("El título de la tarjeta es requerido");
         }
-        if (position == null) {
-            long count = cardRepository.findByListOrderByPositionAsc(list).size();
-            position = (int) count;
-        }
         User assignee = null;
         if (assigneeId != null) {
             assignee = userRepository.findById(assigneeId).orElse(null);
@@ -52,7 +114,7 @@ public class CardServiceImpl implements CardService {
         Card card = Card.builder()
                 .title(title.trim())
                 .description(description != null ? description.trim() : null)
-                .position(position)
+                .rank(rankAt(list.getProject().getId(), listId, position, null))
                 .list(list)
                 .assignee(assignee)
                 .dueDate(dueDate)
@@ -60,19 +122,307 @@ public class CardServiceImpl implements CardService {
                 .updatedAt(LocalDateTime.now())
                 .build();
         card = cardRepository.save(card);
-        return toDTO(card);
+        publish(list.getProject().getId(), BoardChangedEvent.Type.CARD_CREATED, card.getId());
+        return toDTO(card, position);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<CardDTO> findByListId(Long listId, User user) {
+    public List<CardSummaryDTO> findByListId(Long listId, User user) {
         BoardList list = boardListRepository.findById(listId)
                 .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró la lista con ID: " + listId));
         if (user != null) {
-            ensureMember(list.getProject(), user);
+            ensureMember(list.getProject().getId(), user);
+        }
+        List<CardSummaryDTO> cards = cardRepository.findSummariesByListId(listId);
+        for (int i = 0; i < cards.size(); i++) {
+            cards.get(i).setPosition(i);
+        }
+        return cards;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CardPageDTO findPageByListId(Long listId, User user, int limit, String after) {
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new BadResourceRequestException("El parámetro limit debe estar entre 1 y " + maxPageLimit);
+        }
+        BoardList list = boardListRepository.findById(listId)
+                .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró la lista con ID: " + listId));
+        ensureMember(list.getProject().getId(), user);
+        // Se pide una fila de más para saber si existe página siguiente
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<CardSummaryDTO> cards;
+        if (after == null || after.isBlank()) {
+            cards = cardRepository.findSummaryPageByListId(listId, page);
+        } else {
+            String[] key = Cursors.decode(after, 2);
+            cards = cardRepository.findSummaryPageByListIdAfter(listId, key[0], Cursors.decodeLong(key[1]), page);
+        }
+        String nextCursor = null;
+        if (cards.size() > limit) {
+            cards = cards.subList(0, limit);
+            CardSummaryDTO last = cards.get(limit - 1);
+            nextCursor = Cursors.encode(last.getRank(), last.getId());
+        }
+        return CardPageDTO.builder()
+                .items(cards)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public CardDTO findById(Long listId, Long cardId, User user) {
+        BoardList list = boardListRepository.findById(listId)
+                .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró la lista con ID: " + listId));
+        Long projectId = list.getProject().getId();
+        ensureMember(projectId, user);
+        CardDTO card = readOnly.execute(status -> cardRepository.findDTOByIdAndListId(cardId, listId))
+                .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró la tarjeta con ID: " + cardId));
+        card.setLabelIds(cardLabelIndex.labelIdsOf(projectId, List.of(cardId)).get(cardId));
+        return card;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AssignedCardPageDTO findAssignedTo(User user, Long projectId, boolean overdue, Integer dueWithinDays,
+                                              int limit, String after) {
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new BadResourceRequestException("El parámetro limit debe estar entre 1 y " + maxPageLimit);
+        }
+        if (dueWithinDays != null && dueWithinDays < 0) {
+            throw new BadResourceRequestException("El parámetro dueWithinDays no puede ser negativo");
+        }
+        LocalDate today = LocalDate.now();
+        boolean byDueDate = overdue || dueWithinDays != null;
+        LocalDate from = dueWithinDays != null && !overdue ? today : null;
+        LocalDate to = dueWithinDays != null ? today.plusDays(dueWithinDays) : today.minusDays(1);
+        Long userId = user.getId();
+        // Se pide una fila de más para saber si existe página siguiente
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<AssignedCardDTO> cards;
+        boolean undated = false;
+        if (after == null || after.isBlank()) {
+            if (!byDueDate) {
+                cards = cardRepository.findAssignedPage(userId, projectId, page);
+            } else if (from == null) {
+                cards = cardRepository.findAssignedPageDueBy(userId, projectId, to, page);
+            } else {
+                cards = cardRepository.findAssignedPageDueBetween(userId, projectId, from, 0L, to, page);
+            }
+        } else {
+            String[] key = Cursors.decode(after, 2);
+            Long id = Cursors.decodeLong(key[1]);
+            undated = key[0].isEmpty();
+            if (undated && byDueDate) {
+                throw new BadResourceRequestException("El cursor de paginación no es válido");
+            }
+            if (undated) {
+                cards = cardRepository.findUndatedAssignedPage(userId, projectId, id, page);
+            } else if (byDueDate) {
+                cards = cardRepository.findAssignedPageDueBetween(userId, projectId, Cursors.decodeDate(key[0]), id, to, page);
+            } else {
+                cards = cardRepository.findAssignedPageFrom(userId, projectId, Cursors.decodeDate(key[0]), id, page);
+            }
+        }
+        // Sin filtro de fecha, al acabarse las que tienen fecha se completa la página con las que no tienen
+        if (!byDueDate && !undated && cards.size() <= limit) {
+            List<AssignedCardDTO> withUndated = new ArrayList<>(cards);
+            withUndated.addAll(cardRepository.findUndatedAssignedPage(userId, projectId, 0L,
+                    PageRequest.of(0, limit + 1 - cards.size())));
+            cards = withUndated;
+        }
+        String nextCursor = null;
+        if (cards.size() > limit) {
+            cards = cards.subList(0, limit);
+            AssignedCardDTO last = cards.get(limit - 1);
+            nextCursor = Cursors.encode(last.getDueDate(), last.getId());
+        }
+        return AssignedCardPageDTO.builder()
+                .items(cards)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public CardPageDTO filter(Long projectId, User user, CardFilter filter, int limit, String after) {
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new BadResourceRequestException("El parámetro limit debe estar entre 1 y " + maxPageLimit);
+        }
+        ensureMember(projectId, user);
+        IdBitmap labeled = labeledCards(projectId, filter);
+        CardPageDTO page = readOnly.execute(status -> filterPage(projectId, filter, labeled, limit, after));
+        List<CardSummaryDTO> cards = page.getItems();
+        if (!cards.isEmpty()) {
+            Map<Long, List<Long>> labelIds = cardLabelIndex.labelIdsOf(projectId,
+                    cards.stream().map(CardSummaryDTO::getId).toList());
+            cards.forEach(card -> card.setLabelIds(labelIds.get(card.getId())));
+        }
+        return page;
+    }
+
+    /**
+     * La página del filtro sin las etiquetas de cada tarjeta, que se añaden después desde el índice.
+     */
+    private CardPageDTO filterPage(Long projectId, CardFilter filter, IdBitmap labeled, int limit, String after) {
+        Specification<Card> spec = filterSpecification(filter);
+        List<BoardListDTO> lists = boardListRepository.findDTOsByProjectId(projectId);
+        if (filter.getListId() != null) {
+            lists = lists.stream().filter(list -> list.getId().equals(filter.getListId())).toList();
+            if (lists.isEmpty()) {
+                throw new NoSuchResourceFoundException("No se encontró la lista con ID: " + filter.getListId());
+            }
+        }
+        String[] key = after != null && !after.isBlank() ? Cursors.decode(after, 4) : null;
+        Map<Long, String> listRanks = new HashMap<>();
+        for (BoardListDTO list : lists) {
+            listRanks.put(list.getId(), list.getRank());
+        }
+        List<CardSummaryDTO> cards;
+        if (labeled != null && labeled.isEmpty()) {
+            cards = new ArrayList<>();
+        } else if (labeled != null && labeled.cardinality() <= maxLabelLookup) {
+            cards = filterByIds(spec, labeled, listRanks, key, limit);
+        } else {
+            cards = filterByList(spec, labeled, lists, key, limit);
+        }
+        String nextCursor = null;
+        if (cards.size() > limit) {
+            cards = cards.subList(0, limit);
+            CardSummaryDTO last = cards.get(limit - 1);
+            nextCursor = Cursors.encode(listRanks.get(last.getListId()), last.getListId(), last.getRank(), last.getId());
+        }
+        return CardPageDTO.builder()
+                .items(cards)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Tarjetas con las etiquetas del filtro, del índice en memoria; null si el filtro no pide etiquetas.
+     */
+    private IdBitmap labeledCards(Long projectId, CardFilter filter) {
+        List<Long> labelIds = filter.getLabelIds();
+        if (labelIds == null || labelIds.isEmpty()) {
+            return null;
+        }
+        if (labelIds.size() > MAX_FILTER_LABELS) {
+            throw new BadResourceRequestException("El parámetro labelIds admite como máximo " + MAX_FILTER_LABELS + " etiquetas");
+        }
+        return cardLabelIndex.match(projectId, new LinkedHashSet<>(labelIds), filter.getLabelMatch() == CardFilter.LabelMatch.ALL);
+    }
+
+    /**
+     * Lista a lista en el orden del tablero: cada consulta es un rango del índice de una lista y para al llenar la página;
+     * una sola consulta sobre todo el proyecto tendría que ordenar todas las tarjetas que cumplen el filtro. Con etiquetas
+     * (muchas tarjetas etiquetadas), cada lista se lee por tramos y se descartan las que no están en {@code labeled}.
+     */
+    private List<CardSummaryDTO> filterByList(Specification<Card> spec, IdBitmap labeled, List<BoardListDTO> lists,
+                                              String[] key, int limit) {
+        Long afterListId = key != null ? Cursors.decodeLong(key[1]) : null;
+        Long afterCardId = key != null ? Cursors.decodeLong(key[3]) : null;
+        List<CardSummaryDTO> cards = new ArrayList<>();
+        for (BoardListDTO list : lists) {
+            int position = key == null ? 1 : compareRankAndId(list.getRank(), list.getId(), key[0], afterListId);
+            if (position < 0) {
+                continue;
+            }
+            Specification<Card> inList = spec.and(CardSpecifications.inList(list.getId()));
+            String fromRank = position == 0 ? key[2] : null;
+            Long fromId = position == 0 ? afterCardId : null;
+            while (true) {
+                Specification<Card> range = fromRank == null ? inList : inList.and(CardSpecifications.after(fromRank, fromId));
+                // Se pide una fila de más para saber si existe página siguiente
+                int wanted = limit + 1 - cards.size();
+                int batch = labeled == null ? wanted : Math.max(wanted, LABEL_SCAN_BATCH);
+                List<CardSummaryDTO> read = cardRepository.findSummaries(range, batch);
+                for (CardSummaryDTO card : read) {
+                    if (labeled == null || labeled.contains(card.getId())) {
+                        cards.add(card);
+                    }
+                }
+                if (labeled == null || read.size() < batch || cards.size() > limit) {
+                    break;
+                }
+                CardSummaryDTO last = read.get(read.size() - 1);
+                fromRank = last.getRank();
+                fromId = last.getId();
+            }
+            if (cards.size() > limit) {
+                break;
+            }
+        }
+        return cards;
+    }
+
+    /**
+     * Pocas tarjetas etiquetadas: se leen por ID (el resto del filtro va en la misma consulta) y se ordenan en memoria
+     * en el orden del tablero, sin recorrer listas enteras buscándolas.
+     */
+    private List<CardSummaryDTO> filterByIds(Specification<Card> spec, IdBitmap labeled, Map<Long, String> listRanks,
+                                             String[] key, int limit) {
+        long[] ids = labeled.toArray();
+        List<CardSummaryDTO> matched = new ArrayList<>(ids.length);
+        for (int from = 0; from < ids.length; from += MAX_IN_LIST) {
+            List<Long> chunk = Arrays.stream(ids, from, Math.min(ids.length, from + MAX_IN_LIST)).boxed().toList();
+            matched.addAll(cardRepository.findSummaries(spec.and(CardSpecifications.idIn(chunk)), chunk.size()));
+        }
+        Comparator<CardSummaryDTO> boardOrder = Comparator
+                .comparing((CardSummaryDTO card) -> listRanks.get(card.getListId()))
+                .thenComparing(CardSummaryDTO::getListId)
+                .thenComparing(CardSummaryDTO::getRank)
+                .thenComparing(CardSummaryDTO::getId);
+        Long afterListId = key != null ? Cursors.decodeLong(key[1]) : null;
+        Long afterCardId = key != null ? Cursors.decodeLong(key[3]) : null;
+        return matched.stream()
+                .filter(card -> listRanks.containsKey(card.getListId()))
+                .filter(card -> key == null || isAfter(listRanks.get(card.getListId()), card, key, afterListId, afterCardId))
+                .sorted(boardOrder)
+                .limit(limit + 1L)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private static boolean isAfter(String listRank, CardSummaryDTO card, String[] key, Long afterListId,
+                                   Long afterCardId) {
+        int byList = compareRankAndId(listRank, card.getListId(), key[0], afterListId);
+        return byList > 0 || (byList == 0 && compareRankAndId(card.getRank(), card.getId(), key[2], afterCardId) > 0);
+    }
+
+    /**
+     * Compila los criterios del filtro, salvo la lista, en una especificación.
+     */
+    private static Specification<Card> filterSpecification(CardFilter filter) {
+        Specification<Card> spec = Specification.where(null);
+        if (filter.getAssigneeId() != null && Boolean.TRUE.equals(filter.getUnassigned())) {
+            throw new BadResourceRequestException("Los filtros assigneeId y unassigned no se pueden combinar");
+        }
+        if (filter.getAssigneeId() != null) {
+            spec = spec.and(CardSpecifications.assignedTo(filter.getAssigneeId()));
+        } else if (Boolean.TRUE.equals(filter.getUnassigned())) {
+            spec = spec.and(CardSpecifications.unassigned());
+        }
+        if (filter.getDueFrom() != null && filter.getDueTo() != null && filter.getDueFrom().isAfter(filter.getDueTo())) {
+            throw new BadResourceRequestException("El parámetro dueFrom no puede ser posterior a dueTo");
+        }
+        if (filter.getDueFrom() != null) {
+            spec = spec.and(CardSpecifications.dueOnOrAfter(filter.getDueFrom()));
+        }
+        if (filter.getDueTo() != null) {
+            spec = spec.and(CardSpecifications.dueOnOrBefore(filter.getDueTo()));
+        }
+        String titlePrefix = filter.getTitlePrefix();
+        if (titlePrefix != null && titlePrefix.length() > 500) {
+            throw new BadResourceRequestException("El parámetro titlePrefix no puede superar 500 caracteres");
+        }
+        if (titlePrefix != null && !titlePrefix.isBlank()) {
+            spec = spec.and(CardSpecifications.titleStartsWith(titlePrefix));
         }
-        List<Card> cards = cardRepository.findByListOrderByPositionAscWithDetails(list);
-        return cards.stream().map(this::toDTO).collect(Collectors.toList());
+        return spec;
+    }
+
+    private static int compareRankAndId(String rank, Long id, String otherRank, Long otherId) {
+        int byRank = rank.compareTo(otherRank);
+        return byRank != 0 ? byRank : id.compareTo(otherId);
     }
 
     @Override
@@ -80,7 +430,7 @@ public class CardServiceImpl implements CardService {
     public CardDTO update(Long cardId, User user, String title, String description, Integer position, Long assigneeId, LocalDate dueDate) {
         Card card = cardRepository.findById(cardId)
                 .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró la tarjeta con ID: " + cardId));
-        ensureMember(card.getList().getProject(), user);
+        ensureMember(card.getList().getProject().getId(), user);
         if (title != null && !title.trim().isEmpty()) {
             card.setTitle(title.trim());
         }
@@ -88,7 +438,7 @@ public class CardServiceImpl implements CardService {
             card.setDescription(description.trim());
         }
         if (position != null) {
-            card.setPosition(position);
+            card.setRank(rankAt(card.getList().getProject().getId(), card.getList().getId(), position, card.getId()));
         }
         if (assigneeId != null) {
             if (assigneeId == 0) {
@@ -102,7 +452,9 @@ public class CardServiceImpl implements CardService {
         }
         card.setUpdatedAt(LocalDateTime.now());
         card = cardRepository.save(card);
-        return toDTO(card);
+        publish(card.getList().getProject().getId(),
+                position != null ? BoardChangedEvent.Type.CARD_MOVED : BoardChangedEvent.Type.CARD_UPDATED, card.getId());
+        return toDTO(card, position);
     }
 
     @Override
@@ -112,18 +464,22 @@ public class CardServiceImpl implements CardService {
                 .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró la tarjeta con ID: " + cardId));
         BoardList targetList = boardListRepository.findById(targetListId)
                 .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró la lista con ID: " + targetListId));
-        ensureMember(card.getList().getProject(), user);
-        ensureMember(targetList.getProject(), user);
-        if (!card.getList().getProject().getId().equals(targetList.getProject().getId())) {
+        Long projectId = card.getList().getProject().getId();
+        ensureMember(projectId, user);
+        if (!projectId.equals(targetList.getProject().getId())) {
+            ensureMember(targetList.getProject().getId(), user);
             throw new BadResourceRequestException("Solo se puede mover la tarjeta entre listas del mismo proyecto");
         }
-        card.setList(targetList);
         if (newPosition != null) {
-            card.setPosition(newPosition);
+            card.setRank(rankAt(projectId, targetListId, newPosition, card.getId()));
+        } else if (!card.getList().getId().equals(targetListId)) {
+            card.setRank(rankAt(projectId, targetListId, null, card.getId()));
         }
+        card.setList(targetList);
         card.setUpdatedAt(LocalDateTime.now());
         card = cardRepository.save(card);
-        return toDTO(card);
+        publish(projectId, BoardChangedEvent.Type.CARD_MOVED, card.getId());
+        return toDTO(card, newPosition);
     }
 
     @Override
@@ -131,23 +487,297 @@ public class CardServiceImpl implements CardService {
     public void delete(Long cardId, User user) {
         Card card = cardRepository.findById(cardId)
                 .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró la tarjeta con ID: " + cardId));
-        ensureMember(card.getList().getProject(), user);
+        Long projectId = card.getList().getProject().getId();
+        ensureMember(projectId, user);
         cardRepository.delete(card);
+        publish(projectId, BoardChangedEvent.Type.CARD_DELETED, cardId);
+    }
+
+    @Override
+    @Transactional
+    public CardBatchResponse applyBatch(Long projectId, User user, List<CardOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new BadResourceRequestException("El lote debe contener al menos una operación");
+        }
+        if (operations.size() > maxBatchOperations) {
+            throw new BadResourceRequestException("El lote admite como máximo " + maxBatchOperations + " operaciones");
+        }
+        ensureMember(projectId, user);
+        BatchContext ctx = loadBatchContext(projectId, operations);
+        List<CardOperationResult> results = new ArrayList<>(operations.size());
+        int failed = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            CardOperation op = operations.get(i);
+            CardOperationResult.CardOperationResultBuilder result = CardOperationResult.builder()
+                    .index(i)
+                    .type(op.getType());
+            try {
+                Card card = applyOperation(ctx, op);
+                result.status(CardOperationResult.Status.OK)
+                        .card(card != null ? toDTO(card, op.getPosition()) : null);
+                publish(projectId, changeType(op), card != null ? card.getId() : op.getCardId());
+            } catch (BadResourceRequestException | NoSuchResourceFoundException e) {
+                failed++;
+                result.status(CardOperationResult.Status.ERROR).error(e.getMessage());
+            }
+            results.add(result.build());
+        }
+        if (!ctx.respread.isEmpty()) {
+            eventPublisher.publishEvent(BoardChangedEvent.reloaded(projectId));
+        }
+        // Todas las escrituras del lote salen en un único flush, agrupadas por hibernate.jdbc.batch_size
+        cardRepository.flush();
+        return CardBatchResponse.builder()
+                .results(results)
+                .succeeded(operations.size() - failed)
+                .failed(failed)
+                .build();
+    }
+
+    /**
+     * Carga de una vez todo lo que el lote necesita: listas del proyecto, tarjetas referenciadas (con asignado),
+     * usuarios a asignar y el orden actual de las listas donde se colocan tarjetas.
+     * Así el bucle de operaciones no lanza consultas y Hibernate no tiene que vaciar la sesión a mitad del lote.
+     */
+    private BatchContext loadBatchContext(Long projectId, List<CardOperation> operations) {
+        BatchContext ctx = new BatchContext();
+        for (BoardList l : boardListRepository.findByProjectIdOrderByRank(projectId)) {
+            ctx.lists.put(l.getId(), l);
+        }
+        Set<Long> cardIds = new HashSet<>();
+        Set<Long> assigneeIds = new HashSet<>();
+        Set<Long> placedListIds = new HashSet<>();
+        for (CardOperation op : operations) {
+            if (op.getCardId() != null) {
+                cardIds.add(op.getCardId());
+            }
+            if (op.getAssigneeId() != null && op.getAssigneeId() != 0) {
+                assigneeIds.add(op.getAssigneeId());
+            }
+            if (op.getListId() != null && ctx.lists.containsKey(op.getListId())
+                    && (op.getType() == CardOperation.Type.CREATE || op.getType() == CardOperation.Type.MOVE)) {
+                placedListIds.add(op.getListId());
+            }
+        }
+        if (!cardIds.isEmpty()) {
+            for (Card c : cardRepository.findByIdInAndProjectId(cardIds, projectId)) {
+                ctx.cards.put(c.getId(), c);
+            }
+        }
+        if (!assigneeIds.isEmpty()) {
+            for (User u : userRepository.findAllById(assigneeIds)) {
+                ctx.assignees.put(u.getId(), u);
+            }
+        }
+        for (CardOperation op : operations) {
+            Card card = op.getCardId() != null ? ctx.cards.get(op.getCardId()) : null;
+            if (card != null && (op.getType() == CardOperation.Type.MOVE || op.getPosition() != null)) {
+                placedListIds.add(card.getList().getId());
+            }
+        }
+        for (Long listId : placedListIds) {
+            ctx.orderByList.put(listId, new ArrayList<>());
+        }
+        if (!placedListIds.isEmpty()) {
+            // antes de leer el orden: ninguna otra escritura coloca tarjetas en el proyecto hasta el commit del lote
+            projectRepository.lockById(projectId);
+            for (Card c : cardRepository.findByListIdInOrderByRank(placedListIds)) {
+                ctx.orderByList.get(c.getList().getId()).add(c);
+            }
+        }
+        return ctx;
+    }
+
+    private Card applyOperation(BatchContext ctx, CardOperation op) {
+        switch (op.getType()) {
+            case CREATE: {
+                BoardList list = requireList(ctx, op.getListId());
+                if (op.getTitle() == null || op.getTitle().trim().isEmpty()) {
+                    throw new BadResourceRequestException("El título de la tarjeta es requerido");
+                }
+                Card card = Card.builder()
+                        .title(op.getTitle().trim())
+                        .description(op.getDescription() != null ? op.getDescription().trim() : null)
+                        .list(list)
+                        .assignee(op.getAssigneeId() != null ? ctx.assignees.get(op.getAssigneeId()) : null)
+                        .dueDate(op.getDueDate())
+                        .createdAt(LocalDateTime.now())
+                        .updatedAt(LocalDateTime.now())
+                        .build();
+                place(ctx, card, list.getId(), op.getPosition());
+                card = cardRepository.save(card);
+                ctx.cards.put(card.getId(), card);
+                return card;
+            }
+            case UPDATE: {
+                Card card = requireCard(ctx, op.getCardId());
+                if (op.getTitle() != null && !op.getTitle().trim().isEmpty()) {
+                    card.setTitle(op.getTitle().trim());
+                }
+                if (op.getDescription() != null) {
+                    card.setDescription(op.getDescription().trim());
+                }
+                if (op.getPosition() != null) {
+                    place(ctx, card, card.getList().getId(), op.getPosition());
+                }
+                if (op.getAssigneeId() != null) {
+                    card.setAssignee(op.getAssigneeId() == 0 ? null : ctx.assignees.get(op.getAssigneeId()));
+                }
+                if (op.getDueDate() != null) {
+                    card.setDueDate(op.getDueDate());
+                }
+                card.setUpdatedAt(LocalDateTime.now());
+                return card;
+            }
+            case MOVE: {
+                Card card = requireCard(ctx, op.getCardId());
+                BoardList target = requireList(ctx, op.getListId());
+                if (op.getPosition() != null || !card.getList().getId().equals(target.getId())) {
+                    place(ctx, card, target.getId(), op.getPosition());
+                }
+                card.setList(target);
+                card.setUpdatedAt(LocalDateTime.now());
+                return card;
+            }
+            case DELETE: {
+                Card card = requireCard(ctx, op.getCardId());
+                List<Card> order = ctx.orderByList.get(card.getList().getId());
+                if (order != null) {
+                    order.remove(card);
+                }
+                ctx.cards.remove(card.getId());
+                cardRepository.delete(card);
+                return null;
+            }
+            default:
+                throw new BadResourceRequestException("Tipo de operación no soportado: " + op.getType());
+        }
+    }
+
+    private static BoardChangedEvent.Type changeType(CardOperation op) {
+        return switch (op.getType()) {
+            case CREATE -> BoardChangedEvent.Type.CARD_CREATED;
+            case UPDATE -> op.getPosition() != null ? BoardChangedEvent.Type.CARD_MOVED : BoardChangedEvent.Type.CARD_UPDATED;
+            case MOVE -> BoardChangedEvent.Type.CARD_MOVED;
+            case DELETE -> BoardChangedEvent.Type.CARD_DELETED;
+        };
+    }
+
+    /**
+     * Coloca la tarjeta en el índice indicado de la lista (null = al final) usando el orden en memoria del lote.
+     */
+    private void place(BatchContext ctx, Card card, Long listId, Integer index) {
+        if (card.getList() != null) {
+            List<Card> source = ctx.orderByList.get(card.getList().getId());
+            if (source != null) {
+                source.remove(card);
+            }
+        }
+        List<Card> order = ctx.orderByList.computeIfAbsent(listId, cardRepository::findByListIdOrderByRank);
+        order.remove(card);
+        int at = index == null ? order.size() : Math.max(0, Math.min(index, order.size()));
+        String lo = at > 0 ? order.get(at - 1).getRank() : null;
+        String hi = at < order.size() ? order.get(at).getRank() : null;
+        if (lo != null && hi != null && lo.compareTo(hi) >= 0) {
+            // vecinas empatadas (claves anteriores al bloqueo): se reparten de nuevo las claves de la lista en memoria
+            order.add(at, card);
+            List<String> keys = LexoRank.spread(order.size());
+            for (int i = 0; i < order.size(); i++) {
+                order.get(i).setRank(keys.get(i));
+            }
+            ctx.respread.add(listId);
+            return;
+        }
+        card.setRank(LexoRank.inGap(lo, hi));
+        order.add(at, card);
+        rankRebalancer.checkCardRank(listId, card.getRank());
     }
 
-    private void ensureMember(com.davivienda.model.Project project, User user) {
+    private BoardList requireList(BatchContext ctx, Long listId) {
+        if (listId == null) {
+            throw new BadResourceRequestException("El ID de la lista es requerido");
+        }
+        BoardList list = ctx.lists.get(listId);
+        if (list == null) {
+            throw new NoSuchResourceFoundException("No se encontró la lista con ID: " + listId + " en el proyecto");
+        }
+        return list;
+    }
+
+    private Card requireCard(BatchContext ctx, Long cardId) {
+        if (cardId == null) {
+            throw new BadResourceRequestException("El ID de la tarjeta es requerido");
+        }
+        Card card = ctx.cards.get(cardId);
+        if (card == null) {
+            throw new NoSuchResourceFoundException("No se encontró la tarjeta con ID: " + cardId + " en el proyecto");
+        }
+        return card;
+    }
+
+    /**
+     * Estado en memoria de un lote: entidades ya cargadas y orden de las listas afectadas.
+     */
+    private static final class BatchContext {
+        private final Map<Long, BoardList> lists = new HashMap<>();
+        private final Map<Long, Card> cards = new HashMap<>();
+        private final Map<Long, User> assignees = new HashMap<>();
+        private final Map<Long, List<Card>> orderByList = new HashMap<>();
+        /** Listas cuyas claves se repartieron de nuevo: cambian tarjetas que ninguna operación nombra. */
+        private final Set<Long> respread = new HashSet<>();
+    }
+
+    private void publish(Long projectId, BoardChangedEvent.Type type, Long cardId) {
+        eventPublisher.publishEvent(BoardChangedEvent.card(projectId, type, cardId));
+    }
+
+    private void ensureMember(Long projectId, User user) {
         if (user == null) return;
-        if (!projectMemberRepository.existsByProjectAndUser(project, user)) {
-            throw new BadResourceRequestException("No tienes acceso a este proyecto");
+        accessChecker.ensureMember(projectId, user);
+    }
+
+    /**
+     * Clave para colocar una tarjeta en el índice indicado de la lista (null = al final).
+     * Solo lee las claves vecinas; ninguna otra tarjeta se renumera. Con el proyecto bloqueado, dos escrituras
+     * concurrentes no leen las mismas vecinas; si aun así hay dos empatadas (claves anteriores al bloqueo), la lista se
+     * rebalancea en esta misma transacción.
+     */
+    private String rankAt(Long projectId, Long listId, Integer index, Long excludeCardId) {
+        projectRepository.lockById(projectId);
+        String rank;
+        try {
+            rank = neighbourRank(listId, index, excludeCardId);
+        } catch (IllegalArgumentException e) {
+            rankRebalancer.rebalanceCards(listId);
+            rank = neighbourRank(listId, index, excludeCardId);
         }
+        rankRebalancer.checkCardRank(listId, rank);
+        return rank;
     }
 
-    private CardDTO toDTO(Card c) {
+    private String neighbourRank(Long listId, Integer index, Long excludeCardId) {
+        String rank;
+        if (index == null) {
+            rank = LexoRank.after(cardRepository.findMaxRank(listId));
+        } else if (index <= 0) {
+            List<String> first = cardRepository.findRanksAt(listId, excludeCardId, 0, 1);
+            rank = first.isEmpty() ? LexoRank.initial() : LexoRank.inGap(null, first.get(0));
+        } else {
+            List<String> around = cardRepository.findRanksAt(listId, excludeCardId, index - 1, 2);
+            rank = around.isEmpty()
+                    ? LexoRank.after(cardRepository.findMaxRank(listId))
+                    : LexoRank.inGap(around.get(0), around.size() > 1 ? around.get(1) : null);
+        }
+        return rank;
+    }
+
+    private CardDTO toDTO(Card c, Integer position) {
         return CardDTO.builder()
                 .id(c.getId())
                 .title(c.getTitle())
                 .description(c.getDescription())
-                .position(c.getPosition())
+                .position(position)
+                .rank(c.getRank())
                 .listId(c.getList() != null ? c.getList().getId() : null)
                 .assigneeId(c.getAssignee() != null ? c.getAssignee().getId() : null)
                 .assigneeName(c.getAssignee() != null ? c.getAssignee().getNombre() : null)
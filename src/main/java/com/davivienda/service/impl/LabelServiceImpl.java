@@ -0,0 +1,178 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.LabelDTO;
+import com.davivienda.event.LabelEvent;
+import com.davivienda.exception.BadResourceRequestException;
+import com.davivienda.exception.NoSuchResourceFoundException;
+import com.davivienda.model.Card;
+import com.davivienda.model.Label;
+import com.davivienda.model.Project;
+import com.davivienda.model.User;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.repository.LabelRepository;
+import com.davivienda.repository.ProjectRepository;
+import com.davivienda.security.AccessChecker;
+import com.davivienda.service.LabelService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class LabelServiceImpl implements LabelService {
+
+    private static final int MAX_NAME_LENGTH = 50;
+
+    @Autowired
+    private LabelRepository labelRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private AccessChecker accessChecker;
+    @Autowired
+    private CardLabelIndex cardLabelIndex;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.labels.max-per-project:200}")
+    private int maxPerProject = 200;
+
+    private TransactionTemplate readOnly;
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Lo que devuelve el número de tarjetas de cada etiqueta no tiene transacción propia: el índice se consulta fuera
+     * de la transacción, porque si tiene que cargar el proyecto lo hace en otra del primario.
+     */
+    @PostConstruct
+    void init() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public List<LabelDTO> findByProjectId(Long projectId, User user) {
+        accessChecker.ensureMember(projectId, user);
+        Map<Long, Integer> counts = cardLabelIndex.cardCounts(projectId);
+        return readOnly.execute(status -> labelRepository.findByProjectIdOrderByName(projectId)).stream()
+                .map(label -> toDTO(label, counts.getOrDefault(label.getId(), 0)))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public LabelDTO create(Long projectId, User user, String name, String color) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró el proyecto con ID: " + projectId));
+        accessChecker.ensureMember(projectId, user);
+        String labelName = requireName(projectId, name, null);
+        if (labelRepository.countByProjectId(projectId) >= maxPerProject) {
+            throw new BadResourceRequestException("El proyecto admite como máximo " + maxPerProject + " etiquetas");
+        }
+        Label label = Label.builder()
+                .project(project)
+                .name(labelName)
+                .color(color)
+                .createdAt(LocalDateTime.now())
+                .build();
+        label = labelRepository.save(label);
+        eventPublisher.publishEvent(LabelEvent.labelCreated(projectId, label.getId()));
+        return toDTO(label, 0);
+    }
+
+    @Override
+    public LabelDTO update(Long projectId, Long labelId, User user, String name, String color) {
+        accessChecker.ensureMember(projectId, user);
+        Label label = transactionTemplate.execute(status -> {
+            Label existing = requireLabel(projectId, labelId);
+            existing.setName(requireName(projectId, name, labelId));
+            existing.setColor(color);
+            return labelRepository.save(existing);
+        });
+        return toDTO(label, cardLabelIndex.cardCounts(projectId).getOrDefault(labelId, 0));
+    }
+
+    @Override
+    @Transactional
+    public void delete(Long projectId, Long labelId, User user) {
+        accessChecker.ensureMember(projectId, user);
+        Label label = requireLabel(projectId, labelId);
+        labelRepository.deleteAssignmentsByLabelId(labelId);
+        labelRepository.delete(label);
+        eventPublisher.publishEvent(LabelEvent.labelDeleted(projectId, labelId));
+    }
+
+    @Override
+    @Transactional
+    public void addToCard(Long projectId, Long labelId, Long cardId, User user) {
+        accessChecker.ensureMember(projectId, user);
+        Label label = requireLabel(projectId, labelId);
+        Card card = requireCard(projectId, cardId);
+        if (card.getLabels().stream().noneMatch(l -> l.getId().equals(labelId))) {
+            card.getLabels().add(label);
+            eventPublisher.publishEvent(LabelEvent.cardLabeled(projectId, labelId, cardId));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void removeFromCard(Long projectId, Long labelId, Long cardId, User user) {
+        accessChecker.ensureMember(projectId, user);
+        requireLabel(projectId, labelId);
+        Card card = requireCard(projectId, cardId);
+        if (card.getLabels().removeIf(l -> l.getId().equals(labelId))) {
+            eventPublisher.publishEvent(LabelEvent.cardUnlabeled(projectId, labelId, cardId));
+        }
+    }
+
+    private String requireName(Long projectId, String name, Long excludeId) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new BadResourceRequestException("El nombre de la etiqueta es requerido");
+        }
+        String trimmed = name.trim();
+        if (trimmed.length() > MAX_NAME_LENGTH) {
+            throw new BadResourceRequestException("El nombre de la etiqueta no puede superar " + MAX_NAME_LENGTH + " caracteres");
+        }
+        if (labelRepository.existsByName(projectId, trimmed, excludeId)) {
+            throw new BadResourceRequestException("Ya existe una etiqueta con el nombre: " + trimmed);
+        }
+        return trimmed;
+    }
+
+    private Label requireLabel(Long projectId, Long labelId) {
+        return labelRepository.findByIdAndProjectId(labelId, projectId)
+                .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró la etiqueta con ID: " + labelId));
+    }
+
+    private Card requireCard(Long projectId, Long cardId) {
+        Card card = cardRepository.findById(cardId)
+                .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró la tarjeta con ID: " + cardId));
+        if (!card.getList().getProject().getId().equals(projectId)) {
+            throw new NoSuchResourceFoundException("No se encontró la tarjeta con ID: " + cardId + " en el proyecto");
+        }
+        return card;
+    }
+
+    private static LabelDTO toDTO(Label label, int cardCount) {
+        return LabelDTO.builder()
+                .id(label.getId())
+                .projectId(label.getProject() != null ? label.getProject().getId() : null)
+                .name(label.getName())
+                .color(label.getColor())
+                .cardCount(cardCount)
+                .build();
+    }
+}
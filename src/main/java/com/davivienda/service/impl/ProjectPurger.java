@@ -0,0 +1,200 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.ProjectPurgeDTO;
+import com.davivienda.model.BoardList;
+import com.davivienda.model.Card;
+import com.davivienda.model.Project;
+import com.davivienda.repository.BoardChangeRepository;
+import com.davivienda.repository.BoardListRepository;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.repository.LabelRepository;
+import com.davivienda.repository.ProjectRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Borra los datos de los proyectos marcados como borrados ({@code Project.deletedAt}) con DELETE por conjuntos en el
+ * orden de las claves foráneas: asignaciones de etiquetas y tarjetas por lotes de IDs, el registro de cambios por
+ * lotes, y al final listas, etiquetas y el proyecto. Los DELETE nativos no pasan por la caché de segundo nivel: las
+ * tarjetas de cada lote, las listas y el proyecto se sacan de ella por ID.
+ * <p>
+ * Los proyectos pequeños se borran en la misma petición ({@link #purgeNow}). Los grandes los recoge la tarea
+ * programada, que busca los proyectos marcados en la base de datos (también los que dejó otra instancia o un
+ * reinicio). Cada lote va en su propia transacción para que los segmentos de deshacer no crezcan con el tablero; si
+ * una pasada falla, la siguiente continúa donde se quedó. El progreso de los borrados de esta instancia se consulta
+ * con {@link #getProgress}.
+ */
+@Slf4j
+@Service
+public class ProjectPurger {
+
+    /** Límite de elementos de una lista IN en Oracle. */
+    private static final int MAX_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private BoardListRepository boardListRepository;
+    @Autowired
+    private LabelRepository labelRepository;
+    @Autowired
+    private BoardChangeRepository boardChangeRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.projects.purge.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${app.projects.purge.history:50}")
+    private int history = 50;
+
+    private final Map<Long, Progress> purges = new ConcurrentHashMap<>();
+
+    /**
+     * Borra ya, en la transacción de quien llama, un proyecto recién marcado y sin miembros.
+     */
+    public ProjectPurgeDTO purgeNow(Long projectId, long cards) {
+        Progress progress = new Progress(projectId, cards);
+        while (purgeChunk(projectId, progress)) {
+            // cada vuelta borra un lote
+        }
+        progress.finish(null);
+        return progress.toDTO();
+    }
+
+    /**
+     * Estado inicial de un proyecto que se borrará en segundo plano.
+     */
+    public ProjectPurgeDTO pending(Long projectId, long cards) {
+        return ProjectPurgeDTO.builder()
+                .projectId(projectId)
+                .status(ProjectPurgeDTO.Status.PENDING)
+                .cardsTotal(cards)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${app.projects.purge.interval-ms:10000}")
+    public void purgePending() {
+        for (Long projectId : projectRepository.findDeletedIds()) {
+            // tras una pasada fallida se reutiliza su progreso
+            Progress progress = purges.computeIfAbsent(projectId,
+                    id -> new Progress(id, cardRepository.countByProjectId(id)));
+            progress.status = ProjectPurgeDTO.Status.RUNNING;
+            try {
+                int chunks = 0;
+                while (Boolean.TRUE.equals(transactionTemplate.execute(status -> purgeChunk(projectId, progress)))) {
+                    if (++chunks % 100 == 0) {
+                        log.info("Borrando el proyecto {}: {} de {} tarjetas", projectId, progress.cardsDeleted,
+                                progress.cardsTotal);
+                    }
+                }
+                progress.finish(null);
+                log.info("Proyecto {} borrado: {} tarjetas", projectId, progress.cardsDeleted);
+            } catch (RuntimeException e) {
+                progress.finish(e.getMessage());
+                log.warn("No se pudo terminar de borrar el proyecto {}: {}", projectId, e.getMessage());
+            }
+        }
+        trimHistory();
+    }
+
+    /**
+     * Borrados de esta instancia, en curso y recientes, los más recientes primero.
+     */
+    public List<ProjectPurgeDTO> getProgress() {
+        return purges.values().stream()
+                .map(Progress::toDTO)
+                .sorted(Comparator.comparing(ProjectPurgeDTO::getStartedAt).reversed())
+                .toList();
+    }
+
+    /**
+     * Un lote del borrado; devuelve false cuando ya no queda nada del proyecto.
+     */
+    boolean purgeChunk(Long projectId, Progress progress) {
+        PageRequest chunk = PageRequest.of(0, Math.min(chunkSize, MAX_CHUNK_SIZE));
+        List<Long> cardIds = cardRepository.findIdsByProjectId(projectId, chunk);
+        Cache cache = entityManagerFactory.getCache();
+        if (!cardIds.isEmpty()) {
+            labelRepository.deleteAssignmentsByCardIdIn(cardIds);
+            progress.cardsDeleted += cardRepository.deleteByIdIn(cardIds);
+            cardIds.forEach(id -> cache.evict(Card.class, id));
+            return true;
+        }
+        List<Long> changeIds = boardChangeRepository.findIdsByProjectId(projectId, chunk);
+        if (!changeIds.isEmpty()) {
+            boardChangeRepository.deleteByIdIn(changeIds);
+            return true;
+        }
+        // sin tarjetas, lo que queda es pequeño: listas y etiquetas del proyecto (sus miembros se borraron al marcarlo)
+        List<Long> listIds = boardListRepository.findIdsByProjectId(projectId);
+        boardListRepository.deleteByProjectId(projectId);
+        listIds.forEach(id -> cache.evict(BoardList.class, id));
+        labelRepository.deleteByProjectId(projectId);
+        projectRepository.deleteById(projectId);
+        cache.evict(Project.class, projectId);
+        return false;
+    }
+
+    private void trimHistory() {
+        List<Progress> finished = purges.values().stream()
+                .filter(p -> p.status == ProjectPurgeDTO.Status.DONE)
+                .sorted(Comparator.comparing((Progress p) -> p.finishedAt).reversed())
+                .toList();
+        finished.stream().skip(history).forEach(p -> purges.remove(p.projectId, p));
+    }
+
+    /**
+     * Progreso de un borrado. Lo escribe solo el hilo que borra; se lee desde las peticiones.
+     */
+    static final class Progress {
+
+        private final Long projectId;
+        private final long cardsTotal;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile ProjectPurgeDTO.Status status = ProjectPurgeDTO.Status.PENDING;
+        private volatile long cardsDeleted;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        Progress(Long projectId, long cardsTotal) {
+            this.projectId = projectId;
+            this.cardsTotal = cardsTotal;
+        }
+
+        void finish(String error) {
+            this.error = error;
+            this.finishedAt = LocalDateTime.now();
+            this.status = error == null ? ProjectPurgeDTO.Status.DONE : ProjectPurgeDTO.Status.FAILED;
+        }
+
+        ProjectPurgeDTO toDTO() {
+            return ProjectPurgeDTO.builder()
+                    .projectId(projectId)
+                    .status(status)
+                    .cardsTotal(cardsTotal)
+                    .cardsDeleted(cardsDeleted)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
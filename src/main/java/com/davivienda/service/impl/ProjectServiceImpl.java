@@ -1,24 +1,33 @@
 package com.davivienda.service.impl;
 
-import com.davivienda.dto.BoardListDTO;
 import com.davivienda.dto.ProjectDTO;
+import com.davivienda.dto.ProjectPageDTO;
+import com.davivienda.dto.ProjectPurgeDTO;
+import com.davivienda.event.BoardChangedEvent;
+import com.davivienda.event.ProjectMembershipEvent;
 import com.davivienda.exception.BadResourceRequestException;
 import com.davivienda.exception.NoSuchResourceFoundException;
 import com.davivienda.model.Project;
 import com.davivienda.model.ProjectMember;
 import com.davivienda.model.User;
+import com.davivienda.repository.CardRepository;
 import com.davivienda.repository.ProjectMemberRepository;
 import com.davivienda.repository.ProjectRepository;
 import com.davivienda.repository.UserRepository;
-import com.davivienda.service.BoardListService;
+import com.davivienda.security.AccessChecker;
+import com.davivienda.service.BoardSnapshotService;
 import com.davivienda.service.ProjectService;
+import com.davivienda.util.Cursors;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class ProjectServiceImpl implements ProjectService {
@@ -30,7 +39,21 @@ public class ProjectServiceImpl implements ProjectService {
     @Autowired
     private UserRepository userRepository;
     @Autowired
-    private BoardListService boardListService;
+    private CardRepository cardRepository;
+    @Autowired
+    private ProjectPurger projectPurger;
+    @Autowired
+    private BoardSnapshotService boardSnapshotService;
+    @Autowired
+    private AccessChecker accessChecker;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.projects.page.max-limit:500}")
+    private int maxPageLimit = 500;
+
+    @Value("${app.projects.purge.sync-max-cards:2000}")
+    private long syncPurgeMaxCards = 2000;
 
     @Override
     @Transactional
@@ -52,27 +75,52 @@ public class ProjectServiceImpl implements ProjectService {
                 .role(ProjectMember.Role.OWNER)
                 .build();
         projectMemberRepository.save(owner);
+        eventPublisher.publishEvent(ProjectMembershipEvent.memberAdded(project.getId(), user.getId(), ProjectMember.Role.OWNER));
         return toDTO(project, false);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ProjectDTO> findByUser(User user) {
-        List<ProjectMember> memberships = projectMemberRepository.findByUserWithProject(user);
-        return memberships.stream()
-                .map(pm -> toDTO(pm.getProject(), false))
-                .collect(Collectors.toList());
+        return projectMemberRepository.findProjectSummariesByUserId(user.getId(), LocalDate.now());
     }
 
     @Override
     @Transactional(readOnly = true)
+    public ProjectPageDTO findPageByUser(User user, int limit, String after) {
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new BadResourceRequestException("El parámetro limit debe estar entre 1 y " + maxPageLimit);
+        }
+        // Se pide una fila de más para saber si existe página siguiente
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<ProjectDTO> projects;
+        if (after == null || after.isBlank()) {
+            projects = projectMemberRepository.findProjectSummaryPageByUserId(user.getId(), LocalDate.now(), page);
+        } else {
+            String[] key = Cursors.decode(after, 2);
+            projects = projectMemberRepository.findProjectSummaryPageByUserIdAfter(user.getId(), LocalDate.now(),
+                    Cursors.decodeDateTime(key[0]), Cursors.decodeLong(key[1]), page);
+        }
+        String nextCursor = null;
+        if (projects.size() > limit) {
+            projects = projects.subList(0, limit);
+            ProjectDTO last = projects.get(limit - 1);
+            nextCursor = Cursors.encode(last.getUpdatedAt(), last.getId());
+        }
+        return ProjectPageDTO.builder()
+                .items(projects)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
     public ProjectDTO getById(Long id, User user) {
-        Project project = projectRepository.findById(id)
-                .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró el proyecto con ID: " + id));
-        ensureMember(project, user);
-        ProjectDTO dto = toDTO(project, false);
-        dto.setLists(boardListService.findByProjectId(id, user));
-        return dto;
+        return boardSnapshotService.getSnapshot(id, user);
+    }
+
+    @Override
+    public long getBoardVersion(Long id, User user) {
+        return boardSnapshotService.getVersion(id, user);
     }
 
     @Override
@@ -80,7 +128,7 @@ public class ProjectServiceImpl implements ProjectService {
     public ProjectDTO update(Long id, User user, String name, String description) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró el proyecto con ID: " + id));
-        ensureMember(project, user);
+        accessChecker.ensureMember(project.getId(), user);
         if (name != null && !name.trim().isEmpty()) {
             project.setName(name.trim());
         }
@@ -89,17 +137,31 @@ public class ProjectServiceImpl implements ProjectService {
         }
         project.setUpdatedAt(LocalDateTime.now());
         project = projectRepository.save(project);
+        eventPublisher.publishEvent(BoardChangedEvent.project(id, BoardChangedEvent.Type.PROJECT_UPDATED));
         return toDTO(project, false);
     }
 
     @Override
     @Transactional
-    public void delete(Long id, User user) {
+    public ProjectPurgeDTO delete(Long id, User user) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró el proyecto con ID: " + id));
-        ensureOwner(project, user);
-        projectMemberRepository.findByProjectOrderByRole(project).forEach(projectMemberRepository::delete);
-        projectRepository.delete(project);
+        accessChecker.ensureOwner(project.getId(), user);
+        // Marca de borrado: sin miembros nadie vuelve a ver el proyecto, aunque sus tarjetas tarden en borrarse
+        project.setDeletedAt(LocalDateTime.now());
+        projectMemberRepository.deleteByProjectId(id);
+        long cards = cardRepository.countByProjectId(id);
+        ProjectPurgeDTO purge = cards <= syncPurgeMaxCards
+                ? projectPurger.purgeNow(id, cards)
+                : projectPurger.pending(id, cards);
+        eventPublisher.publishEvent(ProjectMembershipEvent.projectDeleted(id));
+        eventPublisher.publishEvent(BoardChangedEvent.project(id, BoardChangedEvent.Type.PROJECT_DELETED));
+        return purge;
+    }
+
+    @Override
+    public List<ProjectPurgeDTO> findPurges() {
+        return projectPurger.getProgress();
     }
 
     @Override
@@ -107,7 +169,7 @@ public class ProjectServiceImpl implements ProjectService {
     public void addMember(Long projectId, User currentUser, String memberEmail) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró el proyecto con ID: " + projectId));
-        ensureOwner(project, currentUser);
+        accessChecker.ensureOwner(project.getId(), currentUser);
         User newMember = userRepository.findByEmail(memberEmail)
                 .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró un usuario con email: " + memberEmail));
         if (projectMemberRepository.existsByProjectAndUser(project, newMember)) {
@@ -119,6 +181,7 @@ public class ProjectServiceImpl implements ProjectService {
                 .role(ProjectMember.Role.MEMBER)
                 .build();
         projectMemberRepository.save(pm);
+        eventPublisher.publishEvent(ProjectMembershipEvent.memberAdded(projectId, newMember.getId(), ProjectMember.Role.MEMBER));
     }
 
     @Override
@@ -126,7 +189,7 @@ public class ProjectServiceImpl implements ProjectService {
     public void removeMember(Long projectId, Long userId, User currentUser) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró el proyecto con ID: " + projectId));
-        ensureOwner(project, currentUser);
+        accessChecker.ensureOwner(project.getId(), currentUser);
         User toRemove = userRepository.findById(userId)
                 .orElseThrow(() -> new NoSuchResourceFoundException("No se encontró el usuario con ID: " + userId));
         ProjectMember pm = projectMemberRepository.findByProjectAndUser(project, toRemove)
@@ -135,20 +198,7 @@ public class ProjectServiceImpl implements ProjectService {
             throw new BadResourceRequestException("No se puede eliminar al propietario del proyecto");
         }
         projectMemberRepository.delete(pm);
-    }
-
-    private void ensureMember(Project project, User user) {
-        if (!projectMemberRepository.existsByProjectAndUser(project, user)) {
-            throw new BadResourceRequestException("No tienes acceso a este proyecto");
-        }
-    }
-
-    private void ensureOwner(Project project, User user) {
-        ProjectMember pm = projectMemberRepository.findByProjectAndUser(project, user)
-                .orElseThrow(() -> new BadResourceRequestException("No tienes acceso a este proyecto"));
-        if (pm.getRole() != ProjectMember.Role.OWNER) {
-            throw new BadResourceRequestException("Solo el propietario puede realizar esta acción");
-        }
+        eventPublisher.publishEvent(ProjectMembershipEvent.memberRemoved(projectId, userId));
     }
 
     private ProjectDTO toDTO(Project p, boolean includeLists) {
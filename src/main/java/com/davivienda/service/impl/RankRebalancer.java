@@ -0,0 +1,123 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.event.BoardChangedEvent;
+import com.davivienda.model.BoardList;
+import com.davivienda.model.Card;
+import com.davivienda.repository.BoardListRepository;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.repository.ProjectRepository;
+import com.davivienda.util.LexoRank;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reparte de nuevo las claves de orden de una lista (o de las listas de un proyecto) cuando alguna supera la longitud máxima.
+ * Las escrituras marcan la lista al generar una clave larga y la tarea programada la rebalancea después, fuera de la petición.
+ * Rebalancear bloquea la fila del proyecto, como las escrituras que calculan claves: ninguna coloca una tarjeta o una
+ * lista con claves que se están reescribiendo.
+ */
+@Slf4j
+@Service
+public class RankRebalancer {
+
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private BoardListRepository boardListRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.rank.max-length:24}")
+    private int maxLength = 24;
+
+    private final Set<Long> pendingLists = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingProjects = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Marca la lista para rebalanceo si la clave de tarjeta recién generada es demasiado larga.
+     */
+    public void checkCardRank(Long listId, String rank) {
+        if (rank != null && rank.length() > maxLength) {
+            pendingLists.add(listId);
+        }
+    }
+
+    /**
+     * Marca el proyecto para rebalanceo si la clave de lista recién generada es demasiado larga.
+     */
+    public void checkListRank(Long projectId, String rank) {
+        if (rank != null && rank.length() > maxLength) {
+            pendingProjects.add(projectId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rank.rebalance-interval-ms:60000}")
+    public void rebalancePending() {
+        for (Long listId : drain(pendingLists)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebalanceCards(listId));
+            } catch (RuntimeException e) {
+                log.warn("No se pudo rebalancear la lista {}: {}", listId, e.getMessage());
+            }
+        }
+        for (Long projectId : drain(pendingProjects)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebalanceLists(projectId));
+            } catch (RuntimeException e) {
+                log.warn("No se pudieron rebalancear las listas del proyecto {}: {}", projectId, e.getMessage());
+            }
+        }
+    }
+
+    void rebalanceCards(Long listId) {
+        Long projectId = boardListRepository.findById(listId).map(l -> l.getProject().getId()).orElse(null);
+        if (projectId == null) {
+            return;
+        }
+        projectRepository.lockById(projectId);
+        List<Card> cards = cardRepository.findByListIdOrderByRank(listId);
+        List<String> keys = LexoRank.spread(cards.size());
+        for (int i = 0; i < cards.size(); i++) {
+            cards.get(i).setRank(keys.get(i));
+        }
+        if (!cards.isEmpty()) {
+            eventPublisher.publishEvent(BoardChangedEvent.reloaded(projectId));
+        }
+        log.info("Rebalanceadas {} tarjetas de la lista {}", cards.size(), listId);
+    }
+
+    void rebalanceLists(Long projectId) {
+        projectRepository.lockById(projectId);
+        List<BoardList> lists = boardListRepository.findByProjectIdOrderByRank(projectId);
+        List<String> keys = LexoRank.spread(lists.size());
+        for (int i = 0; i < lists.size(); i++) {
+            lists.get(i).setRank(keys.get(i));
+        }
+        eventPublisher.publishEvent(BoardChangedEvent.reloaded(projectId));
+        log.info("Rebalanceadas {} listas del proyecto {}", lists.size(), projectId);
+    }
+
+    boolean isPending(Long listId) {
+        return pendingLists.contains(listId);
+    }
+
+    private static List<Long> drain(Set<Long> pending) {
+        List<Long> ids = new ArrayList<>(pending);
+        pending.removeAll(ids);
+        return ids;
+    }
+}
@@ -0,0 +1,102 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.CardDTO;
+import com.davivienda.dto.CardSearchHitDTO;
+import com.davivienda.dto.CardSearchPageDTO;
+import com.davivienda.exception.BadResourceRequestException;
+import com.davivienda.model.User;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.security.AccessChecker;
+import com.davivienda.service.SearchService;
+import com.davivienda.util.Cursors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    @Autowired
+    private CardSearchIndex cardSearchIndex;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private AccessChecker accessChecker;
+
+    @Value("${app.search.page.max-limit:100}")
+    private int maxPageLimit = 100;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CardSearchPageDTO searchCards(User user, String query, int limit, String after) {
+        if (query == null || query.isBlank()) {
+            throw new BadResourceRequestException("El parámetro q es requerido");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new BadResourceRequestException("La búsqueda no puede superar " + MAX_QUERY_LENGTH + " caracteres");
+        }
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new BadResourceRequestException("El parámetro limit debe estar entre 1 y " + maxPageLimit);
+        }
+        CardSearchIndex.Hit from = null;
+        if (after != null && !after.isBlank()) {
+            String[] key = Cursors.decode(after, 2);
+            from = new CardSearchIndex.Hit(Cursors.decodeLong(key[1]), 0, Cursors.decodeFloat(key[0]));
+        }
+        // Se pide una fila de más para saber si existe página siguiente
+        List<CardSearchIndex.Hit> hits = cardSearchIndex.search(query, accessChecker.projectIdsOf(user), limit + 1, from);
+        String nextCursor = null;
+        if (hits.size() > limit) {
+            hits = hits.subList(0, limit);
+            CardSearchIndex.Hit last = hits.get(limit - 1);
+            nextCursor = Cursors.encode(last.score(), last.cardId());
+        }
+        return CardSearchPageDTO.builder()
+                .items(toHits(hits))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public boolean rebuildIndex() {
+        if (cardSearchIndex.isRebuilding()) {
+            return false;
+        }
+        Thread.ofVirtual().name("card-search-rebuild").start(cardSearchIndex::rebuild);
+        return true;
+    }
+
+    /**
+     * Lee las tarjetas de la base de datos en el orden del índice. Las que el índice aún no sabe que se han borrado
+     * se omiten.
+     */
+    private List<CardSearchHitDTO> toHits(List<CardSearchIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CardDTO> cards = cardRepository.findDTOsByIdIn(hits.stream().map(CardSearchIndex.Hit::cardId).toList())
+                .stream()
+                .collect(Collectors.toMap(CardDTO::getId, Function.identity()));
+        List<CardSearchHitDTO> items = new ArrayList<>(hits.size());
+        for (CardSearchIndex.Hit hit : hits) {
+            CardDTO card = cards.get(hit.cardId());
+            if (card != null) {
+                items.add(CardSearchHitDTO.builder()
+                        .projectId(hit.projectId())
+                        .score(hit.score())
+                        .card(card)
+                        .build());
+            }
+        }
+        return items;
+    }
+}
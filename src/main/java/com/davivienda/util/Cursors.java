@@ -0,0 +1,76 @@
+package com.davivienda.util;
+
+import com.davivienda.exception.BadResourceRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.StringJoiner;
+
+/**
+ * Cursores opacos para paginación keyset: los valores de la clave de orden de la última fila
+ * devuelta, codificados en Base64 URL-safe.
+ */
+public final class Cursors {
+
+    private static final String SEPARATOR = "|";
+
+    private Cursors() {
+    }
+
+    public static String encode(Object... parts) {
+        StringJoiner joiner = new StringJoiner(SEPARATOR);
+        for (Object part : parts) {
+            joiner.add(part != null ? part.toString() : "");
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != expectedParts) {
+                throw new IllegalArgumentException();
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BadResourceRequestException("El cursor de paginación no es válido");
+        }
+    }
+
+    public static Long decodeLong(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new BadResourceRequestException("El cursor de paginación no es válido");
+        }
+    }
+
+    public static float decodeFloat(String value) {
+        try {
+            return Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            throw new BadResourceRequestException("El cursor de paginación no es válido");
+        }
+    }
+
+    public static LocalDate decodeDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadResourceRequestException("El cursor de paginación no es válido");
+        }
+    }
+
+    public static LocalDateTime decodeDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadResourceRequestException("El cursor de paginación no es válido");
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.davivienda.util;
+
+/**
+ * ETags fuertes de los tableros, derivados de la versión del proyecto, y comparación con If-None-Match.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String forBoard(Long projectId, long version) {
+        return "\"" + projectId + "-" + version + "\"";
+    }
+
+    /**
+     * Comparación débil (RFC 9110, 13.1.2): admite {@code *}, listas separadas por comas y el prefijo {@code W/}.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
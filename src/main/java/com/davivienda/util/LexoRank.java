@@ -0,0 +1,147 @@
+package com.davivienda.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Claves de orden lexicográficas (estilo LexoRank) en base 36: {@code 0-9a-z}.
+ * Entre dos claves siempre existe otra, así que insertar o mover un elemento solo reescribe su propia fila.
+ * Las claves generadas nunca terminan en '0', lo que garantiza que siempre haya hueco entre dos de ellas.
+ */
+public final class LexoRank {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    /** Profundidad a la que {@link #after(String)} incrementa: 36^5 claves antes de alargar. */
+    private static final int STEP_DEPTH = 5;
+    private static final long STEP_SPACE = pow(BASE, STEP_DEPTH);
+
+    private LexoRank() {
+    }
+
+    public static String initial() {
+        return "i";
+    }
+
+    /**
+     * Clave estrictamente mayor que {@code lo}; {@code null} equivale a lista vacía.
+     */
+    public static String after(String lo) {
+        if (lo == null || lo.isEmpty()) {
+            return initial();
+        }
+        long value = 0;
+        for (int i = 0; i < STEP_DEPTH; i++) {
+            value = value * BASE + (i < lo.length() ? digit(lo.charAt(i)) : 0);
+        }
+        if (value + 1 < STEP_SPACE) {
+            return stripTrailingZeros(encode(value + 1, STEP_DEPTH));
+        }
+        return between(lo, null);
+    }
+
+    /**
+     * Clave estrictamente menor que {@code hi}; {@code null} equivale a lista vacía.
+     */
+    public static String before(String hi) {
+        return between(null, hi);
+    }
+
+    /**
+     * Clave estrictamente entre {@code lo} y {@code hi}. {@code null} en {@code lo} es el mínimo y en {@code hi} el máximo.
+     *
+     * @throws IllegalArgumentException si {@code lo >= hi}
+     */
+    public static String between(String lo, String hi) {
+        String a = lo != null ? lo : "";
+        if (hi != null && a.compareTo(hi) >= 0) {
+            throw new IllegalArgumentException("Claves fuera de orden: " + lo + " >= " + hi);
+        }
+        StringBuilder out = new StringBuilder();
+        boolean upperOpen = hi == null;
+        for (int i = 0; ; i++) {
+            int l = i < a.length() ? digit(a.charAt(i)) : 0;
+            int h = upperOpen ? BASE : (i < hi.length() ? digit(hi.charAt(i)) : 0);
+            if (l == h) {
+                if (!upperOpen && i >= hi.length()) {
+                    // hi es lo seguido de ceros: no hay ninguna clave entre ambas
+                    throw new IllegalArgumentException("No existe clave entre " + lo + " y " + hi);
+                }
+                out.append(DIGITS.charAt(l));
+                continue;
+            }
+            int mid = (l + h) / 2;
+            if (mid > l) {
+                out.append(DIGITS.charAt(mid));
+                return out.toString();
+            }
+            // h == l + 1: se fija l y a partir de aquí cualquier sufijo queda por debajo de hi
+            out.append(DIGITS.charAt(l));
+            upperOpen = true;
+        }
+    }
+
+    /**
+     * Clave para el hueco entre dos vecinas; {@code null} indica extremo de la lista.
+     *
+     * @throws IllegalArgumentException si las vecinas están empatadas o fuera de orden ({@code lo >= hi})
+     */
+    public static String inGap(String lo, String hi) {
+        if (hi == null) {
+            return after(lo);
+        }
+        return between(lo, hi);
+    }
+
+    /**
+     * {@code n} claves equiespaciadas y de la misma longitud, dejando hueco entre ellas para futuras inserciones.
+     */
+    public static List<String> spread(int n) {
+        List<String> keys = new ArrayList<>(n);
+        if (n <= 0) {
+            return keys;
+        }
+        int width = 1;
+        while (pow(BASE, width) < (long) (n + 1) * BASE) {
+            width++;
+        }
+        long step = pow(BASE, width) / (n + 1);
+        for (int k = 1; k <= n; k++) {
+            keys.add(stripTrailingZeros(encode(k * step, width)));
+        }
+        return keys;
+    }
+
+    private static int digit(char c) {
+        int d = DIGITS.indexOf(c);
+        if (d < 0) {
+            throw new IllegalArgumentException("Carácter no válido en la clave de orden: " + c);
+        }
+        return d;
+    }
+
+    private static String encode(long value, int width) {
+        char[] chars = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            chars[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        return new String(chars);
+    }
+
+    private static String stripTrailingZeros(String key) {
+        int end = key.length();
+        while (end > 1 && key.charAt(end - 1) == '0') {
+            end--;
+        }
+        return key.substring(0, end);
+    }
+
+    private static long pow(int base, int exp) {
+        long result = 1;
+        for (int i = 0; i < exp; i++) {
+            result *= base;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package com.davivienda.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Clave de búsqueda por prefijo del título: en minúsculas y sin tildes, para filtrar con un rango del índice
+ * (LIKE 'prefijo%') sin funciones sobre la columna.
+ */
+public final class TitleKeys {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private TitleKeys() {
+    }
+
+    public static String of(String title) {
+        if (title == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(title, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Patrón LIKE para las claves que empiezan por el prefijo dado; escapa los comodines con {@code \}.
+     */
+    public static String prefixPattern(String prefix) {
+        String key = of(prefix);
+        StringBuilder pattern = new StringBuilder(key.length() + 1);
+        for (char c : key.toCharArray()) {
+            if (c == '\\' || c == '%' || c == '_') {
+                pattern.append('\\');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
@@ -0,0 +1,29 @@
+-- Sustituye la columna numérica position de card y board_list por la clave de orden rank_key.
+-- Ejecutar una vez, antes de desplegar la versión que usa rank_key. Conserva el orden actual (position, id).
+-- Las claves iniciales son el número de fila con 10 dígitos seguido de 'i' (nunca terminan en '0').
+
+ALTER TABLE card ADD (rank_key VARCHAR2(64 CHAR));
+
+MERGE INTO card c
+USING (SELECT id, ROW_NUMBER() OVER (PARTITION BY list_id ORDER BY position, id) AS rn FROM card) r
+ON (c.id = r.id)
+WHEN MATCHED THEN UPDATE SET c.rank_key = LPAD(TO_CHAR(r.rn), 10, '0') || 'i';
+
+ALTER TABLE card MODIFY (rank_key NOT NULL);
+
+ALTER TABLE board_list ADD (rank_key VARCHAR2(64 CHAR));
+
+MERGE INTO board_list bl
+USING (SELECT id, ROW_NUMBER() OVER (PARTITION BY project_id ORDER BY position, id) AS rn FROM board_list) r
+ON (bl.id = r.id)
+WHEN MATCHED THEN UPDATE SET bl.rank_key = LPAD(TO_CHAR(r.rn), 10, '0') || 'i';
+
+ALTER TABLE board_list MODIFY (rank_key NOT NULL);
+
+-- El índice de paginación pasa de (list_id, position, id) a (list_id, rank_key, id)
+DROP INDEX idx_card_list_position;
+CREATE INDEX idx_card_list_rank ON card (list_id, rank_key, id);
+CREATE INDEX idx_board_list_project_rank ON board_list (project_id, rank_key);
+
+ALTER TABLE card DROP COLUMN position;
+ALTER TABLE board_list DROP COLUMN position;
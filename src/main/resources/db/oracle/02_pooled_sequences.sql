@@ -0,0 +1,9 @@
+-- Las entidades reservan los IDs por bloques (optimizador pooled de Hibernate): un NEXTVAL cubre varios INSERT.
+-- INCREMENT BY de cada secuencia debe coincidir con ID_BLOCK_SIZE de su entidad; si no, Hibernate no arranca.
+-- Los valores ya emitidos no cambian: el siguiente bloque empieza por encima del valor actual de la secuencia.
+
+ALTER SEQUENCE CARD_SEQ INCREMENT BY 50;
+ALTER SEQUENCE BOARD_LIST_SEQ INCREMENT BY 20;
+ALTER SEQUENCE PROJECT_SEQ INCREMENT BY 20;
+ALTER SEQUENCE PROJECT_MEMBER_SEQ INCREMENT BY 20;
+ALTER SEQUENCE USER_SEQ INCREMENT BY 20;
@@ -0,0 +1,4 @@
+-- Versión del tablero (ETag de GET /projects/{id} y GET /projects/{id}/lists).
+-- Sube en uno al confirmar cada transacción que cambia el proyecto, sus listas o sus tarjetas.
+
+ALTER TABLE project ADD board_version NUMBER(19) DEFAULT 0 NOT NULL;
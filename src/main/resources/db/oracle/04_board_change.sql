@@ -0,0 +1,16 @@
+-- Registro de cambios del tablero (GET /projects/{id}/changes?since=): una fila por lista o tarjeta cambiada,
+-- con la versión del tablero que la incluye. Se compacta por antigüedad (app.changes.retention-hours).
+
+CREATE SEQUENCE BOARD_CHANGE_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE board_change (
+    id          NUMBER(19)   NOT NULL PRIMARY KEY,
+    project_id  NUMBER(19)   NOT NULL,
+    version     NUMBER(19)   NOT NULL,
+    change_type VARCHAR2(20) NOT NULL,
+    entity_id   NUMBER(19),
+    created_at  TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX idx_board_change_project_version ON board_change (project_id, version);
+CREATE INDEX idx_board_change_created ON board_change (created_at);
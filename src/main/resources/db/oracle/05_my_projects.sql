@@ -0,0 +1,6 @@
+-- Mis proyectos (GET /projects): las membresías se buscan por usuario y la paginación keyset ordena por
+-- (updated_at, id), que no admite nulos.
+
+UPDATE project SET updated_at = created_at WHERE updated_at IS NULL;
+
+CREATE INDEX idx_project_member_user ON project_member (user_id, project_id);
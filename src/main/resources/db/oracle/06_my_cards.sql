@@ -0,0 +1,4 @@
+-- Mis tarjetas (GET /me/cards): las tarjetas del usuario se recorren en orden de fecha límite sobre este índice,
+-- sin ordenar en memoria; las que no tienen fecha quedan al final del rango de cada usuario.
+
+CREATE INDEX idx_card_assignee_due ON card (assignee_id, due_date, id);
@@ -0,0 +1,13 @@
+-- Filtro de tarjetas del tablero (GET /projects/{id}/cards): clave normalizada del título para el filtro por prefijo
+-- y un índice por lista para cada criterio, de modo que cada filtro sea un rango del índice de cada lista del proyecto.
+-- La aplicación mantiene title_key al guardar (minúsculas, sin tildes); el relleno inicial cubre las tildes del español.
+
+ALTER TABLE card ADD (title_key VARCHAR2(500 CHAR));
+
+UPDATE card
+SET title_key = TRANSLATE(LOWER(title), 'áàäâãéèëêíìïîóòöôõúùüûñç', 'aaaaaeeeeiiiiooooouuuunc');
+
+ALTER TABLE card MODIFY (title_key NOT NULL);
+
+CREATE INDEX idx_card_list_title ON card (list_id, title_key);
+CREATE INDEX idx_card_list_due ON card (list_id, due_date);
@@ -0,0 +1,23 @@
+-- Etiquetas de tarjetas (/projects/{id}/labels y GET /projects/{id}/cards?labelIds=): etiquetas por proyecto con
+-- nombre único y la tabla de asignación card_label. El filtro se sirve de un índice en memoria que se carga por
+-- proyecto recorriendo card_label por etiqueta (idx_card_label_label); la clave primaria cubre las etiquetas de una
+-- tarjeta.
+
+CREATE SEQUENCE LABEL_SEQ START WITH 1 INCREMENT BY 20;
+
+CREATE TABLE label (
+    id         NUMBER(19)   NOT NULL PRIMARY KEY,
+    project_id NUMBER(19)   NOT NULL REFERENCES project (id),
+    name       VARCHAR2(50) NOT NULL,
+    color      VARCHAR2(7),
+    created_at TIMESTAMP    NOT NULL,
+    CONSTRAINT uk_label_project_name UNIQUE (project_id, name)
+);
+
+CREATE TABLE card_label (
+    card_id  NUMBER(19) NOT NULL REFERENCES card (id),
+    label_id NUMBER(19) NOT NULL REFERENCES label (id),
+    CONSTRAINT pk_card_label PRIMARY KEY (card_id, label_id)
+);
+
+CREATE INDEX idx_card_label_label ON card_label (label_id, card_id);
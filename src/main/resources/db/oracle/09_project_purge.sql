@@ -0,0 +1,7 @@
+-- Borrado de proyectos (DELETE /projects/{id}): el proyecto se marca con deleted_at y pierde sus miembros al momento;
+-- sus tarjetas, listas y etiquetas se borran por lotes en segundo plano. El índice solo guarda los proyectos marcados
+-- (Oracle no indexa las filas con la columna a nulo).
+
+ALTER TABLE project ADD deleted_at TIMESTAMP;
+
+CREATE INDEX idx_project_deleted ON project (deleted_at);
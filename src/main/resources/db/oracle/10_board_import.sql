@@ -0,0 +1,21 @@
+-- Importación de tableros por bloques: cada bloque se confirma en su transacción y board_import guarda cuántas listas
+-- y tarjetas del archivo ya están confirmadas, para reanudar una importación fallida. board_list.import_id marca las
+-- listas que creó cada importación (y su orden en el archivo, por rank_key).
+
+CREATE SEQUENCE BOARD_IMPORT_SEQ START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE board_import (
+    id                NUMBER(19)     NOT NULL PRIMARY KEY,
+    project_id        NUMBER(19)     NOT NULL,
+    status            VARCHAR2(20)   NOT NULL,
+    lists             NUMBER(10)     NOT NULL,
+    cards             NUMBER(19)     NOT NULL,
+    unknown_assignees NUMBER(19)     NOT NULL,
+    error             VARCHAR2(1000),
+    started_at        TIMESTAMP      NOT NULL,
+    updated_at        TIMESTAMP      NOT NULL
+);
+
+ALTER TABLE board_list ADD import_id NUMBER(19);
+
+CREATE INDEX idx_board_list_import ON board_list (import_id);
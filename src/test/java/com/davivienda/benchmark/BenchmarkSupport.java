@@ -0,0 +1,156 @@
+package com.davivienda.benchmark;
+
+import com.davivienda.model.BoardList;
+import com.davivienda.model.Project;
+import com.davivienda.model.User;
+import com.davivienda.repository.BoardListRepository;
+import com.davivienda.repository.ProjectRepository;
+import com.davivienda.repository.UserRepository;
+import com.davivienda.service.ProjectService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lo común de los benchmarks: los datos (usuarios, proyecto y listas con JPA; las filas masivas por JDBC en lotes) y
+ * las medidas (percentiles de latencia y memoria asignada por lectura). Se registra en cada prueba con {@code @Import}: no es un componente, para que
+ * los contextos que no son de benchmark no lo carguen.
+ */
+class BenchmarkSupport {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private BoardListRepository boardListRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** Usuarios {@code <prefijo><i>@test.com} llamados {@code <nombre> <i>}. */
+    List<User> users(String emailPrefix, String name, int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder().email(emailPrefix + i + "@test.com").password("x").nombre(name + " " + i)
+                    .role(User.Role.USER).build());
+        }
+        return userRepository.saveAll(users);
+    }
+
+    /** Un proyecto del usuario, creado por el servicio (con su membresía de propietario). */
+    Long project(User owner, String name) {
+        return projectService.create(owner, name, null).getId();
+    }
+
+    /** Listas del proyecto en orden, con claves {@code l0000}, {@code l0001}... */
+    List<BoardList> lists(Long projectId, int count) {
+        Project project = projectRepository.getReferenceById(projectId);
+        List<BoardList> lists = new ArrayList<>();
+        for (int l = 0; l < count; l++) {
+            lists.add(boardListRepository.save(BoardList.builder()
+                    .title("Lista " + l).rank(String.format("l%04d", l)).project(project).build()));
+        }
+        return lists;
+    }
+
+    static List<Long> ids(List<BoardList> lists) {
+        return lists.stream().map(BoardList::getId).toList();
+    }
+
+    /** Un INSERT por JDBC que se envía cada {@code size} filas; al cerrarlo se envían las que queden. */
+    Batch batch(String sql, int size) {
+        return new Batch(sql, size);
+    }
+
+    /** Estadísticas de H2 al día tras la carga, para que elija los índices como con datos reales. */
+    void analyze() {
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(sorted.length * p))];
+    }
+
+    static long median(long[] sorted) {
+        return percentile(sorted, 0.50);
+    }
+
+    /** p50 y p99 en milisegundos de latencias en nanosegundos ordenadas. */
+    static String percentiles(long[] sorted) {
+        return String.format("p50 %6.2f ms, p99 %6.2f ms", percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6);
+    }
+
+    /** p50 y p99 de latencias en nanosegundos ordenadas, divididas por {@code unit} (1e3 para µs, 1e6 para ms). */
+    static String percentiles(long[] sorted, double unit) {
+        return String.format("p50 %8.2f, p99 %8.2f", percentile(sorted, 0.50) / unit, percentile(sorted, 0.99) / unit);
+    }
+
+    /** Latencia mediana y bytes asignados por el hilo en {@code iterations} ejecuciones de {@code read}, ya calentado. */
+    static Allocation allocation(int iterations, Runnable read) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] latencies = new long[iterations];
+        long allocated = 0;
+        for (int i = 0; i < iterations; i++) {
+            long bytes = threads.getCurrentThreadAllocatedBytes();
+            long t0 = System.nanoTime();
+            read.run();
+            latencies[i] = System.nanoTime() - t0;
+            allocated += threads.getCurrentThreadAllocatedBytes() - bytes;
+        }
+        Arrays.sort(latencies);
+        return new Allocation(median(latencies) / 1e6, allocated / iterations);
+    }
+
+    record Allocation(double p50Ms, long bytesPerRead) {
+    }
+
+    final class Batch implements AutoCloseable {
+
+        private final String sql;
+        private final int size;
+        private final List<Object[]> rows = new ArrayList<>();
+        private int count;
+
+        private Batch(String sql, int size) {
+            this.sql = sql;
+            this.size = size;
+        }
+
+        /** Añade una fila; devuelve true si con ella se ha enviado el lote. */
+        boolean add(Object... row) {
+            rows.add(row);
+            count++;
+            if (rows.size() < size) {
+                return false;
+            }
+            flush();
+            return true;
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+
+        /** Filas añadidas desde que se creó. */
+        int count() {
+            return count;
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.davivienda.benchmark;
+
+import com.davivienda.dto.BoardImportResultDTO;
+import com.davivienda.model.User;
+import com.davivienda.repository.UserRepository;
+import com.davivienda.service.BoardImportService;
+import com.davivienda.service.ProjectService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de importación en streaming: un archivo JSON de 1M tarjetas (configurable con -Dbenchmark.import.cards).
+ * Mide tarjetas por segundo y el heap retenido durante la importación, que debe mantenerse plano.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "app.import.progress-every=100000")
+class BoardImportBenchmarkTest {
+
+    private static final int CARDS = Integer.getInteger("benchmark.import.cards", 1_000_000);
+    private static final int LISTS = 10;
+    private static final int USERS = 100;
+
+    @Autowired
+    private BoardImportService boardImportService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("benchmark: importa 1M tarjetas con memoria plana")
+    void importMillionCards() throws IOException {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder().email("bench" + i + "@test.com").password("x").nombre("Bench " + i)
+                    .role(User.Role.USER).build());
+        }
+        users = userRepository.saveAll(users);
+        Long projectId = projectService.create(users.get(0), "Benchmark importación", null).getId();
+        Path file = writeBoard(tempDir.resolve("board.json"));
+
+        List<Long> heapSamples = new ArrayList<>();
+        BoardImportResultDTO result;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            result = boardImportService.importBoard(projectId, null, in, BoardImportService.Format.JSON,
+                    (lists, cards) -> heapSamples.add(retainedHeap()));
+        }
+
+        double perSecond = result.getCards() * 1000d / Math.max(1, result.getElapsedMs());
+        System.out.printf("%n[benchmark] archivo: %d MB, %d listas, %d tarjetas%n",
+                Files.size(file) / (1024 * 1024), result.getLists(), result.getCards());
+        System.out.printf("[benchmark] %d ms, %.0f tarjetas/s%n", result.getElapsedMs(), perSecond);
+        System.out.printf("[benchmark] heap retenido cada 100k tarjetas (MB): %s%n",
+                heapSamples.stream().map(b -> String.valueOf(b / (1024 * 1024))).toList());
+
+        assertThat(result.getCards()).isEqualTo(CARDS);
+        assertThat(result.getLists()).isEqualTo(LISTS);
+        assertThat(result.getUnknownAssignees()).isZero();
+        if (heapSamples.size() > 1) {
+            // El heap no crece con el número de tarjetas importadas
+            assertThat(heapSamples.get(heapSamples.size() - 1) - heapSamples.get(0)).isLessThan(128L * 1024 * 1024);
+        }
+    }
+
+    private static Path writeBoard(Path file) throws IOException {
+        try (JsonGenerator json = new JsonFactory().createGenerator(Files.newBufferedWriter(file))) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("lists");
+            int perList = CARDS / LISTS;
+            for (int l = 0; l < LISTS; l++) {
+                json.writeStartObject();
+                json.writeStringField("title", "Lista " + l);
+                json.writeArrayFieldStart("cards");
+                for (int c = 0; c < perList; c++) {
+                    json.writeStartObject();
+                    json.writeStringField("title", "Tarea " + l + "-" + c);
+                    json.writeStringField("description", "Importada desde otra herramienta");
+                    json.writeStringField("assigneeEmail", "bench" + (c % USERS) + "@test.com");
+                    json.writeStringField("dueDate", "2026-12-31");
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        return file;
+    }
+
+    private static long retainedHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
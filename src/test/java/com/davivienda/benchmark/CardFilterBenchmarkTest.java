@@ -0,0 +1,167 @@
+package com.davivienda.benchmark;
+
+import com.davivienda.dto.CardFilter;
+import com.davivienda.dto.CardPageDTO;
+import com.davivienda.model.User;
+import com.davivienda.service.CardService;
+import com.davivienda.util.TitleKeys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static com.davivienda.benchmark.BenchmarkSupport.median;
+import static com.davivienda.benchmark.BenchmarkSupport.percentiles;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark del filtro de tarjetas: un tablero de 200k tarjetas (configurable con -Dbenchmark.filter.cards) en 10 listas,
+ * con 20 responsables (una de cada cinco sin asignar), fechas límite en un año y títulos de un vocabulario de 8000
+ * palabras. Mide p50/p99 de la primera página de cada combinación de filtros con los índices (list_id, title_key) y
+ * (list_id, due_date), y después de borrarlos (quedan (list_id, rank_key, id) y (assignee_id, due_date, id)). Cada
+ * iteración cambia el valor del filtro para que H2 no reutilice el resultado de la anterior. Sin filtro selectivo H2 lee
+ * la lista con el índice que crea para la clave foránea list_id y ordena sus tarjetas (Oracle no crea ese índice y
+ * recorre (list_id, rank_key, id) hasta llenar la página), así que esas filas no cambian entre las dos mediciones.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Import(BenchmarkSupport.class)
+class CardFilterBenchmarkTest {
+
+    private static final int CARDS = Integer.getInteger("benchmark.filter.cards", 200_000);
+    private static final int LISTS = 10;
+    private static final int USERS = 20;
+    private static final int LIMIT = 50;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = Integer.getInteger("benchmark.filter.iterations", 200);
+    private static final String[] SYLLABLES = {"ba", "ce", "di", "fo", "gu", "la", "me", "ni", "po", "ru", "sa", "té",
+            "vi", "zo", "cla", "pre", "tri", "mon", "sol", "par"};
+
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private BenchmarkSupport support;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private Long projectId;
+    private final List<Long> listIds = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+
+    @Test
+    @DisplayName("benchmark: filtros de un tablero de 200k tarjetas con y sin los índices por lista")
+    void filter_withAndWithoutListIndexes() {
+        seed();
+        Map<String, long[]> indexed = measureAll();
+        jdbcTemplate.execute("DROP INDEX idx_card_list_title");
+        jdbcTemplate.execute("DROP INDEX idx_card_list_due");
+        Map<String, long[]> withoutListIndexes = measureAll();
+
+        System.out.printf("%n[benchmark] %d tarjetas en %d listas, páginas de %d%n", CARDS, LISTS, LIMIT);
+        System.out.printf("[benchmark] %-24s %-34s %s%n", "filtro", "con índices", "sin (list_id, title_key/due_date)");
+        indexed.forEach((name, latencies) -> System.out.printf("[benchmark] %-24s %-34s %s%n", name,
+                percentiles(latencies), percentiles(withoutListIndexes.get(name))));
+
+        // El prefijo y el rango de fechas son rangos del índice de cada lista; sin él se leen todas las tarjetas
+        assertThat(median(indexed.get("prefijo"))).isLessThan(median(withoutListIndexes.get("prefijo")));
+        assertThat(median(indexed.get("próximos 7 días"))).isLessThan(median(withoutListIndexes.get("próximos 7 días")));
+    }
+
+    private Map<String, long[]> measureAll() {
+        LocalDate today = LocalDate.now();
+        Map<String, long[]> results = new LinkedHashMap<>();
+        results.put("sin filtros", measure(i -> new CardFilter(), true));
+        results.put("lista", measure(i -> CardFilter.builder().listId(list(i)).build(), true));
+        results.put("responsable", measure(i -> CardFilter.builder().assigneeId(user(i)).build(), true));
+        results.put("sin responsable", measure(i -> CardFilter.builder().unassigned(true).build(), true));
+        results.put("próximos 7 días", measure(i -> CardFilter.builder()
+                .dueFrom(today.plusDays(i % 60)).dueTo(today.plusDays(i % 60 + 7)).build(), true));
+        results.put("prefijo", measure(i -> CardFilter.builder().titlePrefix(prefix(i)).build(), false));
+        results.put("lista + prefijo", measure(i -> CardFilter.builder().listId(list(i)).titlePrefix(prefix(i)).build(), false));
+        results.put("responsable + fechas", measure(i -> CardFilter.builder().assigneeId(user(i))
+                .dueFrom(today.plusDays(i % 60)).dueTo(today.plusDays(i % 60 + 30)).build(), false));
+        return results;
+    }
+
+    /**
+     * Primera página de cada filtro. Los filtros que no cambian con la iteración varían el tamaño de la página (un
+     * parámetro más de la consulta) para que H2 no devuelva el resultado guardado.
+     */
+    private long[] measure(IntFunction<CardFilter> filter, boolean varyLimit) {
+        for (int i = 0; i < WARMUP; i++) {
+            cardService.filter(projectId, owner, filter.apply(i), LIMIT + (varyLimit ? i % 7 : 0), null);
+        }
+        long[] latencies = new long[ITERATIONS];
+        int found = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long t0 = System.nanoTime();
+            CardPageDTO page = cardService.filter(projectId, owner, filter.apply(i), LIMIT + (varyLimit ? i % 7 : 0), null);
+            latencies[i] = System.nanoTime() - t0;
+            found += page.getItems().size();
+        }
+        assertThat(found).isPositive();
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private Long list(int i) {
+        return listIds.get(i % listIds.size());
+    }
+
+    private Long user(int i) {
+        return userIds.get(i % userIds.size());
+    }
+
+    /** Dos sílabas: cada prefijo coincide con unas 200k / 400 = 500 tarjetas del tablero. */
+    private static String prefix(int i) {
+        return SYLLABLES[i % SYLLABLES.length] + SYLLABLES[(i / SYLLABLES.length) % SYLLABLES.length];
+    }
+
+    /** Usuarios, proyecto y listas con JPA; las tarjetas por JDBC en lotes. */
+    private void seed() {
+        List<User> users = support.users("filter", "Responsable", USERS);
+        users.forEach(user -> userIds.add(user.getId()));
+        owner = users.get(0);
+        projectId = support.project(owner, "Tablero grande");
+        listIds.addAll(BenchmarkSupport.ids(support.lists(projectId, LISTS)));
+        Random random = new Random(13);
+        LocalDate today = LocalDate.now();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (BenchmarkSupport.Batch cards = support.batch("INSERT INTO card (id, title, title_key, rank_key, list_id, "
+                + "assignee_id, due_date, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", 5000)) {
+            for (int i = 0; i < CARDS; i++) {
+                String title = word(random) + " " + word(random);
+                Date dueDate = random.nextInt(10) == 0 ? null : Date.valueOf(today.plusDays(random.nextInt(365) - 60));
+                Long assignee = random.nextInt(5) == 0 ? null : userIds.get(random.nextInt(USERS));
+                cards.add(20_000_000L + i, title, TitleKeys.of(title), String.format("c%07d", i),
+                        listIds.get(random.nextInt(LISTS)), assignee, dueDate, now, now);
+            }
+        }
+        support.analyze();
+    }
+
+    /** Palabras de tres sílabas: 8000 combinaciones, primera letra en mayúscula. */
+    private static String word(Random random) {
+        String word = SYLLABLES[random.nextInt(SYLLABLES.length)] + SYLLABLES[random.nextInt(SYLLABLES.length)]
+                + SYLLABLES[random.nextInt(SYLLABLES.length)];
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,154 @@
+package com.davivienda.benchmark;
+
+import com.davivienda.model.Card;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de inserción masiva de tarjetas: secuencia con allocationSize = 1 frente a IDs por bloques (pooled).
+ * Se ejecuta con {@code mvn test -Pbenchmark}. Por defecto usa H2 en memoria; con
+ * {@code -Dbenchmark.jdbc.url=... -Dbenchmark.jdbc.user=... -Dbenchmark.jdbc.password=...} se puede lanzar contra Oracle,
+ * donde cada NEXTVAL es un viaje de red y la diferencia es mucho mayor.
+ */
+@Tag("benchmark")
+class CardInsertBenchmarkTest {
+
+    private static final int CARDS = Integer.getInteger("benchmark.cards", 20_000);
+    private static final int FLUSH_EVERY = 1_000;
+
+    private static SessionFactory sessionFactory;
+
+    @BeforeAll
+    static void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(SingleIdCard.class)
+                .addAnnotatedClass(PooledIdCard.class)
+                .setProperty("hibernate.connection.url",
+                        System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:bench_ids;MODE=Oracle;DB_CLOSE_DELAY=-1"))
+                .setProperty("hibernate.connection.username", System.getProperty("benchmark.jdbc.user", "sa"))
+                .setProperty("hibernate.connection.password", System.getProperty("benchmark.jdbc.password", ""))
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.generate_statistics", "true")
+                .buildSessionFactory();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    @DisplayName("benchmark: IDs por bloques reducen los NEXTVAL y aumentan las tarjetas insertadas por segundo")
+    void pooledIds_vsSequencePerRow() {
+        // Calentamiento (JIT, caché de sentencias)
+        insert(SingleIdCard::new, CARDS / 10);
+        insert(PooledIdCard::new, CARDS / 10);
+
+        Result single = insert(SingleIdCard::new, CARDS);
+        Result pooled = insert(PooledIdCard::new, CARDS);
+
+        System.out.printf("%n[benchmark] %d tarjetas%n", CARDS);
+        System.out.printf("[benchmark] allocationSize=1   : %8.0f tarjetas/s, %6d sentencias JDBC%n", single.perSecond(), single.statements);
+        System.out.printf("[benchmark] allocationSize=%-3d : %8.0f tarjetas/s, %6d sentencias JDBC (x%.1f)%n",
+                Card.ID_BLOCK_SIZE, pooled.perSecond(), pooled.statements, pooled.perSecond() / single.perSecond());
+
+        // Con allocationSize = 1 hay un NEXTVAL por fila; con bloques, uno por cada ID_BLOCK_SIZE filas
+        assertThat(single.statements).isGreaterThanOrEqualTo(CARDS);
+        assertThat(pooled.statements).isLessThan(single.statements / 10);
+    }
+
+    private Result insert(Supplier<BenchCard> factory, int count) {
+        Statistics stats = sessionFactory.getStatistics();
+        stats.clear();
+        long start = System.nanoTime();
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < count; i++) {
+                BenchCard card = factory.get();
+                card.setTitle("Tarea " + i);
+                card.setRank(String.format("%010di", i));
+                session.persist(card);
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            session.getTransaction().commit();
+        }
+        return new Result(count, System.nanoTime() - start, stats.getPrepareStatementCount());
+    }
+
+    private record Result(int rows, long nanos, long statements) {
+        double perSecond() {
+            return rows * 1_000_000_000d / nanos;
+        }
+    }
+
+    interface BenchCard {
+        void setTitle(String title);
+
+        void setRank(String rank);
+    }
+
+    @Entity
+    @Table(name = "bench_card_single")
+    @SequenceGenerator(name = "bench_single_gen", sequenceName = "BENCH_SINGLE_SEQ", allocationSize = 1)
+    static class SingleIdCard implements BenchCard {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bench_single_gen")
+        Long id;
+        @Column(name = "title", length = 500)
+        String title;
+        @Column(name = "rank_key", length = 64)
+        String rank;
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public void setRank(String rank) {
+            this.rank = rank;
+        }
+    }
+
+    @Entity
+    @Table(name = "bench_card_pooled")
+    @SequenceGenerator(name = "bench_pooled_gen", sequenceName = "BENCH_POOLED_SEQ", allocationSize = Card.ID_BLOCK_SIZE)
+    static class PooledIdCard implements BenchCard {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bench_pooled_gen")
+        Long id;
+        @Column(name = "title", length = 500)
+        String title;
+        @Column(name = "rank_key", length = 64)
+        String rank;
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public void setRank(String rank) {
+            this.rank = rank;
+        }
+    }
+}
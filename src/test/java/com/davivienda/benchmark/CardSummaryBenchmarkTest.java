@@ -0,0 +1,129 @@
+package com.davivienda.benchmark;
+
+import com.davivienda.benchmark.BenchmarkSupport.Allocation;
+import com.davivienda.dto.CardDTO;
+import com.davivienda.dto.CardSummaryDTO;
+import com.davivienda.model.User;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.util.TitleKeys;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de un tablero con descripciones largas: 10k tarjetas (configurable con -Dbenchmark.summary.cards) con
+ * descripciones de 2000 a 4000 caracteres. Compara la proyección con descripción ({@link CardDTO}) con el resumen que
+ * sirven las lecturas del tablero ({@link CardSummaryDTO}): tamaño del JSON y, por petición (lectura + serialización a
+ * JSON), bytes asignados y latencia. Se mide con la serialización porque H2 en memoria devuelve sus propios String sin
+ * copiarlos: la lectura sola no muestra lo que costaría recibir las descripciones de Oracle.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@Import(BenchmarkSupport.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class CardSummaryBenchmarkTest {
+
+    private static final int CARDS = Integer.getInteger("benchmark.summary.cards", 10_000);
+    private static final int LISTS = 10;
+    private static final int WARMUP = 10;
+    private static final int ITERATIONS = Integer.getInteger("benchmark.summary.iterations", 30);
+    private static final String FULL_QUERY = CardRepository.SELECT_CARD_DTO
+            + "WHERE c.list.project.id = :projectId ORDER BY c.rank, c.id";
+
+    @Autowired
+    private BenchmarkSupport support;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("benchmark: el resumen del tablero sin descripciones pesa y asigna mucho menos")
+    void summary_vsFullProjection() {
+        Long projectId = seed();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Supplier<List<?>> full = () -> readOnly.execute(status -> entityManager.createQuery(FULL_QUERY, CardDTO.class)
+                .setParameter("projectId", projectId)
+                .getResultList());
+        Supplier<List<?>> summary = () -> readOnly.execute(status -> cardRepository.findSummariesByProjectId(projectId));
+
+        long fullJson = json(full.get()).length;
+        long summaryJson = json(summary.get()).length;
+        Allocation fullRead = measure(full);
+        Allocation summaryRead = measure(summary);
+
+        System.out.printf("%n[benchmark] tablero de %d tarjetas con descripciones de 2000-4000 caracteres, %d peticiones%n",
+                CARDS, ITERATIONS);
+        print("con descripción (CardDTO)", fullJson, fullRead);
+        print("resumen (CardSummaryDTO)", summaryJson, summaryRead);
+
+        // la descripción es la mayor parte de cada tarjeta: el resumen debe quedarse por debajo de una décima parte
+        assertThat(summaryJson * 10).isLessThan(fullJson);
+        assertThat(summaryRead.bytesPerRead() * 2).isLessThan(fullRead.bytesPerRead());
+    }
+
+    private byte[] json(List<?> cards) {
+        try {
+            return objectMapper.writeValueAsBytes(cards);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Allocation measure(Supplier<List<?>> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertThat(read.get()).hasSize(CARDS);
+            json(read.get());
+        }
+        return BenchmarkSupport.allocation(ITERATIONS, () -> json(read.get()));
+    }
+
+    private static void print(String label, long jsonBytes, Allocation result) {
+        System.out.printf("[benchmark] %-28s JSON %7.1f MB, p50 %7.1f ms, %7.1f MB asignados por petición%n",
+                label, jsonBytes / (1024d * 1024d), result.p50Ms(), result.bytesPerRead() / (1024d * 1024d));
+    }
+
+    /** Usuario, proyecto y listas con JPA; tarjetas por JDBC en lotes. */
+    private Long seed() {
+        User owner = support.users("summary", "Resumen", 1).get(0);
+        Long projectId = support.project(owner, "Tablero con descripciones");
+        List<Long> listIds = BenchmarkSupport.ids(support.lists(projectId, LISTS));
+        Random random = new Random(23);
+        String text = "Contexto, criterios de aceptación y notas de la reunión con el equipo. ".repeat(60);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (BenchmarkSupport.Batch cards = support.batch("INSERT INTO card (id, title, title_key, description, rank_key, "
+                + "list_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", 1000)) {
+            for (int i = 0; i < CARDS; i++) {
+                String title = "Tarea " + i;
+                String description = text.substring(0, 2000 + random.nextInt(2001));
+                cards.add(40_000_000L + i, title, TitleKeys.of(title), description, String.format("c%06d", i),
+                        listIds.get(i % LISTS), now, now);
+            }
+        }
+        return projectId;
+    }
+}
@@ -0,0 +1,207 @@
+package com.davivienda.benchmark;
+
+import com.davivienda.dto.CardFilter;
+import com.davivienda.dto.CardPageDTO;
+import com.davivienda.model.User;
+import com.davivienda.service.CardService;
+import com.davivienda.service.impl.CardLabelIndex;
+import com.davivienda.util.TitleKeys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static com.davivienda.benchmark.BenchmarkSupport.percentile;
+import static com.davivienda.benchmark.BenchmarkSupport.percentiles;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark del filtro por etiquetas: un tablero de 200k tarjetas (configurable con -Dbenchmark.labels.cards) en 10
+ * listas con 30 etiquetas de popularidad decreciente (la primera en una de cada cuatro tarjetas, la última en una de
+ * cada 120). Para cada combinación de etiquetas mide p50/p99 de la combinación de bitmaps en {@link CardLabelIndex}, de
+ * la primera página del filtro completo y de la misma página con una subconsulta {@code IN} sobre card_label, que es
+ * lo que el índice evita. Cada iteración cambia las etiquetas para que H2 no reutilice el resultado de la anterior.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Import(BenchmarkSupport.class)
+class LabelFilterBenchmarkTest {
+
+    private static final int CARDS = Integer.getInteger("benchmark.labels.cards", 200_000);
+    private static final int LISTS = 10;
+    private static final int LABELS = 30;
+    private static final int LIMIT = 50;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = Integer.getInteger("benchmark.labels.iterations", 500);
+    /** La combinación de bitmaps dura microsegundos: más vueltas para que el JIT la compile antes de medir. */
+    private static final int BITMAP_ITERATIONS = 20_000;
+    private static final long FIRST_LABEL_ID = 9_000_000L;
+    private static final String PAGE_SQL = "SELECT c.id FROM card c JOIN board_list l ON l.id = c.list_id "
+            + "WHERE l.project_id = ? AND c.id IN (%s) ORDER BY l.rank_key, c.rank_key, c.id FETCH FIRST " + (LIMIT + 1)
+            + " ROWS ONLY";
+
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private CardLabelIndex cardLabelIndex;
+    @Autowired
+    private BenchmarkSupport support;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private Long projectId;
+    private int assignments;
+
+    @Test
+    @DisplayName("benchmark: filtro por varias etiquetas en 200k tarjetas con el índice de bitmaps")
+    void filter_byLabels() {
+        seed();
+        long start = System.nanoTime();
+        cardLabelIndex.cardCounts(projectId);
+        long loadMs = (System.nanoTime() - start) / 1_000_000;
+
+        Map<String, Combination> combinations = new LinkedHashMap<>();
+        combinations.put("ANY de 2 frecuentes", new Combination(i -> labels(i % 3, 3 + i % 4), false));
+        combinations.put("ANY de 3 raras", new Combination(i -> labels(20 + i % 3, 23 + i % 3, 26 + i % 4), false));
+        combinations.put("ALL de 2 frecuentes", new Combination(i -> labels(i % 3, 3 + i % 4), true));
+        combinations.put("ALL de 3", new Combination(i -> labels(i % 2, 2 + i % 5, 7 + i % 8), true));
+
+        System.out.printf("%n[benchmark] %d tarjetas en %d listas, %d etiquetas, %d asignaciones; carga del índice en %d ms%n",
+                CARDS, LISTS, LABELS, assignments, loadMs);
+        System.out.printf("[benchmark] %-22s %-32s %-32s %s%n", "etiquetas", "bitmaps (µs)", "filtro (ms)",
+                "subconsulta IN (ms)");
+        Map<String, long[]> bitmapLatencies = new LinkedHashMap<>();
+        combinations.forEach((name, combination) -> {
+            long[] bitmaps = measureBitmaps(combination);
+            long[] filter = measureFilter(combination);
+            long[] subquery = measureSubquery(combination);
+            bitmapLatencies.put(name, bitmaps);
+            System.out.printf("[benchmark] %-22s %-32s %-32s %s%n", name, percentiles(bitmaps, 1e3),
+                    percentiles(filter, 1e6), percentiles(subquery, 1e6));
+        });
+
+        // La combinación de bitmaps no toca la base de datos: microsegundos aun con decenas de miles de tarjetas
+        bitmapLatencies.values().forEach(latencies -> assertThat(percentile(latencies, 0.99)).isLessThan(1_000_000L));
+    }
+
+    private long[] measureBitmaps(Combination combination) {
+        for (int i = 0; i < BITMAP_ITERATIONS; i++) {
+            cardLabelIndex.match(projectId, combination.labels().apply(i), combination.all());
+        }
+        long[] latencies = new long[BITMAP_ITERATIONS];
+        long found = 0;
+        for (int i = 0; i < BITMAP_ITERATIONS; i++) {
+            long t0 = System.nanoTime();
+            found += cardLabelIndex.match(projectId, combination.labels().apply(i), combination.all()).cardinality();
+            latencies[i] = System.nanoTime() - t0;
+        }
+        assertThat(found).isPositive();
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private long[] measureFilter(Combination combination) {
+        IntFunction<CardFilter> filter = i -> CardFilter.builder().labelIds(combination.labels().apply(i))
+                .labelMatch(combination.all() ? CardFilter.LabelMatch.ALL : CardFilter.LabelMatch.ANY).build();
+        for (int i = 0; i < WARMUP; i++) {
+            cardService.filter(projectId, owner, filter.apply(i), LIMIT, null);
+        }
+        long[] latencies = new long[ITERATIONS];
+        int found = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long t0 = System.nanoTime();
+            CardPageDTO page = cardService.filter(projectId, owner, filter.apply(i), LIMIT, null);
+            latencies[i] = System.nanoTime() - t0;
+            found += page.getItems().size();
+        }
+        assertThat(found).isPositive();
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    /** Sin índice: ANY es una subconsulta sobre card_label; ALL, la misma agrupada por tarjeta. */
+    private long[] measureSubquery(Combination combination) {
+        int iterations = ITERATIONS / 5;
+        long[] latencies = new long[iterations];
+        for (int i = -WARMUP / 5; i < iterations; i++) {
+            List<Long> labels = combination.labels().apply(i + WARMUP);
+            String placeholders = String.join(", ", Collections.nCopies(labels.size(), "?"));
+            String subquery = "SELECT cl.card_id FROM card_label cl WHERE cl.label_id IN (" + placeholders + ")"
+                    + (combination.all() ? " GROUP BY cl.card_id HAVING COUNT(*) = " + labels.size() : "");
+            List<Object> args = new ArrayList<>();
+            args.add(projectId);
+            args.addAll(labels);
+            long t0 = System.nanoTime();
+            List<Long> page = jdbcTemplate.queryForList(String.format(PAGE_SQL, subquery), Long.class, args.toArray());
+            if (i >= 0) {
+                latencies[i] = System.nanoTime() - t0;
+                assertThat(page).isNotEmpty();
+            }
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static List<Long> labels(int... indexes) {
+        return Arrays.stream(indexes).mapToObj(index -> FIRST_LABEL_ID + index).toList();
+    }
+
+    /** Usuario, proyecto y listas con JPA; tarjetas, etiquetas y asignaciones por JDBC en lotes. */
+    private void seed() {
+        owner = support.users("labels", "Etiquetas", 1).get(0);
+        projectId = support.project(owner, "Tablero etiquetado");
+        List<Long> listIds = BenchmarkSupport.ids(support.lists(projectId, LISTS));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (BenchmarkSupport.Batch labels = support.batch(
+                "INSERT INTO label (id, project_id, name, created_at) VALUES (?, ?, ?, ?)", LABELS)) {
+            for (int k = 0; k < LABELS; k++) {
+                labels.add(FIRST_LABEL_ID + k, projectId, "Etiqueta " + k, now);
+            }
+        }
+
+        Random random = new Random(17);
+        // las asignaciones se envían después de sus tarjetas: cada vez que sale un lote de tarjetas
+        try (BenchmarkSupport.Batch cardLabels = support.batch(
+                "INSERT INTO card_label (card_id, label_id) VALUES (?, ?)", Integer.MAX_VALUE);
+             BenchmarkSupport.Batch cards = support.batch("INSERT INTO card (id, title, title_key, rank_key, list_id, "
+                     + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", 5000)) {
+            for (int i = 0; i < CARDS; i++) {
+                long cardId = 30_000_000L + i;
+                String title = "Tarjeta " + i;
+                boolean sent = cards.add(cardId, title, TitleKeys.of(title), String.format("c%07d", i),
+                        listIds.get(random.nextInt(LISTS)), now, now);
+                for (int k = 0; k < LABELS; k++) {
+                    // popularidad 1 / (k + 1): de una de cada cuatro tarjetas a una de cada 120
+                    if (random.nextDouble() < 0.25 / (k + 1)) {
+                        cardLabels.add(cardId, FIRST_LABEL_ID + k);
+                    }
+                }
+                if (sent) {
+                    cardLabels.flush();
+                }
+            }
+            assignments = cardLabels.count();
+        }
+        support.analyze();
+    }
+
+    private record Combination(IntFunction<List<Long>> labels, boolean all) {
+    }
+}
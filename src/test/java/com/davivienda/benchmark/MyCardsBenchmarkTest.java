@@ -0,0 +1,164 @@
+package com.davivienda.benchmark;
+
+import com.davivienda.dto.AssignedCardPageDTO;
+import com.davivienda.model.Project;
+import com.davivienda.model.ProjectMember;
+import com.davivienda.model.User;
+import com.davivienda.repository.ProjectMemberRepository;
+import com.davivienda.repository.ProjectRepository;
+import com.davivienda.service.CardService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static com.davivienda.benchmark.BenchmarkSupport.median;
+import static com.davivienda.benchmark.BenchmarkSupport.percentiles;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de Mis tarjetas: 200k tarjetas (configurable con -Dbenchmark.mycards.cards) repartidas entre 40 usuarios,
+ * miembros de los 100 proyectos, unas 5000 por usuario y una de cada diez sin fecha límite. Mide p50/p99 de la primera
+ * página sin filtros, de las vencidas y de los próximos 7 días, y el tiempo por página del recorrido completo por cursor,
+ * con el índice (assignee_id, due_date, id) y después de borrarlo (queda el índice de la clave foránea que crea H2).
+ * Las consultas rotan entre usuarios para que H2 no reutilice el resultado de la anterior. H2 ordena el rango leído antes
+ * de cortar la página (Oracle lo recorre en el orden del índice y para al llenarla), así que la primera página sin filtros
+ * no mejora aquí; los filtros de fecha y las páginas siguientes sí, porque empiezan el rango en la fecha.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Import(BenchmarkSupport.class)
+class MyCardsBenchmarkTest {
+
+    private static final int CARDS = Integer.getInteger("benchmark.mycards.cards", 200_000);
+    private static final int PROJECTS = 100;
+    private static final int USERS = 40;
+    private static final int LIMIT = 50;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = Integer.getInteger("benchmark.mycards.iterations", 400);
+    private static final int WALKS = 5;
+
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private BenchmarkSupport support;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("benchmark: Mis tarjetas recorre el índice del responsable en lugar de la tabla de tarjetas")
+    void myCards_withAndWithoutAssigneeIndex() {
+        List<User> users = seed();
+        User first = users.get(0);
+        int assigned = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM card WHERE assignee_id = ?", Integer.class, first.getId());
+        assertThat(walk(first)).isEqualTo(assigned);
+
+        Result indexed = measureAll(users);
+        jdbcTemplate.execute("DROP INDEX idx_card_assignee_due");
+        Result foreignKeyOnly = measureAll(users);
+
+        System.out.printf("%n[benchmark] %d tarjetas, %d asignadas al primer usuario, páginas de %d%n", CARDS, assigned, LIMIT);
+        print("con índice", indexed);
+        print("solo FK", foreignKeyOnly);
+
+        // El filtro de fecha es un rango del índice; sin él se leen todas las tarjetas del usuario
+        assertThat(median(indexed.dueSoon)).isLessThan(median(foreignKeyOnly.dueSoon));
+    }
+
+    private Result measureAll(List<User> users) {
+        long[] firstPage = measure(users, user -> cardService.findAssignedTo(user, null, false, null, LIMIT, null));
+        long[] overdue = measure(users, user -> cardService.findAssignedTo(user, null, true, null, LIMIT, null));
+        long[] dueSoon = measure(users, user -> cardService.findAssignedTo(user, null, false, 7, LIMIT, null));
+        // Recorrido completo por cursor de varios usuarios: tiempo medio por página
+        int pages = 0;
+        long t0 = System.nanoTime();
+        for (User user : users.subList(0, WALKS)) {
+            pages += (walk(user) + LIMIT - 1) / LIMIT;
+        }
+        return new Result(firstPage, overdue, dueSoon, (System.nanoTime() - t0) / pages);
+    }
+
+    /** Recorre todas las páginas del usuario y devuelve cuántas tarjetas vio. */
+    private int walk(User user) {
+        int walked = 0;
+        String after = null;
+        do {
+            AssignedCardPageDTO page = cardService.findAssignedTo(user, null, false, null, LIMIT, after);
+            walked += page.getItems().size();
+            after = page.getNextCursor();
+        } while (after != null);
+        return walked;
+    }
+
+    private static long[] measure(List<User> users, Function<User, AssignedCardPageDTO> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertThat(read.apply(users.get(i % users.size())).getItems()).isNotEmpty();
+        }
+        long[] latencies = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            User user = users.get(i % users.size());
+            long t0 = System.nanoTime();
+            read.apply(user);
+            latencies[i] = System.nanoTime() - t0;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static void print(String label, Result result) {
+        System.out.printf("[benchmark] %-10s primera página %s | vencidas %s | próximos 7 días %s | recorrido %.2f ms/página%n",
+                label, percentiles(result.firstPage), percentiles(result.overdue), percentiles(result.dueSoon),
+                result.nanosPerWalkedPage / 1e6);
+    }
+
+    /** Usuarios, proyectos, membresías y listas con JPA; las tarjetas por JDBC en lotes. */
+    private List<User> seed() {
+        List<User> users = support.users("mycards", "Responsable", USERS);
+        List<Long> listIds = new ArrayList<>();
+        for (int p = 0; p < PROJECTS; p++) {
+            Long projectId = support.project(users.get(0), "Proyecto " + p);
+            Project project = projectRepository.getReferenceById(projectId);
+            List<ProjectMember> members = new ArrayList<>();
+            for (User member : users.subList(1, USERS)) {
+                members.add(ProjectMember.builder().project(project).user(member).role(ProjectMember.Role.MEMBER).build());
+            }
+            projectMemberRepository.saveAll(members);
+            listIds.addAll(BenchmarkSupport.ids(support.lists(projectId, 3)));
+        }
+        Random random = new Random(7);
+        LocalDate today = LocalDate.now();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (BenchmarkSupport.Batch cards = support.batch("INSERT INTO card (id, title, title_key, rank_key, list_id, "
+                + "assignee_id, due_date, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", 5000)) {
+            for (int i = 0; i < CARDS; i++) {
+                Date dueDate = random.nextInt(10) == 0 ? null : Date.valueOf(today.plusDays(random.nextInt(365) - 60));
+                cards.add(10_000_000L + i, "Tarea " + i, "tarea " + i, String.format("c%07d", i),
+                        listIds.get(random.nextInt(listIds.size())), users.get(random.nextInt(USERS)).getId(), dueDate,
+                        now, now);
+            }
+        }
+        return users;
+    }
+
+    private record Result(long[] firstPage, long[] overdue, long[] dueSoon, long nanosPerWalkedPage) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.davivienda.benchmark;
+
+import com.davivienda.benchmark.BenchmarkSupport.Allocation;
+import com.davivienda.dto.CardDTO;
+import com.davivienda.model.BoardList;
+import com.davivienda.model.Card;
+import com.davivienda.model.User;
+import com.davivienda.repository.CardRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de lectura de un tablero de 10k tarjetas (configurable con -Dbenchmark.projection.cards): entidades
+ * gestionadas convertidas a DTO frente a la proyección JPQL que selecciona las columnas del DTO. Mide la latencia
+ * (p50) y los bytes asignados por el hilo en cada lectura completa del tablero.
+ */
+@Tag("benchmark")
+@ActiveProfiles("benchmark")
+@Import(BenchmarkSupport.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=false")
+class ProjectionBenchmarkTest {
+
+    private static final int CARDS = Integer.getInteger("benchmark.projection.cards", 10_000);
+    private static final int LISTS = 10;
+    private static final int USERS = 50;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = Integer.getInteger("benchmark.projection.iterations", 50);
+
+    private static final String ENTITY_QUERY = "SELECT c FROM Card c JOIN FETCH c.list LEFT JOIN FETCH c.assignee "
+            + "WHERE c.list.project.id = :projectId ORDER BY c.rank, c.id";
+    private static final String PROJECTION_QUERY = CardRepository.SELECT_CARD_DTO
+            + "WHERE c.list.project.id = :projectId ORDER BY c.rank, c.id";
+
+    @Autowired
+    private BenchmarkSupport support;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("benchmark: la proyección a DTO asigna menos memoria que hidratar entidades")
+    void projection_vsEntityHydration() {
+        Long projectId = seed();
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Allocation entities = measure(() -> readWrite.execute(status -> loadEntities(projectId)));
+        Allocation entitiesReadOnly = measure(() -> readOnly.execute(status -> loadEntities(projectId)));
+        Allocation projection = measure(() -> readOnly.execute(status -> entityManager.createQuery(PROJECTION_QUERY, CardDTO.class)
+                .setParameter("projectId", projectId)
+                .getResultList()));
+
+        System.out.printf("%n[benchmark] tablero de %d tarjetas en %d listas, %d lecturas%n", CARDS, LISTS, ITERATIONS);
+        print("entidades (transacción de escritura)", entities);
+        print("entidades (transacción readOnly)", entitiesReadOnly);
+        print("proyección a DTO", projection);
+
+        assertThat(projection.bytesPerRead()).isLessThan(entitiesReadOnly.bytesPerRead());
+        assertThat(projection.bytesPerRead()).isLessThan(entities.bytesPerRead());
+    }
+
+    private List<CardDTO> loadEntities(Long projectId) {
+        List<Card> cards = entityManager.createQuery(ENTITY_QUERY, Card.class)
+                .setParameter("projectId", projectId)
+                .getResultList();
+        List<CardDTO> dtos = new ArrayList<>(cards.size());
+        for (Card c : cards) {
+            dtos.add(CardDTO.builder()
+                    .id(c.getId())
+                    .title(c.getTitle())
+                    .description(c.getDescription())
+                    .rank(c.getRank())
+                    .listId(c.getList().getId())
+                    .assigneeId(c.getAssignee() != null ? c.getAssignee().getId() : null)
+                    .assigneeName(c.getAssignee() != null ? c.getAssignee().getNombre() : null)
+                    .dueDate(c.getDueDate())
+                    .createdAt(c.getCreatedAt())
+                    .updatedAt(c.getUpdatedAt())
+                    .build());
+        }
+        return dtos;
+    }
+
+    private Allocation measure(Supplier<List<CardDTO>> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertThat(read.get()).hasSize(CARDS);
+        }
+        return BenchmarkSupport.allocation(ITERATIONS, read::get);
+    }
+
+    private static void print(String label, Allocation result) {
+        System.out.printf("[benchmark] %-38s p50 %7.1f ms, %6.1f MB asignados por lectura%n",
+                label, result.p50Ms(), result.bytesPerRead() / (1024d * 1024d));
+    }
+
+    private Long seed() {
+        List<User> users = support.users("projection", "Proyección", USERS);
+        Long projectId = support.project(users.get(0), "Benchmark proyecciones");
+        LocalDateTime now = LocalDateTime.now();
+        List<BoardList> lists = support.lists(projectId, LISTS);
+        for (int l = 0; l < LISTS; l++) {
+            List<Card> cards = new ArrayList<>();
+            for (int i = 0; i < CARDS / LISTS; i++) {
+                cards.add(Card.builder()
+                        .title("Tarea " + l + "-" + i)
+                        .description("Descripción de la tarea " + i)
+                        .rank(String.format("c%06d", i))
+                        .list(lists.get(l))
+                        // tres de cada cuatro tarjetas con responsable
+                        .assignee(i % 4 == 0 ? null : users.get(i % USERS))
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build());
+            }
+            cardRepository.saveAll(cards);
+        }
+        return projectId;
+    }
+}
@@ -0,0 +1,172 @@
+package com.davivienda.benchmark;
+
+import com.davivienda.dto.CardSearchDocument;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.service.impl.CardSearchIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.davivienda.benchmark.BenchmarkSupport.percentile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmark del índice de búsqueda: 5M tarjetas (configurable con -Dbenchmark.search.cards) en proyectos de 500, con
+ * títulos y descripciones de un vocabulario de 20k palabras con frecuencias Zipf. Reconstruye el índice en disco desde un
+ * repositorio simulado y mide p50/p99 de consultas de 1 a 3 términos para un usuario con 50 proyectos y para una cuenta
+ * de servicio con 2000.
+ */
+@Tag("benchmark")
+class SearchBenchmarkTest {
+
+    private static final int CARDS = Integer.getInteger("benchmark.search.cards", 5_000_000);
+    private static final int QUERIES = Integer.getInteger("benchmark.search.queries", 2000);
+    private static final int CARDS_PER_PROJECT = 500;
+    private static final int VOCABULARY = 20_000;
+    private static final int LIMIT = 20;
+    private static final String[] SYLLABLES = {"ba", "ce", "di", "fo", "gu", "la", "me", "ni", "po", "ru", "sa", "te",
+            "vi", "zo", "cla", "pre", "tri", "mon", "sol", "par"};
+
+    private final String[] words = vocabulary();
+    private final double[] zipf = zipf();
+
+    @TempDir
+    Path indexDir;
+
+    @Test
+    @DisplayName("benchmark: búsqueda en 5M tarjetas con p99 por debajo de 50 ms")
+    void search_fiveMillionCards() throws Exception {
+        CardRepository cardRepository = mock(CardRepository.class);
+        when(cardRepository.findSearchDocumentsAfter(anyLong(), any(Pageable.class)))
+                .thenAnswer(inv -> page(inv.getArgument(0), inv.<Pageable>getArgument(1).getPageSize()));
+        CardSearchIndex index = new CardSearchIndex(cardRepository, mock(PlatformTransactionManager.class),
+                indexDir.toString(), 10_000, 256, false, 40);
+        long start = System.nanoTime();
+        assertThat(index.rebuild()).isTrue();
+        long rebuildMs = (System.nanoTime() - start) / 1_000_000;
+        assertThat(index.size()).isEqualTo(CARDS);
+
+        int projects = CARDS / CARDS_PER_PROJECT;
+        long[] user = projects(50, projects, new Random(1));
+        long[] serviceAccount = projects(2000, projects, new Random(2));
+        // Calentamiento
+        run(index, user, 500, new Random(3));
+        long[] userLatencies = run(index, user, QUERIES, new Random(4));
+        long[] serviceLatencies = run(index, serviceAccount, QUERIES, new Random(5));
+        long[] nextPageLatencies = runNextPage(index, serviceAccount, QUERIES / 4, new Random(6));
+
+        System.out.printf("%n[benchmark] %d tarjetas en %d proyectos, reconstrucción en %d ms (%.0f tarjetas/s)%n",
+                CARDS, projects, rebuildMs, CARDS * 1000d / rebuildMs);
+        print("usuario, 50 proyectos", userLatencies);
+        print("cuenta de servicio, 2000 proyectos", serviceLatencies);
+        print("2000 proyectos, segunda página", nextPageLatencies);
+
+        assertThat(percentile(userLatencies, 0.99)).isLessThan(50_000_000L);
+        assertThat(percentile(serviceLatencies, 0.99)).isLessThan(50_000_000L);
+    }
+
+    private long[] run(CardSearchIndex index, long[] projects, int queries, Random random) {
+        long[] latencies = new long[queries];
+        for (int i = 0; i < queries; i++) {
+            String query = query(random);
+            long t0 = System.nanoTime();
+            index.search(query, projects, LIMIT + 1, null);
+            latencies[i] = System.nanoTime() - t0;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private long[] runNextPage(CardSearchIndex index, long[] projects, int queries, Random random) {
+        List<Long> latencies = new ArrayList<>();
+        for (int i = 0; i < queries; i++) {
+            String query = query(random);
+            List<CardSearchIndex.Hit> first = index.search(query, projects, LIMIT + 1, null);
+            if (first.size() <= LIMIT) {
+                continue;
+            }
+            long t0 = System.nanoTime();
+            index.search(query, projects, LIMIT + 1, first.get(LIMIT - 1));
+            latencies.add(System.nanoTime() - t0);
+        }
+        return latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    private static void print(String label, long[] sorted) {
+        System.out.printf("[benchmark] %-36s %5d consultas, p50 %6.2f ms, p99 %6.2f ms, máx %6.2f ms%n", label,
+                sorted.length, percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6,
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    private List<CardSearchDocument> page(long afterId, int size) {
+        List<CardSearchDocument> page = new ArrayList<>(size);
+        for (long id = afterId + 1; id <= Math.min(CARDS, afterId + size); id++) {
+            Random random = new Random(id);
+            long projectId = (id - 1) / CARDS_PER_PROJECT + 1;
+            page.add(new CardSearchDocument(id, projectId, projectId * 10 + random.nextInt(5), text(random, 4), text(random, 16)));
+        }
+        return page;
+    }
+
+    private String query(Random random) {
+        return text(random, 1 + random.nextInt(3));
+    }
+
+    private String text(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            int at = Arrays.binarySearch(zipf, random.nextDouble());
+            text.append(words[at >= 0 ? at : Math.min(VOCABULARY - 1, -at - 1)]);
+        }
+        return text.toString();
+    }
+
+    private static long[] projects(int count, int projects, Random random) {
+        return random.longs(0, projects).distinct().limit(count).map(p -> p + 1).sorted().toArray();
+    }
+
+    /** Palabras distintas de cuatro sílabas; la x final evita que la raíz en español las recorte. */
+    private static String[] vocabulary() {
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            int n = i;
+            StringBuilder word = new StringBuilder();
+            for (int s = 0; s < 4; s++) {
+                word.append(SYLLABLES[n % SYLLABLES.length]);
+                n /= SYLLABLES.length;
+            }
+            words[i] = word.append('x').toString();
+        }
+        return words;
+    }
+
+    /** Distribución acumulada Zipf (s = 1) sobre el vocabulario. */
+    private static double[] zipf() {
+        double[] cumulative = new double[VOCABULARY];
+        double sum = 0;
+        for (int i = 0; i < VOCABULARY; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < VOCABULARY; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+}
@@ -0,0 +1,160 @@
+package com.davivienda.benchmark;
+
+import com.davivienda.Application;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de la caché de segundo nivel: sentencias SQL por petición en cada endpoint, sin caché y con ella.
+ * Arranca la aplicación dos veces (H2 en memoria), calienta cada endpoint y cuenta las sentencias preparadas por
+ * Hibernate en {@code benchmark.l2c.requests} peticiones.
+ */
+@Tag("benchmark")
+class SecondLevelCacheBenchmarkTest {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.l2c.requests", 200);
+    private static final int CARDS = 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("benchmark: la caché de segundo nivel reduce las sentencias SQL por petición")
+    void secondLevelCache_reducesStatementsPerRequest() throws Exception {
+        Map<String, Double> withoutCache = run(false);
+        Map<String, Double> withCache = run(true);
+
+        System.out.printf("%n[benchmark] sentencias SQL por petición (%d peticiones por endpoint)%n", REQUESTS);
+        System.out.printf("[benchmark] %-48s %10s %10s %8s%n", "endpoint", "sin caché", "con caché", "ahorro");
+        double totalWithout = 0;
+        double totalWith = 0;
+        for (String endpoint : withoutCache.keySet()) {
+            double before = withoutCache.get(endpoint);
+            double after = withCache.get(endpoint);
+            totalWithout += before;
+            totalWith += after;
+            System.out.printf("[benchmark] %-48s %10.2f %10.2f %7.0f%%%n", endpoint, before, after,
+                    before == 0 ? 0 : 100 * (before - after) / before);
+        }
+        System.out.printf("[benchmark] %-48s %10.2f %10.2f %7.0f%%%n", "total", totalWithout, totalWith,
+                100 * (totalWithout - totalWith) / totalWithout);
+
+        assertThat(totalWith).isLessThan(totalWithout);
+        withCache.forEach((endpoint, statements) -> assertThat(statements).as(endpoint).isLessThanOrEqualTo(withoutCache.get(endpoint)));
+    }
+
+    private Map<String, Double> run(boolean cache) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .profiles("benchmark")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:l2c_" + cache + ";MODE=Oracle;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cache,
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=" + cache,
+                        "--spring.jpa.properties.hibernate.generate_statistics=true",
+                        "--logging.level.root=WARN");
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            return measure(new Client("http://localhost:" + port + "/api/v1"), statistics);
+        } finally {
+            context.close();
+        }
+    }
+
+    private Map<String, Double> measure(Client client, Statistics statistics) throws Exception {
+        String owner = client.post("/auth/register", null,
+                "{\"email\":\"owner@test.com\",\"password\":\"secret1\",\"nombre\":\"Propietario\"}").get("token").asText();
+        long memberId = client.post("/auth/register", null,
+                "{\"email\":\"member@test.com\",\"password\":\"secret1\",\"nombre\":\"Miembro\"}").get("userId").asLong();
+        long ownerId = client.post("/auth/login", null,
+                "{\"email\":\"owner@test.com\",\"password\":\"secret1\"}").get("userId").asLong();
+        long projectId = client.post("/projects", owner, "{\"name\":\"Caché\"}").get("id").asLong();
+        long todo = client.post("/projects/" + projectId + "/lists", owner, "{\"title\":\"Por hacer\"}").get("id").asLong();
+        long done = client.post("/projects/" + projectId + "/lists", owner, "{\"title\":\"Hecho\"}").get("id").asLong();
+        long cardId = 0;
+        for (int i = 0; i < CARDS; i++) {
+            cardId = client.post("/lists/" + todo + "/cards", owner, "{\"title\":\"Tarea " + i + "\"}").get("id").asLong();
+        }
+        long movingCard = cardId;
+
+        Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+        endpoints.put("GET /projects", () -> client.send("GET", "/projects", owner, null));
+        endpoints.put("GET /projects/{id}", () -> client.send("GET", "/projects/" + projectId, owner, null));
+        endpoints.put("GET /projects/{id}/lists", () -> client.send("GET", "/projects/" + projectId + "/lists", owner, null));
+        endpoints.put("GET /lists/{id}/cards", () -> client.send("GET", "/lists/" + todo + "/cards", owner, null));
+        endpoints.put("PUT /lists/{id}/cards/{cardId}", () -> client.send("PUT", "/lists/" + todo + "/cards/" + movingCard,
+                owner, "{\"title\":\"Tarea\",\"assigneeId\":" + ownerId + "}"));
+        endpoints.put("POST /lists/{id}/cards/{cardId}/move (ida y vuelta)", () -> {
+            client.send("POST", "/lists/" + todo + "/cards/" + movingCard + "/move", owner, "{\"targetListId\":" + done + "}");
+            client.send("POST", "/lists/" + done + "/cards/" + movingCard + "/move", owner, "{\"targetListId\":" + todo + "}");
+        });
+        endpoints.put("POST + DELETE /projects/{id}/members", () -> {
+            client.send("POST", "/projects/" + projectId + "/members", owner, "{\"email\":\"member@test.com\"}");
+            client.send("DELETE", "/projects/" + projectId + "/members/" + memberId, owner, null);
+        });
+        endpoints.put("POST /auth/login", () -> client.send("POST", "/auth/login", null,
+                "{\"email\":\"owner@test.com\",\"password\":\"secret1\"}"));
+
+        Map<String, Double> statementsPerRequest = new LinkedHashMap<>();
+        for (Map.Entry<String, Endpoint> endpoint : endpoints.entrySet()) {
+            // Calentamiento: cachés de la aplicación (ACL, tableros) y de Hibernate cargadas
+            for (int i = 0; i < 20; i++) {
+                endpoint.getValue().call();
+            }
+            statistics.clear();
+            for (int i = 0; i < REQUESTS; i++) {
+                endpoint.getValue().call();
+            }
+            statementsPerRequest.put(endpoint.getKey(), (double) statistics.getPrepareStatementCount() / REQUESTS);
+        }
+        return statementsPerRequest;
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        void call() throws Exception;
+    }
+
+    private final class Client {
+
+        private final HttpClient http = HttpClient.newHttpClient();
+        private final String base;
+
+        Client(String base) {
+            this.base = base;
+        }
+
+        JsonNode post(String path, String token, String body) throws Exception {
+            return objectMapper.readTree(send("POST", path, token, body));
+        }
+
+        String send(String method, String path, String token, String body) throws Exception {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(base + path))
+                    .header("Content-Type", "application/json")
+                    .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            HttpResponse<String> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            assertThat(response.statusCode()).as(method + " " + path + ": " + response.body()).isBetween(200, 299);
+            return response.body();
+        }
+    }
+}
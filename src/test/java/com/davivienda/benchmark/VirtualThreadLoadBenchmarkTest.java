@@ -0,0 +1,239 @@
+package com.davivienda.benchmark;
+
+import com.davivienda.Application;
+import com.davivienda.config.BulkheadDataSource;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de carga HTTP: Tomcat con su pool de hilos de plataforma frente a hilos virtuales con el bulkhead del
+ * DataSource. Arranca la aplicación dos veces (H2 en memoria) y lanza {@code benchmark.load.clients} clientes
+ * concurrentes contra {@code GET /lists/{id}/cards} durante {@code benchmark.load.seconds}; imprime peticiones por
+ * segundo y p50/p99. Cada sentencia JDBC espera {@code benchmark.load.db-latency-ms} para simular el viaje a Oracle,
+ * así el tiempo de la petición se pasa bloqueado en la base de datos como en producción.
+ * Con hilos de plataforma el límite son los 200 hilos de Tomcat; con hilos virtuales, las conexiones del pool.
+ */
+@Tag("benchmark")
+class VirtualThreadLoadBenchmarkTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.load.clients", 1000);
+    private static final int SECONDS = Integer.getInteger("benchmark.load.seconds", 10);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.load.pool-size", 400);
+    private static final long DB_LATENCY_MS = Long.getLong("benchmark.load.db-latency-ms", 10);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("benchmark: con hilos virtuales y bulkhead la carga bloqueada en la base de datos no se limita a los hilos de Tomcat")
+    void virtualThreads_vsPlatformThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%n[benchmark] %d clientes, %d s, pool %d conexiones, %d ms por sentencia%n",
+                CLIENTS, SECONDS, POOL_SIZE, DB_LATENCY_MS);
+        System.out.printf("[benchmark] hilos de plataforma : %8.0f pet/s, p50 %5d ms, p99 %5d ms, %d errores%n",
+                platform.perSecond(), platform.p50(), platform.p99(), platform.errors);
+        System.out.printf("[benchmark] hilos virtuales     : %8.0f pet/s, p50 %5d ms, p99 %5d ms, %d errores (x%.1f)%n",
+                virtual.perSecond(), virtual.p50(), virtual.p99(), virtual.errors, virtual.perSecond() / platform.perSecond());
+
+        assertThat(virtual.errors).isZero();
+        assertThat(virtual.perSecond()).isGreaterThan(platform.perSecond());
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class, DbLatency.class)
+                .profiles("benchmark")
+                // argumentos de línea de comandos: tienen prioridad sobre application.properties
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:load_" + virtualThreads + ";MODE=Oracle;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--app.datasource.bulkhead.max-concurrent=" + POOL_SIZE,
+                        "--logging.level.root=WARN");
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            if (virtualThreads) {
+                assertThat(context.getBean(DataSource.class).isWrapperFor(BulkheadDataSource.class)).isTrue();
+            }
+            return load("http://localhost:" + port + "/api/v1");
+        } finally {
+            context.close();
+        }
+    }
+
+    private Result load(String base) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String token = post(http, base + "/auth/register", null,
+                "{\"email\":\"load@test.com\",\"password\":\"secret1\",\"nombre\":\"Carga\"}").get("token").asText();
+        long projectId = post(http, base + "/projects", token, "{\"name\":\"Carga\"}").get("id").asLong();
+        long listId = post(http, base + "/projects/" + projectId + "/lists", token, "{\"title\":\"Por hacer\"}").get("id").asLong();
+        for (int i = 0; i < 20; i++) {
+            post(http, base + "/lists/" + listId + "/cards", token, "{\"title\":\"Tarea " + i + "\"}");
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/lists/" + listId + "/cards"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        // Calentamiento
+        runClients(http, request, 2);
+        return runClients(http, request, SECONDS);
+    }
+
+    private Result runClients(HttpClient http, HttpRequest request, int seconds) throws InterruptedException {
+        long[][] latencies = new long[CLIENTS][];
+        int[] counts = new int[CLIENTS];
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                clients.execute(() -> {
+                    long[] own = new long[1024];
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (n == own.length) {
+                            own = Arrays.copyOf(own, n * 2);
+                        }
+                        own[n++] = System.nanoTime() - t0;
+                    }
+                    latencies[client] = own;
+                    counts[client] = n;
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int at = 0;
+        for (int c = 0; c < CLIENTS; c++) {
+            System.arraycopy(latencies[c], 0, all, at, counts[c]);
+            at += counts[c];
+        }
+        Arrays.sort(all);
+        return new Result(total, elapsed, all, errors.get());
+    }
+
+    private JsonNode post(HttpClient http, String url, String token, String body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as(url + ": " + response.body()).isBetween(200, 299);
+        return objectMapper.readTree(response.body());
+    }
+
+    private record Result(int requests, long nanos, long[] sortedLatencies, long errors) {
+        double perSecond() {
+            return requests * 1_000_000_000d / nanos;
+        }
+
+        long p50() {
+            return percentile(0.50);
+        }
+
+        long p99() {
+            return percentile(0.99);
+        }
+
+        private long percentile(double p) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            return sortedLatencies[(int) Math.min(sortedLatencies.length - 1, Math.floor(sortedLatencies.length * p))] / 1_000_000;
+        }
+    }
+
+    /**
+     * Añade {@link #DB_LATENCY_MS} a cada ejecución de sentencia, por fuera del bulkhead: la conexión (y su permiso)
+     * sigue ocupada durante la espera.
+     */
+    static class DbLatency {
+
+        @Bean
+        static BeanPostProcessor dbLatency() {
+            return new LatencyPostProcessor();
+        }
+    }
+
+    static class LatencyPostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return slow(super.getConnection(), Connection.class);
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T slow(T target, Class<T> type) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                try {
+                    Object result = method.invoke(target, args);
+                    if (result instanceof PreparedStatement statement && method.getName().startsWith("prepare")) {
+                        return slow(statement, PreparedStatement.class);
+                    }
+                    if (method.getName().startsWith("execute")) {
+                        LockSupport.parkNanos(DB_LATENCY_MS * 1_000_000);
+                    }
+                    return result;
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            });
+        }
+    }
+}
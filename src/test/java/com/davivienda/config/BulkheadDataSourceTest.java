@@ -0,0 +1,72 @@
+package com.davivienda.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias del bulkhead del DataSource.
+ */
+@ExtendWith(MockitoExtension.class)
+class BulkheadDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private BulkheadDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new BulkheadDataSource(target, 2, 50);
+    }
+
+    @Test
+    @DisplayName("getConnection: ocupa un permiso hasta que se cierra la conexión, aunque se cierre dos veces")
+    void getConnection_liberaAlCerrar() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection c = dataSource.getConnection();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+        c.close();
+        c.close();
+
+        verify(connection, times(2)).close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getConnection: sin permisos libres en el tiempo de espera rechaza la petición")
+    void getConnection_saturado_rechaza() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(dataSource.getRejected()).isEqualTo(1);
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("getConnection: si el pool falla el permiso se devuelve")
+    void getConnection_errorDelPool_liberaPermiso() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool agotado"));
+
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,33 @@
+package com.davivienda.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas unitarias de la configuración de la réplica de lectura.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaConfigTest {
+
+    @Mock
+    private DataSource replica;
+
+    @Test
+    @DisplayName("replicaLagMonitor: sin lag-query no arranca")
+    void replicaLagMonitor_sinConsulta_falla() {
+        ReadReplicaConfig config = new ReadReplicaConfig();
+
+        assertThatThrownBy(() -> config.replicaLagMonitor(replica, " ", 5000))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("lag-query");
+        assertThat(config.replicaLagMonitor(replica, "SELECT 0", 5000)).isNotNull();
+    }
+}
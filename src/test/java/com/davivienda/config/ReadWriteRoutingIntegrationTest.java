@@ -0,0 +1,143 @@
+package com.davivienda.config;
+
+import com.davivienda.dto.BoardChangesDTO;
+import com.davivienda.dto.BoardListDTO;
+import com.davivienda.dto.ProjectDTO;
+import com.davivienda.model.User;
+import com.davivienda.repository.UserRepository;
+import com.davivienda.security.AccessChecker;
+import com.davivienda.security.UserPrincipal;
+import com.davivienda.service.BoardChangeService;
+import com.davivienda.service.BoardListService;
+import com.davivienda.service.ProjectService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de integración del enrutado lectura/escritura con dos H2 en memoria: primario y réplica.
+ * La "replicación" es una copia explícita (SCRIPT / RUNSCRIPT), así se distingue de qué base sale cada lectura.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("replica")
+class ReadWriteRoutingIntegrationTest {
+
+    private static final Path DUMP = Path.of("target", "replica-sync.sql").toAbsolutePath();
+
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private BoardListService boardListService;
+    @Autowired
+    private BoardChangeService boardChangeService;
+    @Autowired
+    private AccessChecker accessChecker;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("replica" + System.nanoTime() + "@test.com")
+                .password("x")
+                .nombre("Réplica")
+                .role(User.Role.USER)
+                .build());
+        replicate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        ReflectionTestUtils.setField(replicaLagMonitor, "usable", true);
+    }
+
+    @Test
+    @DisplayName("readOnly: las lecturas salen de la réplica y las escrituras van al primario")
+    void lecturasEnReplica() {
+        projectService.create(user, "Solo en el primario", null);
+
+        assertThat(projectService.findByUser(user)).isEmpty();
+        replicate();
+        assertThat(projectService.findByUser(user)).extracting(ProjectDTO::getName).containsExactly("Solo en el primario");
+    }
+
+    @Test
+    @DisplayName("readOnly: tras escribir, el mismo usuario lee del primario durante la tolerancia de retraso")
+    void leeSusPropiasEscrituras() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(user.getId(), user.getEmail()), null, List.of()));
+
+        projectService.create(user, "Recién creado", null);
+
+        assertThat(projectService.findByUser(user)).extracting(ProjectDTO::getName).containsExactly("Recién creado");
+    }
+
+    @Test
+    @DisplayName("readOnly: con la réplica demasiado retrasada las lecturas van al primario")
+    void replicaRetrasada_leeDelPrimario() {
+        projectService.create(user, "Pendiente de replicar", null);
+        ReflectionTestUtils.setField(replicaLagMonitor, "usable", false);
+
+        assertThat(projectService.findByUser(user)).extracting(ProjectDTO::getName).containsExactly("Pendiente de replicar");
+    }
+
+    @Test
+    @DisplayName("getChanges: la versión y el tablero que se cachea salen del primario")
+    void cambios_tableroDelPrimario() {
+        // membresías en caché, como las de un usuario activo: la comprobación de acceso no consulta ninguna base
+        accessChecker.projectIdsOf(user);
+        Long projectId = projectService.create(user, "Tablero sin replicar", null).getId();
+        boardListService.create(projectId, user, "Por hacer", null);
+
+        BoardChangesDTO changes = boardChangeService.getChanges(projectId, user, 0);
+
+        // la réplica no tiene el proyecto: el registro no cubre el hueco y el tablero completo viene del primario
+        assertThat(changes.isFull()).isTrue();
+        assertThat(changes.getVersion()).isEqualTo(1L);
+        assertThat(changes.getProject().getLists()).extracting(BoardListDTO::getTitle).containsExactly("Por hacer");
+        assertThat(projectService.getById(projectId, user).getLists()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("ReplicaLagMonitor: la réplica al día dentro de la tolerancia se puede usar")
+    void lagMonitor_replicaAlDia() {
+        ReflectionTestUtils.setField(replicaLagMonitor, "usable", false);
+
+        replicaLagMonitor.check();
+
+        assertThat(replicaLagMonitor.isUsable()).isTrue();
+    }
+
+    private void replicate() {
+        new JdbcTemplate(primaryDataSource).execute("SCRIPT TO '" + DUMP + "'");
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("DROP ALL OBJECTS");
+        replica.execute("RUNSCRIPT FROM '" + DUMP + "'");
+    }
+}
@@ -0,0 +1,47 @@
+package com.davivienda.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas unitarias del monitor de retraso de la réplica (H2 en memoria como réplica).
+ */
+class ReplicaLagMonitorTest {
+
+    private JdbcDataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        replica = new JdbcDataSource();
+        replica.setURL("jdbc:h2:mem:lag-monitor");
+    }
+
+    @Test
+    @DisplayName("arranque: sin medir no se usa la réplica; la primera medición se hace al iniciar")
+    void arranque_noUsableHastaMedir() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT 0", Duration.ofSeconds(5));
+
+        assertThat(monitor.isUsable()).isFalse();
+        monitor.init();
+        assertThat(monitor.isUsable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("arranque: con la réplica atrasada o sin respuesta sigue sin usarse")
+    void arranque_replicaAtrasadaOCaida() {
+        ReplicaLagMonitor lagging = new ReplicaLagMonitor(replica, "SELECT 10", Duration.ofSeconds(5));
+        ReplicaLagMonitor failing = new ReplicaLagMonitor(replica, "SELECT lag FROM no_existe", Duration.ofSeconds(5));
+
+        lagging.init();
+        failing.init();
+
+        assertThat(lagging.isUsable()).isFalse();
+        assertThat(failing.isUsable()).isFalse();
+    }
+}
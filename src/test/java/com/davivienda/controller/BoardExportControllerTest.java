@@ -0,0 +1,59 @@
+package com.davivienda.controller;
+
+import com.davivienda.model.User;
+import com.davivienda.service.BoardExportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias del BoardExportController.
+ */
+@ExtendWith(MockitoExtension.class)
+class BoardExportControllerTest {
+
+    @Mock
+    private BoardExportService boardExportService;
+
+    @InjectMocks
+    private BoardExportController boardExportController;
+
+    @Test
+    @DisplayName("export: con gzip=true comprueba el acceso antes de escribir y devuelve el NDJSON comprimido")
+    void export_gzip() throws Exception {
+        User user = User.builder().id(1L).email("user@test.com").nombre("Usuario").build();
+        when(boardExportService.export(eq(10L), any(OutputStream.class))).thenAnswer(inv -> {
+            inv.<OutputStream>getArgument(1).write("{\"type\":\"project\",\"id\":10}\n".getBytes(StandardCharsets.UTF_8));
+            return 0L;
+        });
+
+        ResponseEntity<StreamingResponseBody> result = boardExportController.export(user, 10L, true);
+        verify(boardExportService).ensureExportable(10L, user);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        result.getBody().writeTo(out);
+
+        assertThat(result.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(result.getHeaders().getContentType()).isEqualTo(BoardExportController.APPLICATION_NDJSON);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("{\"type\":\"project\",\"id\":10}\n");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.davivienda.controller;
+
+import com.davivienda.dto.BoardImportResultDTO;
+import com.davivienda.model.User;
+import com.davivienda.service.BoardImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias del BoardImportController.
+ */
+@ExtendWith(MockitoExtension.class)
+class BoardImportControllerTest {
+
+    @Mock
+    private BoardImportService boardImportService;
+
+    @InjectMocks
+    private BoardImportController boardImportController;
+
+    @Test
+    @DisplayName("importBoard: con Content-Type text/csv importa como CSV y devuelve 201 con el resumen")
+    void importBoard_csv_ok() {
+        User user = User.builder().id(1L).email("user@test.com").nombre("Usuario").build();
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        BoardImportResultDTO summary = BoardImportResultDTO.builder().projectId(10L).lists(1).cards(2).build();
+        when(boardImportService.importBoard(10L, user, body, BoardImportService.Format.CSV, null)).thenReturn(summary);
+
+        ResponseEntity<BoardImportResultDTO> result = boardImportController.importBoard(user, 10L, "text/csv; charset=UTF-8", null, body);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(result.getBody().getCards()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("importBoard: con resume reanuda esa importación")
+    void importBoard_reanuda() {
+        User user = User.builder().id(1L).email("user@test.com").nombre("Usuario").build();
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        BoardImportResultDTO summary = BoardImportResultDTO.builder().importId(7L).projectId(10L).lists(1).cards(5).build();
+        when(boardImportService.resumeImport(10L, 7L, user, body, BoardImportService.Format.JSON, null)).thenReturn(summary);
+
+        ResponseEntity<BoardImportResultDTO> result = boardImportController.importBoard(user, 10L, "application/json", 7L, body);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(result.getBody().getImportId()).isEqualTo(7L);
+        verify(boardImportService, never()).importBoard(any(), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,49 @@
+package com.davivienda.controller;
+
+import com.davivienda.dto.CardBatchRequest;
+import com.davivienda.dto.CardBatchResponse;
+import com.davivienda.dto.CardOperation;
+import com.davivienda.model.User;
+import com.davivienda.service.CardService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias del CardBatchController.
+ */
+@ExtendWith(MockitoExtension.class)
+class CardBatchControllerTest {
+
+    @Mock
+    private CardService cardService;
+
+    @InjectMocks
+    private CardBatchController cardBatchController;
+
+    @Test
+    @DisplayName("batch: devuelve 200 con el resultado de cada operación")
+    void batch_ok() {
+        User user = User.builder().id(1L).email("user@test.com").nombre("Usuario").build();
+        List<CardOperation> operations = List.of(
+                CardOperation.builder().type(CardOperation.Type.DELETE).cardId(30L).build());
+        CardBatchResponse response = CardBatchResponse.builder().results(List.of()).succeeded(1).failed(0).build();
+        when(cardService.applyBatch(10L, user, operations)).thenReturn(response);
+
+        ResponseEntity<CardBatchResponse> result = cardBatchController.batch(user, 10L,
+                CardBatchRequest.builder().operations(operations).build());
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody().getSucceeded()).isEqualTo(1);
+    }
+}
@@ -1,10 +1,10 @@
 package com.davivienda.controller;
 
 import com.davivienda.dto.CardDTO;
+import com.davivienda.dto.CardPageDTO;
+import com.davivienda.dto.CardSummaryDTO;
 import com.davivienda.dto.CreateCardRequest;
 import com.davivienda.model.User;
-import com.davivienda.security.UserPrincipal;
-import com.davivienda.service.AuthService;
 import com.davivienda.service.CardService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -32,19 +32,14 @@ class CardControllerTest {
     @Mock
     private CardService cardService;
 
-    @Mock
-    private AuthService authService;
-
     @InjectMocks
     private CardController cardController;
 
-    private UserPrincipal principal;
     private User user;
     private CreateCardRequest createRequest;
 
     @BeforeEach
     void setUp() {
-        principal = new UserPrincipal(1L, "user@test.com");
         user = User.builder().id(1L).email("user@test.com").nombre("Usuario").build();
         createRequest = new CreateCardRequest();
         createRequest.setTitle("Nueva tarjeta");
@@ -56,11 +51,10 @@ class CardControllerTest {
     @DisplayName("create: devuelve 201 y la tarjeta creada")
     void create_ok() {
         CardDTO dto = CardDTO.builder().id(1L).title("Nueva tarjeta").listId(20L).position(0).build();
-        when(authService.getCurrentUser("user@test.com")).thenReturn(user);
         when(cardService.create(eq(20L), eq(user), eq("Nueva tarjeta"), eq("Descripción"), eq(0), eq(null), eq(null)))
                 .thenReturn(dto);
 
-        ResponseEntity<CardDTO> result = cardController.create(principal, 20L, createRequest);
+        ResponseEntity<CardDTO> result = cardController.create(user, 20L, createRequest);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.CREATED);
         assertThat(result.getBody()).isNotNull();
@@ -70,24 +64,49 @@ class CardControllerTest {
     @Test
     @DisplayName("list: devuelve 200 y la lista de tarjetas")
     void list_ok() {
-        List<CardDTO> tarjetas = List.of(
-                CardDTO.builder().id(1L).title("Tarea 1").listId(20L).build()
+        List<CardSummaryDTO> tarjetas = List.of(
+                CardSummaryDTO.builder().id(1L).title("Tarea 1").listId(20L).build()
         );
-        when(authService.getCurrentUser("user@test.com")).thenReturn(user);
         when(cardService.findByListId(20L, user)).thenReturn(tarjetas);
 
-        ResponseEntity<List<CardDTO>> result = cardController.list(principal, 20L);
+        ResponseEntity<List<CardSummaryDTO>> result = cardController.list(user, 20L);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(result.getBody()).hasSize(1);
     }
 
+    @Test
+    @DisplayName("listPage: devuelve 200 con la página y el cursor siguiente")
+    void listPage_ok() {
+        CardPageDTO page = CardPageDTO.builder()
+                .items(List.of(CardSummaryDTO.builder().id(1L).title("Tarea 1").listId(20L).build()))
+                .nextCursor("abc")
+                .build();
+        when(cardService.findPageByListId(20L, user, 1, null)).thenReturn(page);
+
+        ResponseEntity<CardPageDTO> result = cardController.listPage(user, 20L, 1, null);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody().getNextCursor()).isEqualTo("abc");
+    }
+
+    @Test
+    @DisplayName("get: devuelve 200 con la tarjeta completa")
+    void get_ok() {
+        CardDTO dto = CardDTO.builder().id(1L).title("Tarea 1").description("Descripción").listId(20L).build();
+        when(cardService.findById(20L, 1L, user)).thenReturn(dto);
+
+        ResponseEntity<CardDTO> result = cardController.get(user, 20L, 1L);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody().getDescription()).isEqualTo("Descripción");
+    }
+
     @Test
     @DisplayName("delete: devuelve 204")
     void delete_ok() {
-        when(authService.getCurrentUser("user@test.com")).thenReturn(user);
 
-        ResponseEntity<Void> result = cardController.delete(principal, 20L, 5L);
+        ResponseEntity<Void> result = cardController.delete(user, 20L, 5L);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
         verify(cardService).delete(5L, user);
@@ -0,0 +1,74 @@
+package com.davivienda.controller;
+
+import com.davivienda.dto.CreateLabelRequest;
+import com.davivienda.dto.LabelDTO;
+import com.davivienda.model.User;
+import com.davivienda.service.LabelService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias del LabelController.
+ */
+@ExtendWith(MockitoExtension.class)
+class LabelControllerTest {
+
+    @Mock
+    private LabelService labelService;
+
+    @InjectMocks
+    private LabelController labelController;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(1L).email("user@test.com").nombre("Usuario").build();
+    }
+
+    @Test
+    @DisplayName("create: devuelve 201 y la etiqueta creada")
+    void create_ok() {
+        LabelDTO dto = LabelDTO.builder().id(5L).projectId(10L).name("Urgente").color("#eb5a46").cardCount(0).build();
+        when(labelService.create(10L, user, "Urgente", "#eb5a46")).thenReturn(dto);
+
+        ResponseEntity<LabelDTO> result = labelController.create(user, 10L, new CreateLabelRequest("Urgente", "#eb5a46"));
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(result.getBody()).isEqualTo(dto);
+    }
+
+    @Test
+    @DisplayName("list: devuelve 200 con las etiquetas del proyecto")
+    void list_ok() {
+        when(labelService.findByProjectId(10L, user)).thenReturn(List.of(LabelDTO.builder().id(5L).name("Urgente").build()));
+
+        ResponseEntity<List<LabelDTO>> result = labelController.list(user, 10L);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("addToCard y removeFromCard: devuelven 204")
+    void addAndRemove_noContent() {
+        assertThat(labelController.addToCard(user, 10L, 5L, 30L).getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(labelController.removeFromCard(user, 10L, 5L, 30L).getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        verify(labelService).addToCard(10L, 5L, 30L, user);
+        verify(labelService).removeFromCard(10L, 5L, 30L, user);
+    }
+}
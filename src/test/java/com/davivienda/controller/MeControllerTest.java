@@ -0,0 +1,49 @@
+package com.davivienda.controller;
+
+import com.davivienda.dto.AssignedCardDTO;
+import com.davivienda.dto.AssignedCardPageDTO;
+import com.davivienda.model.User;
+import com.davivienda.service.CardService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias del MeController.
+ */
+@ExtendWith(MockitoExtension.class)
+class MeControllerTest {
+
+    @Mock
+    private CardService cardService;
+
+    @InjectMocks
+    private MeController meController;
+
+    @Test
+    @DisplayName("myCards: devuelve 200 con las tarjetas asignadas y el cursor siguiente")
+    void myCards_ok() {
+        User user = User.builder().id(1L).email("user@test.com").nombre("Usuario").build();
+        AssignedCardPageDTO page = AssignedCardPageDTO.builder()
+                .items(List.of(AssignedCardDTO.builder().id(30L).title("Informe").projectId(10L).build()))
+                .nextCursor("abc")
+                .build();
+        when(cardService.findAssignedTo(user, 10L, true, 7, 50, null)).thenReturn(page);
+
+        ResponseEntity<AssignedCardPageDTO> result = meController.myCards(user, 10L, true, 7, 50, null);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody().getItems()).hasSize(1);
+        assertThat(result.getBody().getNextCursor()).isEqualTo("abc");
+    }
+}
@@ -0,0 +1,51 @@
+package com.davivienda.controller;
+
+import com.davivienda.dto.CardFilter;
+import com.davivienda.dto.CardPageDTO;
+import com.davivienda.dto.CardSummaryDTO;
+import com.davivienda.model.User;
+import com.davivienda.service.CardService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias del ProjectCardController.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProjectCardControllerTest {
+
+    @Mock
+    private CardService cardService;
+
+    @InjectMocks
+    private ProjectCardController projectCardController;
+
+    @Test
+    @DisplayName("filter: devuelve 200 con las tarjetas que cumplen el filtro y el cursor siguiente")
+    void filter_ok() {
+        User user = User.builder().id(1L).email("user@test.com").nombre("Usuario").build();
+        CardFilter filter = CardFilter.builder().assigneeId(2L).titlePrefix("inf").build();
+        CardPageDTO page = CardPageDTO.builder()
+                .items(List.of(CardSummaryDTO.builder().id(30L).title("Informe").listId(20L).build()))
+                .nextCursor("abc")
+                .build();
+        when(cardService.filter(10L, user, filter, 50, null)).thenReturn(page);
+
+        ResponseEntity<CardPageDTO> result = projectCardController.filter(user, 10L, filter, 50, null);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody().getItems()).hasSize(1);
+        assertThat(result.getBody().getNextCursor()).isEqualTo("abc");
+    }
+}
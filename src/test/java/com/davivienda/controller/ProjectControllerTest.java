@@ -2,9 +2,9 @@ package com.davivienda.controller;
 
 import com.davivienda.dto.CreateProjectRequest;
 import com.davivienda.dto.ProjectDTO;
+import com.davivienda.dto.ProjectPageDTO;
+import com.davivienda.dto.ProjectPurgeDTO;
 import com.davivienda.model.User;
-import com.davivienda.security.UserPrincipal;
-import com.davivienda.service.AuthService;
 import com.davivienda.service.ProjectService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -21,12 +21,13 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
  * Pruebas unitarias del ProjectController.
- * Se mockean AuthService y ProjectService; el principal (usuario logueado) se simula con UserPrincipal.
+ * Se mockea ProjectService; el usuario autenticado se pasa directamente como lo haría CurrentUserArgumentResolver.
  */
 @ExtendWith(MockitoExtension.class)
 class ProjectControllerTest {
@@ -34,19 +35,14 @@ class ProjectControllerTest {
     @Mock
     private ProjectService projectService;
 
-    @Mock
-    private AuthService authService;
-
     @InjectMocks
     private ProjectController projectController;
 
-    private UserPrincipal principal;
     private User user;
     private CreateProjectRequest createRequest;
 
     @BeforeEach
     void setUp() {
-        principal = new UserPrincipal(1L, "user@test.com");
         user = User.builder().id(1L).email("user@test.com").nombre("Usuario").role(User.Role.USER).build();
         createRequest = new CreateProjectRequest();
         createRequest.setName("Nuevo Proyecto");
@@ -57,10 +53,9 @@ class ProjectControllerTest {
     @DisplayName("create: devuelve 201 y el proyecto creado")
     void create_ok() {
         ProjectDTO dto = ProjectDTO.builder().id(1L).name("Nuevo Proyecto").description("Descripción").build();
-        when(authService.getCurrentUser("user@test.com")).thenReturn(user);
         when(projectService.create(eq(user), eq("Nuevo Proyecto"), eq("Descripción"))).thenReturn(dto);
 
-        ResponseEntity<ProjectDTO> result = projectController.create(principal, createRequest);
+        ResponseEntity<ProjectDTO> result = projectController.create(user, createRequest);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.CREATED);
         assertThat(result.getBody()).isNotNull();
@@ -74,37 +69,79 @@ class ProjectControllerTest {
                 ProjectDTO.builder().id(1L).name("Proyecto 1").build(),
                 ProjectDTO.builder().id(2L).name("Proyecto 2").build()
         );
-        when(authService.getCurrentUser("user@test.com")).thenReturn(user);
         when(projectService.findByUser(user)).thenReturn(proyectos);
 
-        ResponseEntity<List<ProjectDTO>> result = projectController.list(principal);
+        ResponseEntity<List<ProjectDTO>> result = projectController.list(user);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(result.getBody()).hasSize(2);
     }
 
+    @Test
+    @DisplayName("listPage: devuelve 200 con la página y el cursor siguiente")
+    void listPage_ok() {
+        ProjectPageDTO page = ProjectPageDTO.builder()
+                .items(List.of(ProjectDTO.builder().id(1L).name("Proyecto 1").cardCount(3L).build()))
+                .nextCursor("abc")
+                .build();
+        when(projectService.findPageByUser(user, 1, null)).thenReturn(page);
+
+        ResponseEntity<ProjectPageDTO> result = projectController.listPage(user, 1, null);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody().getNextCursor()).isEqualTo("abc");
+    }
+
     @Test
     @DisplayName("getById: devuelve 200 y el proyecto")
     void getById_ok() {
         ProjectDTO dto = ProjectDTO.builder().id(10L).name("Mi Proyecto").build();
-        when(authService.getCurrentUser("user@test.com")).thenReturn(user);
+        when(projectService.getBoardVersion(10L, user)).thenReturn(7L);
         when(projectService.getById(10L, user)).thenReturn(dto);
 
-        ResponseEntity<ProjectDTO> result = projectController.getById(principal, 10L);
+        ResponseEntity<ProjectDTO> result = projectController.getById(user, 10L, null);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(result.getBody().getId()).isEqualTo(10L);
+        assertThat(result.getHeaders().getETag()).isEqualTo("\"10-7\"");
     }
 
     @Test
-    @DisplayName("delete: devuelve 204 sin cuerpo")
+    @DisplayName("getById: con If-None-Match de la versión actual devuelve 304 sin cargar el tablero")
+    void getById_noModificado() {
+        when(projectService.getBoardVersion(10L, user)).thenReturn(7L);
+
+        ResponseEntity<ProjectDTO> result = projectController.getById(user, 10L, "W/\"10-6\", \"10-7\"");
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(result.getBody()).isNull();
+        assertThat(result.getHeaders().getETag()).isEqualTo("\"10-7\"");
+        verify(projectService, never()).getById(any(), any());
+    }
+
+    @Test
+    @DisplayName("delete: borrado en la petición devuelve 204 sin cuerpo")
     void delete_ok() {
-        when(authService.getCurrentUser("user@test.com")).thenReturn(user);
+        when(projectService.delete(10L, user)).thenReturn(ProjectPurgeDTO.builder()
+                .projectId(10L).status(ProjectPurgeDTO.Status.DONE).cardsTotal(3).cardsDeleted(3).build());
 
-        ResponseEntity<Void> result = projectController.delete(principal, 10L);
+        ResponseEntity<ProjectPurgeDTO> result = projectController.delete(user, 10L);
 
         assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
         assertThat(result.getBody()).isNull();
         verify(projectService).delete(10L, user);
     }
+
+    @Test
+    @DisplayName("delete: proyecto grande devuelve 202 con el borrado pendiente")
+    void delete_enSegundoPlano() {
+        ProjectPurgeDTO pending = ProjectPurgeDTO.builder()
+                .projectId(10L).status(ProjectPurgeDTO.Status.PENDING).cardsTotal(50_000).build();
+        when(projectService.delete(10L, user)).thenReturn(pending);
+
+        ResponseEntity<ProjectPurgeDTO> result = projectController.delete(user, 10L);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(result.getBody()).isSameAs(pending);
+    }
 }
@@ -0,0 +1,54 @@
+package com.davivienda.controller;
+
+import com.davivienda.dto.CardDTO;
+import com.davivienda.dto.CardSearchHitDTO;
+import com.davivienda.dto.CardSearchPageDTO;
+import com.davivienda.model.User;
+import com.davivienda.service.SearchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias del SearchController.
+ */
+@ExtendWith(MockitoExtension.class)
+class SearchControllerTest {
+
+    @Mock
+    private SearchService searchService;
+
+    @InjectMocks
+    private SearchController searchController;
+
+    @Test
+    @DisplayName("search: devuelve 200 con los resultados y el cursor siguiente")
+    void search_ok() {
+        User user = User.builder().id(1L).email("user@test.com").nombre("Usuario").build();
+        CardSearchPageDTO page = CardSearchPageDTO.builder()
+                .items(List.of(CardSearchHitDTO.builder()
+                        .projectId(10L)
+                        .score(1.5f)
+                        .card(CardDTO.builder().id(30L).title("Informe").build())
+                        .build()))
+                .nextCursor("abc")
+                .build();
+        when(searchService.searchCards(user, "informe", 20, null)).thenReturn(page);
+
+        ResponseEntity<CardSearchPageDTO> result = searchController.search(user, "informe", 20, null);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(result.getBody().getItems()).hasSize(1);
+        assertThat(result.getBody().getNextCursor()).isEqualTo("abc");
+    }
+}
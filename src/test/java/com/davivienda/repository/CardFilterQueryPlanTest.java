@@ -0,0 +1,327 @@
+package com.davivienda.repository;
+
+import com.davivienda.dto.CardFilter;
+import com.davivienda.dto.CardPageDTO;
+import com.davivienda.service.BoardChangeService;
+import com.davivienda.service.BoardSnapshotService;
+import com.davivienda.model.BoardList;
+import com.davivienda.model.Project;
+import com.davivienda.model.User;
+import com.davivienda.service.CardService;
+import com.davivienda.service.ProjectService;
+import com.davivienda.util.TitleKeys;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de plan de consulta del filtro de tarjetas en H2: cada combinación de filtros se ejecuta por el servicio, se
+ * capturan las sentencias SQL generadas (una por lista recorrida) con sus parámetros y se comprueba con EXPLAIN qué
+ * índice usa H2 para leer card.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("queryplan")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CardFilterQueryPlanTest {
+
+    private static final int PROJECTS = 10;
+    private static final int LISTS_PER_PROJECT = 8;
+    private static final int CARDS_PER_LIST = 50;
+    private static final int USERS = 20;
+    private static final String LIST_FK = "LIST_FK";
+    /** Índice con el que se lee card: {@code "PUBLIC"."CARD" "C1_0" /* PUBLIC.INDICE: condición}. */
+    private static final Pattern CARD_ACCESS = Pattern.compile("\"PUBLIC\"\\.\"CARD\" \"\\w+\"\\s*/\\* PUBLIC\\.(\\w+):?([^*]*)");
+    private static final List<Statement> statements = new ArrayList<>();
+
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private BoardSnapshotService boardSnapshotService;
+    @Autowired
+    private BoardChangeService boardChangeService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private BoardListRepository boardListRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private Long projectId;
+    private Long listId;
+    private Long assigneeId;
+    private String listForeignKeyIndex;
+
+    @BeforeAll
+    void seed() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder().email("plan" + i + "@test.com").password("x").nombre("Usuario " + i)
+                    .role(User.Role.USER).build());
+        }
+        users = userRepository.saveAll(users);
+        owner = users.get(0);
+        assigneeId = users.get(1).getId();
+        List<Long> listIds = new ArrayList<>();
+        for (int p = 0; p < PROJECTS; p++) {
+            Long id = projectService.create(owner, "Proyecto " + p, null).getId();
+            Project project = projectRepository.getReferenceById(id);
+            for (int l = 0; l < LISTS_PER_PROJECT; l++) {
+                listIds.add(boardListRepository.save(BoardList.builder()
+                        .title("Lista " + l).rank(String.format("l%04d", l)).project(project).build()).getId());
+            }
+            if (p == 0) {
+                projectId = id;
+            }
+        }
+        listId = listIds.get(0);
+        Random random = new Random(11);
+        LocalDate today = LocalDate.now();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String[] words = {"diseño", "informe", "revisar", "publicar", "preparar", "llamar", "enviar", "cerrar"};
+        List<Object[]> rows = new ArrayList<>();
+        long id = 1_000_000L;
+        for (Long list : listIds) {
+            for (int c = 0; c < CARDS_PER_LIST; c++) {
+                String title = words[random.nextInt(words.length)] + " " + random.nextInt(10_000);
+                Date dueDate = random.nextInt(4) == 0 ? null : Date.valueOf(today.plusDays(random.nextInt(365) - 60));
+                Long assignee = random.nextInt(3) == 0 ? null : users.get(random.nextInt(USERS)).getId();
+                rows.add(new Object[]{id++, title, TitleKeys.of(title), String.format("c%05d", c),
+                        list, assignee, dueDate, now, now});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO card (id, title, title_key, rank_key, list_id, assignee_id, due_date, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE");
+        // H2 crea un índice para cada clave foránea; el de list_id sirve igual que (list_id, rank_key, id)
+        listForeignKeyIndex = jdbcTemplate.queryForObject("SELECT tc.INDEX_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc "
+                + "JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE k ON k.CONSTRAINT_NAME = tc.CONSTRAINT_NAME "
+                + "WHERE tc.TABLE_NAME = 'CARD' AND tc.CONSTRAINT_TYPE = 'FOREIGN KEY' AND k.COLUMN_NAME = 'LIST_ID'", String.class);
+    }
+
+    /** Combinaciones de filtros y los índices con los que H2 puede leer card (LIST_FK: el de la clave foránea list_id). */
+    static Stream<Arguments> filters() {
+        LocalDate today = LocalDate.now();
+        return Stream.of(
+                plan("sin filtros", t -> new CardFilter(), "IDX_CARD_LIST_RANK", LIST_FK),
+                plan("lista", t -> CardFilter.builder().listId(t.listId).build(), "IDX_CARD_LIST_RANK", LIST_FK),
+                plan("responsable", t -> CardFilter.builder().assigneeId(t.assigneeId).build(),
+                        "IDX_CARD_LIST_RANK", LIST_FK, "IDX_CARD_ASSIGNEE_DUE"),
+                plan("sin responsable", t -> CardFilter.builder().unassigned(true).build(), "IDX_CARD_LIST_RANK", LIST_FK),
+                plan("rango de fechas", t -> CardFilter.builder().dueFrom(today).dueTo(today.plusDays(7)).build(),
+                        "IDX_CARD_LIST_DUE"),
+                plan("hasta una fecha", t -> CardFilter.builder().dueTo(today).build(), "IDX_CARD_LIST_DUE"),
+                plan("prefijo", t -> CardFilter.builder().titlePrefix("Diseño 1").build(), "IDX_CARD_LIST_TITLE"),
+                plan("lista + prefijo", t -> CardFilter.builder().listId(t.listId).titlePrefix("inf").build(),
+                        "IDX_CARD_LIST_TITLE"),
+                plan("lista + fechas", t -> CardFilter.builder().listId(t.listId).dueFrom(today).dueTo(today.plusDays(7)).build(),
+                        "IDX_CARD_LIST_DUE"),
+                plan("responsable + fechas", t -> CardFilter.builder().assigneeId(t.assigneeId).dueTo(today).build(),
+                        "IDX_CARD_LIST_DUE", "IDX_CARD_ASSIGNEE_DUE"),
+                plan("prefijo + fechas", t -> CardFilter.builder().titlePrefix("rev").dueFrom(today).build(),
+                        "IDX_CARD_LIST_TITLE", "IDX_CARD_LIST_DUE"),
+                plan("todos", t -> CardFilter.builder().listId(t.listId).assigneeId(t.assigneeId).dueFrom(today)
+                        .dueTo(today.plusDays(30)).titlePrefix("e").build(), "IDX_CARD_LIST_TITLE", "IDX_CARD_LIST_DUE"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filters")
+    @DisplayName("filter: cada consulta lee card con un rango del índice de una lista")
+    void filter_usaIndice(String name, Function<CardFilterQueryPlanTest, CardFilter> filter, List<String> indexes) {
+        statements.clear();
+        cardService.filter(projectId, owner, filter.apply(this), 20, null);
+
+        List<Access> accesses = cardAccesses();
+        assertThat(accesses).isNotEmpty().hasSizeLessThanOrEqualTo(LISTS_PER_PROJECT);
+        for (Access access : accesses) {
+            assertThat(access.index()).isIn(indexes.stream().map(i -> i.equals(LIST_FK) ? listForeignKeyIndex : i).toList());
+            assertThat(access.condition()).contains("LIST_ID = ?");
+            if (access.index().equals("IDX_CARD_LIST_TITLE")) {
+                assertThat(access.condition()).contains("TITLE_KEY >=");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("filter: si la primera lista llena la página no consulta las demás")
+    void filter_paraAlLlenarLaPagina() {
+        statements.clear();
+        cardService.filter(projectId, owner, new CardFilter(), 20, null);
+
+        List<Access> accesses = cardAccesses();
+        // Las dos empiezan por list_id; H2 elige a veces su índice de la clave foránea y ordena las tarjetas de la lista
+        assertThat(accesses).hasSize(1);
+        assertThat(accesses.get(0).index()).isIn("IDX_CARD_LIST_RANK", listForeignKeyIndex);
+        assertThat(accesses.get(0).condition()).isEqualTo("LIST_ID = ?1");
+    }
+
+    @Test
+    @DisplayName("filter: la página siguiente empieza el rango de la lista en el cursor")
+    void filter_paginaSiguienteUsaIndice() {
+        CardFilter filter = CardFilter.builder().listId(listId).build();
+        CardPageDTO first = cardService.filter(projectId, owner, filter, 5, null);
+        statements.clear();
+        cardService.filter(projectId, owner, filter, 5, first.getNextCursor());
+
+        List<Access> accesses = cardAccesses();
+        assertThat(accesses).hasSize(1);
+        assertThat(accesses.get(0).index()).isEqualTo("IDX_CARD_LIST_RANK");
+        assertThat(accesses.get(0).condition()).contains("RANK_KEY >=");
+    }
+
+    @Test
+    @DisplayName("filter: recorrer las páginas devuelve las mismas tarjetas y en el mismo orden que la consulta directa")
+    void filter_recorridoCompleto() {
+        LocalDate today = LocalDate.now();
+        CardFilter filter = CardFilter.builder().titlePrefix("I").dueTo(today.plusDays(90)).build();
+        List<Long> expected = jdbcTemplate.queryForList("SELECT c.id FROM card c JOIN board_list l ON l.id = c.list_id "
+                + "WHERE l.project_id = ? AND c.title_key LIKE 'i%' AND c.due_date <= ? ORDER BY l.rank_key, l.id, c.rank_key, c.id",
+                Long.class, projectId, Date.valueOf(today.plusDays(90)));
+
+        List<Long> walked = new ArrayList<>();
+        String after = null;
+        do {
+            CardPageDTO page = cardService.filter(projectId, owner, filter, 7, after);
+            page.getItems().forEach(card -> walked.add(card.getId()));
+            after = page.getNextCursor();
+        } while (after != null);
+
+        assertThat(expected).hasSizeGreaterThan(7);
+        assertThat(walked).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("lecturas del tablero: ninguna consulta de tarjetas selecciona la descripción")
+    void lecturasDelTablero_sinDescripcion() {
+        statements.clear();
+        boardSnapshotService.getSnapshot(projectId, owner);
+        boardChangeService.getChanges(projectId, owner, 0);
+        cardService.findByListId(listId, owner);
+        cardService.findPageByListId(listId, owner, 20, null);
+        cardService.filter(projectId, owner, CardFilter.builder().assigneeId(assigneeId).build(), 20, null);
+
+        List<String> cardSelects = statements.stream().map(Statement::sql)
+                .filter(sql -> sql.startsWith("select") && sql.contains(" card "))
+                .toList();
+        assertThat(cardSelects).isNotEmpty().noneMatch(sql -> sql.contains(".description"));
+    }
+
+    /** Índice y condición de acceso a card en el plan de cada consulta de tarjetas capturada. */
+    private List<Access> cardAccesses() {
+        List<Access> accesses = new ArrayList<>();
+        List<Statement> selects = statements.stream()
+                .filter(s -> s.sql().startsWith("select") && s.sql().contains(" card "))
+                // la carga del índice de etiquetas del proyecto (una vez) no es parte del filtro
+                .filter(s -> !s.sql().contains(" card_label "))
+                .toList();
+        for (Statement select : selects) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + select.sql(), String.class, select.parameters().toArray());
+            Matcher matcher = CARD_ACCESS.matcher(plan);
+            assertThat(matcher.find()).as(plan).isTrue();
+            accesses.add(new Access(matcher.group(1), matcher.group(2).strip(), plan));
+        }
+        return accesses;
+    }
+
+    private static Arguments plan(String name, Function<CardFilterQueryPlanTest, CardFilter> filter, String... indexes) {
+        return Arguments.of(name, filter, List.of(indexes));
+    }
+
+    record Access(String index, String condition, String plan) {
+    }
+
+    record Statement(String sql, List<Object> parameters) {
+    }
+
+    /** Registra el SQL y los parámetros de cada PreparedStatement que se prepara a través del DataSource. */
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor statementCapture() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || !beanName.equals("dataSource")) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return capturing(super.getConnection());
+                        }
+                    };
+                }
+            };
+        }
+
+        private static Connection capturing(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement ps) {
+                            return capturing(ps, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement capturing(PreparedStatement statement, String sql) {
+            TreeMap<Integer, Object> parameters = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            parameters.put(index, args[1]);
+                        } else if (method.getName().equals("executeQuery")) {
+                            statements.add(new Statement(sql, new ArrayList<>(parameters.values())));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
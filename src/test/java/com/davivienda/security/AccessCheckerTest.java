@@ -0,0 +1,98 @@
+package com.davivienda.security;
+
+import com.davivienda.event.ProjectMembershipEvent;
+import com.davivienda.exception.BadResourceRequestException;
+import com.davivienda.model.Project;
+import com.davivienda.model.ProjectMember;
+import com.davivienda.model.User;
+import com.davivienda.repository.ProjectMemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias de AccessChecker (caché de membresías por usuario).
+ */
+@ExtendWith(MockitoExtension.class)
+class AccessCheckerTest {
+
+    @Mock
+    private ProjectMemberRepository projectMemberRepository;
+
+    @InjectMocks
+    private AccessChecker accessChecker;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(1L).email("user@test.com").build();
+    }
+
+    private ProjectMember membership(long projectId, ProjectMember.Role role) {
+        return ProjectMember.builder().project(Project.builder().id(projectId).build()).user(user).role(role).build();
+    }
+
+    @Test
+    @DisplayName("ensureMember: carga las membresías una sola vez por usuario")
+    void ensureMember_cargaUnaVez() {
+        when(projectMemberRepository.findByUserId(1L)).thenReturn(List.of(
+                membership(30L, ProjectMember.Role.MEMBER), membership(10L, ProjectMember.Role.OWNER)));
+
+        accessChecker.ensureMember(10L, user);
+        accessChecker.ensureMember(30L, user);
+
+        verify(projectMemberRepository, times(1)).findByUserId(1L);
+        assertThat(accessChecker.roleOf(10L, user)).isEqualTo(ProjectMember.Role.OWNER);
+    }
+
+    @Test
+    @DisplayName("ensureMember: sin membresía lanza BadResourceRequestException")
+    void ensureMember_noEsMiembro_lanzaExcepcion() {
+        when(projectMemberRepository.findByUserId(1L)).thenReturn(List.of(membership(10L, ProjectMember.Role.MEMBER)));
+
+        assertThatThrownBy(() -> accessChecker.ensureMember(20L, user))
+                .isInstanceOf(BadResourceRequestException.class)
+                .hasMessageContaining("No tienes acceso");
+    }
+
+    @Test
+    @DisplayName("ensureOwner: un MEMBER no puede realizar acciones de propietario")
+    void ensureOwner_member_lanzaExcepcion() {
+        when(projectMemberRepository.findByUserId(1L)).thenReturn(List.of(membership(10L, ProjectMember.Role.MEMBER)));
+
+        assertThatThrownBy(() -> accessChecker.ensureOwner(10L, user))
+                .isInstanceOf(BadResourceRequestException.class)
+                .hasMessageContaining("Solo el propietario");
+    }
+
+    @Test
+    @DisplayName("eventos: altas, bajas y borrado de proyecto actualizan la caché sin recargar")
+    void eventos_actualizanCache() {
+        when(projectMemberRepository.findByUserId(1L)).thenReturn(List.of(membership(10L, ProjectMember.Role.OWNER)));
+        accessChecker.ensureMember(10L, user);
+
+        accessChecker.onMembershipChanged(ProjectMembershipEvent.memberAdded(20L, 1L, ProjectMember.Role.MEMBER));
+        assertThat(accessChecker.isMember(20L, user)).isTrue();
+
+        accessChecker.onMembershipChanged(ProjectMembershipEvent.memberRemoved(20L, 1L));
+        assertThat(accessChecker.isMember(20L, user)).isFalse();
+
+        accessChecker.onMembershipChanged(ProjectMembershipEvent.projectDeleted(10L));
+        assertThat(accessChecker.isMember(10L, user)).isFalse();
+
+        verify(projectMemberRepository, times(1)).findByUserId(1L);
+    }
+}
@@ -0,0 +1,61 @@
+package com.davivienda.security;
+
+import com.davivienda.model.User;
+import com.davivienda.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias de CurrentUserArgumentResolver.
+ */
+@ExtendWith(MockitoExtension.class)
+class CurrentUserArgumentResolverTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private CurrentUserArgumentResolver resolver;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("resolveArgument: devuelve una referencia por userId sin consultar por email")
+    void resolveArgument_ok() {
+        User reference = User.builder().id(1L).build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(1L, "user@test.com"), null, List.of()));
+        when(userRepository.getReferenceById(1L)).thenReturn(reference);
+
+        Object result = resolver.resolveArgument(null, null, null, null);
+
+        assertThat(result).isSameAs(reference);
+        verify(userRepository, never()).findByEmail("user@test.com");
+    }
+
+    @Test
+    @DisplayName("resolveArgument: sin autenticación lanza AuthenticationCredentialsNotFoundException")
+    void resolveArgument_sinAutenticacion_lanzaExcepcion() {
+        assertThatThrownBy(() -> resolver.resolveArgument(null, null, null, null))
+                .isInstanceOf(AuthenticationCredentialsNotFoundException.class);
+    }
+}
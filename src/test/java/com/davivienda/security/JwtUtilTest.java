@@ -0,0 +1,81 @@
+package com.davivienda.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas unitarias de JwtUtil y su caché de tokens verificados.
+ */
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "KataDavivienda2025SecretKeyParaJWTMinimo32Caracteres");
+        ReflectionTestUtils.setField(jwtUtil, "expirationMs", 3600000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxEntries", 2);
+        jwtUtil.init();
+    }
+
+    @Test
+    @DisplayName("verify: devuelve los claims del token generado")
+    void verify_ok() {
+        String token = jwtUtil.generateToken("user@test.com", 7L, "USER");
+
+        JwtClaims claims = jwtUtil.verify(token);
+
+        assertThat(claims.email()).isEqualTo("user@test.com");
+        assertThat(claims.userId()).isEqualTo(7L);
+        assertThat(claims.role()).isEqualTo("USER");
+        assertThat(claims.expiresAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("verify: la segunda verificación del mismo token sale de caché")
+    void verify_usaCache() {
+        String token = jwtUtil.generateToken("user@test.com", 7L, "USER");
+
+        jwtUtil.verify(token);
+        jwtUtil.verify(token);
+
+        assertThat(jwtUtil.getCacheMisses()).isEqualTo(1);
+        assertThat(jwtUtil.getCacheHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("verify: la caché no supera el máximo de entradas")
+    void verify_cacheAcotada() {
+        jwtUtil.verify(jwtUtil.generateToken("a@test.com", 1L, "USER"));
+        jwtUtil.verify(jwtUtil.generateToken("b@test.com", 2L, "USER"));
+        jwtUtil.verify(jwtUtil.generateToken("c@test.com", 3L, "USER"));
+
+        assertThat(jwtUtil.getCacheSize()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("verify: un token con la firma alterada lanza JwtException y no se cachea")
+    void verify_firmaInvalida_lanzaExcepcion() {
+        String token = jwtUtil.generateToken("user@test.com", 7L, "USER");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtUtil.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThat(jwtUtil.getCacheSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("verify: un token expirado lanza JwtException")
+    void verify_expirado_lanzaExcepcion() {
+        ReflectionTestUtils.setField(jwtUtil, "expirationMs", -1000L);
+        String token = jwtUtil.generateToken("user@test.com", 7L, "USER");
+
+        assertThatThrownBy(() -> jwtUtil.verify(token)).isInstanceOf(JwtException.class);
+    }
+}
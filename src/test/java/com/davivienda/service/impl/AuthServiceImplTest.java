@@ -3,16 +3,19 @@ package com.davivienda.service.impl;
 import com.davivienda.dto.AuthResponse;
 import com.davivienda.dto.LoginRequest;
 import com.davivienda.dto.RegisterRequest;
+import com.davivienda.event.UserChangedEvent;
 import com.davivienda.exception.BadResourceRequestException;
 import com.davivienda.model.User;
 import com.davivienda.repository.UserRepository;
 import com.davivienda.security.JwtUtil;
+import com.davivienda.security.UserIdentityCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -23,6 +26,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -42,6 +46,9 @@ class AuthServiceImplTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Spy
+    private UserIdentityCache userIdentityCache = new UserIdentityCache(10);
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -129,6 +136,7 @@ class AuthServiceImplTest {
     @DisplayName("getCurrentUser: cuando el email existe, devuelve el usuario")
     void getCurrentUser_ok() {
         when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
 
         User result = authService.getCurrentUser("test@test.com");
 
@@ -136,6 +144,34 @@ class AuthServiceImplTest {
         assertThat(result.getEmail()).isEqualTo("test@test.com");
     }
 
+    @Test
+    @DisplayName("getCurrentUser: la segunda llamada con el mismo email no consulta el repositorio")
+    void getCurrentUser_usaCache() {
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
+
+        authService.getCurrentUser("test@test.com");
+        User result = authService.getCurrentUser("test@test.com");
+
+        assertThat(result).isEqualTo(user);
+        verify(userRepository, times(1)).findByEmail("test@test.com");
+        // la caché guarda una copia inmutable: cambiar la entidad cargada no la altera
+        user.setRole(User.Role.ADMIN);
+        assertThat(userIdentityCache.get("test@test.com", Optional::empty).role()).isEqualTo(User.Role.USER);
+    }
+
+    @Test
+    @DisplayName("getCurrentUser: tras invalidar el usuario se vuelve a consultar el repositorio")
+    void getCurrentUser_invalidado_recarga() {
+        when(userRepository.findByEmail("test@test.com")).thenReturn(Optional.of(user));
+
+        authService.getCurrentUser("test@test.com");
+        userIdentityCache.onUserChanged(new UserChangedEvent(user.getId()));
+        authService.getCurrentUser("test@test.com");
+
+        verify(userRepository, times(2)).findByEmail("test@test.com");
+    }
+
     @Test
     @DisplayName("getCurrentUser: cuando el email no existe, lanza BadResourceRequestException")
     void getCurrentUser_noEncontrado_lanzaExcepcion() {
@@ -0,0 +1,153 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.BoardChangesDTO;
+import com.davivienda.dto.CardSummaryDTO;
+import com.davivienda.dto.ProjectDTO;
+import com.davivienda.event.BoardChangedEvent;
+import com.davivienda.model.BoardChange;
+import com.davivienda.model.User;
+import com.davivienda.repository.BoardChangeRepository;
+import com.davivienda.repository.BoardListRepository;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.repository.ProjectRepository;
+import com.davivienda.service.BoardSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias del registro de cambios del tablero.
+ */
+@ExtendWith(MockitoExtension.class)
+class BoardChangeServiceImplTest {
+
+    @Mock
+    private BoardChangeRepository boardChangeRepository;
+
+    @Mock
+    private BoardSnapshotService boardSnapshotService;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private BoardListRepository boardListRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BoardChangeServiceImpl boardChangeService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(1L).email("user@test.com").nombre("Usuario").build();
+        boardChangeService.init();
+    }
+
+    private BoardChange change(long version, BoardChangedEvent.Type type, Long entityId) {
+        return BoardChange.builder().projectId(10L).version(version).type(type).entityId(entityId).build();
+    }
+
+    @Test
+    @DisplayName("getChanges: devuelve solo lo cambiado desde since, con lápidas para lo eliminado")
+    void getChanges_incremental() {
+        when(boardSnapshotService.getVersion(10L, user)).thenReturn(7L);
+        when(boardChangeRepository.findBetweenVersions(eq(10L), eq(5L), eq(7L), any())).thenReturn(List.of(
+                change(6, BoardChangedEvent.Type.CARD_CREATED, 30L),
+                change(6, BoardChangedEvent.Type.CARD_CREATED, 31L),
+                change(7, BoardChangedEvent.Type.CARD_MOVED, 30L),
+                change(7, BoardChangedEvent.Type.CARD_DELETED, 31L)));
+        when(cardRepository.findSummariesByIdInAndProjectId(anyList(), eq(10L))).thenReturn(List.of(
+                new CardSummaryDTO(30L, "Tarea", "i", 20L, null, null, null, null, null)));
+
+        BoardChangesDTO result = boardChangeService.getChanges(10L, user, 5L);
+
+        assertThat(result.isFull()).isFalse();
+        assertThat(result.getVersion()).isEqualTo(7L);
+        assertThat(result.getCards()).extracting("id", "listId").containsExactly(tuple(30L, 20L));
+        assertThat(result.getDeleted()).extracting("entityType", "id", "version")
+                .containsExactly(tuple(BoardChangedEvent.Entity.CARD, 31L, 7L));
+        verify(cardRepository).findSummariesByIdInAndProjectId(List.of(30L), 10L);
+        verify(boardSnapshotService, never()).getSnapshot(any(), any());
+    }
+
+    @Test
+    @DisplayName("getChanges: since igual a la versión actual no consulta el registro")
+    void getChanges_alDia() {
+        when(boardSnapshotService.getVersion(10L, user)).thenReturn(7L);
+
+        BoardChangesDTO result = boardChangeService.getChanges(10L, user, 7L);
+
+        assertThat(result.isFull()).isFalse();
+        assertThat(result.getCards()).isEmpty();
+        assertThat(result.getDeleted()).isEmpty();
+        verifyNoInteractions(boardChangeRepository);
+    }
+
+    @Test
+    @DisplayName("getChanges: si el registro está compactado devuelve el tablero completo")
+    void getChanges_huecoCompactado_devuelveCompleto() {
+        when(boardSnapshotService.getVersion(10L, user)).thenReturn(7L);
+        when(boardChangeRepository.findBetweenVersions(eq(10L), eq(2L), eq(7L), any())).thenReturn(List.of(
+                change(6, BoardChangedEvent.Type.CARD_CREATED, 30L),
+                change(7, BoardChangedEvent.Type.CARD_MOVED, 30L)));
+        when(boardSnapshotService.getSnapshot(10L, user)).thenReturn(ProjectDTO.builder().id(10L).boardVersion(7L).build());
+
+        BoardChangesDTO result = boardChangeService.getChanges(10L, user, 2L);
+
+        assertThat(result.isFull()).isTrue();
+        assertThat(result.getVersion()).isEqualTo(7L);
+        assertThat(result.getProject().getId()).isEqualTo(10L);
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    @DisplayName("getChanges: una importación en el hueco obliga a recargar el tablero")
+    void getChanges_recarga_devuelveCompleto() {
+        when(boardSnapshotService.getVersion(10L, user)).thenReturn(6L);
+        when(boardChangeRepository.findBetweenVersions(eq(10L), eq(5L), eq(6L), any())).thenReturn(List.of(
+                change(6, BoardChangedEvent.Type.BOARD_RELOADED, null)));
+        when(boardSnapshotService.getSnapshot(10L, user)).thenReturn(ProjectDTO.builder().id(10L).boardVersion(6L).build());
+
+        assertThat(boardChangeService.getChanges(10L, user, 5L).isFull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("compact: borra lo antiguo por lotes, cada uno en su transacción, hasta que no queda nada")
+    void compact_porLotes() {
+        ReflectionTestUtils.setField(boardChangeService, "compactionChunkSize", 2);
+        when(boardChangeRepository.findIdsOlderThan(any(), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(1L, 2L), List.of(3L), List.of());
+        when(boardChangeRepository.deleteByIdIn(anyList())).thenAnswer(inv -> inv.<List<Long>>getArgument(0).size());
+
+        int removed = boardChangeService.compact();
+
+        assertThat(removed).isEqualTo(3);
+        verify(boardChangeRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(boardChangeRepository).deleteByIdIn(List.of(3L));
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(3)).commit(any());
+    }
+}
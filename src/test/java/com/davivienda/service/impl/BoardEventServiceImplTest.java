@@ -0,0 +1,146 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.event.BoardChangedEvent;
+import com.davivienda.event.BoardCommittedEvent;
+import com.davivienda.event.ProjectMembershipEvent;
+import com.davivienda.exception.BadResourceRequestException;
+import com.davivienda.model.BoardChange;
+import com.davivienda.model.User;
+import com.davivienda.repository.BoardChangeRepository;
+import com.davivienda.service.BoardSnapshotService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias del flujo SSE de cambios del tablero.
+ */
+@ExtendWith(MockitoExtension.class)
+class BoardEventServiceImplTest {
+
+    @Mock
+    private BoardSnapshotService boardSnapshotService;
+
+    @Mock
+    private BoardChangeRepository boardChangeRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private BoardEventServiceImpl boardEventService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(1L).email("user@test.com").nombre("Usuario").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        boardEventService.shutdown();
+    }
+
+    @Test
+    @DisplayName("subscribe: sin acceso al proyecto no registra la suscripción")
+    void subscribe_sinAcceso() {
+        when(boardSnapshotService.getVersion(10L, user)).thenThrow(new BadResourceRequestException("No tienes acceso a este proyecto"));
+
+        assertThatThrownBy(() -> boardEventService.subscribe(10L, user, null)).isInstanceOf(BadResourceRequestException.class);
+        assertThat(boardEventService.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("subscribe: sin Last-Event-ID no consulta el registro de cambios")
+    void subscribe_sinLastEventId() {
+        when(boardSnapshotService.getVersion(10L, user)).thenReturn(4L);
+
+        assertThat(boardEventService.subscribe(10L, user, null)).isNotNull();
+        boardEventService.onBoardCommitted(new BoardCommittedEvent(10L, 5L,
+                List.of(BoardChangedEvent.card(10L, BoardChangedEvent.Type.CARD_MOVED, 30L))));
+
+        assertThat(boardEventService.getSubscriberCount()).isEqualTo(1);
+        verifyNoInteractions(boardChangeRepository);
+    }
+
+    @Test
+    @DisplayName("subscribe: con Last-Event-ID atrasado reenvía los cambios desde el registro")
+    void subscribe_reanuda() throws Exception {
+        when(boardSnapshotService.getVersion(10L, user)).thenReturn(7L);
+        when(boardChangeRepository.findBetweenVersions(eq(10L), eq(5L), eq(7L), any())).thenReturn(List.of(
+                BoardChange.builder().projectId(10L).version(6L).type(BoardChangedEvent.Type.CARD_CREATED).entityId(30L).build(),
+                BoardChange.builder().projectId(10L).version(7L).type(BoardChangedEvent.Type.CARD_MOVED).entityId(30L).build()));
+
+        boardEventService.subscribe(10L, user, 5L);
+
+        verify(boardChangeRepository).findBetweenVersions(eq(10L), eq(5L), eq(7L), any());
+        verify(objectMapper, times(2)).writeValueAsString(any());
+    }
+
+    @Test
+    @DisplayName("subscribe: un cambio confirmado entre el registro y la lectura de la versión llega una sola vez")
+    void subscribe_cambioDuranteLaSuscripcion() throws Exception {
+        when(boardSnapshotService.getVersion(10L, user)).thenAnswer(inv -> {
+            // el cambio se confirma con la suscripción ya registrada y antes de leer la versión
+            boardEventService.onBoardCommitted(new BoardCommittedEvent(10L, 8L,
+                    List.of(BoardChangedEvent.card(10L, BoardChangedEvent.Type.CARD_MOVED, 30L))));
+            return 8L;
+        });
+        when(boardChangeRepository.findBetweenVersions(eq(10L), eq(7L), eq(8L), any())).thenReturn(List.of(
+                BoardChange.builder().projectId(10L).version(8L).type(BoardChangedEvent.Type.CARD_MOVED).entityId(30L).build()));
+
+        SseEmitter emitter = boardEventService.subscribe(10L, user, 7L);
+
+        // lo envían el reenvío inicial y el hilo que vacía el buffer: se espera a que este termine
+        long deadline = System.currentTimeMillis() + 2000;
+        while (sentVersions(emitter, 8L) == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        assertThat(sentVersions(emitter, 8L)).isEqualTo(1);
+        verify(objectMapper, times(2)).writeValueAsString(any());
+    }
+
+    @Test
+    @DisplayName("onMembershipChanged: al quitar al miembro se cierra su suscripción")
+    void onMembershipChanged_cierraSuscripcion() {
+        when(boardSnapshotService.getVersion(10L, user)).thenReturn(4L);
+        boardEventService.subscribe(10L, user, null);
+
+        boardEventService.onMembershipChanged(ProjectMembershipEvent.memberRemoved(10L, 1L));
+
+        assertThat(boardEventService.getSubscriberCount()).isZero();
+    }
+
+    /** Eventos con la versión dada que el emisor guarda mientras no hay respuesta HTTP a la que escribir. */
+    @SuppressWarnings("unchecked")
+    private static long sentVersions(SseEmitter emitter, long version) {
+        Set<ResponseBodyEmitter.DataWithMediaType> sent = (Set<ResponseBodyEmitter.DataWithMediaType>)
+                ReflectionTestUtils.getField(emitter, "earlySendAttempts");
+        synchronized (emitter) {
+            return sent.stream()
+                    .filter(d -> d.getData() instanceof String s && s.contains("\"version\":" + version))
+                    .count();
+        }
+    }
+}
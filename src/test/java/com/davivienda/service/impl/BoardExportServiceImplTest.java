@@ -0,0 +1,159 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.exception.BadResourceRequestException;
+import com.davivienda.exception.NoSuchResourceFoundException;
+import com.davivienda.model.BoardList;
+import com.davivienda.model.Card;
+import com.davivienda.model.Project;
+import com.davivienda.model.User;
+import com.davivienda.repository.BoardListRepository;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.repository.ProjectRepository;
+import com.davivienda.security.AccessChecker;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias de BoardExportServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class BoardExportServiceImplTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private BoardListRepository boardListRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private AccessChecker accessChecker;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private BoardExportServiceImpl boardExportService;
+
+    @Test
+    @DisplayName("export: escribe el proyecto y cada lista seguida de sus tarjetas, una línea por objeto")
+    void export_ordenDeTablero() throws Exception {
+        Project project = Project.builder().id(10L).name("Proyecto").build();
+        BoardList todo = BoardList.builder().id(1L).title("Por hacer").rank("i").project(project).build();
+        BoardList doing = BoardList.builder().id(2L).title("En curso").rank("r").project(project).build();
+        BoardList done = BoardList.builder().id(3L).title("Hecho").rank("v").project(project).build();
+        User ana = User.builder().id(7L).email("ana@test.com").nombre("Ana").build();
+        Card c1 = Card.builder().id(100L).title("Primera").rank("i").list(todo).assignee(ana).dueDate(LocalDate.of(2025, 3, 1)).build();
+        Card c2 = Card.builder().id(101L).title("Segunda").rank("r").list(todo).build();
+        Card c3 = Card.builder().id(102L).title("Tercera").description("Detalle").rank("i").list(done).build();
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(boardListRepository.findByProjectIdOrderByRank(10L)).thenReturn(List.of(todo, doing, done));
+        when(cardRepository.streamByProjectIdInBoardOrder(10L)).thenReturn(Stream.of(c1, c2, c3));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = boardExportService.export(10L, out);
+
+        List<JsonNode> lines = parseLines(out);
+        assertThat(written).isEqualTo(3);
+        assertThat(lines).extracting(n -> n.get("type").asText() + ":" + n.get("id").asLong())
+                .containsExactly("project:10", "list:1", "card:100", "card:101", "list:2", "list:3", "card:102");
+        JsonNode first = lines.get(2);
+        assertThat(first.get("listId").asLong()).isEqualTo(1L);
+        assertThat(first.get("assigneeEmail").asText()).isEqualTo("ana@test.com");
+        assertThat(first.get("dueDate").asText()).isEqualTo("2025-03-01");
+        assertThat(lines.get(3).has("assigneeId")).isFalse();
+        assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("}\n");
+    }
+
+    @Test
+    @DisplayName("export: una tarjeta de una lista que no estaba en la consulta de listas no se pierde")
+    void export_listaNueva_seEscribeDesdeLaTarjeta() throws Exception {
+        Project project = Project.builder().id(10L).name("Proyecto").build();
+        BoardList nueva = BoardList.builder().id(5L).title("Nueva").rank("m").project(project).build();
+        Card card = Card.builder().id(100L).title("Tarjeta").rank("i").list(nueva).build();
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(boardListRepository.findByProjectIdOrderByRank(10L)).thenReturn(List.of());
+        when(cardRepository.streamByProjectIdInBoardOrder(10L)).thenReturn(Stream.of(card));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        boardExportService.export(10L, out);
+
+        assertThat(parseLines(out)).extracting(n -> n.get("type").asText() + ":" + n.get("id").asLong())
+                .containsExactly("project:10", "list:5", "card:100");
+    }
+
+    @Test
+    @DisplayName("export: vacía el contexto de persistencia cada 1000 tarjetas")
+    void export_limpiaContextoPorBloques() throws Exception {
+        Project project = Project.builder().id(10L).name("Proyecto").build();
+        BoardList list = BoardList.builder().id(1L).title("Lista").rank("i").project(project).build();
+        List<Card> cards = new ArrayList<>();
+        for (long i = 0; i < 2500; i++) {
+            cards.add(Card.builder().id(i).title("T" + i).rank("i").list(list).build());
+        }
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(boardListRepository.findByProjectIdOrderByRank(10L)).thenReturn(List.of(list));
+        when(cardRepository.streamByProjectIdInBoardOrder(10L)).thenReturn(cards.stream());
+
+        long written = boardExportService.export(10L, new ByteArrayOutputStream());
+
+        assertThat(written).isEqualTo(2500);
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    @DisplayName("ensureExportable: proyecto inexistente lanza NoSuchResourceFoundException")
+    void ensureExportable_proyectoNoExiste() {
+        User user = User.builder().id(1L).email("user@test.com").build();
+        when(projectRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> boardExportService.ensureExportable(99L, user))
+                .isInstanceOf(NoSuchResourceFoundException.class);
+        verifyNoInteractions(accessChecker);
+    }
+
+    @Test
+    @DisplayName("ensureExportable: un usuario que no es miembro no puede exportar")
+    void ensureExportable_noMiembro() {
+        User user = User.builder().id(1L).email("user@test.com").build();
+        when(projectRepository.existsById(10L)).thenReturn(true);
+        doThrow(new BadResourceRequestException("No tienes acceso a este proyecto"))
+                .when(accessChecker).ensureMember(10L, user);
+
+        assertThatThrownBy(() -> boardExportService.ensureExportable(10L, user))
+                .isInstanceOf(BadResourceRequestException.class);
+    }
+
+    private List<JsonNode> parseLines(ByteArrayOutputStream out) throws Exception {
+        List<JsonNode> nodes = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            nodes.add(objectMapper.readTree(line));
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,271 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.BoardImportResultDTO;
+import com.davivienda.event.BoardChangedEvent;
+import com.davivienda.exception.BadResourceRequestException;
+import com.davivienda.exception.NoSuchResourceFoundException;
+import com.davivienda.model.BoardImport;
+import com.davivienda.model.BoardList;
+import com.davivienda.model.Card;
+import com.davivienda.model.User;
+import com.davivienda.repository.BoardImportRepository;
+import com.davivienda.repository.BoardListRepository;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.repository.ProjectRepository;
+import com.davivienda.repository.UserRepository;
+import com.davivienda.security.AccessChecker;
+import com.davivienda.service.BoardImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias de BoardImportServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class BoardImportServiceImplTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private BoardListRepository boardListRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private BoardImportRepository boardImportRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AccessChecker accessChecker;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private BoardImportServiceImpl boardImportService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(1L).email("user@test.com").nombre("Usuario").build();
+        ReflectionTestUtils.setField(boardImportService, "chunkSize", 2);
+        boardImportService.init();
+        lenient().when(boardImportRepository.save(any())).thenAnswer(inv -> {
+            BoardImport record = inv.getArgument(0);
+            if (record.getId() == null) {
+                record.setId(7L);
+            }
+            return record;
+        });
+        AtomicLong ids = new AtomicLong(100);
+        lenient().doAnswer(inv -> {
+            Object entity = inv.getArgument(0);
+            if (entity instanceof BoardList list) {
+                list.setId(ids.incrementAndGet());
+            }
+            return null;
+        }).when(entityManager).persist(any());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("importBoard: JSON crea listas y tarjetas por bloques, resolviendo cada email de asignado una sola vez")
+    void importBoard_json_ok() {
+        when(projectRepository.existsById(10L)).thenReturn(true);
+        when(boardListRepository.findMaxRank(10L)).thenReturn("i");
+        when(userRepository.findByEmailIn(any())).thenReturn(List.of(user));
+        String json = "{\"lists\": ["
+                + "{\"title\": \"Por hacer\", \"cards\": ["
+                + "{\"title\": \"A\", \"assigneeEmail\": \"user@test.com\", \"dueDate\": \"2025-01-31\"},"
+                + "{\"title\": \"B\", \"assigneeEmail\": \"nadie@test.com\"},"
+                + "{\"title\": \"C\", \"assigneeEmail\": \"user@test.com\"}]},"
+                + "{\"title\": \"Hecho\"}]}";
+
+        BoardImportResultDTO result = boardImportService.importBoard(10L, user, stream(json), BoardImportService.Format.JSON, null);
+
+        assertThat(result.getLists()).isEqualTo(2);
+        assertThat(result.getCards()).isEqualTo(3);
+        assertThat(result.getUnknownAssignees()).isEqualTo(1);
+        ArgumentCaptor<Object> persisted = ArgumentCaptor.forClass(Object.class);
+        verify(entityManager, times(5)).persist(persisted.capture());
+        assertThat(persisted.getAllValues()).filteredOn(Card.class::isInstance)
+                .extracting("rank").containsExactly("i", "i0001", "i0002");
+        assertThat(persisted.getAllValues()).filteredOn(BoardList.class::isInstance)
+                .extracting("rank").allMatch(rank -> ((String) rank).compareTo("i") > 0);
+        verify(userRepository, times(1)).findByEmailIn(any());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(accessChecker).ensureMember(10L, user);
+        assertThat(persisted.getAllValues()).filteredOn(BoardList.class::isInstance)
+                .extracting("importId").containsOnly(7L);
+        assertThat(result.getImportId()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("importBoard: cada bloque se confirma en su transacción con el avance; al fallar, lo confirmado se queda")
+    void importBoard_fallo_conservaLosBloquesConfirmados() {
+        when(projectRepository.existsById(10L)).thenReturn(true);
+        BoardImport[] stored = new BoardImport[1];
+        doAnswer(inv -> {
+            BoardImport record = inv.getArgument(0);
+            if (record.getId() == null) {
+                record.setId(7L);
+            }
+            // copia de lo que quedaría confirmado
+            stored[0] = BoardImport.builder().id(7L).projectId(10L).status(record.getStatus())
+                    .lists(record.getLists()).cards(record.getCards()).build();
+            return record;
+        }).when(boardImportRepository).save(any());
+        when(boardImportRepository.findById(7L)).thenAnswer(inv -> Optional.of(stored[0]));
+        String json = "{\"lists\": [{\"title\": \"Por hacer\", \"cards\": ["
+                + "{\"title\": \"A\"}, {\"title\": \"B\"}, {\"title\": \"C\"}, {\"title\": \"\"}]}]}";
+
+        assertThatThrownBy(() -> boardImportService.importBoard(10L, user, stream(json), BoardImportService.Format.JSON, null))
+                .isInstanceOf(BadResourceRequestException.class)
+                .hasMessageContaining("tarjeta 4")
+                .hasMessageContaining("importación 7: 2 tarjetas confirmadas");
+
+        // creación, un bloque confirmado (la tarjeta C no llegó a escribirse) y la marca de fallo
+        verify(transactionManager, times(3)).commit(any());
+        verify(entityManager, times(1)).flush();
+        assertThat(stored[0].getStatus()).isEqualTo(BoardImport.Status.FAILED);
+        assertThat(stored[0].getLists()).isEqualTo(1);
+        assertThat(stored[0].getCards()).isEqualTo(2);
+        assertThat(stored[0].getError()).contains("tarjeta 4");
+        verify(eventPublisher).publishEvent(BoardChangedEvent.reloaded(10L));
+    }
+
+    @Test
+    @DisplayName("resumeImport: se salta las listas y tarjetas confirmadas y sigue tras la última")
+    void resumeImport_continuaDondeSeQuedo() {
+        when(boardImportRepository.findById(7L)).thenReturn(Optional.of(BoardImport.builder().id(7L).projectId(10L)
+                .status(BoardImport.Status.FAILED).lists(1).cards(2).unknownAssignees(0).build()));
+        when(boardListRepository.findIdsByImportId(7L)).thenReturn(List.of(50L));
+        when(boardImportRepository.updateStatus(eq(7L), eq(BoardImport.Status.FAILED), eq(BoardImport.Status.RUNNING), any()))
+                .thenReturn(1);
+        when(cardRepository.findMaxRank(50L)).thenReturn("i0001");
+        when(boardListRepository.findMaxRank(10L)).thenReturn("i");
+        String json = "{\"lists\": [{\"title\": \"Por hacer\", \"cards\": ["
+                + "{\"title\": \"A\"}, {\"title\": \"B\"}, {\"title\": \"C\"}]}, {\"title\": \"Hecho\"}]}";
+
+        BoardImportResultDTO result = boardImportService.resumeImport(10L, 7L, user, stream(json),
+                BoardImportService.Format.JSON, null);
+
+        assertThat(result.getLists()).isEqualTo(2);
+        assertThat(result.getCards()).isEqualTo(3);
+        ArgumentCaptor<Object> persisted = ArgumentCaptor.forClass(Object.class);
+        verify(entityManager, times(2)).persist(persisted.capture());
+        assertThat(persisted.getAllValues()).filteredOn(Card.class::isInstance)
+                .extracting("title", "rank").containsExactly(tuple("C", "i0002"));
+        assertThat(persisted.getAllValues()).filteredOn(BoardList.class::isInstance)
+                .extracting("title").containsExactly("Hecho");
+        verify(entityManager).getReference(BoardList.class, 50L);
+        verify(accessChecker).ensureMember(10L, user);
+    }
+
+    @Test
+    @DisplayName("resumeImport: una importación que no está fallida (u otra pasada ya la reanudó) no se reanuda")
+    void resumeImport_noFallida_lanzaExcepcion() {
+        when(boardImportRepository.findById(7L)).thenReturn(Optional.of(BoardImport.builder().id(7L).projectId(10L)
+                .status(BoardImport.Status.DONE).lists(0).build()));
+        when(boardListRepository.findIdsByImportId(7L)).thenReturn(List.of());
+
+        assertThatThrownBy(() -> boardImportService.resumeImport(10L, 7L, user, stream("{}"),
+                BoardImportService.Format.JSON, null))
+                .isInstanceOf(BadResourceRequestException.class)
+                .hasMessageContaining("DONE");
+        assertThatThrownBy(() -> boardImportService.resumeImport(11L, 7L, user, stream("{}"),
+                BoardImportService.Format.JSON, null))
+                .isInstanceOf(NoSuchResourceFoundException.class);
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    @DisplayName("importBoard: CSV agrupa las filas por lista en el orden en que aparecen")
+    void importBoard_csv_ok() {
+        when(projectRepository.existsById(10L)).thenReturn(true);
+        String csv = "list,title,description,assigneeEmail,dueDate\n"
+                + "Hecho,A,,,\n"
+                + "Por hacer,B,desc,,2025-01-31\n"
+                + "Hecho,C,,,\n";
+
+        BoardImportResultDTO result = boardImportService.importBoard(10L, null, stream(csv), BoardImportService.Format.CSV, null);
+
+        assertThat(result.getLists()).isEqualTo(2);
+        assertThat(result.getCards()).isEqualTo(3);
+        ArgumentCaptor<Object> persisted = ArgumentCaptor.forClass(Object.class);
+        verify(entityManager, times(5)).persist(persisted.capture());
+        assertThat(persisted.getAllValues()).filteredOn(BoardList.class::isInstance)
+                .extracting("title").containsExactly("Hecho", "Por hacer");
+        verifyNoInteractions(accessChecker, userRepository);
+        verify(eventPublisher).publishEvent(BoardChangedEvent.reloaded(10L));
+    }
+
+    @Test
+    @DisplayName("importBoard: con JSON mal formado o lista sin título lanza BadResourceRequestException")
+    void importBoard_archivoInvalido_lanzaExcepcion() {
+        when(projectRepository.existsById(10L)).thenReturn(true);
+
+        assertThatThrownBy(() -> boardImportService.importBoard(10L, user,
+                stream("{\"lists\": [{\"title\": \"x\", \"cards\": [{"), BoardImportService.Format.JSON, null))
+                .isInstanceOf(BadResourceRequestException.class)
+                .hasMessageContaining("no es válido");
+        assertThatThrownBy(() -> boardImportService.importBoard(10L, user,
+                stream("{\"lists\": [{\"cards\": [{\"title\": \"A\"}]}]}"), BoardImportService.Format.JSON, null))
+                .isInstanceOf(BadResourceRequestException.class)
+                .hasMessageContaining("título");
+    }
+
+    @Test
+    @DisplayName("importBoard: cuando el proyecto no existe lanza NoSuchResourceFoundException")
+    void importBoard_proyectoNoExiste_lanzaExcepcion() {
+        when(projectRepository.existsById(999L)).thenReturn(false);
+
+        assertThatThrownBy(() -> boardImportService.importBoard(999L, user, stream("{}"), BoardImportService.Format.JSON, null))
+                .isInstanceOf(NoSuchResourceFoundException.class);
+        verifyNoInteractions(entityManager);
+    }
+}
@@ -7,9 +7,9 @@ import com.davivienda.model.BoardList;
 import com.davivienda.model.Project;
 import com.davivienda.model.User;
 import com.davivienda.repository.BoardListRepository;
-import com.davivienda.repository.ProjectMemberRepository;
 import com.davivienda.repository.ProjectRepository;
-import com.davivienda.service.CardService;
+import com.davivienda.security.AccessChecker;
+import com.davivienda.service.BoardSnapshotService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -39,10 +40,16 @@ class BoardListServiceImplTest {
     private ProjectRepository projectRepository;
 
     @Mock
-    private ProjectMemberRepository projectMemberRepository;
+    private AccessChecker accessChecker;
 
     @Mock
-    private CardService cardService;
+    private BoardSnapshotService boardSnapshotService;
+
+    @Mock
+    private RankRebalancer rankRebalancer;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private BoardListServiceImpl boardListService;
@@ -58,7 +65,7 @@ class BoardListServiceImplTest {
         boardList = BoardList.builder()
                 .id(20L)
                 .title("Por hacer")
-                .position(0)
+                .rank("i")
                 .project(project)
                 .build();
     }
@@ -67,7 +74,6 @@ class BoardListServiceImplTest {
     @DisplayName("create: con proyecto existente y título válido crea lista y devuelve DTO")
     void create_ok() {
         when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
-        when(projectMemberRepository.existsByProjectAndUser(project, user)).thenReturn(true);
         when(boardListRepository.save(any(BoardList.class))).thenAnswer(inv -> {
             BoardList bl = inv.getArgument(0);
             bl.setId(20L);
@@ -78,10 +84,24 @@ class BoardListServiceImplTest {
 
         assertThat(result.getTitle()).isEqualTo("Por hacer");
         assertThat(result.getPosition()).isEqualTo(0);
+        assertThat(result.getRank()).isEqualTo("i");
         assertThat(result.getProjectId()).isEqualTo(10L);
         verify(boardListRepository).save(any(BoardList.class));
     }
 
+    @Test
+    @DisplayName("update: reordenar calcula la clave entre las listas vecinas sin tocar las demás")
+    void update_reordenar_ok() {
+        when(boardListRepository.findById(20L)).thenReturn(Optional.of(boardList));
+        when(boardListRepository.findRanksAt(10L, 20L, 1, 2)).thenReturn(List.of("r"));
+        when(boardListRepository.save(any(BoardList.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        BoardListDTO result = boardListService.update(20L, user, null, 2);
+
+        assertThat(result.getRank()).isGreaterThan("r");
+        verify(boardListRepository, times(1)).save(boardList);
+    }
+
     @Test
     @DisplayName("create: cuando el proyecto no existe lanza NoSuchResourceFoundException")
     void create_proyectoNoExiste_lanzaExcepcion() {
@@ -97,7 +117,6 @@ class BoardListServiceImplTest {
     @DisplayName("create: cuando el título está vacío lanza BadResourceRequestException")
     void create_tituloVacio_lanzaExcepcion() {
         when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
-        when(projectMemberRepository.existsByProjectAndUser(project, user)).thenReturn(true);
 
         assertThatThrownBy(() -> boardListService.create(10L, user, "   ", 0))
                 .isInstanceOf(BadResourceRequestException.class)
@@ -105,12 +124,10 @@ class BoardListServiceImplTest {
     }
 
     @Test
-    @DisplayName("findByProjectId: devuelve listas del proyecto")
+    @DisplayName("findByProjectId: devuelve las listas del tablero cargado por BoardSnapshotService")
     void findByProjectId_ok() {
-        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
-        when(projectMemberRepository.existsByProjectAndUser(project, user)).thenReturn(true);
-        when(boardListRepository.findByProjectOrderByPositionAsc(project)).thenReturn(List.of(boardList));
-        when(cardService.findByListId(20L, user)).thenReturn(List.of());
+        when(boardSnapshotService.getLists(10L, user)).thenReturn(List.of(
+                BoardListDTO.builder().id(20L).title("Por hacer").position(0).projectId(10L).cards(List.of()).build()));
 
         List<BoardListDTO> result = boardListService.findByProjectId(10L, user);
 
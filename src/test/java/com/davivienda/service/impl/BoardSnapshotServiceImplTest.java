@@ -0,0 +1,211 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.BoardListDTO;
+import com.davivienda.dto.CardSummaryDTO;
+import com.davivienda.dto.ProjectDTO;
+import com.davivienda.event.BoardChangedEvent;
+import com.davivienda.exception.BadResourceRequestException;
+import com.davivienda.exception.NoSuchResourceFoundException;
+import com.davivienda.model.User;
+import com.davivienda.repository.BoardListRepository;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.repository.ProjectRepository;
+import com.davivienda.security.AccessChecker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias de la carga del tablero completo.
+ */
+@ExtendWith(MockitoExtension.class)
+class BoardSnapshotServiceImplTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private BoardListRepository boardListRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private AccessChecker accessChecker;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private BoardSnapshotCache boardSnapshotCache = new BoardSnapshotCache(1000, 60);
+
+    @InjectMocks
+    private BoardSnapshotServiceImpl boardSnapshotService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(1L).email("user@test.com").nombre("Usuario").build();
+        lenient().when(accessChecker.isMember(10L, user)).thenReturn(true);
+        boardSnapshotService.init();
+    }
+
+    // Cada consulta devuelve DTO nuevos, como la proyección JPQL
+
+    private Optional<ProjectDTO> project() {
+        return Optional.of(new ProjectDTO(10L, "Mi Proyecto", null, 1L, "Usuario", LocalDateTime.now(), null, 0L));
+    }
+
+    private static BoardListDTO list(long id, String rank) {
+        return new BoardListDTO(id, "Lista " + id, rank, 10L);
+    }
+
+    private CardSummaryDTO card(long id, long listId, String rank) {
+        return new CardSummaryDTO(id, "Tarea " + id, rank, listId, 1L, "Usuario", null, null, null);
+    }
+
+    @Test
+    @DisplayName("getSnapshot: agrupa las tarjetas del proyecto por lista con una sola consulta de tarjetas")
+    void getSnapshot_ok() {
+        when(projectRepository.findDTOById(10L)).thenAnswer(inv -> project());
+        when(boardListRepository.findDTOsByProjectId(10L)).thenAnswer(inv -> List.of(list(20L, "i"), list(21L, "r")));
+        when(cardRepository.findSummariesByProjectId(10L)).thenAnswer(inv -> List.of(
+                card(30L, 20L, "i"), card(31L, 21L, "i"), card(32L, 20L, "r")));
+
+        ProjectDTO result = boardSnapshotService.getSnapshot(10L, user);
+
+        assertThat(result.getCreatedByName()).isEqualTo("Usuario");
+        assertThat(result.getLists()).extracting(BoardListDTO::getId).containsExactly(20L, 21L);
+        assertThat(result.getLists().get(0).getCards()).extracting("id").containsExactly(30L, 32L);
+        assertThat(result.getLists().get(0).getCards()).extracting("position").containsExactly(0, 1);
+        assertThat(result.getLists().get(1).getCards()).extracting("assigneeName").containsExactly("Usuario");
+        assertThat(result.getLists()).extracting(BoardListDTO::getPosition).containsExactly(0, 1);
+        verify(cardRepository, times(1)).findSummariesByProjectId(10L);
+    }
+
+    @Test
+    @DisplayName("getSnapshot/getVersion: leen en una transacción de escritura (primario); dentro de otra transacción fallan")
+    void carga_enTransaccionPropiaDelPrimario() {
+        when(projectRepository.findDTOById(10L)).thenAnswer(inv -> project());
+        when(projectRepository.findBoardVersionById(10L)).thenReturn(Optional.of(0L));
+
+        boardSnapshotService.getSnapshot(10L, user);
+        boardSnapshotService.getVersion(10L, user);
+
+        verify(transactionManager, times(2)).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRED
+                        && !definition.isReadOnly()));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThatThrownBy(() -> boardSnapshotService.getVersion(10L, user)).isInstanceOf(IllegalStateException.class);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    @Test
+    @DisplayName("getSnapshot: la segunda lectura sale de caché y un cambio en el tablero la invalida")
+    void getSnapshot_cacheEInvalidacion() {
+        when(projectRepository.findDTOById(10L)).thenAnswer(inv -> project());
+        when(boardListRepository.findDTOsByProjectId(10L)).thenAnswer(inv -> List.of(list(20L, "i")));
+        when(cardRepository.findSummariesByProjectId(10L)).thenAnswer(inv -> List.of(card(30L, 20L, "i")));
+
+        ProjectDTO first = boardSnapshotService.getSnapshot(10L, user);
+        List<BoardListDTO> lists = boardSnapshotService.getLists(10L, user);
+        boardSnapshotCache.onBoardChanged(BoardChangedEvent.card(10L, BoardChangedEvent.Type.CARD_MOVED, 30L));
+        ProjectDTO reloaded = boardSnapshotService.getSnapshot(10L, user);
+
+        assertThat(lists).isEqualTo(first.getLists());
+        assertThat(reloaded).isNotSameAs(first);
+        verify(cardRepository, times(2)).findSummariesByProjectId(10L);
+        assertThat(boardSnapshotCache.stats().getHits()).isEqualTo(1);
+        assertThat(boardSnapshotCache.stats().getWeight()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("getSnapshot/getLists: cada lectura es una copia; modificarla no cambia el tablero cacheado")
+    void getSnapshot_devuelveCopia() {
+        when(projectRepository.findDTOById(10L)).thenAnswer(inv -> project());
+        when(boardListRepository.findDTOsByProjectId(10L)).thenAnswer(inv -> List.of(list(20L, "i")));
+        when(cardRepository.findSummariesByProjectId(10L)).thenAnswer(inv -> List.of(card(30L, 20L, "i")));
+
+        ProjectDTO first = boardSnapshotService.getSnapshot(10L, user);
+        first.setName("Cambiado");
+        first.getLists().get(0).setPosition(5);
+        first.getLists().get(0).getCards().get(0).setLabelIds(List.of(7L));
+        boardSnapshotService.getLists(10L, user).get(0).getCards().clear();
+        ProjectDTO second = boardSnapshotService.getSnapshot(10L, user);
+
+        assertThat(second.getName()).isEqualTo("Mi Proyecto");
+        assertThat(second.getLists().get(0).getPosition()).isZero();
+        assertThat(second.getLists().get(0).getCards()).singleElement()
+                .satisfies(card -> assertThat(card.getLabelIds()).isNull());
+        verify(cardRepository, times(1)).findSummariesByProjectId(10L);
+    }
+
+    @Test
+    @DisplayName("getSnapshot: un tablero en caché no se sirve a quien no es miembro")
+    void getSnapshot_cacheado_noEsMiembro_lanzaExcepcion() {
+        User other = User.builder().id(2L).email("otro@test.com").build();
+        when(projectRepository.findDTOById(10L)).thenAnswer(inv -> project());
+        boardSnapshotService.getSnapshot(10L, user);
+        when(projectRepository.existsById(10L)).thenReturn(true);
+        doThrow(new BadResourceRequestException("No tienes acceso a este proyecto"))
+                .when(accessChecker).ensureMember(10L, other);
+
+        assertThatThrownBy(() -> boardSnapshotService.getSnapshot(10L, other))
+                .isInstanceOf(BadResourceRequestException.class);
+    }
+
+    @Test
+    @DisplayName("getSnapshot: cuando el proyecto no existe lanza NoSuchResourceFoundException")
+    void getSnapshot_noExiste_lanzaExcepcion() {
+        when(projectRepository.existsById(999L)).thenReturn(false);
+
+        assertThatThrownBy(() -> boardSnapshotService.getSnapshot(999L, user))
+                .isInstanceOf(NoSuchResourceFoundException.class)
+                .hasMessageContaining("No se encontró el proyecto");
+    }
+
+    @Test
+    @DisplayName("getSnapshot: cuando el usuario no es miembro lanza BadResourceRequestException")
+    void getSnapshot_noEsMiembro_lanzaExcepcion() {
+        when(accessChecker.isMember(10L, user)).thenReturn(false);
+        when(projectRepository.existsById(10L)).thenReturn(true);
+        doThrow(new BadResourceRequestException("No tienes acceso a este proyecto"))
+                .when(accessChecker).ensureMember(10L, user);
+
+        assertThatThrownBy(() -> boardSnapshotService.getSnapshot(10L, user))
+                .isInstanceOf(BadResourceRequestException.class)
+                .hasMessageContaining("No tienes acceso");
+        verify(cardRepository, never()).findSummariesByProjectId(10L);
+    }
+
+    @Test
+    @DisplayName("getLists: cuando el proyecto no existe lanza NoSuchResourceFoundException")
+    void getLists_noExiste_lanzaExcepcion() {
+        when(accessChecker.isMember(999L, user)).thenReturn(false);
+        when(projectRepository.existsById(999L)).thenReturn(false);
+
+        assertThatThrownBy(() -> boardSnapshotService.getLists(999L, user))
+                .isInstanceOf(NoSuchResourceFoundException.class);
+    }
+}
@@ -0,0 +1,114 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.event.BoardChangedEvent;
+import com.davivienda.event.BoardCommittedEvent;
+import com.davivienda.model.BoardChange;
+import com.davivienda.repository.BoardChangeRepository;
+import com.davivienda.repository.ProjectRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias de BoardVersionTracker.
+ */
+@ExtendWith(MockitoExtension.class)
+class BoardVersionTrackerTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private BoardChangeRepository boardChangeRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BoardVersionTracker boardVersionTracker;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(boardVersionTracker);
+    }
+
+    @Test
+    @DisplayName("onBoardChanged: varios cambios en una transacción suben la versión una vez por proyecto y se publican tras el commit")
+    void onBoardChanged_unaSubidaPorTransaccion() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(projectRepository.incrementBoardVersion(anyLong())).thenReturn(1);
+        when(projectRepository.findBoardVersionById(anyLong())).thenReturn(Optional.of(5L));
+
+        boardVersionTracker.onBoardChanged(BoardChangedEvent.card(10L, BoardChangedEvent.Type.CARD_CREATED, 1L));
+        boardVersionTracker.onBoardChanged(BoardChangedEvent.card(10L, BoardChangedEvent.Type.CARD_MOVED, 2L));
+        boardVersionTracker.onBoardChanged(BoardChangedEvent.list(11L, BoardChangedEvent.Type.LIST_CREATED, 3L));
+        verifyNoInteractions(projectRepository);
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            sync.beforeCommit(false);
+            verifyNoInteractions(eventPublisher);
+            sync.afterCommit();
+            sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        verify(eventPublisher).publishEvent(new BoardCommittedEvent(10L, 5L, List.of(
+                BoardChangedEvent.card(10L, BoardChangedEvent.Type.CARD_CREATED, 1L),
+                BoardChangedEvent.card(10L, BoardChangedEvent.Type.CARD_MOVED, 2L))));
+        verify(projectRepository, times(1)).incrementBoardVersion(10L);
+        verify(projectRepository, times(1)).incrementBoardVersion(11L);
+        verify(boardChangeRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("onBoardChanged: registra un cambio por entidad con la nueva versión, quedándose con el último")
+    @SuppressWarnings("unchecked")
+    void onBoardChanged_registraUltimoCambioPorEntidad() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(projectRepository.incrementBoardVersion(10L)).thenReturn(1);
+        when(projectRepository.findBoardVersionById(10L)).thenReturn(Optional.of(8L));
+
+        boardVersionTracker.onBoardChanged(BoardChangedEvent.card(10L, BoardChangedEvent.Type.CARD_CREATED, 1L));
+        boardVersionTracker.onBoardChanged(BoardChangedEvent.card(10L, BoardChangedEvent.Type.CARD_UPDATED, 1L));
+        boardVersionTracker.onBoardChanged(BoardChangedEvent.card(10L, BoardChangedEvent.Type.CARD_DELETED, 2L));
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            sync.beforeCommit(false);
+        }
+
+        ArgumentCaptor<List<BoardChange>> captor = ArgumentCaptor.forClass(List.class);
+        verify(boardChangeRepository).saveAll(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(BoardChange::getEntityId, BoardChange::getType, BoardChange::getVersion)
+                .containsExactly(
+                        tuple(1L, BoardChangedEvent.Type.CARD_UPDATED, 8L),
+                        tuple(2L, BoardChangedEvent.Type.CARD_DELETED, 8L));
+    }
+
+    @Test
+    @DisplayName("onBoardChanged: si la transacción se revierte la versión no cambia")
+    void onBoardChanged_rollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        boardVersionTracker.onBoardChanged(BoardChangedEvent.card(10L, BoardChangedEvent.Type.CARD_DELETED, 1L));
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        verifyNoInteractions(projectRepository, eventPublisher);
+    }
+}
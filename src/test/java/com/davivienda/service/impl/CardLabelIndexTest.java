@@ -0,0 +1,166 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.LabelAssignment;
+import com.davivienda.event.BoardChangedEvent;
+import com.davivienda.event.LabelEvent;
+import com.davivienda.exception.NoSuchResourceFoundException;
+import com.davivienda.repository.LabelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias de CardLabelIndex (bitmaps de etiquetas en memoria, repositorio simulado).
+ */
+@ExtendWith(MockitoExtension.class)
+class CardLabelIndexTest {
+
+    @Mock
+    private LabelRepository labelRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CardLabelIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CardLabelIndex(labelRepository, transactionManager, 1000, 3600);
+    }
+
+    @Test
+    @DisplayName("match: carga el proyecto una vez y resuelve alguna (ANY) o todas (ALL) las etiquetas")
+    void match_anyYAll() {
+        loadProject10();
+
+        assertThat(index.match(10L, List.of(5L, 6L), false).toArray()).containsExactly(30L, 31L, 32L);
+        assertThat(index.match(10L, List.of(5L, 6L), true).toArray()).containsExactly(31L);
+        assertThat(index.match(10L, List.of(5L, 7L), true).isEmpty()).isTrue();
+        assertThat(index.match(10L, List.of(), false).isEmpty()).isTrue();
+        verify(labelRepository, times(1)).streamAssignmentsByProjectId(10L);
+    }
+
+    @Test
+    @DisplayName("match: con una etiqueta que no es del proyecto lanza NoSuchResourceFoundException")
+    void match_etiquetaDesconocida_lanzaExcepcion() {
+        loadProject10();
+
+        assertThatThrownBy(() -> index.match(10L, List.of(5L, 99L), false))
+                .isInstanceOf(NoSuchResourceFoundException.class)
+                .hasMessageContaining("99");
+    }
+
+    @Test
+    @DisplayName("match: el resultado es una copia; modificarlo no cambia el índice")
+    void match_devuelveCopia() {
+        loadProject10();
+
+        index.match(10L, List.of(5L), false).add(99L);
+
+        assertThat(index.match(10L, List.of(5L), false).toArray()).containsExactly(30L, 31L);
+    }
+
+    @Test
+    @DisplayName("eventos: poner y quitar etiquetas, crearlas, borrarlas y borrar tarjetas actualizan el índice sin recargarlo")
+    void eventos_actualizanElIndice() {
+        loadProject10();
+        index.cardCounts(10L);
+
+        index.onLabelChanged(LabelEvent.cardLabeled(10L, 7L, 30L));
+        index.onLabelChanged(LabelEvent.cardUnlabeled(10L, 5L, 30L));
+        index.onLabelChanged(LabelEvent.labelCreated(10L, 8L));
+        index.onLabelChanged(LabelEvent.labelDeleted(10L, 6L));
+        index.onBoardChanged(BoardChangedEvent.card(10L, BoardChangedEvent.Type.CARD_DELETED, 31L));
+
+        assertThat(index.cardCounts(10L)).isEqualTo(Map.of(5L, 0, 7L, 1, 8L, 0));
+        assertThat(index.match(10L, List.of(7L), false).toArray()).containsExactly(30L);
+        assertThatThrownBy(() -> index.match(10L, List.of(6L), false)).isInstanceOf(NoSuchResourceFoundException.class);
+        verify(labelRepository, times(1)).streamAssignmentsByProjectId(10L);
+    }
+
+    @Test
+    @DisplayName("eventos: se ignoran si el proyecto no está cargado; borrar una lista descarta el proyecto y se recarga")
+    void eventos_proyectoNoCargadoYRecarga() {
+        index.onLabelChanged(LabelEvent.cardLabeled(10L, 5L, 30L));
+        verifyNoInteractions(labelRepository);
+
+        loadProject10();
+        index.cardCounts(10L);
+        index.onBoardChanged(BoardChangedEvent.list(10L, BoardChangedEvent.Type.LIST_DELETED, 20L));
+        index.onBoardChanged(BoardChangedEvent.card(10L, BoardChangedEvent.Type.CARD_UPDATED, 30L));
+        index.cardCounts(10L);
+
+        verify(labelRepository, times(2)).streamAssignmentsByProjectId(10L);
+    }
+
+    @Test
+    @DisplayName("labelIdsOf: etiquetas de cada tarjeta por ID, vacías si no tiene")
+    void labelIdsOf_porTarjeta() {
+        loadProject10();
+
+        Map<Long, List<Long>> labels = index.labelIdsOf(10L, List.of(31L, 30L, 33L));
+
+        assertThat(labels).containsExactly(
+                Map.entry(31L, List.of(5L, 6L)),
+                Map.entry(30L, List.of(5L)),
+                Map.entry(33L, List.of()));
+    }
+
+    @Test
+    @DisplayName("carga: en una transacción propia del primario, nunca dentro de la de quien llama")
+    void carga_fueraDeTransaccion() {
+        loadProject10();
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThatThrownBy(() -> index.cardCounts(10L)).isInstanceOf(IllegalStateException.class);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertThat(index.cardCounts(10L)).containsEntry(5L, 2);
+        verify(transactionManager).getTransaction(argThat(def ->
+                def.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRED && !def.isReadOnly()));
+
+        // ya cargado, se lee también dentro de una transacción
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThat(index.cardCounts(10L)).containsEntry(6L, 2);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    /** Etiquetas 5 (tarjetas 30 y 31), 6 (31 y 32) y 7 (ninguna). */
+    private void loadProject10() {
+        when(labelRepository.findIdsByProjectId(10L)).thenReturn(List.of(5L, 6L, 7L));
+        when(labelRepository.streamAssignmentsByProjectId(10L)).thenAnswer(inv -> Stream.of(
+                assignment(5L, 30L), assignment(5L, 31L), assignment(6L, 31L), assignment(6L, 32L)));
+    }
+
+    private static LabelAssignment assignment(Long labelId, Long cardId) {
+        return new LabelAssignment() {
+            @Override
+            public Long getLabelId() {
+                return labelId;
+            }
+
+            @Override
+            public Long getCardId() {
+                return cardId;
+            }
+        };
+    }
+}
@@ -0,0 +1,151 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.CardSearchDocument;
+import com.davivienda.event.BoardChangedEvent;
+import com.davivienda.repository.CardRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias de CardSearchIndex (índice Lucene en memoria, repositorio simulado).
+ */
+@ExtendWith(MockitoExtension.class)
+class CardSearchIndexTest {
+
+    private static final long[] PROJECT_10 = {10L};
+
+    @Mock
+    private CardRepository cardRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CardSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new CardSearchIndex(cardRepository, transactionManager, "", 2, 16, false, 0);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.shutdown();
+    }
+
+    @Test
+    @DisplayName("rebuild: indexa todas las tarjetas por páginas y ordena por relevancia (el título pesa más)")
+    void rebuild_ordenaPorRelevancia() {
+        when(cardRepository.findSearchDocumentsAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of(
+                doc(1L, 10L, 20L, "Revisar presupuesto", "Pendiente del informe trimestral"),
+                doc(2L, 10L, 20L, "Informe trimestral", "Enviar a dirección")));
+        when(cardRepository.findSearchDocumentsAfter(2L, PageRequest.of(0, 2))).thenReturn(List.of(
+                doc(3L, 11L, 21L, "Informe de otro proyecto", null)));
+
+        assertThat(index.rebuild()).isTrue();
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search("informe", PROJECT_10, 10, null))
+                .extracting(CardSearchIndex.Hit::cardId)
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("search: solo devuelve tarjetas de los proyectos dados y exige todos los términos")
+    void search_filtraPorProyectoYTerminos() {
+        rebuildWith(
+                doc(1L, 10L, 20L, "Diseño de la portada", null),
+                doc(2L, 11L, 21L, "Diseño del logo", null),
+                doc(3L, 10L, 20L, "Portada", null));
+
+        assertThat(index.search("diseño", PROJECT_10, 10, null)).extracting(CardSearchIndex.Hit::cardId).containsExactly(1L);
+        assertThat(index.search("diseño", new long[]{10L, 11L}, 10, null)).hasSize(2);
+        assertThat(index.search("diseño portada", new long[]{10L, 11L}, 10, null))
+                .extracting(CardSearchIndex.Hit::cardId).containsExactly(1L);
+        assertThat(index.search("diseño", new long[0], 10, null)).isEmpty();
+        assertThat(index.search("de la", PROJECT_10, 10, null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("search: sin distinguir mayúsculas, tildes ni plurales")
+    void search_normalizaTexto() {
+        rebuildWith(doc(1L, 10L, 20L, "Diseños de la campaña", "Revisión con el cliente"));
+
+        assertThat(index.search("DISENO", PROJECT_10, 10, null)).hasSize(1);
+        assertThat(index.search("campana revision", PROJECT_10, 10, null)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("search: con after continúa después del último resultado de la página anterior")
+    void search_paginaConAfter() {
+        rebuildWith(
+                doc(1L, 10L, 20L, "Tarea", null),
+                doc(2L, 10L, 20L, "Tarea", null),
+                doc(3L, 10L, 20L, "Tarea", null));
+
+        List<CardSearchIndex.Hit> first = index.search("tarea", PROJECT_10, 2, null);
+        List<CardSearchIndex.Hit> second = index.search("tarea", PROJECT_10, 2, first.get(1));
+
+        assertThat(first).extracting(CardSearchIndex.Hit::cardId).containsExactly(1L, 2L);
+        assertThat(second).extracting(CardSearchIndex.Hit::cardId).containsExactly(3L);
+        assertThat(first.get(0).projectId()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("onBoardChanged: los cambios de tarjeta se reindexan con su estado actual y las borradas salen del índice")
+    void onBoardChanged_actualizaYBorra() throws Exception {
+        rebuildWith(
+                doc(1L, 10L, 20L, "Borrador", null),
+                doc(2L, 10L, 20L, "Borrador final", null));
+        when(cardRepository.findSearchDocumentsByIdIn(anyCollection())).thenReturn(List.of(
+                doc(1L, 10L, 20L, "Versión publicada", null)));
+
+        index.onBoardChanged(BoardChangedEvent.card(10L, BoardChangedEvent.Type.CARD_UPDATED, 1L));
+        index.onBoardChanged(BoardChangedEvent.card(10L, BoardChangedEvent.Type.CARD_DELETED, 2L));
+        index.flush();
+
+        assertThat(index.search("borrador", PROJECT_10, 10, null)).isEmpty();
+        assertThat(index.search("publicada", PROJECT_10, 10, null)).extracting(CardSearchIndex.Hit::cardId).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("onBoardChanged: borrar una lista o un proyecto quita sus tarjetas del índice")
+    void onBoardChanged_borraListaYProyecto() throws Exception {
+        rebuildWith(
+                doc(1L, 10L, 20L, "Tarea", null),
+                doc(2L, 10L, 21L, "Tarea", null),
+                doc(3L, 11L, 22L, "Tarea", null));
+
+        index.onBoardChanged(BoardChangedEvent.list(10L, BoardChangedEvent.Type.LIST_DELETED, 20L));
+        index.onBoardChanged(BoardChangedEvent.project(11L, BoardChangedEvent.Type.PROJECT_DELETED));
+        index.flush();
+
+        assertThat(index.search("tarea", new long[]{10L, 11L}, 10, null))
+                .extracting(CardSearchIndex.Hit::cardId).containsExactly(2L);
+    }
+
+    private void rebuildWith(CardSearchDocument... docs) {
+        when(cardRepository.findSearchDocumentsAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of(docs).subList(0, Math.min(2, docs.length)));
+        if (docs.length >= 2) {
+            when(cardRepository.findSearchDocumentsAfter(docs[1].getId(), PageRequest.of(0, 2)))
+                    .thenReturn(List.of(docs).subList(2, docs.length));
+        }
+        assertThat(index.rebuild()).isTrue();
+    }
+
+    private static CardSearchDocument doc(Long id, Long projectId, Long listId, String title, String description) {
+        return new CardSearchDocument(id, projectId, listId, title, description);
+    }
+}
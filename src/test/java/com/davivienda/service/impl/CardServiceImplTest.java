@@ -1,6 +1,16 @@
 package com.davivienda.service.impl;
 
+import com.davivienda.dto.AssignedCardDTO;
+import com.davivienda.dto.AssignedCardPageDTO;
+import com.davivienda.dto.BoardListDTO;
+import com.davivienda.dto.CardBatchResponse;
 import com.davivienda.dto.CardDTO;
+import com.davivienda.dto.CardFilter;
+import com.davivienda.dto.CardOperation;
+import com.davivienda.dto.CardOperationResult;
+import com.davivienda.dto.CardPageDTO;
+import com.davivienda.dto.CardSummaryDTO;
+import com.davivienda.event.BoardChangedEvent;
 import com.davivienda.exception.BadResourceRequestException;
 import com.davivienda.exception.NoSuchResourceFoundException;
 import com.davivienda.model.BoardList;
@@ -9,24 +19,38 @@ import com.davivienda.model.Project;
 import com.davivienda.model.User;
 import com.davivienda.repository.BoardListRepository;
 import com.davivienda.repository.CardRepository;
-import com.davivienda.repository.ProjectMemberRepository;
+import com.davivienda.repository.ProjectRepository;
 import com.davivienda.repository.UserRepository;
+import com.davivienda.security.AccessChecker;
+import com.davivienda.util.Cursors;
+import com.davivienda.util.IdBitmap;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -42,11 +66,26 @@ class CardServiceImplTest {
     private BoardListRepository boardListRepository;
 
     @Mock
-    private ProjectMemberRepository projectMemberRepository;
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private AccessChecker accessChecker;
 
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private RankRebalancer rankRebalancer;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CardLabelIndex cardLabelIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private CardServiceImpl cardService;
 
@@ -64,18 +103,26 @@ class CardServiceImplTest {
                 .id(30L)
                 .title("Tarea 1")
                 .description("Desc")
-                .position(0)
+                .rank("i")
                 .list(boardList)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
+        cardService.init();
+    }
+
+    private static AssignedCardDTO assigned(Long id, LocalDate dueDate) {
+        return AssignedCardDTO.builder().id(id).title("Tarea " + id).dueDate(dueDate).listId(20L).projectId(10L).build();
+    }
+
+    private static CardSummaryDTO dto(long id, String rank) {
+        return new CardSummaryDTO(id, "Tarea " + id, rank, 20L, null, null, null, null, null);
     }
 
     @Test
     @DisplayName("create: con lista existente y título válido crea tarjeta y devuelve DTO")
     void create_ok() {
         when(boardListRepository.findById(20L)).thenReturn(Optional.of(boardList));
-        when(projectMemberRepository.existsByProjectAndUser(project, user)).thenReturn(true);
         when(cardRepository.save(any(Card.class))).thenAnswer(inv -> {
             Card c = inv.getArgument(0);
             c.setId(30L);
@@ -86,7 +133,43 @@ class CardServiceImplTest {
 
         assertThat(result.getTitle()).isEqualTo("Tarea 1");
         assertThat(result.getListId()).isEqualTo(20L);
+        assertThat(result.getRank()).isEqualTo("i");
         verify(cardRepository).save(any(Card.class));
+        verify(eventPublisher).publishEvent(BoardChangedEvent.card(10L, BoardChangedEvent.Type.CARD_CREATED, 30L));
+    }
+
+    @Test
+    @DisplayName("create: sin posición añade al final leyendo solo la mayor clave de la lista")
+    void create_sinPosicion_anadeAlFinal() {
+        when(boardListRepository.findById(20L)).thenReturn(Optional.of(boardList));
+        when(cardRepository.findMaxRank(20L)).thenReturn("r");
+        when(cardRepository.save(any(Card.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        CardDTO result = cardService.create(20L, user, "Tarea 2", null, null, null, null);
+
+        assertThat(result.getRank()).isGreaterThan("r");
+        verify(cardRepository, never()).findSummariesByListId(any());
+        verify(rankRebalancer).checkCardRank(20L, result.getRank());
+        // el bloqueo del proyecto va antes de leer la mayor clave: dos altas concurrentes no leen la misma
+        InOrder order = inOrder(projectRepository, cardRepository);
+        order.verify(projectRepository).lockById(10L);
+        order.verify(cardRepository).findMaxRank(20L);
+    }
+
+    @Test
+    @DisplayName("move: con las vecinas empatadas rebalancea la lista en la misma transacción y vuelve a leerlas")
+    void move_vecinasEmpatadas_rebalancea() {
+        when(cardRepository.findById(30L)).thenReturn(Optional.of(card));
+        when(boardListRepository.findById(20L)).thenReturn(Optional.of(boardList));
+        when(cardRepository.findRanksAt(20L, 30L, 0, 2)).thenReturn(List.of("m", "m"), List.of("a", "c"));
+        when(cardRepository.save(any(Card.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        CardDTO result = cardService.move(30L, 20L, 1, user);
+
+        assertThat(result.getRank()).isEqualTo("b");
+        InOrder order = inOrder(projectRepository, rankRebalancer);
+        order.verify(projectRepository).lockById(10L);
+        order.verify(rankRebalancer).rebalanceCards(20L);
     }
 
     @Test
@@ -104,7 +187,6 @@ class CardServiceImplTest {
     @DisplayName("create: cuando el título está vacío lanza BadResourceRequestException")
     void create_tituloVacio_lanzaExcepcion() {
         when(boardListRepository.findById(20L)).thenReturn(Optional.of(boardList));
-        when(projectMemberRepository.existsByProjectAndUser(project, user)).thenReturn(true);
 
         assertThatThrownBy(() -> cardService.create(20L, user, "   ", null, 0, null, null))
                 .isInstanceOf(BadResourceRequestException.class)
@@ -112,15 +194,349 @@ class CardServiceImplTest {
     }
 
     @Test
-    @DisplayName("findByListId: devuelve tarjetas de la lista")
+    @DisplayName("findByListId: devuelve las tarjetas proyectadas de la lista con su posición")
     void findByListId_ok() {
         when(boardListRepository.findById(20L)).thenReturn(Optional.of(boardList));
-        when(projectMemberRepository.existsByProjectAndUser(project, user)).thenReturn(true);
-        when(cardRepository.findByListOrderByPositionAscWithDetails(boardList)).thenReturn(List.of(card));
+        when(cardRepository.findSummariesByListId(20L)).thenReturn(List.of(dto(30L, "i"), dto(31L, "r")));
+
+        List<CardSummaryDTO> result = cardService.findByListId(20L, user);
+
+        assertThat(result).extracting(CardSummaryDTO::getTitle).containsExactly("Tarea 30", "Tarea 31");
+        assertThat(result).extracting(CardSummaryDTO::getPosition).containsExactly(0, 1);
+    }
+
+    @Test
+    @DisplayName("findById: devuelve la tarjeta completa, con la descripción y sus etiquetas")
+    void findById_ok() {
+        when(boardListRepository.findById(20L)).thenReturn(Optional.of(boardList));
+        when(cardRepository.findDTOByIdAndListId(30L, 20L)).thenReturn(Optional.of(
+                new CardDTO(30L, "Tarea 1", "Desc", "i", 20L, null, null, null, null, null)));
+        when(cardLabelIndex.labelIdsOf(10L, List.of(30L))).thenReturn(Map.of(30L, List.of(5L, 6L)));
 
-        List<CardDTO> result = cardService.findByListId(20L, user);
+        CardDTO result = cardService.findById(20L, 30L, user);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getTitle()).isEqualTo("Tarea 1");
+        assertThat(result.getDescription()).isEqualTo("Desc");
+        assertThat(result.getLabelIds()).containsExactly(5L, 6L);
+        verify(accessChecker).ensureMember(10L, user);
+    }
+
+    @Test
+    @DisplayName("findById: una tarjeta que no es de la lista responde 404")
+    void findById_otraLista() {
+        when(boardListRepository.findById(20L)).thenReturn(Optional.of(boardList));
+        when(cardRepository.findDTOByIdAndListId(31L, 20L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> cardService.findById(20L, 31L, user))
+                .isInstanceOf(NoSuchResourceFoundException.class)
+                .hasMessageContaining("31");
+        verifyNoInteractions(cardLabelIndex);
+    }
+
+    @Test
+    @DisplayName("findPageByListId: devuelve la página pedida y el cursor de la siguiente")
+    void findPageByListId_primeraPagina() {
+        when(boardListRepository.findById(20L)).thenReturn(Optional.of(boardList));
+        when(cardRepository.findSummaryPageByListId(20L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(dto(30L, "i"), dto(31L, "r"), dto(32L, "v")));
+
+        CardPageDTO result = cardService.findPageByListId(20L, user, 2, null);
+
+        assertThat(result.getItems()).extracting(CardSummaryDTO::getId).containsExactly(30L, 31L);
+        assertThat(result.getNextCursor()).isEqualTo(Cursors.encode("r", 31L));
+    }
+
+    @Test
+    @DisplayName("findPageByListId: con cursor after continúa desde (clave, id) y en la última página no hay cursor")
+    void findPageByListId_conCursor() {
+        when(boardListRepository.findById(20L)).thenReturn(Optional.of(boardList));
+        when(cardRepository.findSummaryPageByListIdAfter(20L, "r", 31L, PageRequest.of(0, 3))).thenReturn(List.of(dto(32L, "v")));
+
+        CardPageDTO result = cardService.findPageByListId(20L, user, 2, Cursors.encode("r", 31L));
+
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("findAssignedTo: sin filtros empieza por las tarjetas con fecha y el cursor lleva (fecha límite, id)")
+    void findAssignedTo_primeraPagina() {
+        LocalDate due = LocalDate.of(2026, 3, 1);
+        when(cardRepository.findAssignedPage(1L, null, PageRequest.of(0, 3)))
+                .thenReturn(List.of(assigned(30L, due.minusDays(1)), assigned(31L, due), assigned(32L, due)));
+
+        AssignedCardPageDTO result = cardService.findAssignedTo(user, null, false, null, 2, null);
+
+        assertThat(result.getItems()).extracting(AssignedCardDTO::getId).containsExactly(30L, 31L);
+        assertThat(result.getNextCursor()).isEqualTo(Cursors.encode(due, 31L));
+        verify(cardRepository, never()).findUndatedAssignedPage(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("findAssignedTo: al acabarse las tarjetas con fecha completa la página con las que no tienen")
+    void findAssignedTo_completaConSinFecha() {
+        LocalDate due = LocalDate.of(2026, 3, 1);
+        when(cardRepository.findAssignedPageFrom(1L, 10L, due, 31L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(assigned(33L, due)));
+        when(cardRepository.findUndatedAssignedPage(1L, 10L, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(assigned(12L, null), assigned(40L, null)));
+
+        AssignedCardPageDTO result = cardService.findAssignedTo(user, 10L, false, null, 2, Cursors.encode(due, 31L));
+
+        assertThat(result.getItems()).extracting(AssignedCardDTO::getId).containsExactly(33L, 12L);
+        assertThat(result.getNextCursor()).isEqualTo(Cursors.encode(null, 12L));
+    }
+
+    @Test
+    @DisplayName("findAssignedTo: un cursor sin fecha continúa solo por las tarjetas sin fecha límite")
+    void findAssignedTo_cursorSinFecha() {
+        when(cardRepository.findUndatedAssignedPage(1L, null, 31L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(assigned(32L, null)));
+
+        AssignedCardPageDTO result = cardService.findAssignedTo(user, null, false, null, 2, Cursors.encode(null, 31L));
+
+        assertThat(result.getItems()).extracting(AssignedCardDTO::getId).containsExactly(32L);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("findAssignedTo: vencidas hasta ayer, próximos N días desde hoy y ambos juntos sin límite inferior, sin tarjetas sin fecha")
+    void findAssignedTo_filtrosDeFecha() {
+        LocalDate today = LocalDate.now();
+        PageRequest page = PageRequest.of(0, 21);
+        when(cardRepository.findAssignedPageDueBy(eq(1L), eq(10L), any(), eq(page))).thenReturn(List.of());
+        when(cardRepository.findAssignedPageDueBetween(eq(1L), eq(10L), any(), any(), any(), eq(page))).thenReturn(List.of());
+
+        cardService.findAssignedTo(user, 10L, true, null, 20, null);
+        cardService.findAssignedTo(user, 10L, false, 7, 20, null);
+        cardService.findAssignedTo(user, 10L, true, 7, 20, null);
+        cardService.findAssignedTo(user, 10L, false, 7, 20, Cursors.encode(today.plusDays(2), 31L));
+
+        verify(cardRepository).findAssignedPageDueBy(1L, 10L, today.minusDays(1), page);
+        verify(cardRepository).findAssignedPageDueBetween(1L, 10L, today, 0L, today.plusDays(7), page);
+        verify(cardRepository).findAssignedPageDueBy(1L, 10L, today.plusDays(7), page);
+        verify(cardRepository).findAssignedPageDueBetween(1L, 10L, today.plusDays(2), 31L, today.plusDays(7), page);
+        verify(cardRepository, never()).findUndatedAssignedPage(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("findAssignedTo: con limit fuera de rango, días negativos o cursor sin fecha en un filtro de fecha lanza BadResourceRequestException")
+    void findAssignedTo_parametrosInvalidos_lanzaExcepcion() {
+        assertThatThrownBy(() -> cardService.findAssignedTo(user, null, false, null, 0, null))
+                .isInstanceOf(BadResourceRequestException.class);
+        assertThatThrownBy(() -> cardService.findAssignedTo(user, null, false, -1, 20, null))
+                .isInstanceOf(BadResourceRequestException.class);
+        assertThatThrownBy(() -> cardService.findAssignedTo(user, null, true, null, 20, Cursors.encode(null, 31L)))
+                .isInstanceOf(BadResourceRequestException.class)
+                .hasMessageContaining("cursor");
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    @DisplayName("filter: recorre las listas en orden hasta llenar la página y el cursor lleva la lista y la tarjeta")
+    void filter_primeraPagina() {
+        when(boardListRepository.findDTOsByProjectId(10L)).thenReturn(List.of(
+                new BoardListDTO(20L, "Por hacer", "a", 10L), new BoardListDTO(21L, "Hecho", "b", 10L)));
+        when(cardRepository.findSummaries(any(), eq(4))).thenReturn(List.of(dto(30L, "a"), dto(31L, "b")));
+        when(cardRepository.findSummaries(any(), eq(2))).thenReturn(List.of(
+                new CardSummaryDTO(32L, "Tarea 32", "a", 21L, null, null, null, null, null),
+                new CardSummaryDTO(33L, "Tarea 33", "b", 21L, null, null, null, null, null)));
+
+        CardPageDTO result = cardService.filter(10L, user, CardFilter.builder().titlePrefix("tar").build(), 3, null);
+
+        verify(accessChecker).ensureMember(10L, user);
+        assertThat(result.getItems()).extracting(CardSummaryDTO::getId).containsExactly(30L, 31L, 32L);
+        assertThat(result.getNextCursor()).isEqualTo(Cursors.encode("b", 21L, "a", 32L));
+    }
+
+    @Test
+    @DisplayName("filter: con cursor empieza en la lista del cursor y la última página no devuelve cursor")
+    void filter_ultimaPagina() {
+        when(boardListRepository.findDTOsByProjectId(10L)).thenReturn(List.of(
+                new BoardListDTO(20L, "Por hacer", "a", 10L), new BoardListDTO(21L, "Hecho", "b", 10L)));
+        when(cardRepository.findSummaries(any(), eq(3))).thenReturn(List.of(
+                new CardSummaryDTO(33L, "Tarea 33", "b", 21L, null, null, null, null, null)));
+
+        CardPageDTO result = cardService.filter(10L, user, new CardFilter(), 2, Cursors.encode("b", 21L, "a", 32L));
+
+        assertThat(result.getItems()).extracting(CardSummaryDTO::getId).containsExactly(33L);
+        assertThat(result.getNextCursor()).isNull();
+        verify(cardRepository, times(1)).findSummaries(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("filter: con una lista de otro proyecto lanza NoSuchResourceFoundException")
+    void filter_listaDeOtroProyecto_lanzaExcepcion() {
+        when(boardListRepository.findDTOsByProjectId(10L)).thenReturn(List.of(new BoardListDTO(20L, "Por hacer", "a", 10L)));
+
+        assertThatThrownBy(() -> cardService.filter(10L, user, CardFilter.builder().listId(99L).build(), 20, null))
+                .isInstanceOf(NoSuchResourceFoundException.class);
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    @DisplayName("filter: con assigneeId y unassigned, fechas invertidas, limit fuera de rango o cursor inválido lanza BadResourceRequestException")
+    void filter_parametrosInvalidos_lanzaExcepcion() {
+        LocalDate today = LocalDate.now();
+        assertThatThrownBy(() -> cardService.filter(10L, user, CardFilter.builder().assigneeId(2L).unassigned(true).build(), 20, null))
+                .isInstanceOf(BadResourceRequestException.class);
+        assertThatThrownBy(() -> cardService.filter(10L, user, CardFilter.builder().dueFrom(today).dueTo(today.minusDays(1)).build(), 20, null))
+                .isInstanceOf(BadResourceRequestException.class);
+        assertThatThrownBy(() -> cardService.filter(10L, user, CardFilter.builder().titlePrefix("x".repeat(501)).build(), 20, null))
+                .isInstanceOf(BadResourceRequestException.class);
+        assertThatThrownBy(() -> cardService.filter(10L, user, new CardFilter(), 0, null))
+                .isInstanceOf(BadResourceRequestException.class);
+        assertThatThrownBy(() -> cardService.filter(10L, user, new CardFilter(), 20, Cursors.encode("b", 31L)))
+                .isInstanceOf(BadResourceRequestException.class)
+                .hasMessageContaining("cursor");
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    @DisplayName("filter: con pocas tarjetas etiquetadas las lee por ID, las ordena como el tablero y rellena sus etiquetas")
+    void filter_conEtiquetas_leePorId() {
+        when(boardListRepository.findDTOsByProjectId(10L)).thenReturn(List.of(
+                new BoardListDTO(20L, "Por hacer", "b", 10L), new BoardListDTO(21L, "Hecho", "a", 10L)));
+        when(cardLabelIndex.match(10L, Set.of(5L, 6L), true)).thenReturn(IdBitmap.of(31L, 40L));
+        when(cardRepository.findSummaries(any(), eq(2))).thenReturn(List.of(
+                dto(31L, "a"), new CardSummaryDTO(40L, "Tarea 40", "c", 21L, null, null, null, null, null)));
+        when(cardLabelIndex.labelIdsOf(10L, List.of(40L, 31L))).thenReturn(Map.of(40L, List.of(5L, 6L), 31L, List.of(5L, 6L)));
+
+        CardFilter filter = CardFilter.builder().labelIds(List.of(5L, 6L)).labelMatch(CardFilter.LabelMatch.ALL).build();
+        CardPageDTO result = cardService.filter(10L, user, filter, 20, null);
+
+        assertThat(result.getItems()).extracting(CardSummaryDTO::getId).containsExactly(40L, 31L);
+        assertThat(result.getItems().get(0).getLabelIds()).containsExactly(5L, 6L);
+        assertThat(result.getNextCursor()).isNull();
+        verify(cardRepository, times(1)).findSummaries(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("filter: con muchas tarjetas etiquetadas recorre las listas por tramos y descarta las que no tienen la etiqueta")
+    void filter_conEtiquetas_recorreListas() {
+        ReflectionTestUtils.setField(cardService, "maxLabelLookup", 2);
+        when(boardListRepository.findDTOsByProjectId(10L)).thenReturn(List.of(new BoardListDTO(20L, "Por hacer", "a", 10L)));
+        when(cardLabelIndex.match(eq(10L), any(), eq(false))).thenReturn(IdBitmap.of(30L, 32L, 33L));
+        when(cardRepository.findSummaries(any(), eq(500))).thenReturn(
+                LongStream.rangeClosed(1, 500).mapToObj(i -> dto(29L + i, "a" + i)).toList());
+
+        CardPageDTO result = cardService.filter(10L, user, CardFilter.builder().labelIds(List.of(5L)).build(), 2, null);
+
+        assertThat(result.getItems()).extracting(CardSummaryDTO::getId).containsExactly(30L, 32L);
+        assertThat(result.getNextCursor()).isEqualTo(Cursors.encode("a", 20L, "a3", 32L));
+        verify(cardRepository, times(1)).findSummaries(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("filter: sin tarjetas con las etiquetas no consulta las tarjetas; con más de 20 etiquetas lanza BadResourceRequestException")
+    void filter_conEtiquetas_sinResultados() {
+        when(boardListRepository.findDTOsByProjectId(10L)).thenReturn(List.of(new BoardListDTO(20L, "Por hacer", "a", 10L)));
+        when(cardLabelIndex.match(eq(10L), any(), eq(true))).thenReturn(new IdBitmap());
+
+        CardFilter filter = CardFilter.builder().labelIds(List.of(5L, 6L)).labelMatch(CardFilter.LabelMatch.ALL).build();
+        assertThat(cardService.filter(10L, user, filter, 20, null).getItems()).isEmpty();
+        List<Long> tooMany = LongStream.rangeClosed(1, 21).boxed().toList();
+        assertThatThrownBy(() -> cardService.filter(10L, user, CardFilter.builder().labelIds(tooMany).build(), 20, null))
+                .isInstanceOf(BadResourceRequestException.class);
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    @DisplayName("move: recolocar entre dos tarjetas solo reescribe la clave de la tarjeta movida")
+    void move_entreDosTarjetas_escribeUnaFila() {
+        when(cardRepository.findById(30L)).thenReturn(Optional.of(card));
+        when(boardListRepository.findById(20L)).thenReturn(Optional.of(boardList));
+        when(cardRepository.findRanksAt(20L, 30L, 0, 2)).thenReturn(List.of("a", "c"));
+        when(cardRepository.save(any(Card.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        CardDTO result = cardService.move(30L, 20L, 1, user);
+
+        assertThat(result.getRank()).isEqualTo("b");
+        assertThat(result.getPosition()).isEqualTo(1);
+        verify(cardRepository, times(1)).save(card);
+        verify(cardRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("applyBatch: aplica las operaciones en orden con una sola comprobación de acceso e informa los errores")
+    void applyBatch_ok() {
+        BoardList done = BoardList.builder().id(21L).title("Hecho").project(project).build();
+        Card other = Card.builder().id(33L).title("Otra").rank("m").list(done).build();
+        when(boardListRepository.findByProjectIdOrderByRank(10L)).thenReturn(List.of(boardList, done));
+        when(cardRepository.findByIdInAndProjectId(any(), eq(10L))).thenReturn(List.of(card));
+        when(cardRepository.findByListIdInOrderByRank(any())).thenReturn(new ArrayList<>(List.of(card, other)));
+        when(cardRepository.save(any(Card.class))).thenAnswer(inv -> {
+            Card c = inv.getArgument(0);
+            c.setId(40L);
+            return c;
+        });
+
+        CardBatchResponse result = cardService.applyBatch(10L, user, List.of(
+                CardOperation.builder().type(CardOperation.Type.CREATE).listId(20L).title("Nueva").build(),
+                CardOperation.builder().type(CardOperation.Type.MOVE).cardId(30L).listId(21L).position(0).build(),
+                CardOperation.builder().type(CardOperation.Type.UPDATE).cardId(30L).title("Editada").build(),
+                CardOperation.builder().type(CardOperation.Type.DELETE).cardId(99L).build()));
+
+        assertThat(result.getSucceeded()).isEqualTo(3);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getResults()).extracting(CardOperationResult::getStatus).containsExactly(
+                CardOperationResult.Status.OK, CardOperationResult.Status.OK,
+                CardOperationResult.Status.OK, CardOperationResult.Status.ERROR);
+        assertThat(result.getResults().get(3).getError()).contains("No se encontró la tarjeta");
+        assertThat(card.getList()).isEqualTo(done);
+        assertThat(card.getRank()).isLessThan("m");
+        assertThat(card.getTitle()).isEqualTo("Editada");
+        assertThat(result.getResults().get(0).getCard().getRank()).isGreaterThan("i");
+        verify(accessChecker, times(1)).ensureMember(10L, user);
+        verify(cardRepository, never()).findById(any());
+        verify(cardRepository, times(1)).flush();
+        InOrder order = inOrder(projectRepository, cardRepository);
+        order.verify(projectRepository).lockById(10L);
+        order.verify(cardRepository).findByListIdInOrderByRank(any());
+    }
+
+    @Test
+    @DisplayName("applyBatch: con vecinas empatadas reparte de nuevo las claves de la lista y recarga el tablero")
+    void applyBatch_vecinasEmpatadas_reparte() {
+        Card a = Card.builder().id(31L).title("A").rank("m").list(boardList).build();
+        Card b = Card.builder().id(32L).title("B").rank("m").list(boardList).build();
+        when(boardListRepository.findByProjectIdOrderByRank(10L)).thenReturn(List.of(boardList));
+        when(cardRepository.findByListIdInOrderByRank(any())).thenReturn(new ArrayList<>(List.of(a, b)));
+        when(cardRepository.save(any(Card.class))).thenAnswer(inv -> {
+            Card c = inv.getArgument(0);
+            c.setId(40L);
+            return c;
+        });
+
+        CardBatchResponse result = cardService.applyBatch(10L, user, List.of(
+                CardOperation.builder().type(CardOperation.Type.CREATE).listId(20L).title("Nueva").position(1).build()));
+
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        String created = result.getResults().get(0).getCard().getRank();
+        assertThat(List.of(a.getRank(), created, b.getRank())).isSorted().doesNotHaveDuplicates();
+        verify(eventPublisher).publishEvent(BoardChangedEvent.reloaded(10L));
+    }
+
+    @Test
+    @DisplayName("applyBatch: con más operaciones de las permitidas lanza BadResourceRequestException")
+    void applyBatch_demasiadasOperaciones_lanzaExcepcion() {
+        ReflectionTestUtils.setField(cardService, "maxBatchOperations", 1);
+        CardOperation delete = CardOperation.builder().type(CardOperation.Type.DELETE).cardId(30L).build();
+
+        assertThatThrownBy(() -> cardService.applyBatch(10L, user, List.of(delete, delete)))
+                .isInstanceOf(BadResourceRequestException.class)
+                .hasMessageContaining("como máximo 1");
+        verify(cardRepository, never()).flush();
+    }
+
+    @Test
+    @DisplayName("findPageByListId: con limit fuera de rango o cursor inválido lanza BadResourceRequestException")
+    void findPageByListId_parametrosInvalidos_lanzaExcepcion() {
+        assertThatThrownBy(() -> cardService.findPageByListId(20L, user, 0, null))
+                .isInstanceOf(BadResourceRequestException.class);
+
+        when(boardListRepository.findById(20L)).thenReturn(Optional.of(boardList));
+        assertThatThrownBy(() -> cardService.findPageByListId(20L, user, 10, "no-es-un-cursor"))
+                .isInstanceOf(BadResourceRequestException.class)
+                .hasMessageContaining("cursor");
     }
 }
@@ -0,0 +1,188 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.LabelDTO;
+import com.davivienda.event.LabelEvent;
+import com.davivienda.exception.BadResourceRequestException;
+import com.davivienda.exception.NoSuchResourceFoundException;
+import com.davivienda.model.BoardList;
+import com.davivienda.model.Card;
+import com.davivienda.model.Label;
+import com.davivienda.model.Project;
+import com.davivienda.model.User;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.repository.LabelRepository;
+import com.davivienda.repository.ProjectRepository;
+import com.davivienda.security.AccessChecker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias del servicio de etiquetas.
+ */
+@ExtendWith(MockitoExtension.class)
+class LabelServiceImplTest {
+
+    @Mock
+    private LabelRepository labelRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private AccessChecker accessChecker;
+
+    @Mock
+    private CardLabelIndex cardLabelIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private LabelServiceImpl labelService;
+
+    private User user;
+    private Project project;
+    private Label label;
+    private Card card;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(1L).email("user@test.com").nombre("Usuario").role(User.Role.USER).build();
+        project = Project.builder().id(10L).name("Proyecto").createdBy(user).build();
+        label = Label.builder().id(5L).project(project).name("Urgente").color("#eb5a46").build();
+        BoardList list = BoardList.builder().id(20L).title("Por hacer").project(project).build();
+        card = Card.builder().id(30L).title("Tarea").rank("i").list(list).build();
+        labelService.init();
+    }
+
+    @Test
+    @DisplayName("findByProjectId: devuelve las etiquetas con el número de tarjetas del índice")
+    void findByProjectId_conContadores() {
+        Label other = Label.builder().id(6L).project(project).name("Bug").build();
+        when(labelRepository.findByProjectIdOrderByName(10L)).thenReturn(List.of(other, label));
+        when(cardLabelIndex.cardCounts(10L)).thenReturn(Map.of(5L, 3));
+
+        List<LabelDTO> result = labelService.findByProjectId(10L, user);
+
+        verify(accessChecker).ensureMember(10L, user);
+        assertThat(result).extracting(LabelDTO::getName).containsExactly("Bug", "Urgente");
+        assertThat(result).extracting(LabelDTO::getCardCount).containsExactly(0, 3);
+    }
+
+    @Test
+    @DisplayName("create: guarda la etiqueta con el nombre sin espacios y publica LABEL_CREATED")
+    void create_ok() {
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(labelRepository.existsByName(10L, "Urgente", null)).thenReturn(false);
+        when(labelRepository.save(any(Label.class))).thenAnswer(inv -> {
+            Label saved = inv.getArgument(0);
+            saved.setId(5L);
+            return saved;
+        });
+
+        LabelDTO result = labelService.create(10L, user, "  Urgente ", "#eb5a46");
+
+        assertThat(result.getId()).isEqualTo(5L);
+        assertThat(result.getName()).isEqualTo("Urgente");
+        assertThat(result.getProjectId()).isEqualTo(10L);
+        assertThat(result.getCardCount()).isZero();
+        verify(eventPublisher).publishEvent(LabelEvent.labelCreated(10L, 5L));
+    }
+
+    @Test
+    @DisplayName("create: con un nombre repetido en el proyecto o al superar el máximo lanza BadResourceRequestException")
+    void create_nombreRepetidoOMaximo_lanzaExcepcion() {
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(labelRepository.existsByName(10L, "Urgente", null)).thenReturn(true);
+        when(labelRepository.existsByName(10L, "Nueva", null)).thenReturn(false);
+        when(labelRepository.countByProjectId(10L)).thenReturn(200L);
+
+        assertThatThrownBy(() -> labelService.create(10L, user, "Urgente", null))
+                .isInstanceOf(BadResourceRequestException.class)
+                .hasMessageContaining("Urgente");
+        assertThatThrownBy(() -> labelService.create(10L, user, "Nueva", null))
+                .isInstanceOf(BadResourceRequestException.class)
+                .hasMessageContaining("200");
+        assertThatThrownBy(() -> labelService.create(10L, user, " ", null))
+                .isInstanceOf(BadResourceRequestException.class);
+        verify(labelRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("delete: quita la etiqueta de sus tarjetas, la borra y publica LABEL_DELETED")
+    void delete_ok() {
+        when(labelRepository.findByIdAndProjectId(5L, 10L)).thenReturn(Optional.of(label));
+
+        labelService.delete(10L, 5L, user);
+
+        verify(labelRepository).deleteAssignmentsByLabelId(5L);
+        verify(labelRepository).delete(label);
+        verify(eventPublisher).publishEvent(LabelEvent.labelDeleted(10L, 5L));
+    }
+
+    @Test
+    @DisplayName("addToCard: pone la etiqueta una sola vez y solo publica CARD_LABELED si la tarjeta no la tenía")
+    void addToCard_idempotente() {
+        when(labelRepository.findByIdAndProjectId(5L, 10L)).thenReturn(Optional.of(label));
+        when(cardRepository.findById(30L)).thenReturn(Optional.of(card));
+
+        labelService.addToCard(10L, 5L, 30L, user);
+        labelService.addToCard(10L, 5L, 30L, user);
+
+        assertThat(card.getLabels()).containsExactly(label);
+        verify(eventPublisher, times(1)).publishEvent(LabelEvent.cardLabeled(10L, 5L, 30L));
+    }
+
+    @Test
+    @DisplayName("removeFromCard: quita la etiqueta y publica CARD_UNLABELED")
+    void removeFromCard_ok() {
+        card.getLabels().add(label);
+        when(labelRepository.findByIdAndProjectId(5L, 10L)).thenReturn(Optional.of(label));
+        when(cardRepository.findById(30L)).thenReturn(Optional.of(card));
+
+        labelService.removeFromCard(10L, 5L, 30L, user);
+
+        assertThat(card.getLabels()).isEmpty();
+        verify(eventPublisher).publishEvent(LabelEvent.cardUnlabeled(10L, 5L, 30L));
+    }
+
+    @Test
+    @DisplayName("addToCard: con una tarjeta de otro proyecto o una etiqueta que no existe lanza NoSuchResourceFoundException")
+    void addToCard_otroProyecto_lanzaExcepcion() {
+        Project otherProject = Project.builder().id(11L).build();
+        Card foreign = Card.builder().id(31L).list(BoardList.builder().id(21L).project(otherProject).build()).build();
+        when(labelRepository.findByIdAndProjectId(5L, 10L)).thenReturn(Optional.of(label));
+        when(labelRepository.findByIdAndProjectId(99L, 10L)).thenReturn(Optional.empty());
+        when(cardRepository.findById(31L)).thenReturn(Optional.of(foreign));
+
+        assertThatThrownBy(() -> labelService.addToCard(10L, 5L, 31L, user))
+                .isInstanceOf(NoSuchResourceFoundException.class)
+                .hasMessageContaining("31");
+        assertThatThrownBy(() -> labelService.addToCard(10L, 99L, 30L, user))
+                .isInstanceOf(NoSuchResourceFoundException.class)
+                .hasMessageContaining("99");
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,153 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.ProjectPurgeDTO;
+import com.davivienda.model.BoardList;
+import com.davivienda.model.Card;
+import com.davivienda.model.Project;
+import com.davivienda.repository.BoardChangeRepository;
+import com.davivienda.repository.BoardListRepository;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.repository.LabelRepository;
+import com.davivienda.repository.ProjectRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias de ProjectPurger.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProjectPurgerTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private BoardListRepository boardListRepository;
+
+    @Mock
+    private LabelRepository labelRepository;
+
+    @Mock
+    private BoardChangeRepository boardChangeRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
+    @InjectMocks
+    private ProjectPurger projectPurger;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+    }
+
+    @Test
+    @DisplayName("purgeNow: borra por lotes en orden de claves foráneas y termina con el proyecto")
+    void purgeNow_ordenDeClavesForaneas() {
+        when(cardRepository.findIdsByProjectId(eq(10L), any()))
+                .thenReturn(List.of(1L, 2L), List.of(3L), List.of());
+        when(cardRepository.deleteByIdIn(any())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+        when(boardChangeRepository.findIdsByProjectId(eq(10L), any())).thenReturn(List.of(7L), List.of());
+        when(boardListRepository.findIdsByProjectId(10L)).thenReturn(List.of(20L, 21L));
+
+        ProjectPurgeDTO result = projectPurger.purgeNow(10L, 3);
+
+        assertThat(result.getStatus()).isEqualTo(ProjectPurgeDTO.Status.DONE);
+        assertThat(result.getCardsDeleted()).isEqualTo(3);
+        InOrder order = inOrder(labelRepository, cardRepository, boardChangeRepository, boardListRepository, projectRepository);
+        order.verify(labelRepository).deleteAssignmentsByCardIdIn(List.of(1L, 2L));
+        order.verify(cardRepository).deleteByIdIn(List.of(1L, 2L));
+        order.verify(labelRepository).deleteAssignmentsByCardIdIn(List.of(3L));
+        order.verify(cardRepository).deleteByIdIn(List.of(3L));
+        order.verify(boardChangeRepository).deleteByIdIn(List.of(7L));
+        order.verify(boardListRepository).deleteByProjectId(10L);
+        order.verify(labelRepository).deleteByProjectId(10L);
+        order.verify(projectRepository).deleteById(10L);
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("purgeNow: saca de la caché de segundo nivel las tarjetas de cada lote, las listas y el proyecto")
+    void purgeNow_sacaDeLaCache() {
+        when(cardRepository.findIdsByProjectId(eq(10L), any())).thenReturn(List.of(1L, 2L), List.of());
+        when(cardRepository.deleteByIdIn(any())).thenReturn(2);
+        when(boardChangeRepository.findIdsByProjectId(eq(10L), any())).thenReturn(List.of());
+        when(boardListRepository.findIdsByProjectId(10L)).thenReturn(List.of(20L, 21L));
+
+        projectPurger.purgeNow(10L, 2);
+
+        InOrder order = inOrder(cardRepository, boardListRepository, projectRepository, cache);
+        order.verify(cardRepository).deleteByIdIn(List.of(1L, 2L));
+        order.verify(cache).evict(Card.class, 1L);
+        order.verify(cache).evict(Card.class, 2L);
+        order.verify(boardListRepository).deleteByProjectId(10L);
+        order.verify(cache).evict(BoardList.class, 20L);
+        order.verify(cache).evict(BoardList.class, 21L);
+        order.verify(projectRepository).deleteById(10L);
+        order.verify(cache).evict(Project.class, 10L);
+        verifyNoMoreInteractions(cache);
+    }
+
+    @Test
+    @DisplayName("purgePending: cada lote va en su transacción; tras un fallo la siguiente pasada continúa")
+    @SuppressWarnings("unchecked")
+    void purgePending_continuaTrasUnFallo() {
+        when(projectRepository.findDeletedIds()).thenReturn(List.of(10L));
+        when(cardRepository.countByProjectId(10L)).thenReturn(2L);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> ((TransactionCallback<Boolean>) inv.getArgument(0)).doInTransaction(null));
+        when(cardRepository.findIdsByProjectId(eq(10L), any())).thenReturn(List.of(1L), List.of(2L), List.of());
+        when(cardRepository.deleteByIdIn(any()))
+                .thenReturn(1)
+                .thenThrow(new QueryTimeoutException("ORA-01013"))
+                .thenReturn(1);
+        when(boardChangeRepository.findIdsByProjectId(eq(10L), any())).thenReturn(List.of());
+
+        projectPurger.purgePending();
+
+        assertThat(projectPurger.getProgress()).singleElement().satisfies(purge -> {
+            assertThat(purge.getStatus()).isEqualTo(ProjectPurgeDTO.Status.FAILED);
+            assertThat(purge.getCardsDeleted()).isEqualTo(1);
+            assertThat(purge.getError()).contains("ORA-01013");
+        });
+
+        when(cardRepository.findIdsByProjectId(eq(10L), any())).thenReturn(List.of(2L), List.of());
+        projectPurger.purgePending();
+
+        assertThat(projectPurger.getProgress()).singleElement().satisfies(purge -> {
+            assertThat(purge.getStatus()).isEqualTo(ProjectPurgeDTO.Status.DONE);
+            assertThat(purge.getCardsTotal()).isEqualTo(2);
+            assertThat(purge.getCardsDeleted()).isEqualTo(2);
+            assertThat(purge.getError()).isNull();
+        });
+        verify(cardRepository, times(1)).countByProjectId(10L);
+        verify(projectRepository).deleteById(10L);
+    }
+}
@@ -1,15 +1,20 @@
 package com.davivienda.service.impl;
 
 import com.davivienda.dto.ProjectDTO;
+import com.davivienda.dto.ProjectPageDTO;
+import com.davivienda.dto.ProjectPurgeDTO;
 import com.davivienda.exception.BadResourceRequestException;
-import com.davivienda.exception.NoSuchResourceFoundException;
 import com.davivienda.model.Project;
 import com.davivienda.model.ProjectMember;
 import com.davivienda.model.User;
+import com.davivienda.repository.CardRepository;
 import com.davivienda.repository.ProjectMemberRepository;
+import com.davivienda.event.ProjectMembershipEvent;
 import com.davivienda.repository.ProjectRepository;
-import com.davivienda.service.BoardListService;
+import com.davivienda.security.AccessChecker;
+import com.davivienda.service.BoardSnapshotService;
 import com.davivienda.service.ProjectService;
+import com.davivienda.util.Cursors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,7 +22,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +33,8 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -40,7 +50,19 @@ class ProjectServiceImplTest {
     private ProjectMemberRepository projectMemberRepository;
 
     @Mock
-    private BoardListService boardListService;
+    private CardRepository cardRepository;
+
+    @Mock
+    private ProjectPurger projectPurger;
+
+    @Mock
+    private BoardSnapshotService boardSnapshotService;
+
+    @Mock
+    private AccessChecker accessChecker;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ProjectServiceImpl projectService;
@@ -83,6 +105,7 @@ class ProjectServiceImplTest {
         assertThat(result.getDescription()).isEqualTo("Descripción");
         verify(projectRepository).save(any(Project.class));
         verify(projectMemberRepository).save(any(ProjectMember.class));
+        verify(eventPublisher).publishEvent(ProjectMembershipEvent.memberAdded(10L, 1L, ProjectMember.Role.OWNER));
     }
 
     @Test
@@ -96,36 +119,113 @@ class ProjectServiceImplTest {
     }
 
     @Test
-    @DisplayName("findByUser: devuelve lista de proyectos del usuario")
+    @DisplayName("findByUser: devuelve los proyectos del usuario con sus totales")
     void findByUser_ok() {
-        ProjectMember pm = ProjectMember.builder().project(project).user(user).role(ProjectMember.Role.OWNER).build();
-        when(projectMemberRepository.findByUserWithProject(user)).thenReturn(List.of(pm));
+        when(projectMemberRepository.findProjectSummariesByUserId(eq(1L), any(LocalDate.class))).thenReturn(List.of(
+                summary(10L, LocalDateTime.of(2025, 1, 2, 10, 0))));
 
         List<ProjectDTO> result = projectService.findByUser(user);
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getName()).isEqualTo("Mi Proyecto");
         assertThat(result.get(0).getId()).isEqualTo(10L);
+        assertThat(result.get(0).getCardCount()).isEqualTo(5L);
+        assertThat(result.get(0).getOverdueCardCount()).isEqualTo(1L);
     }
 
     @Test
-    @DisplayName("getById: cuando el proyecto no existe lanza NoSuchResourceFoundException")
-    void getById_noExiste_lanzaExcepcion() {
-        when(projectRepository.findById(999L)).thenReturn(Optional.empty());
+    @DisplayName("findPageByUser: devuelve la página pedida y el cursor (updatedAt, id) de la siguiente")
+    void findPageByUser_primeraPagina() {
+        LocalDateTime updated = LocalDateTime.of(2025, 1, 2, 10, 0);
+        when(projectMemberRepository.findProjectSummaryPageByUserId(eq(1L), any(LocalDate.class), eq(PageRequest.of(0, 3))))
+                .thenReturn(List.of(summary(12L, updated.plusHours(1)), summary(11L, updated), summary(10L, updated)));
 
-        assertThatThrownBy(() -> projectService.getById(999L, user))
-                .isInstanceOf(NoSuchResourceFoundException.class)
-                .hasMessageContaining("No se encontró el proyecto");
+        ProjectPageDTO result = projectService.findPageByUser(user, 2, null);
+
+        assertThat(result.getItems()).extracting(ProjectDTO::getId).containsExactly(12L, 11L);
+        assertThat(result.getNextCursor()).isEqualTo(Cursors.encode(updated, 11L));
     }
 
     @Test
-    @DisplayName("getById: cuando el usuario no es miembro lanza BadResourceRequestException")
-    void getById_noEsMiembro_lanzaExcepcion() {
-        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
-        when(projectMemberRepository.existsByProjectAndUser(project, user)).thenReturn(false);
+    @DisplayName("findPageByUser: con cursor after continúa desde (updatedAt, id) y en la última página no hay cursor")
+    void findPageByUser_conCursor() {
+        LocalDateTime updated = LocalDateTime.of(2025, 1, 2, 10, 0);
+        when(projectMemberRepository.findProjectSummaryPageByUserIdAfter(eq(1L), any(LocalDate.class), eq(updated), eq(11L),
+                eq(PageRequest.of(0, 3)))).thenReturn(List.of(summary(10L, updated)));
 
-        assertThatThrownBy(() -> projectService.getById(10L, user))
+        ProjectPageDTO result = projectService.findPageByUser(user, 2, Cursors.encode(updated, 11L));
+
+        assertThat(result.getItems()).extracting(ProjectDTO::getId).containsExactly(10L);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("findPageByUser: con limit fuera de rango o cursor inválido lanza BadResourceRequestException")
+    void findPageByUser_parametrosInvalidos_lanzaExcepcion() {
+        assertThatThrownBy(() -> projectService.findPageByUser(user, 0, null))
+                .isInstanceOf(BadResourceRequestException.class);
+        assertThatThrownBy(() -> projectService.findPageByUser(user, 10, Cursors.encode("ayer", 11L)))
                 .isInstanceOf(BadResourceRequestException.class)
-                .hasMessageContaining("No tienes acceso");
+                .hasMessageContaining("cursor");
+    }
+
+    @Test
+    @DisplayName("getById: devuelve el tablero cargado por BoardSnapshotService")
+    void getById_ok() {
+        ProjectDTO snapshot = ProjectDTO.builder().id(10L).name("Mi Proyecto").lists(List.of()).build();
+        when(boardSnapshotService.getSnapshot(10L, user)).thenReturn(snapshot);
+
+        ProjectDTO result = projectService.getById(10L, user);
+
+        assertThat(result).isSameAs(snapshot);
+    }
+
+    @Test
+    @DisplayName("delete: quita los miembros y borra en la transacción un proyecto pequeño")
+    void delete_pequenoSeBorraYa() {
+        ProjectPurgeDTO done = ProjectPurgeDTO.builder().projectId(10L).status(ProjectPurgeDTO.Status.DONE).build();
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(cardRepository.countByProjectId(10L)).thenReturn(3L);
+        when(projectPurger.purgeNow(10L, 3L)).thenReturn(done);
+
+        ProjectPurgeDTO result = projectService.delete(10L, user);
+
+        assertThat(result).isSameAs(done);
+        assertThat(project.getDeletedAt()).isNotNull();
+        verify(accessChecker).ensureOwner(10L, user);
+        verify(projectMemberRepository).deleteByProjectId(10L);
+        verify(eventPublisher).publishEvent(ProjectMembershipEvent.projectDeleted(10L));
+    }
+
+    @Test
+    @DisplayName("delete: un proyecto grande queda marcado para el borrado en segundo plano")
+    void delete_grandeQuedaPendiente() {
+        ProjectPurgeDTO pending = ProjectPurgeDTO.builder().projectId(10L).status(ProjectPurgeDTO.Status.PENDING).build();
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        when(cardRepository.countByProjectId(10L)).thenReturn(50_000L);
+        when(projectPurger.pending(10L, 50_000L)).thenReturn(pending);
+
+        ProjectPurgeDTO result = projectService.delete(10L, user);
+
+        assertThat(result).isSameAs(pending);
+        assertThat(project.getDeletedAt()).isNotNull();
+        verify(projectMemberRepository).deleteByProjectId(10L);
+        verify(projectPurger, never()).purgeNow(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("delete: solo el propietario puede borrar el proyecto")
+    void delete_noPropietario() {
+        when(projectRepository.findById(10L)).thenReturn(Optional.of(project));
+        doThrow(new BadResourceRequestException("Solo el propietario puede realizar esta acción"))
+                .when(accessChecker).ensureOwner(10L, user);
+
+        assertThatThrownBy(() -> projectService.delete(10L, user)).isInstanceOf(BadResourceRequestException.class);
+        assertThat(project.getDeletedAt()).isNull();
+        verify(projectMemberRepository, never()).deleteByProjectId(any());
+    }
+
+    private static ProjectDTO summary(Long id, LocalDateTime updatedAt) {
+        return new ProjectDTO(id, "Mi Proyecto", null, 1L, "Usuario", updatedAt, updatedAt, 0L, 2L, 5L, 1L);
     }
 }
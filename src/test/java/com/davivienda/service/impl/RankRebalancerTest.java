@@ -0,0 +1,85 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.model.BoardList;
+import com.davivienda.model.Card;
+import com.davivienda.model.Project;
+import com.davivienda.repository.BoardListRepository;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.repository.ProjectRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias de RankRebalancer.
+ */
+@ExtendWith(MockitoExtension.class)
+class RankRebalancerTest {
+
+    @Mock
+    private CardRepository cardRepository;
+
+    @Mock
+    private BoardListRepository boardListRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private RankRebalancer rankRebalancer;
+
+    @Test
+    @DisplayName("checkCardRank: solo marca la lista cuando la clave supera la longitud máxima")
+    void checkCardRank_marcaListasConClavesLargas() {
+        rankRebalancer.checkCardRank(20L, "i");
+        rankRebalancer.checkCardRank(21L, "i".repeat(25));
+
+        assertThat(rankRebalancer.isPending(20L)).isFalse();
+        assertThat(rankRebalancer.isPending(21L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("rebalancePending: con el proyecto bloqueado, reparte de nuevo las claves de la lista marcada conservando el orden")
+    @SuppressWarnings("unchecked")
+    void rebalancePending_reparteClaves() {
+        BoardList list = BoardList.builder().id(21L).project(Project.builder().id(10L).build()).build();
+        when(boardListRepository.findById(21L)).thenReturn(Optional.of(list));
+        Card a = Card.builder().id(1L).rank("i".repeat(30)).list(list).build();
+        Card b = Card.builder().id(2L).rank("i".repeat(30) + "1").list(list).build();
+        Card c = Card.builder().id(3L).rank("j").list(list).build();
+        when(cardRepository.findByListIdOrderByRank(21L)).thenReturn(List.of(a, b, c));
+        doAnswer(inv -> {
+            ((Consumer<Object>) inv.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        rankRebalancer.checkCardRank(21L, b.getRank());
+
+        rankRebalancer.rebalancePending();
+
+        assertThat(List.of(a.getRank(), b.getRank(), c.getRank())).isSorted().allMatch(k -> k.length() <= 2);
+        assertThat(rankRebalancer.isPending(21L)).isFalse();
+        InOrder order = inOrder(projectRepository, cardRepository);
+        order.verify(projectRepository).lockById(10L);
+        order.verify(cardRepository).findByListIdOrderByRank(21L);
+    }
+}
@@ -0,0 +1,115 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.CardDTO;
+import com.davivienda.dto.CardSearchHitDTO;
+import com.davivienda.dto.CardSearchPageDTO;
+import com.davivienda.exception.BadResourceRequestException;
+import com.davivienda.model.User;
+import com.davivienda.repository.CardRepository;
+import com.davivienda.security.AccessChecker;
+import com.davivienda.util.Cursors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias del servicio de búsqueda.
+ */
+@ExtendWith(MockitoExtension.class)
+class SearchServiceImplTest {
+
+    private static final long[] PROJECTS = {10L, 11L};
+
+    @Mock
+    private CardSearchIndex cardSearchIndex;
+    @Mock
+    private CardRepository cardRepository;
+    @Mock
+    private AccessChecker accessChecker;
+
+    @InjectMocks
+    private SearchServiceImpl searchService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder().id(1L).email("user@test.com").nombre("Usuario").role(User.Role.USER).build();
+    }
+
+    @Test
+    @DisplayName("searchCards: devuelve las tarjetas en el orden del índice, con su proyecto y el cursor de la siguiente página")
+    void searchCards_primeraPagina() {
+        when(accessChecker.projectIdsOf(user)).thenReturn(PROJECTS);
+        when(cardSearchIndex.search("informe", PROJECTS, 3, null)).thenReturn(List.of(
+                new CardSearchIndex.Hit(31L, 11L, 2.5f),
+                new CardSearchIndex.Hit(30L, 10L, 1.5f),
+                new CardSearchIndex.Hit(32L, 10L, 1.0f)));
+        when(cardRepository.findDTOsByIdIn(List.of(31L, 30L))).thenReturn(List.of(card(30L), card(31L)));
+
+        CardSearchPageDTO result = searchService.searchCards(user, "informe", 2, null);
+
+        assertThat(result.getItems()).extracting(hit -> hit.getCard().getId()).containsExactly(31L, 30L);
+        assertThat(result.getItems()).extracting(CardSearchHitDTO::getProjectId).containsExactly(11L, 10L);
+        assertThat(result.getNextCursor()).isEqualTo(Cursors.encode(1.5f, 30L));
+    }
+
+    @Test
+    @DisplayName("searchCards: con cursor continúa desde (relevancia, id) y omite las tarjetas que ya no existen")
+    void searchCards_conCursor() {
+        when(accessChecker.projectIdsOf(user)).thenReturn(PROJECTS);
+        CardSearchIndex.Hit after = new CardSearchIndex.Hit(30L, 0, 1.5f);
+        when(cardSearchIndex.search("informe", PROJECTS, 3, after)).thenReturn(List.of(
+                new CardSearchIndex.Hit(32L, 10L, 1.0f),
+                new CardSearchIndex.Hit(33L, 10L, 0.5f)));
+        when(cardRepository.findDTOsByIdIn(List.of(32L, 33L))).thenReturn(List.of(card(33L)));
+
+        CardSearchPageDTO result = searchService.searchCards(user, "informe", 2, Cursors.encode(1.5f, 30L));
+
+        assertThat(result.getItems()).extracting(hit -> hit.getCard().getId()).containsExactly(33L);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("searchCards: sin resultados no consulta la base de datos")
+    void searchCards_sinResultados() {
+        when(accessChecker.projectIdsOf(user)).thenReturn(new long[0]);
+        when(cardSearchIndex.search(any(), any(), anyInt(), any())).thenReturn(List.of());
+
+        CardSearchPageDTO result = searchService.searchCards(user, "informe", 20, null);
+
+        assertThat(result.getItems()).isEmpty();
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    @DisplayName("searchCards: sin q, con limit fuera de rango o con cursor inválido lanza BadResourceRequestException")
+    void searchCards_parametrosInvalidos_lanzaExcepcion() {
+        assertThatThrownBy(() -> searchService.searchCards(user, " ", 20, null))
+                .isInstanceOf(BadResourceRequestException.class);
+        assertThatThrownBy(() -> searchService.searchCards(user, "x".repeat(201), 20, null))
+                .isInstanceOf(BadResourceRequestException.class);
+        assertThatThrownBy(() -> searchService.searchCards(user, "informe", 0, null))
+                .isInstanceOf(BadResourceRequestException.class);
+        assertThatThrownBy(() -> searchService.searchCards(user, "informe", 20, Cursors.encode("alta", 30L)))
+                .isInstanceOf(BadResourceRequestException.class)
+                .hasMessageContaining("cursor");
+        verifyNoInteractions(cardSearchIndex);
+    }
+
+    private static CardDTO card(Long id) {
+        return CardDTO.builder().id(id).title("Informe " + id).listId(20L).build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.davivienda.service.impl;
+
+import com.davivienda.dto.BoardChangesDTO;
+import com.davivienda.dto.CardFilter;
+import com.davivienda.dto.CardPageDTO;
+import com.davivienda.model.User;
+import com.davivienda.repository.UserRepository;
+import com.davivienda.service.BoardChangeService;
+import com.davivienda.service.BoardListService;
+import com.davivienda.service.CardService;
+import com.davivienda.service.LabelService;
+import com.davivienda.service.ProjectService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lecturas con un pool de una sola conexión (y un tiempo de espera corto): una lectura que pida una segunda conexión
+ * mientras retiene la primera se queda esperando y falla en lugar de responder. Sin caché de segundo nivel: su
+ * CacheManager es único en la JVM y guardaría entidades de las bases de otros contextos con los mismos ids.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:single-connection;MODE=Oracle;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=500",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@ActiveProfiles("queryplan")
+class SingleConnectionIntegrationTest {
+
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private BoardListService boardListService;
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private BoardChangeService boardChangeService;
+    @Autowired
+    private LabelService labelService;
+    @Autowired
+    private CardLabelIndex cardLabelIndex;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("single" + System.nanoTime() + "@test.com")
+                .password("x")
+                .nombre("Una conexión")
+                .role(User.Role.USER)
+                .build());
+    }
+
+    @Test
+    @DisplayName("getChanges: con una sola conexión en el pool responde, incremental y con el tablero completo")
+    void getChanges_unaConexion() {
+        Long projectId = projectService.create(user, "Una conexión", null).getId();
+        Long listId = boardListService.create(projectId, user, "Por hacer", null).getId();
+        long since = projectService.getBoardVersion(projectId, user);
+        cardService.create(listId, user, "Tarea", null, null, null, null);
+
+        BoardChangesDTO changes = boardChangeService.getChanges(projectId, user, since);
+        BoardChangesDTO full = boardChangeService.getChanges(projectId, user, -1);
+
+        assertThat(changes.isFull()).isFalse();
+        assertThat(changes.getCards()).extracting("title").containsExactly("Tarea");
+        assertThat(full.isFull()).isTrue();
+        assertThat(full.getProject().getLists()).singleElement()
+                .satisfies(list -> assertThat(list.getCards()).hasSize(1));
+    }
+
+    @Test
+    @DisplayName("filtro por etiquetas: con una sola conexión en el pool carga el índice y responde")
+    void filter_unaConexion() {
+        Long projectId = projectService.create(user, "Etiquetas", null).getId();
+        Long listId = boardListService.create(projectId, user, "Por hacer", null).getId();
+        Long cardId = cardService.create(listId, user, "Etiquetada", null, null, null, null).getId();
+        cardService.create(listId, user, "Sin etiqueta", null, null, null, null);
+        Long labelId = labelService.create(projectId, user, "Urgente", "#eb5a46").getId();
+        labelService.addToCard(projectId, labelId, cardId, user);
+
+        cardLabelIndex.invalidate(projectId);
+        CardPageDTO page = cardService.filter(projectId, user,
+                CardFilter.builder().labelIds(List.of(labelId)).build(), 10, null);
+        cardLabelIndex.invalidate(projectId);
+        List<Long> cardLabels = cardService.findById(listId, cardId, user).getLabelIds();
+        cardLabelIndex.invalidate(projectId);
+        int cardCount = labelService.findByProjectId(projectId, user).get(0).getCardCount();
+
+        assertThat(page.getItems()).singleElement().satisfies(card -> {
+            assertThat(card.getId()).isEqualTo(cardId);
+            assertThat(card.getLabelIds()).containsExactly(labelId);
+        });
+        assertThat(cardLabels).containsExactly(labelId);
+        assertThat(cardCount).isEqualTo(1);
+    }
+}
@@ -0,0 +1,112 @@
+package com.davivienda.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas unitarias de IdBitmap (conjunto de IDs al estilo Roaring).
+ */
+class IdBitmapTest {
+
+    @Test
+    @DisplayName("add/remove/contains: informan si cambió el conjunto y toArray devuelve los IDs en orden")
+    void addRemoveContains() {
+        IdBitmap bitmap = new IdBitmap();
+
+        assertThat(bitmap.add(70_000L)).isTrue();
+        assertThat(bitmap.add(3L)).isTrue();
+        assertThat(bitmap.add(3L)).isFalse();
+        assertThat(bitmap.contains(3L)).isTrue();
+        assertThat(bitmap.contains(4L)).isFalse();
+        assertThat(bitmap.contains(-1L)).isFalse();
+        assertThat(bitmap.toArray()).containsExactly(3L, 70_000L);
+        assertThat(bitmap.remove(70_000L)).isTrue();
+        assertThat(bitmap.remove(70_000L)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(1);
+        assertThatThrownBy(() -> bitmap.add(-1L)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("contenedores: pasan a mapa de bits por encima de 4096 IDs y vuelven a array al quitar")
+    void contenedores_cambianDeTipo() {
+        IdBitmap bitmap = new IdBitmap();
+        for (long id = 0; id <= IdBitmap.ARRAY_MAX; id++) {
+            bitmap.add(id * 2);
+        }
+        assertThat(bitmap.cardinality()).isEqualTo(IdBitmap.ARRAY_MAX + 1);
+        assertThat(bitmap.contains(IdBitmap.ARRAY_MAX * 2L)).isTrue();
+        assertThat(bitmap.contains(1L)).isFalse();
+
+        bitmap.remove(0L);
+        bitmap.remove(2L);
+
+        assertThat(bitmap.cardinality()).isEqualTo(IdBitmap.ARRAY_MAX - 1);
+        assertThat(bitmap.toArray()[0]).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("and/or: coinciden con la intersección y la unión de conjuntos ordenados, sin modificar los operandos")
+    void andOr_comoTreeSet() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            // densidades distintas para cruzar contenedores de array y de mapa de bits
+            TreeSet<Long> a = randomSet(random, 1 + random.nextInt(9000), 1 + random.nextInt(300_000));
+            TreeSet<Long> b = randomSet(random, 1 + random.nextInt(9000), 1 + random.nextInt(300_000));
+            IdBitmap bitmapA = toBitmap(a);
+            IdBitmap bitmapB = toBitmap(b);
+
+            TreeSet<Long> and = new TreeSet<>(a);
+            and.retainAll(b);
+            TreeSet<Long> or = new TreeSet<>(a);
+            or.addAll(b);
+
+            assertThat(bitmapA.and(bitmapB).toArray()).containsExactly(toArray(and));
+            assertThat(bitmapA.or(bitmapB).toArray()).containsExactly(toArray(or));
+            assertThat(bitmapA.or(bitmapB).cardinality()).isEqualTo(or.size());
+            assertThat(bitmapA.toArray()).containsExactly(toArray(a));
+        }
+    }
+
+    @Test
+    @DisplayName("copy: la copia es independiente del original")
+    void copy_independiente() {
+        IdBitmap original = IdBitmap.of(1L, 2L, 100_000L);
+        IdBitmap copy = original.copy();
+
+        copy.add(3L);
+        copy.remove(100_000L);
+
+        assertThat(original.toArray()).containsExactly(1L, 2L, 100_000L);
+        assertThat(copy.toArray()).containsExactly(1L, 2L, 3L);
+    }
+
+    private static TreeSet<Long> randomSet(Random random, int size, int range) {
+        TreeSet<Long> set = new TreeSet<>();
+        while (set.size() < Math.min(size, range)) {
+            set.add((long) random.nextInt(range));
+        }
+        return set;
+    }
+
+    private static IdBitmap toBitmap(TreeSet<Long> ids) {
+        // en orden aleatorio: las inserciones no llegan ordenadas
+        List<Long> shuffled = new ArrayList<>(ids);
+        Collections.shuffle(shuffled, new Random(ids.size()));
+        IdBitmap bitmap = new IdBitmap();
+        shuffled.forEach(bitmap::add);
+        return bitmap;
+    }
+
+    private static long[] toArray(TreeSet<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,79 @@
+package com.davivienda.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas unitarias de LexoRank (claves de orden lexicográficas).
+ */
+class LexoRankTest {
+
+    @Test
+    @DisplayName("between: la clave queda estrictamente entre las dos vecinas")
+    void between_ok() {
+        assertThat(LexoRank.between("a", "c")).isEqualTo("b");
+        assertThat(LexoRank.between("a", "b")).isStrictlyBetween("a", "b");
+        assertThat(LexoRank.between("az", "b")).isStrictlyBetween("az", "b");
+        assertThat(LexoRank.between(null, "i")).isLessThan("i");
+        assertThat(LexoRank.between("i", null)).isGreaterThan("i");
+    }
+
+    @Test
+    @DisplayName("between: insertar siempre al principio sigue generando claves ordenadas que no terminan en '0'")
+    void between_insercionesRepetidas() {
+        String hi = LexoRank.initial();
+        for (int i = 0; i < 200; i++) {
+            String key = LexoRank.before(hi);
+            assertThat(key).isLessThan(hi).doesNotEndWith("0");
+            hi = key;
+        }
+    }
+
+    @Test
+    @DisplayName("between: con claves fuera de orden o sin hueco lanza IllegalArgumentException")
+    void between_sinHueco_lanzaExcepcion() {
+        assertThatThrownBy(() -> LexoRank.between("b", "a")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LexoRank.between("i", "i0")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("after: añadir al final mantiene las claves cortas")
+    void after_ok() {
+        String key = null;
+        for (int i = 0; i < 10_000; i++) {
+            String next = LexoRank.after(key);
+            if (key != null) {
+                assertThat(next).isGreaterThan(key);
+            }
+            key = next;
+        }
+        assertThat(key.length()).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("inGap: con vecinas empatadas o fuera de orden rechaza el hueco")
+    void inGap_empate() {
+        assertThatThrownBy(() -> LexoRank.inGap("m", "m")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LexoRank.inGap("n", "m")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(LexoRank.inGap("a", "c")).isEqualTo("b");
+    }
+
+    @Test
+    @DisplayName("spread: genera n claves crecientes con hueco entre ellas")
+    void spread_ok() {
+        List<String> keys = LexoRank.spread(1000);
+
+        assertThat(keys).hasSize(1000).isSorted().doesNotHaveDuplicates();
+        List<String> between = new ArrayList<>();
+        for (int i = 1; i < keys.size(); i++) {
+            between.add(LexoRank.between(keys.get(i - 1), keys.get(i)));
+        }
+        assertThat(between).allMatch(k -> k.length() <= 3);
+    }
+}
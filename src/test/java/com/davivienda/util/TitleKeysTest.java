@@ -0,0 +1,27 @@
+package com.davivienda.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas unitarias de TitleKeys (clave normalizada del título).
+ */
+class TitleKeysTest {
+
+    @Test
+    @DisplayName("of: minúsculas y sin tildes, conservando espacios y signos")
+    void of_normaliza() {
+        assertThat(TitleKeys.of("Diseño de CAMPAÑA: revisión")).isEqualTo("diseno de campana: revision");
+        assertThat(TitleKeys.of("Über  Ça")).isEqualTo("uber  ca");
+        assertThat(TitleKeys.of(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("prefixPattern: normaliza el prefijo y escapa los comodines de LIKE")
+    void prefixPattern_escapaComodines() {
+        assertThat(TitleKeys.prefixPattern("Diseño")).isEqualTo("diseno%");
+        assertThat(TitleKeys.prefixPattern("100%_a\\b")).isEqualTo("100\\%\\_a\\\\b%");
+    }
+}